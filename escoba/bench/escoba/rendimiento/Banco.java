@@ -0,0 +1,173 @@
+package escoba.rendimiento;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Banco de pruebas de rendimiento mínimo, sin dependencias externas.
+ * <p>Sigue el esquema habitual de JMH: unas iteraciones de calentamiento que
+ * se descartan y unas iteraciones de medida de duración fija, de las que se
+ * informa el rendimiento medio (operaciones por segundo) con su desviación
+ * típica. Como el perfilador {@code gc} de JMH, informa también de los bytes
+ * reservados por operación, obtenidos del contador de memoria reservada del
+ * hilo ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}).</p>
+ *
+ * <p>Los resultados de cada operación se acumulan en un sumidero
+ * {@code volatile} para que el compilador JIT no pueda eliminar el código
+ * medido.</p>
+ *
+ * <p>La configuración se puede cambiar con las propiedades del sistema
+ * {@code banco.calentamiento}, {@code banco.iteraciones} y
+ * {@code banco.milisegundos}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class Banco {
+
+    /** Operaciones entre comprobaciones del reloj. */
+    private static final int LOTE = 256;
+
+    /** Nanosegundos por segundo. */
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000.0;
+
+    /** Acceso al contador de memoria reservada por hilo. */
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Sumidero de resultados para evitar la eliminación de código muerto. */
+    @SuppressWarnings("unused")
+    private static volatile long sumidero;
+
+    /** Iteraciones de calentamiento. */
+    private final int calentamiento;
+
+    /** Iteraciones de medida. */
+    private final int iteraciones;
+
+    /** Duración de cada iteración en nanosegundos. */
+    private final long nanosPorIteracion;
+
+    /**
+     * Operación medida por el banco de pruebas.
+     */
+    @FunctionalInterface
+    public interface Operacion {
+
+        /**
+         * Ejecuta una vez la operación medida.
+         *
+         * @return cualquier valor derivado del resultado, que se consume para que
+         *         la operación no pueda eliminarse
+         */
+        long ejecutar();
+    }
+
+    /**
+     * Resultado de la medición de una operación.
+     *
+     * @param nombre              nombre de la operación
+     * @param operacionesPorSegundo rendimiento medio
+     * @param desviacion          desviación típica del rendimiento entre iteraciones
+     * @param bytesPorOperacion   bytes reservados por operación
+     */
+    public record Medicion(String nombre, double operacionesPorSegundo, double desviacion,
+            double bytesPorOperacion) {
+
+        /**
+         * Recupera la medición en formato texto, en una línea.
+         *
+         * @return texto descriptivo
+         */
+        public String aTexto() {
+            return String.format(Locale.ROOT, "%-42s %16.1f ± %12.1f ops/s %12.1f B/op", nombre,
+                    operacionesPorSegundo, desviacion, bytesPorOperacion);
+        }
+    }
+
+    /**
+     * Crea un banco de pruebas configurado con las propiedades del sistema.
+     */
+    public Banco() {
+        this(Integer.getInteger("banco.calentamiento", 3), Integer.getInteger("banco.iteraciones", 5),
+                Integer.getInteger("banco.milisegundos", 1000));
+    }
+
+    /**
+     * Crea un banco de pruebas.
+     *
+     * @param calentamiento iteraciones de calentamiento
+     * @param iteraciones   iteraciones de medida (al menos una)
+     * @param milisegundos  duración de cada iteración
+     */
+    public Banco(int calentamiento, int iteraciones, long milisegundos) {
+        if (iteraciones < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una iteración de medida");
+        }
+        this.calentamiento = calentamiento;
+        this.iteraciones = iteraciones;
+        this.nanosPorIteracion = milisegundos * 1_000_000L;
+    }
+
+    /**
+     * Mide una operación.
+     *
+     * @param nombre    nombre de la operación
+     * @param operacion operación a medir
+     * @return medición obtenida
+     */
+    public Medicion medir(String nombre, Operacion operacion) {
+        for (int i = 0; i < calentamiento; i++) {
+            ejecutarIteracion(operacion);
+        }
+        double[] rendimientos = new double[iteraciones];
+        long operaciones = 0;
+        long bytesAntes = HILOS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iteraciones; i++) {
+            long inicio = System.nanoTime();
+            long hechas = ejecutarIteracion(operacion);
+            rendimientos[i] = hechas * NANOS_POR_SEGUNDO / (System.nanoTime() - inicio);
+            operaciones += hechas;
+        }
+        long bytes = HILOS.getCurrentThreadAllocatedBytes() - bytesAntes;
+
+        double media = 0;
+        for (double rendimiento : rendimientos) {
+            media += rendimiento;
+        }
+        media /= iteraciones;
+        double varianza = 0;
+        for (double rendimiento : rendimientos) {
+            varianza += (rendimiento - media) * (rendimiento - media);
+        }
+        double desviacion = iteraciones > 1 ? Math.sqrt(varianza / (iteraciones - 1)) : 0;
+        return new Medicion(nombre, media, desviacion, (double) bytes / operaciones);
+    }
+
+    /**
+     * Ejecuta la operación en lotes hasta agotar la duración de una iteración.
+     *
+     * @param operacion operación a medir
+     * @return número de operaciones ejecutadas
+     */
+    private long ejecutarIteracion(Operacion operacion) {
+        long fin = System.nanoTime() + nanosPorIteracion;
+        long operaciones = 0;
+        long acumulado = 0;
+        do {
+            for (int i = 0; i < LOTE; i++) {
+                acumulado += operacion.ejecutar();
+            }
+            operaciones += LOTE;
+        } while (System.nanoTime() < fin);
+        sumidero = acumulado;
+        return operaciones;
+    }
+}
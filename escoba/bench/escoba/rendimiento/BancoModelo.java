@@ -0,0 +1,189 @@
+package escoba.rendimiento;
+
+import java.util.SplittableRandom;
+
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaVoraz;
+import escoba.modelo.ArenaPartidas;
+import escoba.modelo.Baraja;
+import escoba.modelo.Baza;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+import escoba.simulacion.Simulador;
+import escoba.vista.util.CartaTextoColor;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Pruebas de rendimiento de los caminos críticos de {@code escoba.modelo}.
+ * <p>Mide con {@link Banco} el rendimiento y la memoria reservada por
+ * operación de la baraja, la mesa, el jugador, las jugadas sobre la partida,
+ * el recuento de puntos, los estados fuera del montículo, el dibujo de
+ * cartas y una partida completa desatendida. Sirve como línea base para
+ * valorar cualquier optimización.</p>
+ *
+ * <p>Uso: {@code java escoba.rendimiento.BancoModelo [filtro]}, donde el filtro
+ * opcional selecciona las pruebas cuyo nombre lo contiene.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class BancoModelo {
+
+    /** Semilla fija para que todas las ejecuciones midan lo mismo. */
+    private static final long SEMILLA = 20251016L;
+
+    /** Máximo de bazas antes de reiniciar al jugador en la prueba de agregarBaza. */
+    private static final int MAXIMO_BAZAS = 16;
+
+    /**
+     * Constructor privado para impedir instanciaciones.
+     */
+    private BancoModelo() {
+    }
+
+    /**
+     * Método principal.
+     *
+     * @param args filtro opcional sobre el nombre de las pruebas
+     */
+    public static void main(String[] args) {
+        String filtro = args.length > 0 ? args[0] : "";
+        Banco banco = new Banco();
+        SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+
+        Carta asOros = carta(1);
+        Carta cincoOros = carta(5);
+        Carta sieteCopas = carta(17);
+        Carta tresEspadas = carta(23);
+        Carta reyBastos = carta(40);
+        Carta[] combinacion = { cincoOros, tresEspadas };
+
+        Baraja baraja = new Baraja(aleatorio);
+        Mesa mesa = new Mesa();
+        for (Carta c : new Carta[] { asOros, cincoOros, sieteCopas, tresEspadas, carta(12), carta(34) }) {
+            mesa.ponerCarta(c);
+        }
+        long[] capturas = new long[64];
+
+        Jugador jugador = new Jugador("Banco");
+        Jugador jugadorConBazas = new Jugador("Banco");
+        for (int i = 0; i < 10; i++) {
+            Baza baza = new Baza();
+            baza.agregarCarta(carta(i + 1));
+            baza.agregarCarta(carta(i + 21));
+            if (i % 3 == 0) {
+                baza.marcarEscoba();
+            }
+            jugadorConBazas.agregarBaza(baza);
+        }
+        Baza baza = new Baza();
+        baza.agregarCarta(sieteCopas);
+        baza.agregarCarta(reyBastos);
+
+        Partida partida = new Partida(new Jugador("Banco 1"), new Jugador("Banco 2"), new Mesa(), baraja);
+        partida.obtenerJugadorActual().recibirCarta(sieteCopas);
+        partida.obtenerMesa().ponerCartas(CartaSet.deCartas(combinacion));
+        partida.obtenerMesa().ponerCarta(carta(12));
+        Jugada jugada = new Jugada(sieteCopas, CartaSet.deCartas(combinacion));
+        int[] desgloses = new int[partida.obtenerNumeroEquipos()];
+        ArenaPartidas arena = new ArenaPartidas(2);
+        arena.guardar(0, partida);
+
+        Simulador simulador = new Simulador(SEMILLA, new EstrategiaVoraz(), new EstrategiaAleatoria(aleatorio));
+
+        medir(banco, filtro, "Baraja.new", () -> new Baraja(aleatorio).consultarNumeroCartas());
+        medir(banco, filtro, "Baraja.barajar", () -> {
+            baraja.reiniciar();
+            baraja.barajar();
+            return baraja.extraerCarta().clave();
+        });
+        medir(banco, filtro, "Mesa.esCombinacionValida",
+                () -> mesa.esCombinacionValida(sieteCopas, combinacion) ? 1 : 0);
+        medir(banco, filtro, "Mesa.generarCapturas", () -> mesa.generarCapturas(sieteCopas, capturas));
+        medir(banco, filtro, "Mesa.ponerCarta+quitarCarta", () -> {
+            mesa.ponerCarta(reyBastos);
+            mesa.quitarCarta(reyBastos);
+            return mesa.consultarConjunto();
+        });
+        medir(banco, filtro, "Jugador.recibirCarta+jugarCarta", () -> {
+            jugador.recibirCarta(asOros);
+            jugador.recibirCarta(sieteCopas);
+            jugador.recibirCarta(reyBastos);
+            jugador.jugarCarta(sieteCopas);
+            jugador.jugarCarta(asOros);
+            jugador.jugarCarta(reyBastos);
+            return jugador.consultarConjuntoMano();
+        });
+        medir(banco, filtro, "Jugador.agregarBaza", () -> {
+            if (jugador.consultarNumeroBazas() == MAXIMO_BAZAS) {
+                jugador.reiniciar();
+            }
+            jugador.agregarBaza(baza);
+            return jugador.consultarNumeroBazas();
+        });
+        medir(banco, filtro, "Jugador.contadores", () -> jugadorConBazas.contarCartas()
+                + jugadorConBazas.contarOros() + jugadorConBazas.contarSietes()
+                + jugadorConBazas.consultarEscobas() + (jugadorConBazas.tieneSieteOros() ? 1 : 0));
+        medir(banco, filtro, "Partida.aplicar+deshacer", () -> {
+            partida.aplicar(jugada);
+            partida.deshacer(jugada);
+            return partida.obtenerMesa().consultarConjunto();
+        });
+        medir(banco, filtro, "Partida.consultarClave", partida::consultarClave);
+        medir(banco, filtro, "Puntuacion.puntuar", () -> {
+            Puntuacion.puntuar(partida, desgloses);
+            return desgloses[0] + desgloses[1];
+        });
+        medir(banco, filtro, "ArenaPartidas.copiar+aplicar", () -> {
+            arena.copiar(0, 1);
+            arena.aplicar(1, sieteCopas, jugada.consultarCaptura());
+            return arena.consultarMesa(1);
+        });
+        medir(banco, filtro, "ArenaPartidas.consultarClave", () -> arena.consultarClave(0));
+        medir(banco, filtro, "ArenaPartidas.guardar+cargar", () -> {
+            arena.guardar(1, partida);
+            arena.cargar(1, partida);
+            return partida.consultarClave();
+        });
+        medir(banco, filtro, "CartaTextoColor.dibujarCarta",
+                () -> CartaTextoColor.dibujarCarta(tresEspadas).length);
+        medir(banco, filtro, "Simulador.jugarPartida",
+                () -> simulador.jugarPartida().obtenerMesa().consultarConjunto());
+        arena.close();
+    }
+
+    /**
+     * Mide una prueba si su nombre contiene el filtro y muestra el resultado.
+     *
+     * @param banco     banco de pruebas
+     * @param filtro    filtro sobre el nombre
+     * @param nombre    nombre de la prueba
+     * @param operacion operación medida
+     */
+    private static void medir(Banco banco, String filtro, String nombre, Banco.Operacion operacion) {
+        if (nombre.contains(filtro)) {
+            System.out.println(banco.medir(nombre, operacion).aTexto());
+        }
+    }
+
+    /**
+     * Obtiene la carta canónica de la clave indicada.
+     *
+     * @param clave clave de la carta (1-40)
+     * @return carta
+     */
+    private static Carta carta(int clave) {
+        return Carta.deClave(clave);
+    }
+}
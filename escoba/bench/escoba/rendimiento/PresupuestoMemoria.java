@@ -0,0 +1,284 @@
+package escoba.rendimiento;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import escoba.control.ObservadorPartida;
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaVoraz;
+import escoba.modelo.Jugada;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+import escoba.simulacion.Simulador;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Control de la memoria reservada por una partida completa desatendida.
+ * <p>Juega partidas con un {@link Simulador} y, con el contador de memoria
+ * reservada del hilo
+ * ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}),
+ * reparte los bytes reservados entre las fases de la partida, usando como
+ * marcas los avisos de un {@link ObservadorPartida}:</p>
+ * <ul>
+ *     <li>barajado: reinicio de la partida, creación del controlador,
+ *     {@link escoba.modelo.Baraja#barajar()};</li>
+ *     <li>elección: repartos, decisión de las estrategias y creación de la
+ *     jugada en {@code Controlador.procesarJugada};</li>
+ *     <li>jugada: {@link Partida#aplicar(Jugada)}, incluido
+ *     {@link escoba.modelo.Jugador#agregarBaza(long, boolean)};</li>
+ *     <li>cierre: cartas restantes al último ganador;</li>
+ *     <li>puntuación: {@link Puntuacion#puntuar(Partida, int[])}.</li>
+ * </ul>
+ *
+ * <p>Las partidas de calentamiento se descartan para que el compilador JIT
+ * haya eliminado ya las reservas que no escapan. Si los bytes por partida
+ * superan el presupuesto, {@link #main(String[])} termina con código 1, de
+ * modo que sirve como control de regresión en la integración continua:</p>
+ * <pre>
+ * java --enable-preview -cp clases escoba.rendimiento.PresupuestoMemoria
+ * </pre>
+ * <p>Los tests solo comprueban una cota gruesa sobre pocas partidas, porque
+ * el presupuesto estricto depende de que el JIT haya terminado.</p>
+ *
+ * <p>La configuración se puede cambiar con las propiedades del sistema
+ * {@code presupuesto.calentamiento}, {@code presupuesto.partidas} y
+ * {@code presupuesto.bytesPorPartida}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class PresupuestoMemoria {
+
+    /**
+     * Bytes por partida admitidos por defecto. Cubre el controlador que se
+     * crea en cada partida y deja margen para la medida; una reserva por
+     * turno ya lo supera.
+     */
+    public static final long PRESUPUESTO_POR_DEFECTO = 256;
+
+    /** Semilla fija para que todas las ejecuciones midan lo mismo. */
+    private static final long SEMILLA = 20251016L;
+
+    /** Nombres de las fases, en el orden de los índices. */
+    private static final String[] FASES = { "barajado", "elección", "jugada", "cierre", "puntuación" };
+
+    /** Índice de la fase de barajado. */
+    private static final int BARAJADO = 0;
+
+    /** Índice de la fase de elección de la jugada. */
+    private static final int ELECCION = 1;
+
+    /** Índice de la fase de aplicación de la jugada. */
+    private static final int JUGADA = 2;
+
+    /** Índice de la fase de cierre. */
+    private static final int CIERRE = 3;
+
+    /** Índice de la fase de puntuación. */
+    private static final int PUNTUACION = 4;
+
+    /** Acceso al contador de memoria reservada por hilo. */
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Sumidero de resultados para evitar la eliminación de código muerto. */
+    @SuppressWarnings("unused")
+    private static volatile long sumidero;
+
+    /**
+     * Resultado de la medición.
+     *
+     * @param partidas partidas medidas
+     * @param turnos   turnos jugados en esas partidas
+     * @param bytes    bytes reservados en cada fase, en el orden de {@link #FASES}
+     */
+    public record Informe(long partidas, long turnos, long[] bytes) {
+
+        /**
+         * Calcula los bytes reservados en total.
+         *
+         * @return bytes de todas las fases
+         */
+        public long bytesTotales() {
+            long total = 0;
+            for (long fase : bytes) {
+                total += fase;
+            }
+            return total;
+        }
+
+        /**
+         * Calcula los bytes reservados por partida.
+         *
+         * @return bytes por partida
+         */
+        public double bytesPorPartida() {
+            return (double) bytesTotales() / partidas;
+        }
+
+        /**
+         * Calcula los bytes reservados por turno.
+         *
+         * @return bytes por turno
+         */
+        public double bytesPorTurno() {
+            return (double) bytesTotales() / turnos;
+        }
+
+        /**
+         * Comprueba si la medición supera un presupuesto.
+         *
+         * @param presupuesto bytes por partida admitidos
+         * @return {@code true} si se reservan más bytes por partida
+         */
+        public boolean superaPresupuesto(long presupuesto) {
+            return bytesPorPartida() > presupuesto;
+        }
+
+        /**
+         * Recupera el informe en formato texto, con una línea por fase.
+         *
+         * @return texto descriptivo
+         */
+        public String aTexto() {
+            StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                    "%d partidas, %d turnos: %.1f B/partida, %.2f B/turno%n", partidas, turnos,
+                    bytesPorPartida(), bytesPorTurno()));
+            for (int i = 0; i < FASES.length; i++) {
+                texto.append(String.format(Locale.ROOT, "  %-12s %12.1f B/partida%n", FASES[i],
+                        (double) bytes[i] / partidas));
+            }
+            return texto.toString();
+        }
+    }
+
+    /**
+     * Observador que atribuye a cada fase los bytes reservados desde la
+     * marca anterior.
+     */
+    private static final class Medidor implements ObservadorPartida {
+
+        /** Bytes acumulados por fase. */
+        private final long[] bytes = new long[FASES.length];
+
+        /** Contador de memoria en la última marca. */
+        private long marca;
+
+        /** Turnos jugados. */
+        private long turnos;
+
+        /**
+         * Cierra la fase en curso y empieza la siguiente.
+         *
+         * @param fase índice de la fase que termina
+         */
+        void marcar(int fase) {
+            final long ahora = HILOS.getCurrentThreadAllocatedBytes();
+            bytes[fase] += ahora - marca;
+            marca = ahora;
+        }
+
+        /**
+         * Vacía los acumulados, por ejemplo tras el calentamiento.
+         */
+        void reiniciar() {
+            Arrays.fill(bytes, 0);
+            turnos = 0;
+        }
+
+        @Override
+        public void partidaIniciada(Partida partida) {
+            marcar(BARAJADO);
+        }
+
+        @Override
+        public void jugadaElegida(Partida partida, int asiento, Jugada jugada) {
+            marcar(ELECCION);
+        }
+
+        @Override
+        public void jugadaAplicada(Partida partida, int asiento, Jugada jugada) {
+            marcar(JUGADA);
+            turnos++;
+        }
+
+        @Override
+        public void partidaTerminada(Partida partida) {
+            marcar(CIERRE);
+        }
+    }
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private PresupuestoMemoria() {
+    }
+
+    /**
+     * Mide la memoria reservada por las partidas de un simulador.
+     * <p>Sustituye el observador del simulador mientras mide. Todo se ejecuta
+     * en el hilo que llama, que es el que se mide.</p>
+     *
+     * @param simulador     simulador con sus estrategias
+     * @param calentamiento partidas previas que no se miden
+     * @param partidas      partidas medidas (al menos una)
+     * @return informe de la medición
+     * @throws IllegalArgumentException si no hay partidas que medir
+     */
+    public static Informe medir(Simulador simulador, int calentamiento, int partidas) {
+        if (partidas < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una partida medida");
+        }
+        final Medidor medidor = new Medidor();
+        final int[] desgloses = new int[Partida.MAXIMO_JUGADORES];
+        simulador.asignarObservador(medidor);
+        try {
+            long acumulado = 0;
+            for (int i = -calentamiento; i < partidas; i++) {
+                if (i == 0) {
+                    medidor.reiniciar();
+                }
+                medidor.marca = HILOS.getCurrentThreadAllocatedBytes();
+                final Partida partida = simulador.jugarPartida();
+                medidor.marcar(CIERRE);
+                Puntuacion.puntuar(partida, desgloses);
+                medidor.marcar(PUNTUACION);
+                acumulado += desgloses[0];
+            }
+            sumidero = acumulado;
+        } finally {
+            simulador.asignarObservador(null);
+        }
+        return new Informe(partidas, medidor.turnos, medidor.bytes.clone());
+    }
+
+    /**
+     * Método principal. Mide partidas entre una estrategia voraz y una
+     * aleatoria, muestra el informe y termina con código 1 si se supera el
+     * presupuesto.
+     *
+     * @param args no se usan
+     */
+    public static void main(String[] args) {
+        final long presupuesto = Long.getLong("presupuesto.bytesPorPartida", PRESUPUESTO_POR_DEFECTO);
+        final Simulador simulador = new Simulador(SEMILLA, new EstrategiaVoraz(),
+                new EstrategiaAleatoria(new SplittableRandom(SEMILLA)));
+        final Informe informe = medir(simulador, Integer.getInteger("presupuesto.calentamiento", 20_000),
+                Integer.getInteger("presupuesto.partidas", 20_000));
+        System.out.print(informe.aTexto());
+        if (informe.superaPresupuesto(presupuesto)) {
+            System.out.printf(Locale.ROOT, "Presupuesto superado: %.1f B/partida > %d%n",
+                    informe.bytesPorPartida(), presupuesto);
+            System.exit(1);
+        }
+        System.out.printf(Locale.ROOT, "Dentro del presupuesto de %d B/partida%n", presupuesto);
+    }
+}
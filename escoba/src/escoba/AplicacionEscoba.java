@@ -1,11 +1,35 @@
 package escoba;
 
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
 import escoba.control.Controlador;
+import escoba.control.Estrategia;
+import escoba.control.ProveedorDecisiones;
+import escoba.control.PublicadorEventos;
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaFinal;
+import escoba.ia.EstrategiaVoraz;
 import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
 import escoba.modelo.Jugador;
 import escoba.modelo.Mesa;
 import escoba.modelo.Partida;
+import escoba.registro.EscritorRegistros;
+import escoba.registro.GrabadorPartida;
+import escoba.servidor.ServidorEscoba;
+import escoba.simulacion.Duplicado;
+import escoba.simulacion.MesasIniciales;
+import escoba.simulacion.PruebaSecuencial;
+import escoba.simulacion.Simulador;
+import escoba.simulacion.Torneo;
+import escoba.vista.AdaptadorConsola;
 import escoba.vista.VistaConsola;
+import escoba.vista.VistaEventos;
 
 /**
  * Clase raíz.
@@ -22,21 +46,209 @@ public class AplicacionEscoba {
 	private AplicacionEscoba() {		
 	}
 	
+	/** Argumento para ejecutar una simulación desatendida. */
+	private static final String ARGUMENTO_SIMULAR = "--simular";
+
+	/** Argumento para ejecutar una simulación desatendida en todos los núcleos. */
+	private static final String ARGUMENTO_TORNEO = "--torneo";
+
+	/** Argumento para simular partidas archivándolas en un fichero de registros. */
+	private static final String ARGUMENTO_GRABAR = "--grabar";
+
+	/** Argumento para comparar dos estrategias por repartos duplicados. */
+	private static final String ARGUMENTO_DUPLICADO = "--duplicado";
+
+	/** Ventaja por partida que la comparación por repartos duplicados intenta detectar. */
+	private static final double VENTAJA_DUPLICADO = 0.1;
+
+	/** Probabilidad de error de cada tipo de la comparación por repartos duplicados. */
+	private static final double ERROR_DUPLICADO = 0.05;
+
+	/** Argumento para enumerar las mesas iniciales posibles. */
+	private static final String ARGUMENTO_MESAS = "--mesas";
+
+	/** Argumento para servir partidas a clientes remotos. */
+	private static final String ARGUMENTO_SERVIDOR = "--servidor";
+
+	/** Argumento para narrar una partida desatendida como espectador. */
+	private static final String ARGUMENTO_ESPECTADOR = "--espectador";
+
 	/**
 	 * Métod principal.
 	 * 
-	 * @param args argumentos en línea de comandos (sin uso)
+	 * Sin argumentos se juega una partida por consola. Con
+	 * {@code --simular N [semilla]} se simulan N partidas desatendidas de una
+	 * estrategia voraz contra una aleatoria y se muestra el resumen. Con
+	 * {@code --torneo N [semilla]} se hace lo mismo repartiendo las partidas
+	 * entre todos los núcleos. Con {@code --grabar N fichero [semilla]} se
+	 * simulan N partidas añadiéndolas en binario al fichero indicado. Con
+	 * {@code --servidor puerto [jugadores [remotos]]} se sirven partidas de
+	 * dos jugadores (o los indicados) en el puerto dado, con un cliente por
+	 * mesa (o los indicados) y el servidor jugando el resto de asientos. Con
+	 * {@code --duplicado N [semilla]} se compara, con repartos duplicados y
+	 * como mucho N repartos, la estrategia voraz que resuelve el último
+	 * reparto contra la voraz, deteniéndose cuando la prueba secuencial decide.
+	 * Con {@code --mesas [clave...]} se recorren todas las mesas iniciales de
+	 * una partida de dos jugadores en la que el primero tiene en la mano las
+	 * cartas de las claves dadas, y se muestra la distribución exacta de las
+	 * que dan escoba. Con {@code --espectador [semilla]} se narra, evento a
+	 * evento y desde otro hilo, una partida de la estrategia voraz contra la
+	 * aleatoria.
+	 * 
+	 * @param args argumentos en línea de comandos
+	 * @throws IOException si no se puede escribir el fichero de registros o
+	 *                     abrir el puerto del servidor
 	 */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 1 && ARGUMENTO_SIMULAR.equals(args[0])) {
+            simular(Long.parseLong(args[1]), args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime());
+            return;
+        }
+        if (args.length > 1 && ARGUMENTO_TORNEO.equals(args[0])) {
+            jugarTorneo(Long.parseLong(args[1]), args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime());
+            return;
+        }
+        if (args.length > 2 && ARGUMENTO_GRABAR.equals(args[0])) {
+            grabar(Long.parseLong(args[1]), Path.of(args[2]),
+                    args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime());
+            return;
+        }
+        if (args.length > 1 && ARGUMENTO_DUPLICADO.equals(args[0])) {
+            compararDuplicado(Long.parseLong(args[1]), args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime());
+            return;
+        }
+        if (args.length > 0 && ARGUMENTO_MESAS.equals(args[0])) {
+            enumerarMesas(args);
+            return;
+        }
+        if (args.length > 1 && ARGUMENTO_SERVIDOR.equals(args[0])) {
+            int jugadores = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            servir(Integer.parseInt(args[1]), jugadores, args.length > 3 ? Integer.parseInt(args[3]) : 1);
+            return;
+        }
+        if (args.length > 0 && ARGUMENTO_ESPECTADOR.equals(args[0])) {
+            narrar(args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime());
+            return;
+        }
         Jugador jugador1 = new Jugador("Juan");
         Jugador jugador2 = new Jugador("María");
         Mesa mesa = new Mesa();
         Baraja baraja = new Baraja();
 
         Partida partida = new Partida(jugador1, jugador2, mesa, baraja);
-        VistaConsola vista = new VistaConsola();
-        Controlador controlador = new Controlador(partida, vista);
+        AdaptadorConsola consola = new AdaptadorConsola(new VistaConsola(), partida);
+        Controlador controlador = new Controlador(partida, consola);
+        controlador.agregarOyente(consola);
 
         controlador.ejecutarPartida();
     }
+
+    /**
+     * Juega una partida desatendida de la estrategia voraz contra la aleatoria
+     * y la narra con una {@link VistaEventos} suscrita a un
+     * {@link PublicadorEventos}, de modo que la salida se escribe en otro hilo.
+     * 
+     * @param semilla semilla de la partida
+     */
+    private static void narrar(long semilla) {
+        Partida partida = new Partida(new Jugador("Voraz"), new Jugador("Aleatoria"), new Mesa(), new Baraja(semilla));
+        ProveedorDecisiones decisiones = ProveedorDecisiones.deEstrategias(new EstrategiaVoraz(),
+                new EstrategiaAleatoria(new SplittableRandom(semilla)));
+        Controlador controlador = new Controlador(partida, decisiones);
+        CompletableFuture<Void> narrado;
+        try (PublicadorEventos publicador = new PublicadorEventos()) {
+            narrado = publicador.suscribir(new VistaEventos(System.out));
+            controlador.agregarOyente(publicador);
+            controlador.ejecutarPartidaAsincrona().toCompletableFuture().join();
+        }
+        narrado.join();
+    }
+
+    /**
+     * Simula partidas desatendidas y muestra el resumen por consola.
+     * 
+     * @param partidas número de partidas
+     * @param semilla  semilla de la simulación
+     */
+    private static void simular(long partidas, long semilla) {
+        Simulador simulador = new Simulador(semilla, new EstrategiaVoraz(),
+                new EstrategiaAleatoria(new SplittableRandom(semilla)));
+        System.out.print(simulador.simular(partidas).aTexto());
+    }
+
+    /**
+     * Simula partidas desatendidas archivando cada una en un fichero de
+     * registros y muestra el resumen por consola.
+     * 
+     * @param partidas número de partidas
+     * @param archivo  fichero de registros, que se crea si no existe
+     * @param semilla  semilla de la simulación
+     * @throws IOException si no se puede escribir el fichero
+     */
+    private static void grabar(long partidas, Path archivo, long semilla) throws IOException {
+        Simulador simulador = new Simulador(semilla, new EstrategiaVoraz(),
+                new EstrategiaAleatoria(new SplittableRandom(semilla)));
+        try (EscritorRegistros escritor = EscritorRegistros.abrir(archivo)) {
+            simulador.asignarObservador(new GrabadorPartida(escritor));
+            System.out.print(simulador.simular(partidas).aTexto());
+        }
+    }
+
+    /**
+     * Compara por repartos duplicados la estrategia voraz que resuelve el
+     * último reparto contra la voraz y muestra el resumen por consola.
+     * 
+     * @param repartos máximo de repartos
+     * @param semilla  semilla de los repartos
+     */
+    private static void compararDuplicado(long repartos, long semilla) {
+        Duplicado duplicado = new Duplicado(semilla, new EstrategiaFinal(new EstrategiaVoraz()), new EstrategiaVoraz());
+        PruebaSecuencial prueba = new PruebaSecuencial(0, VENTAJA_DUPLICADO, ERROR_DUPLICADO, ERROR_DUPLICADO);
+        System.out.print(duplicado.jugar(repartos, prueba).aTexto());
+    }
+
+    /**
+     * Enumera las mesas iniciales de una partida de dos jugadores y muestra
+     * la distribución exacta por consola.
+     * 
+     * @param args argumentos en línea de comandos, con las claves de las
+     *             cartas de la mano del primer jugador tras el primero
+     */
+    private static void enumerarMesas(String[] args) {
+        long mano = CartaSet.VACIO;
+        for (int i = 1; i < args.length; i++) {
+            mano = CartaSet.agregar(mano, Carta.deClave(Integer.parseInt(args[i])));
+        }
+        System.out.print(new MesasIniciales(mano, CartaSet.VACIO).distribuir().aTexto());
+    }
+
+    /**
+     * Sirve partidas a clientes remotos hasta que se detiene el proceso.
+     * Cada mesa se juega en su propio hilo virtual.
+     * 
+     * @param puerto    puerto de escucha (0 para uno libre)
+     * @param jugadores jugadores de cada mesa
+     * @param remotos   asientos de cada mesa que ocupan clientes
+     * @throws IOException si no se puede abrir el puerto
+     */
+    private static void servir(int puerto, int jugadores, int remotos) throws IOException {
+        try (ServidorEscoba servidor = new ServidorEscoba(jugadores, remotos, System.nanoTime());
+                ServerSocket socket = new ServerSocket(puerto)) {
+            System.out.println("Servidor de Escoba en el puerto " + socket.getLocalPort());
+            servidor.atender(socket);
+        }
+    }
+
+    /**
+     * Simula partidas desatendidas en todos los núcleos y muestra el resumen por
+     * consola.
+     * 
+     * @param partidas número de partidas
+     * @param semilla  semilla del torneo
+     */
+    private static void jugarTorneo(long partidas, long semilla) {
+        Torneo torneo = new Torneo(semilla, 2,
+                aleatorio -> new Estrategia[] { new EstrategiaVoraz(), new EstrategiaAleatoria(aleatorio) });
+        System.out.print(torneo.jugar(partidas).aTexto());
+    }
 }
@@ -1,6 +1,13 @@
 package escoba.control;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
 import escoba.modelo.*;
+import escoba.vista.AdaptadorConsola;
 import escoba.vista.VistaConsola;
 
 /**
@@ -10,15 +17,27 @@ import escoba.vista.VistaConsola;
  *         R  R          S        S
  *         R    R   SSSSS     SSSSS
  *
- * Controla el flujo completo de la partida del juego de la Escoba.
- * Actúa como mediador entre el modelo ({@link escoba.modelo.Partida})
- * y la vista ({@link escoba.vista.VistaConsola}), gestionando los turnos,
- * el reparto de cartas, el procesamiento de las jugadas y la determinación
- * del ganador final.
+ * Controla el flujo completo de la partida del juego de la Escoba sobre el
+ * modelo ({@link escoba.modelo.Partida}): gestiona los turnos, el reparto de
+ * cartas, el procesamiento de las jugadas y la determinación del ganador
+ * final, pidiendo cada jugada a un {@link ProveedorDecisiones} y publicando
+ * lo que ocurre como {@link EventoPartida} a los {@link OyentePartida}.
+ *
+ * <p>El juego consta de 36 rondas (40 cartas menos las 4 iniciales en mesa),
+ * sea cual sea el número de jugadores: con dos, tres o cuatro se reparten
+ * tres cartas a cada uno hasta agotar la baraja y los turnos rotan en anillo.</p>
  *
- * <p>El juego consta de 36 rondas (40 cartas menos las 4 iniciales en mesa).
- * Todas las interacciones con el usuario (mostrar estado, pedir carta, anunciar escoba, etc.)
- * se delegan en la vista de consola.</p>
+ * <p>El proveedor entrega las jugadas de forma asíncrona: con
+ * {@link #ejecutarPartidaAsincrona()} la partida avanza cada vez que llega
+ * una jugada, sin ocupar ningún hilo mientras espera. La vista de consola se
+ * conecta como proveedor y como oyente con un {@link AdaptadorConsola}; en
+ * modo desatendido las decisiones de cada jugador se delegan en una
+ * {@link Estrategia} y no se realiza ninguna entrada/salida por consola.</p>
+ *
+ * <p>En todos los modos se pueden añadir {@link ObservadorPartida}s que reciben
+ * la baraja mezclada y cada jugada, por ejemplo para anotarla en un diario y
+ * archivarla a la vez, y {@link OyentePartida}s que reciben los {@link EventoPartida} como
+ * instantáneas inmutables. Los eventos solo se crean si hay algún oyente.</p>
  *
  * @author Ricardo Sevilla Soba
  * @version 1.0
@@ -26,60 +45,296 @@ import escoba.vista.VistaConsola;
  */
 public class Controlador {
 
+    /** Rondas de una partida: 40 cartas menos las 4 iniciales en mesa. */
+    private static final int RONDAS = 36;
+
+    /** Lista vacía de observadores. */
+    private static final ObservadorPartida[] SIN_OBSERVADORES = new ObservadorPartida[0];
+
+    /** Lista vacía de oyentes. */
+    private static final OyentePartida[] SIN_OYENTES = new OyentePartida[0];
+
     /** Estado general del juego: partida con baraja, jugadores y mesa. */
     private final Partida partida;
 
-    /** Vista encargada de la interacción con el usuario. */
-    private final VistaConsola vista;
+    /** Estrategias de cada jugador en modo desatendido ({@code null} si hay proveedor de decisiones). */
+    private final Estrategia[] estrategias;
+
+    /** Proveedor de las jugadas ({@code null} en modo desatendido). */
+    private final ProveedorDecisiones decisiones;
+
+    /** Observadores de la partida. */
+    private ObservadorPartida[] observadores = SIN_OBSERVADORES;
 
-    /** Último jugador que ganó una baza, necesario para asignar las cartas restantes al final. */
-    private Jugador ultimoGanador = null;
+    /** Oyentes de los eventos de la partida. */
+    private OyentePartida[] oyentes = SIN_OYENTES;
 
     /** Contador de rondas jugadas (0 a 35). */
     private int rondasJugadas = 0;
 
     /**
      * Crea un controlador para gestionar una {@link Partida} y su {@link VistaConsola}.
+     * <p>La vista se conecta con un {@link AdaptadorConsola}, que pide las
+     * jugadas como proveedor de decisiones y muestra las escobas y el
+     * resultado final como oyente.</p>
      *
      * @param partida partida que contiene el estado general del juego
      * @param vista   vista que gestiona la entrada/salida por consola
      */
     public Controlador(Partida partida, VistaConsola vista) {
+        final AdaptadorConsola consola = new AdaptadorConsola(vista, partida);
+        this.partida = partida;
+        this.estrategias = null;
+        this.decisiones = consola;
+        this.oyentes = new OyentePartida[] { consola };
+    }
+
+    /**
+     * Crea un controlador desatendido para una {@link Partida}, sin vista.
+     * <p>Las decisiones de cada jugador se delegan en la estrategia que ocupa
+     * su misma posición en {@link Partida#obtenerJugadores()}.</p>
+     *
+     * @param partida     partida que contiene el estado general del juego
+     * @param estrategias estrategia de cada jugador, en el orden de la partida
+     * @throws IllegalArgumentException si no hay una estrategia por jugador
+     * @since 2.0
+     */
+    public Controlador(Partida partida, Estrategia... estrategias) {
+        if (estrategias.length != partida.obtenerJugadores().length) {
+            throw new IllegalArgumentException("Se necesita una estrategia por jugador: "
+                    + partida.obtenerJugadores().length + ", recibidas " + estrategias.length);
+        }
         this.partida = partida;
-        this.vista = vista;
+        this.estrategias = estrategias.clone();
+        this.decisiones = null;
+    }
+
+    /**
+     * Crea un controlador sin vista cuyas jugadas entrega un
+     * {@link ProveedorDecisiones}.
+     *
+     * @param partida    partida que contiene el estado general del juego
+     * @param decisiones proveedor de las jugadas de todos los jugadores
+     * @since 2.0
+     */
+    public Controlador(Partida partida, ProveedorDecisiones decisiones) {
+        this.partida = partida;
+        this.estrategias = null;
+        this.decisiones = Objects.requireNonNull(decisiones, "El proveedor de decisiones no puede ser nulo");
+    }
+
+    /**
+     * Asigna el único observador que recibe los momentos clave de la partida,
+     * sustituyendo a los que hubiera.
+     *
+     * @param observador observador, {@code null} para no observar la partida
+     * @since 2.0
+     */
+    public void asignarObservador(ObservadorPartida observador) {
+        observadores = observador != null ? new ObservadorPartida[] { observador } : SIN_OBSERVADORES;
+    }
+
+    /**
+     * Añade un observador de los momentos clave de la partida. Los
+     * observadores se invocan en el orden en que se añaden, y si uno lanza una
+     * excepción los siguientes no reciben ese momento.
+     *
+     * @param observador observador
+     * @since 2.0
+     */
+    public void agregarObservador(ObservadorPartida observador) {
+        Objects.requireNonNull(observador, "El observador no puede ser nulo");
+        observadores = Arrays.copyOf(observadores, observadores.length + 1);
+        observadores[observadores.length - 1] = observador;
+    }
+
+    /**
+     * Añade un oyente de los eventos de la partida. Los oyentes se invocan en
+     * el orden en que se añaden.
+     *
+     * @param oyente oyente
+     * @since 2.0
+     */
+    public void agregarOyente(OyentePartida oyente) {
+        Objects.requireNonNull(oyente, "El oyente no puede ser nulo");
+        oyentes = Arrays.copyOf(oyentes, oyentes.length + 1);
+        oyentes[oyentes.length - 1] = oyente;
     }
 
     /**
      * Ejecuta la partida completa del juego de la Escoba.
-     * <p>Inicializa el reparto de cartas, ejecuta las 36 rondas alternando turnos entre jugadores,
+     * <p>Inicializa el reparto de cartas, ejecuta las 36 rondas rotando el turno entre los jugadores,
      * y al finalizar asigna las cartas restantes al último ganador. Finalmente,
-     * solicita a la vista que muestre el resultado de la partida.</p>
+     * publica el resultado de la partida a los oyentes.</p>
+     *
+     * <p>Con un {@link ProveedorDecisiones}, el hilo que llama espera a que
+     * termine {@link #ejecutarPartidaAsincrona()}.</p>
+     *
+     * @throws IllegalStateException si se elige una carta que no está en la mano
      */
     public void ejecutarPartida() {
         repartirCartasIniciales();
+        jugarHastaTerminar();
+    }
 
-        while (rondasJugadas < 36) {
-            final Jugador jugador = partida.obtenerJugadorActual();
-            final Mesa mesa = partida.obtenerMesa();
-            final Baraja baraja = partida.obtenerBaraja();
+    /**
+     * Empieza la partida y la juega a medida que el {@link ProveedorDecisiones}
+     * entrega las jugadas.
+     * <p>El reparto inicial se hace en el hilo que llama; cada turno continúa
+     * en el hilo que completa la jugada anterior. La partida no debe tocarse
+     * hasta que se complete la etapa devuelta.</p>
+     *
+     * @return etapa que se completa al terminar la partida, o de forma
+     *         excepcional si falla una jugada
+     * @throws IllegalStateException si el controlador no tiene proveedor de decisiones
+     * @since 2.0
+     */
+    public CompletionStage<Void> ejecutarPartidaAsincrona() {
+        if (decisiones == null) {
+            throw new IllegalStateException("El controlador no tiene proveedor de decisiones");
+        }
+        repartirCartasIniciales();
+        return jugarRondaAsincrona();
+    }
 
-            vista.mostrarEstado(mesa, jugador, baraja, rondasJugadas);
+    /**
+     * Continúa una partida ya empezada, por ejemplo reconstruida desde un
+     * diario tras una caída, sin volver a barajar ni a repartir.
+     * <p>Las rondas jugadas se deducen de las cartas que quedan en la baraja y
+     * en las manos, y el turno es el que tenga la partida.</p>
+     *
+     * @since 2.0
+     */
+    public void reanudarPartida() {
+        int cartasPorJugar = partida.obtenerBaraja().consultarNumeroCartas();
+        for (Jugador j : partida.obtenerJugadores()) {
+            cartasPorJugar += j.consultarNumeroCartasEnMano();
+        }
+        rondasJugadas = RONDAS - cartasPorJugar;
+        jugarHastaTerminar();
+    }
 
-            Carta cartaElegida = vista.pedirCarta(jugador);
-            Carta[] cartasMesa = vista.pedirCartasMesa(mesa, cartaElegida);
+    /**
+     * Juega las rondas que faltan, da las cartas restantes al último ganador
+     * y publica el resultado.
+     * <p>Con un proveedor de decisiones espera a que termine la cadena
+     * asíncrona y relanza sus errores tal cual.</p>
+     */
+    private void jugarHastaTerminar() {
+        if (decisiones != null) {
+            try {
+                jugarRondaAsincrona().toCompletableFuture().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                throw e;
+            }
+            return;
+        }
+        while (rondasJugadas < RONDAS) {
+            jugarTurnoDesatendido(partida.obtenerJugadorActual());
+            terminarRonda();
+        }
+        terminarPartida();
+    }
 
-            procesarJugada(jugador, cartaElegida, cartasMesa);
-            rondasJugadas++;
+    /**
+     * Pide la jugada del turno al proveedor de decisiones y, cuando llega, la
+     * procesa y pide la siguiente, hasta terminar la partida.
+     *
+     * @return etapa que se completa al terminar la partida
+     */
+    private CompletionStage<Void> jugarRondaAsincrona() {
+        if (rondasJugadas >= RONDAS) {
+            terminarPartida();
+            return CompletableFuture.completedFuture(null);
+        }
+        return decisiones.decidir(partida, partida.obtenerIndiceTurno()).thenCompose(jugada -> {
+            final Jugador jugador = partida.obtenerJugadorActual();
+            final Carta carta = jugada.consultarCarta();
+            if (carta == null || !CartaSet.contiene(jugador.consultarConjuntoMano(), carta)) {
+                throw new IllegalStateException("El proveedor de decisiones de " + jugador.consultarNombre()
+                        + " ha elegido una carta que no tiene en la mano: " + carta);
+            }
+            long captura = jugada.consultarCaptura();
+            if (!partida.obtenerMesa().esCapturaValida(carta, captura)) {
+                captura = CartaSet.VACIO;
+            }
+            procesarJugada(jugador, carta, captura);
+            terminarRonda();
+            return jugarRondaAsincrona();
+        });
+    }
 
-            if (estanAmbosSinCartas() && !baraja.estaVacia()) {
+    /**
+     * Cuenta la ronda jugada y, si todos se han quedado sin cartas, cierra el
+     * reparto y reparte de nuevo mientras queden cartas en la baraja.
+     */
+    private void terminarRonda() {
+        rondasJugadas++;
+        if (estanTodosSinCartas()) {
+            final Baraja baraja = partida.obtenerBaraja();
+            if (oyentes.length != 0) {
+                publicar(new EventoPartida.FinReparto(rondasJugadas, partida.obtenerMesa().consultarConjunto(),
+                        baraja.consultarNumeroCartas()));
+            }
+            if (!baraja.estaVacia()) {
                 repartirCartas();
             }
-
-            partida.cambiarTurno();
         }
+    }
 
+    /**
+     * Da las cartas restantes al último ganador y avisa a los observadores y a los
+     * oyentes.
+     */
+    private void terminarPartida() {
+        final long resto = partida.obtenerUltimoGanador() != null
+                ? partida.obtenerMesa().consultarConjunto() : CartaSet.VACIO;
         darCartasRestantes();
-        vista.mostrarResultadoFinal(partida);
+        for (ObservadorPartida observador : observadores) {
+            observador.partidaTerminada(partida);
+        }
+        if (oyentes.length != 0) {
+            final int[] desgloses = new int[partida.obtenerNumeroEquipos()];
+            Puntuacion.puntuar(partida, desgloses);
+            publicar(new EventoPartida.FinPartida(rondasJugadas, partida.obtenerIndiceUltimoGanador(), resto,
+                    desgloses));
+        }
+    }
+
+    /**
+     * Entrega un evento a todos los oyentes.
+     *
+     * @param evento evento
+     */
+    private void publicar(EventoPartida evento) {
+        for (OyentePartida oyente : oyentes) {
+            oyente.notificar(evento);
+        }
+    }
+
+    /**
+     * Juega el turno de un jugador consultando su estrategia.
+     * <p>Si la captura elegida no es válida la carta se deja sobre la mesa,
+     * igual que ocurre en la vista cuando la suma no es correcta.</p>
+     *
+     * @param jugador jugador al que le toca jugar
+     * @throws IllegalStateException si la estrategia elige una carta que no está en la mano
+     */
+    private void jugarTurnoDesatendido(Jugador jugador) {
+        final Estrategia estrategia = estrategias[partida.obtenerIndiceTurno()];
+        final Carta carta = estrategia.elegirCarta(partida, jugador);
+        if (carta == null || !CartaSet.contiene(jugador.consultarConjuntoMano(), carta)) {
+            throw new IllegalStateException("La estrategia de " + jugador.consultarNombre()
+                    + " ha elegido una carta que no tiene en la mano: " + carta);
+        }
+        long captura = estrategia.elegirCaptura(partida, jugador, carta);
+        if (!partida.obtenerMesa().esCapturaValida(carta, captura)) {
+            captura = CartaSet.VACIO;
+        }
+        procesarJugada(jugador, carta, captura);
     }
 
     /**
@@ -88,87 +343,77 @@ public class Controlador {
      * el método no realiza ninguna acción.</p>
      */
     private void darCartasRestantes() {
+        final Jugador ultimoGanador = partida.obtenerUltimoGanador();
         if (ultimoGanador == null) {
             return;
         }
 
         final Mesa mesa = partida.obtenerMesa();
-        final Carta[] resto = mesa.consultarCartasEnMesa();
+        final long resto = mesa.consultarConjunto();
 
-        if (resto.length == 0) {
+        if (CartaSet.estaVacio(resto)) {
             return;
         }
 
-        Baza baza = new Baza();
-        for (Carta c : resto) {
-            baza.agregarCarta(c);
-        }
-
-        ultimoGanador.agregarBaza(baza);
-
-        for (Carta c : resto) {
-            mesa.quitarCarta(c);
-        }
+        ultimoGanador.agregarBaza(resto, false);
+        mesa.vaciar();
     }
 
     /**
      * Procesa la jugada del jugador actual, gestionando tanto las bazas como las escobas.
      * <ul>
      *     <li>Si {@code cartasMesa} contiene cartas, se crea una baza con la carta jugada y las retiradas.</li>
-     *     <li>Si la mesa queda vacía, se marca la baza como escoba y se anuncia por la vista.</li>
+     *     <li>Si la mesa queda vacía, se marca la baza como escoba y se publica el evento.</li>
      *     <li>Si el jugador no recoge cartas, la carta se deja sobre la mesa.</li>
      * </ul>
      *
      * @param jugador    jugador que realiza la jugada
      * @param carta      carta elegida de su mano
-     * @param cartasMesa cartas retiradas de la mesa (validadas por la vista)
+     * @param cartasMesa cartas retiradas de la mesa, ya validadas
      */
     private void procesarJugada(Jugador jugador, Carta carta, Carta[] cartasMesa) {
-        final Mesa mesa = partida.obtenerMesa();
-
-        if (cartasMesa != null && cartasMesa.length > 0) {
-            Baza baza = new Baza();
-            baza.agregarCarta(carta);
-            for (Carta c : cartasMesa) {
-                baza.agregarCarta(c);
-            }
+        procesarJugada(jugador, carta, cartasMesa != null ? CartaSet.deCartas(cartasMesa) : CartaSet.VACIO);
+    }
 
-            jugador.jugarCarta(carta);
-            for (Carta c : cartasMesa) {
-                mesa.quitarCarta(c);
+    /**
+     * Procesa la jugada del jugador actual con las cartas retiradas expresadas
+     * como conjunto (ver {@link CartaSet}).
+     * <p>La jugada se aplica sobre la partida con {@link Partida#aplicar(Jugada)},
+     * que además pasa el turno al siguiente jugador.</p>
+     *
+     * @param jugador jugador que realiza la jugada (el que tiene el turno)
+     * @param carta   carta elegida de su mano
+     * @param captura cartas retiradas de la mesa, vacío si no recoge ninguna
+     * @see #procesarJugada(Jugador, Carta, Carta[])
+     */
+    private void procesarJugada(Jugador jugador, Carta carta, long captura) {
+        final Jugada jugada = new Jugada(carta, captura);
+        final int asiento = partida.obtenerIndiceTurno();
+        for (ObservadorPartida observador : observadores) {
+            observador.jugadaElegida(partida, asiento, jugada);
+        }
+        partida.aplicar(jugada);
+        for (ObservadorPartida observador : observadores) {
+            observador.jugadaAplicada(partida, asiento, jugada);
+        }
+        if (oyentes.length != 0) {
+            publicar(new EventoPartida.CartaJugada(rondasJugadas, asiento, carta));
+            if (jugada.esBaza()) {
+                publicar(new EventoPartida.Captura(rondasJugadas, asiento, carta, captura));
             }
-
-            if (mesa.estaVacia()) {
-                baza.marcarEscoba();
-                vista.anunciarEscoba(jugador.consultarNombre());
+            if (jugada.fueEscoba()) {
+                publicar(new EventoPartida.Escoba(rondasJugadas, asiento));
             }
-
-            jugador.agregarBaza(baza);
-            ultimoGanador = jugador;
-        } else {
-            jugador.jugarCarta(carta);
-            mesa.ponerCarta(carta);
         }
     }
 
     /**
-     * Reparte tres cartas a cada jugador si ambos se han quedado sin cartas
+     * Reparte tres cartas a cada jugador si todos se han quedado sin cartas
      * y la baraja aún tiene cartas disponibles.
      */
     private void repartirCartas() {
-        final Baraja baraja = partida.obtenerBaraja();
-        final Jugador[] jugadores = partida.obtenerJugadores();
-
-        for (int i = 0; i < 3 && !baraja.estaVacia(); i++) {
-            for (Jugador j : jugadores) {
-                if (!baraja.estaVacia()) {
-                    Carta extraida = baraja.extraerCarta();
-                    if (extraida != null) {
-                        j.recibirCarta(extraida);
-                    }
-                }
-            }
-        }
+        partida.repartir(3);
+        publicarReparto();
     }
 
     /**
@@ -182,18 +427,12 @@ public class Controlador {
     private void repartirCartasIniciales() {
         final Baraja baraja = partida.obtenerBaraja();
         final Mesa mesa = partida.obtenerMesa();
-        final Jugador[] jugadores = partida.obtenerJugadores();
 
         baraja.barajar();
-
-        for (int i = 0; i < 3; i++) {
-            for (Jugador j : jugadores) {
-                Carta extraida = baraja.extraerCarta();
-                if (extraida != null) {
-                    j.recibirCarta(extraida);
-                }
-            }
+        for (ObservadorPartida observador : observadores) {
+            observador.partidaIniciada(partida);
         }
+        partida.repartir(3);
 
         for (int i = 0; i < 4; i++) {
             Carta extraida = baraja.extraerCarta();
@@ -201,15 +440,30 @@ public class Controlador {
                 mesa.ponerCarta(extraida);
             }
         }
+        publicarReparto();
     }
 
     /**
-     * Comprueba si ambos jugadores se han quedado sin cartas en la mano.
+     * Publica el evento de reparto si hay oyentes.
+     */
+    private void publicarReparto() {
+        if (oyentes.length != 0) {
+            publicar(new EventoPartida.Reparto(rondasJugadas, partida.obtenerMesa().consultarConjunto(),
+                    partida.obtenerBaraja().consultarNumeroCartas()));
+        }
+    }
+
+    /**
+     * Comprueba si todos los jugadores se han quedado sin cartas en la mano.
      *
-     * @return {@code true} si los dos jugadores no tienen cartas, {@code false} en caso contrario
+     * @return {@code true} si ningún jugador tiene cartas, {@code false} en caso contrario
      */
-    private boolean estanAmbosSinCartas() {
-        final Jugador[] jugadores = partida.obtenerJugadores();
-        return jugadores[0].estaSinCartas() && jugadores[1].estaSinCartas();
+    private boolean estanTodosSinCartas() {
+        for (Jugador j : partida.obtenerJugadores()) {
+            if (!j.estaSinCartas()) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,48 @@
+package escoba.control;
+
+import escoba.modelo.Carta;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Estrategia de juego de un jugador que no interactúa por consola.
+ * <p>El {@link Controlador} la consulta en dos pasos en cada turno, igual que
+ * hace con la vista: primero la carta que se juega de la mano y después las
+ * cartas de la mesa que se retiran con ella.</p>
+ *
+ * <p>Las implementaciones pueden guardar estado entre ambas llamadas, por lo
+ * que cada asiento de cada partida debe tener su propia instancia.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.control.Controlador
+ */
+public interface Estrategia {
+
+    /**
+     * Elige la carta de la mano que se va a jugar.
+     *
+     * @param partida partida en curso (solo debe consultarse)
+     * @param jugador jugador al que le toca jugar
+     * @return carta de la mano del jugador
+     */
+    Carta elegirCarta(Partida partida, Jugador jugador);
+
+    /**
+     * Elige las cartas de la mesa que se retiran con la carta jugada.
+     *
+     * @param partida partida en curso (solo debe consultarse)
+     * @param jugador jugador al que le toca jugar
+     * @param carta   carta elegida previamente con {@link #elegirCarta(Partida, Jugador)}
+     * @return conjunto de cartas de la mesa (ver {@link escoba.modelo.CartaSet}),
+     *         vacío si la carta se deja sobre la mesa
+     */
+    long elegirCaptura(Partida partida, Jugador jugador, Carta carta);
+}
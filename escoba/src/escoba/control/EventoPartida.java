@@ -0,0 +1,118 @@
+package escoba.control;
+
+import escoba.modelo.Carta;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Evento que publica el {@link Controlador} a sus {@link OyentePartida}.
+ * <p>A diferencia de un {@link ObservadorPartida}, que recibe la partida viva
+ * y debe atenderla en el hilo del juego, cada evento es una instantánea
+ * inmutable: los conjuntos de cartas se copian como {@code long} (ver
+ * {@link escoba.modelo.CartaSet}) y las cartas son las canónicas, de modo que
+ * los eventos pueden consumirse más tarde y en otro hilo, por ejemplo con un
+ * {@link PublicadorEventos}.</p>
+ *
+ * <p>La jerarquía es cerrada, por lo que los oyentes pueden tratarla con un
+ * {@code switch} exhaustivo sobre los tipos de evento.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public sealed interface EventoPartida {
+
+    /**
+     * Consulta la ronda en la que se produce el evento, es decir, el número
+     * de cartas jugadas hasta entonces (0 a 36).
+     *
+     * @return ronda
+     */
+    int ronda();
+
+    /**
+     * Se han repartido cartas: el reparto inicial, con las cuatro de la mesa,
+     * o uno de los siguientes, cuando todos se han quedado sin cartas.
+     *
+     * @param ronda          rondas jugadas
+     * @param mesa           cartas de la mesa tras el reparto
+     * @param cartasEnBaraja cartas que quedan en la baraja
+     */
+    record Reparto(int ronda, long mesa, int cartasEnBaraja) implements EventoPartida {
+    }
+
+    /**
+     * Un jugador ha jugado una carta, recoja o no cartas de la mesa.
+     *
+     * @param ronda   rondas jugadas antes de esta
+     * @param asiento posición del jugador
+     * @param carta   carta jugada
+     */
+    record CartaJugada(int ronda, int asiento, Carta carta) implements EventoPartida {
+    }
+
+    /**
+     * Un jugador ha recogido cartas de la mesa; se publica tras la
+     * {@link CartaJugada} correspondiente.
+     *
+     * @param ronda   rondas jugadas antes de esta
+     * @param asiento posición del jugador
+     * @param carta   carta jugada
+     * @param cartas  cartas retiradas de la mesa, sin la carta jugada
+     */
+    record Captura(int ronda, int asiento, Carta carta, long cartas) implements EventoPartida {
+    }
+
+    /**
+     * La captura ha dejado la mesa vacía; se publica tras la {@link Captura}.
+     *
+     * @param ronda   rondas jugadas antes de esta
+     * @param asiento posición del jugador
+     */
+    record Escoba(int ronda, int asiento) implements EventoPartida {
+    }
+
+    /**
+     * Todos los jugadores han jugado las cartas de un reparto.
+     *
+     * @param ronda          rondas jugadas
+     * @param mesa           cartas de la mesa
+     * @param cartasEnBaraja cartas que quedan en la baraja
+     */
+    record FinReparto(int ronda, long mesa, int cartasEnBaraja) implements EventoPartida {
+    }
+
+    /**
+     * La partida ha terminado y las cartas restantes se han dado al último
+     * ganador.
+     *
+     * @param ronda          rondas jugadas
+     * @param ultimoGanador  posición del último ganador de baza, -1 si no hay
+     * @param restoMesa      cartas de la mesa que se ha llevado el último ganador
+     * @param desgloses      desglose de puntos de cada equipo (ver
+     *                       {@link escoba.modelo.Puntuacion}); se guarda una copia
+     */
+    record FinPartida(int ronda, int ultimoGanador, long restoMesa, int[] desgloses) implements EventoPartida {
+
+        /**
+         * Crea el evento con una copia de los desgloses.
+         */
+        public FinPartida {
+            desgloses = desgloses.clone();
+        }
+
+        /**
+         * Consulta el desglose de puntos de cada equipo.
+         *
+         * @return copia de los desgloses, uno por equipo
+         */
+        @Override
+        public int[] desgloses() {
+            return desgloses.clone();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package escoba.control;
+
+import escoba.modelo.Jugada;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Observador de los momentos clave de una partida dirigida por el
+ * {@link Controlador}.
+ * <p>Recibe la baraja recién mezclada, cada jugada antes y después de
+ * aplicarla y la partida terminada, lo suficiente para reproducirla,
+ * archivarla o anotarla en un diario antes de que cambie el estado. Se
+ * invoca desde el hilo que juega la partida, que no continúa hasta que el
+ * observador termina, y no debe modificar la partida.</p>
+ *
+ * <p>Todos los métodos tienen una implementación vacía por defecto, de modo
+ * que cada observador solo redefine los que le interesan.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.control.Controlador#asignarObservador(ObservadorPartida)
+ */
+public interface ObservadorPartida {
+
+    /**
+     * Se invoca tras mezclar la baraja y antes del reparto inicial, cuando el
+     * orden de la baraja determina todas las cartas de la partida.
+     *
+     * @param partida partida que comienza
+     */
+    default void partidaIniciada(Partida partida) {
+    }
+
+    /**
+     * Se invoca con la jugada ya elegida y validada, antes de aplicarla, de
+     * modo que la partida aún refleja el estado anterior a la jugada.
+     *
+     * @param partida partida en curso
+     * @param asiento posición del jugador que va a jugar
+     * @param jugada  jugada que se va a aplicar
+     */
+    default void jugadaElegida(Partida partida, int asiento, Jugada jugada) {
+    }
+
+    /**
+     * Se invoca después de aplicar una jugada, con el turno ya pasado al
+     * siguiente jugador.
+     *
+     * @param partida partida en curso
+     * @param asiento posición del jugador que ha jugado
+     * @param jugada  jugada aplicada
+     */
+    default void jugadaAplicada(Partida partida, int asiento, Jugada jugada) {
+    }
+
+    /**
+     * Se invoca al terminar la partida, después de dar las cartas que quedan
+     * en la mesa al último ganador.
+     *
+     * @param partida partida terminada
+     */
+    default void partidaTerminada(Partida partida) {
+    }
+}
@@ -0,0 +1,29 @@
+package escoba.control;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Oyente de los {@link EventoPartida} que publica el {@link Controlador}.
+ * <p>Se invoca en el hilo que juega la partida, en el orden en que ocurren
+ * los eventos. Un oyente lento retrasa cada jugada; para consumir los eventos
+ * en otro hilo se usa un {@link PublicadorEventos}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.control.Controlador#agregarOyente(OyentePartida)
+ */
+@FunctionalInterface
+public interface OyentePartida {
+
+    /**
+     * Recibe un evento de la partida.
+     *
+     * @param evento evento
+     */
+    void notificar(EventoPartida evento);
+}
@@ -0,0 +1,64 @@
+package escoba.control;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import escoba.modelo.Carta;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Proveedor no bloqueante de las jugadas de una partida.
+ * <p>El {@link Controlador} se lo pide en cada turno con
+ * {@link Controlador#ejecutarPartidaAsincrona()} y continúa la partida cuando
+ * la etapa devuelta se completa, sin ocupar ningún hilo mientras tanto. La
+ * continuación se ejecuta en el hilo que completa la etapa, por ejemplo el
+ * que recibe la respuesta de un jugador remoto.</p>
+ *
+ * <p>La partida no cambia hasta que se completa la etapa, de modo que puede
+ * consultarse desde cualquier hilo mientras tanto, pero no debe modificarse
+ * ni consultarse después.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface ProveedorDecisiones {
+
+    /**
+     * Pide la jugada del jugador al que le toca.
+     *
+     * @param partida partida en curso (solo debe consultarse)
+     * @param asiento posición del jugador al que le toca jugar
+     * @return etapa que se completa con la jugada; si la carta no está en la
+     *         mano la partida termina con error y, si la captura no es válida,
+     *         la carta se deja sobre la mesa
+     */
+    CompletionStage<Jugada> decidir(Partida partida, int asiento);
+
+    /**
+     * Adapta las estrategias síncronas de cada asiento: la etapa devuelta
+     * ya está completada.
+     *
+     * @param estrategias estrategia de cada asiento, en orden de turno
+     * @return proveedor de decisiones
+     */
+    static ProveedorDecisiones deEstrategias(Estrategia... estrategias) {
+        final Estrategia[] copia = estrategias.clone();
+        return (partida, asiento) -> {
+            final Estrategia estrategia = copia[asiento];
+            final Jugador jugador = partida.obtenerJugadores()[asiento];
+            final Carta carta = estrategia.elegirCarta(partida, jugador);
+            final long captura = estrategia.elegirCaptura(partida, jugador, carta);
+            return CompletableFuture.completedFuture(new Jugada(carta, captura));
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package escoba.control;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Oyente que reenvía los eventos de la partida a suscriptores de
+ * {@link Flow}, que los consumen en otro hilo.
+ * <p>Se apoya en un {@link SubmissionPublisher}, que guarda un búfer de
+ * eventos por suscriptor. Cuando el búfer de algún suscriptor lento se
+ * llena, hay dos políticas:</p>
+ * <ul>
+ *     <li>contrapresión: el hilo de la partida espera a que haya sitio, de
+ *     modo que no se pierde ningún evento;</li>
+ *     <li>descarte: el evento se descarta para ese suscriptor y se cuenta en
+ *     {@link #consultarDescartados()}, de modo que la partida nunca espera.</li>
+ * </ul>
+ *
+ * <p>Un mismo publicador puede añadirse a los controladores de varias mesas;
+ * los eventos de cada mesa llegan en orden.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see Controlador#agregarOyente(OyentePartida)
+ */
+public final class PublicadorEventos implements OyentePartida, AutoCloseable {
+
+    /** Publicador de {@code java.util.concurrent}. */
+    private final SubmissionPublisher<EventoPartida> publicador;
+
+    /** Si se descartan los eventos en lugar de esperar. */
+    private final boolean descartar;
+
+    /** Eventos descartados, contando una vez por suscriptor. */
+    private final LongAdder descartados = new LongAdder();
+
+    /**
+     * Crea un publicador con contrapresión que entrega los eventos en el pool
+     * común de fork/join, con un búfer de {@link Flow#defaultBufferSize()}
+     * eventos por suscriptor.
+     */
+    public PublicadorEventos() {
+        this(new SubmissionPublisher<EventoPartida>(), false);
+    }
+
+    /**
+     * Crea un publicador.
+     *
+     * @param ejecutor  ejecutor en el que se entregan los eventos a los suscriptores
+     * @param capacidad eventos que caben en el búfer de cada suscriptor
+     * @param descartar {@code true} para descartar los eventos que no caben,
+     *                  {@code false} para que la partida espere
+     */
+    public PublicadorEventos(Executor ejecutor, int capacidad, boolean descartar) {
+        this(new SubmissionPublisher<>(ejecutor, capacidad), descartar);
+    }
+
+    /**
+     * Crea un publicador sobre uno de {@code java.util.concurrent}.
+     *
+     * @param publicador publicador
+     * @param descartar  si se descartan los eventos que no caben
+     */
+    private PublicadorEventos(SubmissionPublisher<EventoPartida> publicador, boolean descartar) {
+        this.publicador = publicador;
+        this.descartar = descartar;
+    }
+
+    /**
+     * Suscribe un suscriptor de {@link Flow}.
+     *
+     * @param suscriptor suscriptor
+     */
+    public void suscribir(Flow.Subscriber<? super EventoPartida> suscriptor) {
+        publicador.subscribe(suscriptor);
+    }
+
+    /**
+     * Suscribe un oyente, que recibirá los eventos en el ejecutor del
+     * publicador en lugar de en el hilo de la partida.
+     *
+     * @param oyente oyente
+     * @return etapa que se completa cuando el oyente ha recibido todos los
+     *         eventos tras {@link #close()}
+     */
+    public CompletableFuture<Void> suscribir(OyentePartida oyente) {
+        return publicador.consume(oyente::notificar);
+    }
+
+    /**
+     * Publica un evento a todos los suscriptores.
+     *
+     * @param evento evento
+     * @throws IllegalStateException si el publicador está cerrado
+     */
+    @Override
+    public void notificar(EventoPartida evento) {
+        if (descartar) {
+            publicador.offer(evento, (suscriptor, descartado) -> {
+                descartados.increment();
+                return false;
+            });
+        } else {
+            publicador.submit(evento);
+        }
+    }
+
+    /**
+     * Consulta cuántos eventos se han descartado.
+     *
+     * @return eventos descartados, contando una vez por suscriptor
+     */
+    public long consultarDescartados() {
+        return descartados.sum();
+    }
+
+    /**
+     * Consulta el mayor número de eventos pendientes de entregar a un mismo
+     * suscriptor.
+     *
+     * @return eventos pendientes
+     */
+    public int consultarRetraso() {
+        return publicador.estimateMaximumLag();
+    }
+
+    /**
+     * Cierra el publicador. Los suscriptores reciben los eventos pendientes y
+     * después el aviso de fin.
+     */
+    @Override
+    public void close() {
+        publicador.close();
+    }
+}
@@ -0,0 +1,75 @@
+package escoba.ia;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+import escoba.control.Estrategia;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Estrategia que juega una carta al azar de la mano y, si con ella se puede
+ * recoger algo de la mesa, elige al azar una de las capturas posibles.
+ * <p>Sirve como rival de referencia en simulaciones.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class EstrategiaAleatoria implements Estrategia {
+
+    /** Generador de números aleatorios. */
+    private final RandomGenerator aleatorio;
+
+    /** Array reutilizable donde la mesa escribe las capturas posibles. */
+    private long[] capturas = new long[64];
+
+    /**
+     * Crea la estrategia con el generador aleatorio dado.
+     *
+     * @param aleatorio generador de números aleatorios (no compartido entre hilos)
+     */
+    public EstrategiaAleatoria(RandomGenerator aleatorio) {
+        this.aleatorio = Objects.requireNonNull(aleatorio, "El generador aleatorio no puede ser nulo");
+    }
+
+    /**
+     * Elige al azar una carta de la mano.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @return carta elegida
+     */
+    @Override
+    public Carta elegirCarta(Partida partida, Jugador jugador) {
+        return jugador.consultarCartaEnMano(aleatorio.nextInt(jugador.consultarNumeroCartasEnMano()));
+    }
+
+    /**
+     * Elige al azar una de las capturas posibles con la carta, o ninguna si no
+     * existen.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @param carta   carta jugada
+     * @return captura elegida o {@link CartaSet#VACIO}
+     */
+    @Override
+    public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+        int total = partida.obtenerMesa().generarCapturas(carta, capturas);
+        if (total > capturas.length) {
+            capturas = Arrays.copyOf(capturas, Integer.highestOneBit(total) << 1);
+            partida.obtenerMesa().generarCapturas(carta, capturas);
+        }
+        return total == 0 ? CartaSet.VACIO : capturas[aleatorio.nextInt(total)];
+    }
+}
@@ -0,0 +1,82 @@
+package escoba.ia;
+
+import java.util.Objects;
+
+import escoba.control.Estrategia;
+import escoba.modelo.Carta;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Estrategia que juega de forma exacta el último reparto.
+ * <p>Mientras quedan cartas en la baraja delega en otra estrategia; en
+ * cuanto la baraja se vacía, elige cada jugada con un
+ * {@link SolucionadorFinal}. Como el solucionador solo admite dos bandos, en
+ * partidas de tres jugadores individuales decide siempre la previa.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class EstrategiaFinal implements Estrategia {
+
+    /** Estrategia usada mientras quedan cartas en la baraja. */
+    private final Estrategia previa;
+
+    /** Solucionador del último reparto. */
+    private final SolucionadorFinal solucionador = new SolucionadorFinal();
+
+    /** Jugada exacta decidida al elegir la carta, {@code null} si decide la previa. */
+    private Jugada jugadaElegida;
+
+    /**
+     * Crea la estrategia.
+     *
+     * @param previa estrategia usada mientras quedan cartas en la baraja
+     */
+    public EstrategiaFinal(Estrategia previa) {
+        this.previa = Objects.requireNonNull(previa, "La estrategia previa no puede ser nula");
+    }
+
+    /**
+     * Elige la carta con el solucionador si la baraja está vacía y hay dos
+     * bandos, o con la estrategia previa en caso contrario.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @return carta elegida
+     */
+    @Override
+    public Carta elegirCarta(Partida partida, Jugador jugador) {
+        if (partida.obtenerBaraja().estaVacia() && partida.obtenerNumeroEquipos() == 2) {
+            jugadaElegida = solucionador.mejorJugada(partida);
+            return jugadaElegida.consultarCarta();
+        }
+        jugadaElegida = null;
+        return previa.elegirCarta(partida, jugador);
+    }
+
+    /**
+     * Devuelve la captura de la jugada exacta o la que elija la estrategia
+     * previa.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @param carta   carta jugada
+     * @return captura elegida
+     */
+    @Override
+    public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+        if (jugadaElegida != null) {
+            return jugadaElegida.consultarCaptura();
+        }
+        return previa.elegirCaptura(partida, jugador, carta);
+    }
+}
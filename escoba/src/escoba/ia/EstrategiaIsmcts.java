@@ -0,0 +1,718 @@
+package escoba.ia;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import escoba.control.Estrategia;
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Estrategia de búsqueda en árbol Monte Carlo sobre conjuntos de información
+ * (ISMCTS), con búsqueda en paralelo y un tiempo máximo por jugada.
+ * <p>El jugador solo conoce su mano, la mesa, las cartas ganadas por todos y
+ * cuántas cartas tiene cada uno; las demás están repartidas entre las manos
+ * rivales y la baraja. En cada iteración se construye una determinización
+ * (una partida concreta compatible con lo que sabe, repartiendo al azar las
+ * cartas no vistas), se desciende por un único árbol compartido eligiendo
+ * con UCB entre las jugadas legales en esa determinización, se añade un
+ * nodo, se termina la partida con jugadas rápidas y se propaga el resultado.
+ * Al agotarse el tiempo se juega la jugada más visitada.</p>
+ *
+ * <p>Como cada determinización solo permite algunas jugadas, el término de
+ * exploración de UCB usa, en lugar de las visitas del padre, las veces que
+ * cada hijo estaba disponible: en cada visita se cuentan todos los hijos ya
+ * creados cuya jugada es legal, se elija uno de ellos o se expanda uno nuevo.</p>
+ *
+ * <p>Varios hilos recorren el mismo árbol a la vez sin bloqueos: los hijos
+ * se insertan con una operación atómica de comparación e intercambio y las
+ * estadísticas de los nodos se actualizan con sumas atómicas. Cada hilo
+ * cuenta la visita al elegir un nodo y suma la recompensa al terminar
+ * (pérdida virtual), de modo que mientras tanto el nodo parece peor y los
+ * demás hilos tienden a explorar otras ramas. Cada hilo tiene su propia
+ * partida de trabajo y sus propios arrays, por lo que las iteraciones no
+ * reservan memoria salvo los nodos nuevos. Los hilos auxiliares se crean una
+ * sola vez y se reutilizan en todas las jugadas hasta {@link #close()}; si
+ * alguno falla, la jugada termina con su error en lugar de decidirse con
+ * menos búsqueda.</p>
+ *
+ * <p>La búsqueda solo admite partidas entre dos bandos (dos jugadores o dos
+ * parejas); en las demás juega una {@link EstrategiaVoraz}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class EstrategiaIsmcts implements Estrategia, AutoCloseable {
+
+    /** Tiempo por jugada por defecto, en milisegundos. */
+    public static final long MILISEGUNDOS_POR_DEFECTO = 200;
+
+    /** Cartas que recibe cada jugador en cada reparto. */
+    private static final int CARTAS_POR_REPARTO = 3;
+
+    /** Recompensa de la mejor partida posible; la peor vale 0. */
+    private static final long RECOMPENSA_MAXIMA = 1000;
+
+    /** Diferencia de puntos a partir de la cual la recompensa es máxima o nula. */
+    private static final int DIFERENCIA_DECISIVA = 10;
+
+    /** Constante de exploración de UCB, para recompensas entre 0 y 1. */
+    private static final double EXPLORACION = 0.7;
+
+    /** Desplazamiento de la clave de la carta dentro de una jugada codificada. */
+    private static final int DESPLAZAMIENTO_CARTA = 56;
+
+    /** Máximo de jugadas de una partida (nivel máximo del árbol). */
+    private static final int MAXIMO_JUGADAS = Baraja.NUMERO_CARTAS;
+
+    /** Tiempo por jugada, en nanosegundos. */
+    private final long nanosegundos;
+
+    /** Trabajadores de la búsqueda, uno por hilo. */
+    private final Trabajador[] trabajadores;
+
+    /** Hilos auxiliares de la búsqueda ({@code null} si solo se usa el que llama). */
+    private final ExecutorService ejecutor;
+
+    /** Estrategia para las partidas que no son entre dos bandos. */
+    private final EstrategiaVoraz alternativa = new EstrategiaVoraz();
+
+    /** Si la jugada en curso la decide la {@link #alternativa}. */
+    private boolean decideAlternativa;
+
+    /** Captura decidida al elegir la carta, devuelta después en {@link #elegirCaptura}. */
+    private long capturaElegida;
+
+    /** Iteraciones realizadas en la última jugada. */
+    private long iteraciones;
+
+    /**
+     * Crea la estrategia con 200 ms por jugada, un hilo por procesador y
+     * semilla impredecible.
+     */
+    public EstrategiaIsmcts() {
+        this(MILISEGUNDOS_POR_DEFECTO, Runtime.getRuntime().availableProcessors(),
+                new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Crea la estrategia.
+     *
+     * @param milisegundos tiempo por jugada
+     * @param hilos        número de hilos de búsqueda
+     * @param semilla      semilla de los generadores aleatorios de los hilos
+     * @throws IllegalArgumentException si el tiempo o el número de hilos no son positivos
+     */
+    public EstrategiaIsmcts(long milisegundos, int hilos, long semilla) {
+        if (milisegundos <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("El tiempo y el número de hilos deben ser positivos");
+        }
+        this.nanosegundos = milisegundos * 1_000_000L;
+        SplittableRandom aleatorio = new SplittableRandom(semilla);
+        this.trabajadores = new Trabajador[hilos];
+        for (int i = 0; i < hilos; i++) {
+            trabajadores[i] = new Trabajador(aleatorio.split());
+        }
+        this.ejecutor = hilos == 1 ? null
+                : Executors.newFixedThreadPool(hilos - 1, Thread.ofPlatform().daemon().name("ismcts-", 1).factory());
+    }
+
+    /**
+     * Busca durante el tiempo por jugada y elige la carta de la jugada más
+     * visitada. Si la partida no es entre dos bandos decide la estrategia
+     * voraz.
+     *
+     * @param partida partida en curso (solo se consulta)
+     * @param jugador jugador al que le toca jugar
+     * @return carta elegida
+     * @throws IllegalStateException si falla algún hilo de búsqueda o se
+     *                               interrumpe la espera
+     */
+    @Override
+    public Carta elegirCarta(Partida partida, Jugador jugador) {
+        decideAlternativa = partida.obtenerNumeroEquipos() != 2;
+        if (decideAlternativa) {
+            return alternativa.elegirCarta(partida, jugador);
+        }
+        final Nodo raiz = new Nodo(0L, -1, null);
+        final long limite = System.nanoTime() + nanosegundos;
+
+        Future<?>[] tareas = new Future<?>[trabajadores.length - 1];
+        for (int i = 0; i < tareas.length; i++) {
+            Trabajador trabajador = trabajadores[i + 1];
+            tareas[i] = ejecutor.submit(() -> trabajador.buscar(partida, raiz, limite));
+        }
+        // se espera a todos los hilos aunque falle alguno, porque leen la partida real
+        RuntimeException error = null;
+        try {
+            trabajadores[0].buscar(partida, raiz, limite);
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        for (Future<?> tarea : tareas) {
+            try {
+                esperar(tarea);
+            } catch (RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+
+        iteraciones = 0;
+        for (Trabajador trabajador : trabajadores) {
+            iteraciones += trabajador.iteraciones;
+        }
+        Nodo mejor = null;
+        for (Nodo hijo = raiz.primerHijo; hijo != null; hijo = hijo.siguiente) {
+            if (mejor == null || hijo.visitas > mejor.visitas) {
+                mejor = hijo;
+            }
+        }
+        capturaElegida = captura(mejor.jugada);
+        return carta(mejor.jugada);
+    }
+
+    /**
+     * Devuelve la captura decidida al elegir la carta.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @param carta   carta jugada
+     * @return captura elegida o {@link CartaSet#VACIO}
+     */
+    @Override
+    public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+        if (decideAlternativa) {
+            return alternativa.elegirCaptura(partida, jugador, carta);
+        }
+        return capturaElegida;
+    }
+
+    /**
+     * Detiene los hilos auxiliares de la búsqueda. Después no deben pedirse
+     * más jugadas con varios hilos.
+     */
+    @Override
+    public void close() {
+        if (ejecutor != null) {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Consulta las iteraciones realizadas entre todos los hilos en la última
+     * jugada.
+     *
+     * @return iteraciones
+     */
+    public long consultarIteraciones() {
+        return iteraciones;
+    }
+
+    /**
+     * Espera a que termine la búsqueda de un hilo auxiliar.
+     *
+     * @param tarea búsqueda del hilo
+     * @throws IllegalStateException si la búsqueda falla o se interrumpe la espera
+     */
+    private static void esperar(Future<?> tarea) {
+        try {
+            tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Búsqueda interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error grave) {
+                throw grave;
+            }
+            throw new IllegalStateException("Ha fallado un hilo de búsqueda", e.getCause());
+        }
+    }
+
+    /**
+     * Codifica una jugada en un {@code long}: la captura en los bits bajos y
+     * la clave de la carta en los altos.
+     *
+     * @param carta   carta jugada
+     * @param captura cartas retiradas
+     * @return jugada codificada
+     */
+    private static long codificar(Carta carta, long captura) {
+        return (long) carta.clave() << DESPLAZAMIENTO_CARTA | captura;
+    }
+
+    /**
+     * Obtiene la carta de una jugada codificada.
+     *
+     * @param jugada jugada codificada
+     * @return carta jugada
+     */
+    private static Carta carta(long jugada) {
+        return Carta.deClave((int) (jugada >>> DESPLAZAMIENTO_CARTA));
+    }
+
+    /**
+     * Obtiene la captura de una jugada codificada.
+     *
+     * @param jugada jugada codificada
+     * @return cartas retiradas
+     */
+    private static long captura(long jugada) {
+        return jugada & ((1L << DESPLAZAMIENTO_CARTA) - 1);
+    }
+
+    /**
+     * Nodo del árbol compartido. Representa una jugada a partir del nodo
+     * padre y acumula sus estadísticas con operaciones atómicas.
+     */
+    private static final class Nodo {
+
+        /** Acceso atómico a {@link #primerHijo}. */
+        private static final VarHandle PRIMER_HIJO;
+
+        /** Acceso atómico a {@link #visitas}. */
+        private static final VarHandle VISITAS;
+
+        /** Acceso atómico a {@link #disponibles}. */
+        private static final VarHandle DISPONIBLES;
+
+        /** Acceso atómico a {@link #recompensa}. */
+        private static final VarHandle RECOMPENSA;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                PRIMER_HIJO = lookup.findVarHandle(Nodo.class, "primerHijo", Nodo.class);
+                VISITAS = lookup.findVarHandle(Nodo.class, "visitas", long.class);
+                DISPONIBLES = lookup.findVarHandle(Nodo.class, "disponibles", long.class);
+                RECOMPENSA = lookup.findVarHandle(Nodo.class, "recompensa", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /** Jugada codificada que lleva a este nodo. */
+        private final long jugada;
+
+        /** Bando que hace la jugada, desde cuyo punto de vista se mide la recompensa. */
+        private final int equipo;
+
+        /** Siguiente hermano en la lista de hijos del padre. */
+        private final Nodo siguiente;
+
+        /** Primer hijo; la lista solo crece por la cabeza. */
+        private volatile Nodo primerHijo;
+
+        /** Veces que se ha elegido el nodo, incluidas las iteraciones en curso. */
+        private volatile long visitas;
+
+        /** Veces que la jugada era legal cuando se eligió entre sus hermanos. */
+        private volatile long disponibles;
+
+        /** Suma de las recompensas obtenidas. */
+        private volatile long recompensa;
+
+        /**
+         * Crea un nodo.
+         *
+         * @param jugada    jugada codificada
+         * @param equipo    bando que hace la jugada
+         * @param siguiente siguiente hermano
+         */
+        private Nodo(long jugada, int equipo, Nodo siguiente) {
+            this.jugada = jugada;
+            this.equipo = equipo;
+            this.siguiente = siguiente;
+        }
+
+        /**
+         * Busca el hijo de una jugada.
+         *
+         * @param jugada jugada codificada
+         * @return hijo o {@code null} si no existe
+         */
+        private Nodo buscar(long jugada) {
+            return buscarDesde(primerHijo, jugada);
+        }
+
+        /**
+         * Añade el hijo de una jugada, o devuelve el existente si otro hilo
+         * se ha adelantado.
+         *
+         * @param jugada jugada codificada
+         * @param equipo bando que hace la jugada
+         * @return hijo de la jugada
+         */
+        private Nodo agregar(long jugada, int equipo) {
+            while (true) {
+                Nodo cabeza = primerHijo;
+                Nodo existente = buscarDesde(cabeza, jugada);
+                if (existente != null) {
+                    return existente;
+                }
+                Nodo nuevo = new Nodo(jugada, equipo, cabeza);
+                if (PRIMER_HIJO.compareAndSet(this, cabeza, nuevo)) {
+                    return nuevo;
+                }
+            }
+        }
+
+        /**
+         * Busca una jugada en la lista de hermanos que empieza en un nodo.
+         *
+         * @param desde  primer nodo de la lista
+         * @param jugada jugada codificada
+         * @return nodo de la jugada o {@code null} si no está
+         */
+        private static Nodo buscarDesde(Nodo desde, long jugada) {
+            for (Nodo hijo = desde; hijo != null; hijo = hijo.siguiente) {
+                if (hijo.jugada == jugada) {
+                    return hijo;
+                }
+            }
+            return null;
+        }
+
+        /** Cuenta una visita al elegir el nodo, antes de conocer su recompensa. */
+        private void visitar() {
+            VISITAS.getAndAdd(this, 1L);
+        }
+
+        /** Cuenta que la jugada era legal en la determinización actual. */
+        private void marcarDisponible() {
+            DISPONIBLES.getAndAdd(this, 1L);
+        }
+
+        /**
+         * Suma la recompensa de una iteración.
+         *
+         * @param valor recompensa entre 0 y {@link EstrategiaIsmcts#RECOMPENSA_MAXIMA}
+         */
+        private void recompensar(long valor) {
+            RECOMPENSA.getAndAdd(this, valor);
+        }
+
+        /**
+         * Calcula la cota UCB del nodo.
+         *
+         * @return valor medio más término de exploración
+         */
+        private double ucb() {
+            long n = visitas;
+            if (n == 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double media = (double) recompensa / (n * RECOMPENSA_MAXIMA);
+            return media + EXPLORACION * Math.sqrt(Math.log(Math.max(disponibles, 1)) / n);
+        }
+    }
+
+    /**
+     * Hilo de búsqueda con su propia partida de trabajo, generador aleatorio
+     * y arrays reutilizables.
+     */
+    private static final class Trabajador {
+
+        /** Generador aleatorio del hilo. */
+        private final SplittableRandom aleatorio;
+
+        /** Partida de trabajo donde se construye cada determinización. */
+        private Partida mundo;
+
+        /** Jugada reutilizable. */
+        private final Jugada jugada = new Jugada(null, CartaSet.VACIO);
+
+        /** Jugadas legales codificadas del turno actual. */
+        private long[] jugadas = new long[64];
+
+        /** Capturas posibles de una carta. */
+        private long[] capturas = new long[64];
+
+        /** Nodos recorridos en la iteración actual. */
+        private final Nodo[] camino = new Nodo[MAXIMO_JUGADAS + 1];
+
+        /** Iteraciones realizadas en la última búsqueda. */
+        private long iteraciones;
+
+        /**
+         * Crea un trabajador.
+         *
+         * @param aleatorio generador aleatorio propio
+         */
+        private Trabajador(SplittableRandom aleatorio) {
+            this.aleatorio = aleatorio;
+        }
+
+        /**
+         * Itera sobre el árbol compartido hasta el instante límite.
+         *
+         * @param real   partida real (solo se consulta)
+         * @param raiz   raíz del árbol compartido
+         * @param limite instante límite según {@link System#nanoTime()}
+         */
+        private void buscar(Partida real, Nodo raiz, long limite) {
+            prepararMundo(real);
+            iteraciones = 0;
+            do {
+                iterar(real, raiz);
+                iteraciones++;
+            } while (System.nanoTime() < limite);
+        }
+
+        /**
+         * Crea la partida de trabajo si no existe o no tiene la forma de la real.
+         *
+         * @param real partida real
+         */
+        private void prepararMundo(Partida real) {
+            int numeroJugadores = real.obtenerJugadores().length;
+            if (mundo == null || mundo.obtenerJugadores().length != numeroJugadores
+                    || mundo.obtenerNumeroEquipos() != real.obtenerNumeroEquipos()) {
+                Jugador[] jugadores = new Jugador[numeroJugadores];
+                for (int i = 0; i < numeroJugadores; i++) {
+                    jugadores[i] = new Jugador(real.obtenerJugadores()[i].consultarNombre());
+                }
+                mundo = new Partida(jugadores, real.obtenerNumeroEquipos(), new Mesa(),
+                        new Baraja(aleatorio.split()));
+            }
+        }
+
+        /**
+         * Realiza una iteración: determinización, selección, expansión,
+         * simulación y propagación.
+         *
+         * @param real partida real
+         * @param raiz raíz del árbol compartido
+         */
+        private void iterar(Partida real, Nodo raiz) {
+            determinizar(real);
+            final int equipoRaiz = mundo.obtenerEquipo(mundo.obtenerIndiceTurno());
+            int profundidad = 0;
+            Nodo nodo = raiz;
+            nodo.visitar();
+            camino[profundidad++] = nodo;
+
+            boolean expandido = false;
+            while (!expandido && !terminada()) {
+                final int equipo = mundo.obtenerEquipo(mundo.obtenerIndiceTurno());
+                final int total = generarJugadas();
+                // se llevan al principio las jugadas legales que aún no tienen nodo
+                int sinProbar = 0;
+                for (int i = 0; i < total; i++) {
+                    if (nodo.buscar(jugadas[i]) == null) {
+                        long aux = jugadas[sinProbar];
+                        jugadas[sinProbar++] = jugadas[i];
+                        jugadas[i] = aux;
+                    }
+                }
+                Nodo elegido;
+                if (sinProbar > 0) {
+                    // los hermanos ya creados también estaban disponibles en esta visita
+                    for (int i = sinProbar; i < total; i++) {
+                        nodo.buscar(jugadas[i]).marcarDisponible();
+                    }
+                    elegido = nodo.agregar(jugadas[aleatorio.nextInt(sinProbar)], equipo);
+                    elegido.marcarDisponible();
+                    expandido = true;
+                } else {
+                    elegido = null;
+                    double mejor = Double.NEGATIVE_INFINITY;
+                    for (int i = 0; i < total; i++) {
+                        Nodo hijo = nodo.buscar(jugadas[i]);
+                        hijo.marcarDisponible();
+                        double valor = hijo.ucb();
+                        if (valor > mejor) {
+                            mejor = valor;
+                            elegido = hijo;
+                        }
+                    }
+                }
+                elegido.visitar();
+                camino[profundidad++] = elegido;
+                jugar(elegido.jugada);
+                nodo = elegido;
+            }
+
+            simular();
+            long recompensa = recompensa(equipoRaiz);
+            for (int i = 0; i < profundidad; i++) {
+                Nodo recorrido = camino[i];
+                recorrido.recompensar(recorrido.equipo == equipoRaiz || recorrido.equipo < 0
+                        ? recompensa : RECOMPENSA_MAXIMA - recompensa);
+                camino[i] = null;
+            }
+        }
+
+        /**
+         * Construye en la partida de trabajo una partida compatible con lo que
+         * sabe el jugador al que le toca jugar en la real: se copia la
+         * información pública y su mano, y las cartas que no ha visto se
+         * reparten al azar entre las manos de los demás y la baraja.
+         *
+         * @param real partida real
+         */
+        private void determinizar(Partida real) {
+            mundo.copiarPublicoDe(real);
+            final Jugador[] reales = real.obtenerJugadores();
+            final Jugador[] jugadores = mundo.obtenerJugadores();
+            final int propio = real.obtenerIndiceTurno();
+            final long mano = reales[propio].consultarConjuntoMano();
+
+            long vistas = real.obtenerMesa().consultarConjunto() | mano;
+            for (Jugador jugador : reales) {
+                vistas |= jugador.consultarCartasGanadas();
+            }
+            final Baraja baraja = mundo.obtenerBaraja();
+            baraja.reiniciarCon(CartaSet.TODAS & ~vistas);
+
+            for (long resto = mano; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+                jugadores[propio].recibirCarta(CartaSet.primera(resto));
+            }
+            for (int i = 0; i < jugadores.length; i++) {
+                if (i != propio) {
+                    for (int j = reales[i].consultarNumeroCartasEnMano(); j > 0; j--) {
+                        jugadores[i].recibirCarta(baraja.extraerCarta());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Termina la partida de trabajo con jugadas rápidas: la escoba si la
+         * hay, si no una captura al azar y, si no se puede capturar, una carta
+         * al azar sobre la mesa.
+         */
+        private void simular() {
+            final Mesa mesa = mundo.obtenerMesa();
+            while (!terminada()) {
+                final int total = generarJugadas();
+                final long enMesa = mesa.consultarConjunto();
+                int capturasPosibles = 0;
+                long elegida = 0L;
+                for (int i = 0; i < total && elegida == 0L; i++) {
+                    long captura = captura(jugadas[i]);
+                    if (!CartaSet.estaVacio(captura)) {
+                        if (captura == enMesa) {
+                            elegida = jugadas[i];
+                        }
+                        // las capturas se compactan al principio sobre jugadas ya revisadas
+                        jugadas[capturasPosibles++] = jugadas[i];
+                    }
+                }
+                if (elegida == 0L && capturasPosibles > 0) {
+                    elegida = jugadas[aleatorio.nextInt(capturasPosibles)];
+                } else if (elegida == 0L) {
+                    final Jugador jugador = mundo.obtenerJugadorActual();
+                    int indice = aleatorio.nextInt(jugador.consultarNumeroCartasEnMano());
+                    elegida = codificar(jugador.consultarCartaEnMano(indice), CartaSet.VACIO);
+                }
+                jugar(elegida);
+            }
+        }
+
+        /**
+         * Aplica una jugada en la partida de trabajo y reparte si todos se han
+         * quedado sin cartas y quedan en la baraja.
+         *
+         * @param codigo jugada codificada
+         */
+        private void jugar(long codigo) {
+            jugada.asignar(carta(codigo), captura(codigo));
+            mundo.aplicar(jugada);
+            if (manosVacias() && !mundo.obtenerBaraja().estaVacia()) {
+                mundo.repartir(CARTAS_POR_REPARTO);
+            }
+        }
+
+        /**
+         * Genera las jugadas legales del jugador al que le toca jugar en la
+         * partida de trabajo: cada captura posible de cada carta y dejar cada
+         * carta sobre la mesa.
+         *
+         * @return número de jugadas generadas en {@link #jugadas}
+         */
+        private int generarJugadas() {
+            final Mesa mesa = mundo.obtenerMesa();
+            int total = 0;
+            for (long mano = mundo.obtenerJugadorActual().consultarConjuntoMano(); !CartaSet.estaVacio(mano);
+                    mano = CartaSet.quitarPrimera(mano)) {
+                Carta carta = CartaSet.primera(mano);
+                int numeroCapturas = mesa.generarCapturas(carta, capturas);
+                if (numeroCapturas > capturas.length) {
+                    capturas = Arrays.copyOf(capturas, Integer.highestOneBit(numeroCapturas) << 1);
+                    mesa.generarCapturas(carta, capturas);
+                }
+                if (total + numeroCapturas + 1 > jugadas.length) {
+                    jugadas = Arrays.copyOf(jugadas, Integer.highestOneBit(total + numeroCapturas + 1) << 1);
+                }
+                for (int i = 0; i < numeroCapturas; i++) {
+                    jugadas[total++] = codificar(carta, capturas[i]);
+                }
+                jugadas[total++] = codificar(carta, CartaSet.VACIO);
+            }
+            return total;
+        }
+
+        /**
+         * Indica si en la partida de trabajo ya no quedan cartas por jugar.
+         *
+         * @return {@code true} si la partida ha terminado
+         */
+        private boolean terminada() {
+            return manosVacias() && mundo.obtenerBaraja().estaVacia();
+        }
+
+        /**
+         * Indica si todos los jugadores de la partida de trabajo tienen la
+         * mano vacía.
+         *
+         * @return {@code true} si ningún jugador tiene cartas
+         */
+        private boolean manosVacias() {
+            for (Jugador jugador : mundo.obtenerJugadores()) {
+                if (!jugador.estaSinCartas()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Convierte el resultado de la partida de trabajo en una recompensa
+         * para un bando.
+         *
+         * @param equipo bando
+         * @return recompensa entre 0 y {@link EstrategiaIsmcts#RECOMPENSA_MAXIMA}
+         */
+        private long recompensa(int equipo) {
+            int diferencia = Puntuacion.diferenciaFinal(mundo, equipo);
+            int acotada = Math.max(-DIFERENCIA_DECISIVA, Math.min(DIFERENCIA_DECISIVA, diferencia));
+            return RECOMPENSA_MAXIMA / 2 + acotada * RECOMPENSA_MAXIMA / (2 * DIFERENCIA_DECISIVA);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package escoba.ia;
+
+import java.util.Arrays;
+
+import escoba.control.Estrategia;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Palo;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Estrategia voraz: en cada turno elige la jugada que más valor recoge de
+ * inmediato, sin mirar más allá.
+ * <p>Prima las escobas y, después, el siete de oros, los sietes, los oros y
+ * el número de cartas. Si ninguna carta permite recoger nada, se deja en la
+ * mesa la de menor valor.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class EstrategiaVoraz implements Estrategia {
+
+    /** Valor de cada carta recogida. */
+    private static final int VALOR_CARTA = 10;
+
+    /** Valor adicional de cada oro. */
+    private static final int VALOR_ORO = 20;
+
+    /** Valor adicional de cada siete. */
+    private static final int VALOR_SIETE = 30;
+
+    /** Valor adicional del siete de oros. */
+    private static final int VALOR_SIETE_OROS = 100;
+
+    /** Valor adicional de una escoba. */
+    private static final int VALOR_ESCOBA = 1000;
+
+    /** Conjunto de los oros. */
+    private static final long OROS = CartaSet.delPalo(Palo.OROS);
+
+    /** Array reutilizable donde la mesa escribe las capturas posibles. */
+    private long[] capturas = new long[64];
+
+    /** Captura decidida al elegir la carta, devuelta después en {@link #elegirCaptura}. */
+    private long capturaElegida;
+
+    /**
+     * Elige la carta que permite la captura de mayor valor o, si no hay
+     * ninguna, la de menor valor para dejarla en la mesa.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @return carta elegida
+     */
+    @Override
+    public Carta elegirCarta(Partida partida, Jugador jugador) {
+        final Mesa mesa = partida.obtenerMesa();
+        Carta mejorCarta = null;
+        int mejorValor = Integer.MIN_VALUE;
+        capturaElegida = CartaSet.VACIO;
+
+        for (long mano = jugador.consultarConjuntoMano(); !CartaSet.estaVacio(mano); mano = CartaSet
+                .quitarPrimera(mano)) {
+            Carta carta = CartaSet.primera(mano);
+            int total = generarCapturas(mesa, carta);
+            for (int i = 0; i < total; i++) {
+                int valor = valorar(CartaSet.agregar(capturas[i], carta));
+                if (capturas[i] == mesa.consultarConjunto()) {
+                    valor += VALOR_ESCOBA;
+                }
+                if (valor > mejorValor) {
+                    mejorValor = valor;
+                    mejorCarta = carta;
+                    capturaElegida = capturas[i];
+                }
+            }
+            // dejar la carta en la mesa cuesta lo que vale
+            int valor = -valorar(CartaSet.bit(carta));
+            if (valor > mejorValor) {
+                mejorValor = valor;
+                mejorCarta = carta;
+                capturaElegida = CartaSet.VACIO;
+            }
+        }
+        return mejorCarta;
+    }
+
+    /**
+     * Devuelve la captura decidida al elegir la carta.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @param carta   carta jugada
+     * @return captura elegida o {@link CartaSet#VACIO}
+     */
+    @Override
+    public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+        return capturaElegida;
+    }
+
+    /**
+     * Genera en el array reutilizable las capturas posibles con la carta,
+     * ampliándolo si no caben.
+     *
+     * @param mesa  mesa
+     * @param carta carta jugada
+     * @return número de capturas posibles
+     */
+    private int generarCapturas(Mesa mesa, Carta carta) {
+        int total = mesa.generarCapturas(carta, capturas);
+        if (total > capturas.length) {
+            capturas = Arrays.copyOf(capturas, Integer.highestOneBit(total) << 1);
+            mesa.generarCapturas(carta, capturas);
+        }
+        return total;
+    }
+
+    /**
+     * Valora un conjunto de cartas según su aportación al recuento final.
+     *
+     * @param cartas conjunto de cartas
+     * @return valor heurístico
+     */
+    private static int valorar(long cartas) {
+        int valor = VALOR_CARTA * CartaSet.contar(cartas)
+                + VALOR_ORO * CartaSet.contar(cartas & OROS)
+                + VALOR_SIETE * CartaSet.contar(cartas & CartaSet.SIETES);
+        if ((cartas & OROS & CartaSet.SIETES) != CartaSet.VACIO) {
+            valor += VALOR_SIETE_OROS;
+        }
+        return valor;
+    }
+}
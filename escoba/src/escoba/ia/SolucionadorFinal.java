@@ -0,0 +1,305 @@
+package escoba.ia;
+
+import java.util.Arrays;
+
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Resuelve de forma exacta el último reparto de una partida.
+ * <p>Con la baraja vacía no queda azar: cada jugador puede deducir las cartas
+ * de los demás descontando las que ya ha visto, por lo que el final es un
+ * juego de información perfecta. Se recorre con negamax y poda alfa-beta
+ * hasta que se vacían todas las manos, y cada posición final se valora con
+ * la diferencia de puntos entre los dos bandos según las reglas del recuento
+ * final (ver {@link Puntuacion}), incluidas las cartas que se lleva el
+ * último ganador.</p>
+ *
+ * <p>Las jugadas se aplican y deshacen sobre la propia {@link Partida}, sin
+ * copiarla, y las posiciones ya resueltas se guardan en una tabla de
+ * transposición indexada por {@link Partida#consultarClave()}. Como la clave
+ * incluye las cartas ganadas y las escobas, el valor guardado es el de la
+ * partida completa y la tabla puede conservarse entre llamadas.</p>
+ *
+ * <p>Solo admite partidas entre dos bandos (dos jugadores o dos parejas). No
+ * es seguro para uso concurrente.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class SolucionadorFinal {
+
+    /** Bits del índice de la tabla de transposición por defecto (64K entradas). */
+    private static final int BITS_TABLA_POR_DEFECTO = 16;
+
+    /** Máximo de turnos de un último reparto (tres cartas por jugador). */
+    private static final int MAXIMO_TURNOS = Partida.MAXIMO_JUGADORES * 3;
+
+    /** Capacidad inicial de los arrays de capturas de cada nivel. */
+    private static final int CAPACIDAD_CAPTURAS = 64;
+
+    /** Cota superior de cualquier diferencia de puntos. */
+    private static final int INFINITO = 1000;
+
+    /** Tipo de entrada: valor exacto. */
+    private static final int EXACTO = 0;
+
+    /** Tipo de entrada: el valor real es mayor o igual. */
+    private static final int COTA_INFERIOR = 1;
+
+    /** Tipo de entrada: el valor real es menor o igual. */
+    private static final int COTA_SUPERIOR = 2;
+
+    /** Bits que ocupa el tipo dentro de una entrada. */
+    private static final int BITS_TIPO = 2;
+
+    /** Claves de las posiciones guardadas en la tabla. */
+    private final long[] claves;
+
+    /** Valor y tipo de cada posición guardada, empaquetados. */
+    private final int[] entradas;
+
+    /** Máscara para obtener el índice de la tabla a partir de la clave. */
+    private final int mascara;
+
+    /** Jugada reutilizable de cada nivel de la búsqueda. */
+    private final Jugada[] jugadas = new Jugada[MAXIMO_TURNOS];
+
+    /** Capturas posibles de cada nivel de la búsqueda. */
+    private final long[][] capturas = new long[MAXIMO_TURNOS][CAPACIDAD_CAPTURAS];
+
+    /** Partida que se está resolviendo. */
+    private Partida partida;
+
+    /** Posiciones visitadas desde la creación del solucionador. */
+    private long nodos;
+
+    /**
+     * Crea un solucionador con una tabla de transposición de 64K entradas.
+     */
+    public SolucionadorFinal() {
+        this(BITS_TABLA_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un solucionador con una tabla de transposición de
+     * {@code 2^bitsTabla} entradas.
+     *
+     * @param bitsTabla bits del índice de la tabla (de 1 a 30)
+     * @throws IllegalArgumentException si el tamaño no es válido
+     */
+    public SolucionadorFinal(int bitsTabla) {
+        if (bitsTabla < 1 || bitsTabla > 30) {
+            throw new IllegalArgumentException("Tamaño de tabla no válido: " + bitsTabla);
+        }
+        claves = new long[1 << bitsTabla];
+        entradas = new int[1 << bitsTabla];
+        mascara = (1 << bitsTabla) - 1;
+        for (int i = 0; i < MAXIMO_TURNOS; i++) {
+            jugadas[i] = new Jugada(null, CartaSet.VACIO);
+        }
+    }
+
+    /**
+     * Calcula el valor exacto de la posición con juego óptimo de todos.
+     * <p>La partida se devuelve en el mismo estado en que se recibió.</p>
+     *
+     * @param partida partida con la baraja vacía
+     * @return diferencia final de puntos a favor del bando al que le toca jugar
+     * @throws IllegalArgumentException si quedan cartas en la baraja o no hay dos bandos
+     */
+    public int resolver(Partida partida) {
+        preparar(partida);
+        try {
+            return negamax(0, -INFINITO, INFINITO);
+        } finally {
+            this.partida = null;
+        }
+    }
+
+    /**
+     * Busca una jugada óptima para el jugador al que le toca jugar.
+     * <p>La partida se devuelve en el mismo estado en que se recibió.</p>
+     *
+     * @param partida partida con la baraja vacía
+     * @return nueva jugada óptima, o {@code null} si el jugador no tiene cartas
+     * @throws IllegalArgumentException si quedan cartas en la baraja o no hay dos bandos
+     */
+    public Jugada mejorJugada(Partida partida) {
+        preparar(partida);
+        try {
+            final Jugador jugador = partida.obtenerJugadorActual();
+            final Mesa mesa = partida.obtenerMesa();
+            final int equipo = partida.obtenerEquipo(partida.obtenerIndiceTurno());
+            final Jugada jugada = jugadas[0];
+            Carta mejorCarta = null;
+            long mejorCaptura = CartaSet.VACIO;
+            int alfa = -INFINITO;
+
+            for (long mano = jugador.consultarConjuntoMano(); !CartaSet.estaVacio(mano);
+                    mano = CartaSet.quitarPrimera(mano)) {
+                Carta carta = CartaSet.primera(mano);
+                int total = generarCapturas(0, mesa, carta);
+                for (int i = 0; i <= total; i++) {
+                    long captura = i < total ? capturas[0][i] : CartaSet.VACIO;
+                    jugada.asignar(carta, captura);
+                    int valor = probar(jugada, 0, equipo, alfa, INFINITO);
+                    if (mejorCarta == null || valor > alfa) {
+                        alfa = valor;
+                        mejorCarta = carta;
+                        mejorCaptura = captura;
+                    }
+                }
+            }
+            return mejorCarta == null ? null : new Jugada(mejorCarta, mejorCaptura);
+        } finally {
+            this.partida = null;
+        }
+    }
+
+    /**
+     * Consulta el número de posiciones visitadas desde la creación del
+     * solucionador.
+     *
+     * @return posiciones visitadas
+     */
+    public long consultarNodos() {
+        return nodos;
+    }
+
+    /**
+     * Comprueba que la partida puede resolverse y la fija como actual.
+     *
+     * @param partida partida
+     * @throws IllegalArgumentException si quedan cartas en la baraja o no hay dos bandos
+     */
+    private void preparar(Partida partida) {
+        if (!partida.obtenerBaraja().estaVacia()) {
+            throw new IllegalArgumentException("Solo se resuelven posiciones con la baraja vacía");
+        }
+        if (partida.obtenerNumeroEquipos() != 2) {
+            throw new IllegalArgumentException("Solo se resuelven partidas entre dos bandos: "
+                    + partida.obtenerNumeroEquipos());
+        }
+        this.partida = partida;
+    }
+
+    /**
+     * Valora la posición actual con negamax y poda alfa-beta.
+     * <p>Primero se prueban las capturas, que son las que suelen provocar
+     * cortes, y después dejar cada carta en la mesa.</p>
+     *
+     * @param nivel nivel de la búsqueda
+     * @param alfa  valor mínimo que ya tiene asegurado el bando al que le toca
+     * @param beta  valor máximo que le permite el rival
+     * @return diferencia final de puntos a favor del bando al que le toca jugar
+     */
+    private int negamax(int nivel, int alfa, int beta) {
+        nodos++;
+        final Jugador jugador = partida.obtenerJugadorActual();
+        if (jugador.estaSinCartas()) {
+            // se juega en orden, así que si el que tiene el turno no tiene
+            // cartas, nadie las tiene
+            return Puntuacion.diferenciaFinal(partida, partida.obtenerEquipo(partida.obtenerIndiceTurno()));
+        }
+
+        final long clave = partida.consultarClave();
+        final int indice = (int) clave & mascara;
+        if (claves[indice] == clave) {
+            int valor = entradas[indice] >> BITS_TIPO;
+            int tipo = entradas[indice] & ((1 << BITS_TIPO) - 1);
+            if (tipo == EXACTO) {
+                return valor;
+            } else if (tipo == COTA_INFERIOR) {
+                alfa = Math.max(alfa, valor);
+            } else {
+                beta = Math.min(beta, valor);
+            }
+            if (alfa >= beta) {
+                return valor;
+            }
+        }
+
+        final int alfaInicial = alfa;
+        final Mesa mesa = partida.obtenerMesa();
+        final int equipo = partida.obtenerEquipo(partida.obtenerIndiceTurno());
+        final long mano = jugador.consultarConjuntoMano();
+        final Jugada jugada = jugadas[nivel];
+        int mejor = -INFINITO;
+
+        for (long resto = mano; !CartaSet.estaVacio(resto) && alfa < beta; resto = CartaSet.quitarPrimera(resto)) {
+            Carta carta = CartaSet.primera(resto);
+            int total = generarCapturas(nivel, mesa, carta);
+            for (int i = 0; i < total && alfa < beta; i++) {
+                jugada.asignar(carta, capturas[nivel][i]);
+                int valor = probar(jugada, nivel, equipo, alfa, beta);
+                mejor = Math.max(mejor, valor);
+                alfa = Math.max(alfa, valor);
+            }
+        }
+        for (long resto = mano; !CartaSet.estaVacio(resto) && alfa < beta; resto = CartaSet.quitarPrimera(resto)) {
+            jugada.asignar(CartaSet.primera(resto), CartaSet.VACIO);
+            int valor = probar(jugada, nivel, equipo, alfa, beta);
+            mejor = Math.max(mejor, valor);
+            alfa = Math.max(alfa, valor);
+        }
+
+        int tipo = mejor <= alfaInicial ? COTA_SUPERIOR : mejor >= beta ? COTA_INFERIOR : EXACTO;
+        claves[indice] = clave;
+        entradas[indice] = mejor << BITS_TIPO | tipo;
+        return mejor;
+    }
+
+    /**
+     * Aplica una jugada, valora la posición resultante desde el punto de vista
+     * del bando que la juega y la deshace.
+     *
+     * @param jugada jugada a probar
+     * @param nivel  nivel de la jugada
+     * @param equipo bando que juega
+     * @param alfa   valor mínimo asegurado por el bando
+     * @param beta   valor máximo que permite el rival
+     * @return valor de la jugada para el bando que la juega
+     */
+    private int probar(Jugada jugada, int nivel, int equipo, int alfa, int beta) {
+        partida.aplicar(jugada);
+        int valor;
+        if (partida.obtenerEquipo(partida.obtenerIndiceTurno()) == equipo) {
+            valor = negamax(nivel + 1, alfa, beta);
+        } else {
+            valor = -negamax(nivel + 1, -beta, -alfa);
+        }
+        partida.deshacer(jugada);
+        return valor;
+    }
+
+    /**
+     * Genera las capturas posibles con la carta en el array del nivel,
+     * ampliándolo si no caben.
+     *
+     * @param nivel nivel de la búsqueda
+     * @param mesa  mesa
+     * @param carta carta jugada
+     * @return número de capturas posibles
+     */
+    private int generarCapturas(int nivel, Mesa mesa, Carta carta) {
+        int total = mesa.generarCapturas(carta, capturas[nivel]);
+        if (total > capturas[nivel].length) {
+            capturas[nivel] = Arrays.copyOf(capturas[nivel], Integer.highestOneBit(total) << 1);
+            mesa.generarCapturas(carta, capturas[nivel]);
+        }
+        return total;
+    }
+}
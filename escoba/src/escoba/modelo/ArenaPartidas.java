@@ -0,0 +1,614 @@
+package escoba.modelo;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Almacén de estados de partida fuera del montículo, sobre un
+ * {@link MemorySegment} reservado en un {@link Arena} compartido.
+ * <p>Cada estado ocupa {@value #BYTES_ESTADO} bytes con una disposición fija,
+ * en lugar de los varios kilobytes del grafo de {@link Partida},
+ * {@link Jugador}, {@link Mesa} y {@link Baraja}, y el recolector de basura no
+ * tiene que recorrerlo: un millón de estados ocupan 128 MiB. Sirve para
+ * reservas de búsquedas y simulaciones con muchos estados vivos a la vez.</p>
+ * <pre>
+ *   0  mesa                  long
+ *   8  mano de cada asiento  4 x long
+ *  40  cartas ganadas        4 x long
+ *  72  orden de la baraja    40 claves de carta
+ * 112  escobas               4 x byte
+ * 116  cima, turno, último ganador, jugadores y equipos, un byte cada uno
+ * </pre>
+ *
+ * <p>Las operaciones reproducen las de {@code escoba.modelo} sobre el estado
+ * guardado sin crear objetos: {@link #repartir(int, int)} como
+ * {@link Partida#repartir(int)}, {@link #aplicar(int, Carta, long)} como
+ * {@link Partida#aplicar(Jugada)}, {@link #consultarClave(int)} como
+ * {@link Partida#consultarClave()} y {@link #diferenciaFinal(int, int)} como
+ * {@link Puntuacion#diferenciaFinal(Partida, int)}. Las bazas se guardan
+ * como el total de cartas ganadas y el número de escobas, que es lo que usan
+ * la puntuación y las claves de Zobrist; al cargar un estado en una partida
+ * no se recupera el historial de bazas.</p>
+ *
+ * <p>Los estados se numeran de 0 a {@link #consultarCapacidad()} - 1 y se
+ * pueden reservar y liberar con {@link #reservar()} y {@link #liberar(int)},
+ * que encadenan los libres dentro de la propia memoria y llevan la cuenta de
+ * los reservados en un mapa de bits, de modo que liberar un estado que no
+ * está reservado falla en lugar de corromper la cadena. La reserva y la
+ * liberación son seguras para uso concurrente, protegidas por un cerrojo; el
+ * resto de operaciones no toman el cerrojo y son seguras mientras cada hilo
+ * trabaje con estados distintos.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class ArenaPartidas implements AutoCloseable {
+
+    /** Bytes que ocupa cada estado, dos líneas de caché. */
+    public static final int BYTES_ESTADO = 128;
+
+    /** Posición de la mesa. */
+    private static final int MESA = 0;
+
+    /** Posición de la mano del primer asiento. */
+    private static final int MANOS = 8;
+
+    /** Posición de las cartas ganadas del primer asiento. */
+    private static final int GANADAS = MANOS + Partida.MAXIMO_JUGADORES * Long.BYTES;
+
+    /** Posición del orden de la baraja. */
+    private static final int ORDEN = GANADAS + Partida.MAXIMO_JUGADORES * Long.BYTES;
+
+    /** Posición de las escobas del primer asiento. */
+    private static final int ESCOBAS = ORDEN + Baraja.NUMERO_CARTAS;
+
+    /** Posición de la cima de la baraja. */
+    private static final int CIMA = ESCOBAS + Partida.MAXIMO_JUGADORES;
+
+    /** Posición del turno. */
+    private static final int TURNO = CIMA + 1;
+
+    /** Posición del último ganador. */
+    private static final int ULTIMO_GANADOR = TURNO + 1;
+
+    /** Posición del número de jugadores. */
+    private static final int JUGADORES = ULTIMO_GANADOR + 1;
+
+    /** Posición del número de equipos. */
+    private static final int EQUIPOS = JUGADORES + 1;
+
+    /** Valor de la cadena de libres cuando no hay ninguno. */
+    private static final int NINGUNO = -1;
+
+    /** Arena que gestiona la vida de la memoria. */
+    private final Arena arena;
+
+    /** Memoria de todos los estados. */
+    private final MemorySegment memoria;
+
+    /** Número de estados. */
+    private final int capacidad;
+
+    /** Cerrojo de la cadena de libres y de los reservados. */
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    /** Mapa de bits de los estados reservados (protegido por el cerrojo). */
+    private final long[] enUso;
+
+    /** Primer estado de la cadena de liberados (protegido por el cerrojo). */
+    private int primeroLibre = NINGUNO;
+
+    /** Primer estado que nunca se ha reservado (protegido por el cerrojo). */
+    private int siguienteSinUsar;
+
+    /** Estados reservados y no liberados (protegido por el cerrojo). */
+    private int reservados;
+
+    /**
+     * Reserva la memoria para un número de estados, inicialmente a cero.
+     *
+     * @param capacidad número de estados
+     * @throws IllegalArgumentException si la capacidad no es positiva
+     */
+    public ArenaPartidas(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("Capacidad no válida: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.enUso = new long[(capacidad + Long.SIZE - 1) / Long.SIZE];
+        this.arena = Arena.ofShared();
+        this.memoria = arena.allocate((long) capacidad * BYTES_ESTADO, BYTES_ESTADO);
+    }
+
+    /**
+     * Consulta el número de estados.
+     *
+     * @return capacidad
+     */
+    public int consultarCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Consulta los estados reservados con {@link #reservar()} y aún no liberados.
+     *
+     * @return estados reservados
+     */
+    public int consultarReservados() {
+        cerrojo.lock();
+        try {
+            return reservados;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Consulta la memoria ocupada fuera del montículo.
+     *
+     * @return bytes
+     */
+    public long consultarBytes() {
+        return memoria.byteSize();
+    }
+
+    /**
+     * Reserva un estado. Su contenido es el que tuviera, por lo que debe
+     * escribirse con {@link #guardar(int, Partida)}, {@link #copiar(int, int)}
+     * o {@link #iniciar(int, int, int, byte[])} antes de usarlo.
+     *
+     * @return estado reservado
+     * @throws IllegalStateException si todos los estados están reservados
+     */
+    public int reservar() {
+        cerrojo.lock();
+        try {
+            final int estado;
+            if (primeroLibre != NINGUNO) {
+                estado = primeroLibre;
+                primeroLibre = memoria.get(ValueLayout.JAVA_INT, base(estado));
+            } else if (siguienteSinUsar < capacidad) {
+                estado = siguienteSinUsar++;
+            } else {
+                throw new IllegalStateException("No quedan estados libres de " + capacidad);
+            }
+            enUso[estado >>> 6] |= 1L << estado;
+            reservados++;
+            return estado;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Libera un estado reservado para que vuelva a reservarse.
+     *
+     * @param estado estado reservado
+     * @throws IndexOutOfBoundsException si el estado no existe
+     * @throws IllegalStateException     si el estado no está reservado, por
+     *                                   ejemplo porque ya se liberó
+     */
+    public void liberar(int estado) {
+        final long base = base(estado);
+        cerrojo.lock();
+        try {
+            final long bit = 1L << estado;
+            if ((enUso[estado >>> 6] & bit) == 0) {
+                throw new IllegalStateException("El estado " + estado + " no está reservado");
+            }
+            enUso[estado >>> 6] &= ~bit;
+            memoria.set(ValueLayout.JAVA_INT, base, primeroLibre);
+            primeroLibre = estado;
+            reservados--;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Escribe en un estado la situación de una partida.
+     *
+     * @param estado  estado
+     * @param partida partida
+     */
+    public void guardar(int estado, Partida partida) {
+        final long base = base(estado);
+        final Jugador[] jugadores = partida.obtenerJugadores();
+        final Baraja baraja = partida.obtenerBaraja();
+        memoria.set(ValueLayout.JAVA_LONG, base + MESA, partida.obtenerMesa().consultarConjunto());
+        for (int asiento = 0; asiento < Partida.MAXIMO_JUGADORES; asiento++) {
+            final boolean ocupado = asiento < jugadores.length;
+            memoria.set(ValueLayout.JAVA_LONG, base + MANOS + asiento * Long.BYTES,
+                    ocupado ? jugadores[asiento].consultarConjuntoMano() : CartaSet.VACIO);
+            memoria.set(ValueLayout.JAVA_LONG, base + GANADAS + asiento * Long.BYTES,
+                    ocupado ? jugadores[asiento].consultarCartasGanadas() : CartaSet.VACIO);
+            memoria.set(ValueLayout.JAVA_BYTE, base + ESCOBAS + asiento,
+                    (byte) (ocupado ? jugadores[asiento].consultarEscobas() : 0));
+        }
+        for (int posicion = 0; posicion < Baraja.NUMERO_CARTAS; posicion++) {
+            memoria.set(ValueLayout.JAVA_BYTE, base + ORDEN + posicion, (byte) baraja.consultarClaveEn(posicion));
+        }
+        memoria.set(ValueLayout.JAVA_BYTE, base + CIMA, (byte) baraja.consultarCima());
+        memoria.set(ValueLayout.JAVA_BYTE, base + TURNO, (byte) partida.obtenerIndiceTurno());
+        memoria.set(ValueLayout.JAVA_BYTE, base + ULTIMO_GANADOR, (byte) partida.obtenerIndiceUltimoGanador());
+        memoria.set(ValueLayout.JAVA_BYTE, base + JUGADORES, (byte) jugadores.length);
+        memoria.set(ValueLayout.JAVA_BYTE, base + EQUIPOS, (byte) partida.obtenerNumeroEquipos());
+    }
+
+    /**
+     * Lleva a una partida la situación guardada en un estado, sin crear
+     * objetos. Las cartas ganadas de cada jugador quedan en una única baza.
+     *
+     * @param estado  estado
+     * @param partida partida con los mismos jugadores y equipos que el estado
+     * @throws IllegalArgumentException si el número de jugadores o de equipos no coincide
+     */
+    public void cargar(int estado, Partida partida) {
+        final long base = base(estado);
+        final Jugador[] jugadores = partida.obtenerJugadores();
+        if (jugadores.length != consultarJugadores(estado)
+                || partida.obtenerNumeroEquipos() != consultarNumeroEquipos(estado)) {
+            throw new IllegalArgumentException("La partida no tiene los mismos jugadores y equipos que el estado");
+        }
+        for (int asiento = 0; asiento < jugadores.length; asiento++) {
+            jugadores[asiento].restaurar(consultarMano(estado, asiento), consultarCartasGanadas(estado, asiento),
+                    consultarEscobas(estado, asiento));
+        }
+        final Baraja baraja = partida.obtenerBaraja();
+        for (int posicion = 0; posicion < Baraja.NUMERO_CARTAS; posicion++) {
+            baraja.colocar(posicion, memoria.get(ValueLayout.JAVA_BYTE, base + ORDEN + posicion));
+        }
+        baraja.colocarCima(consultarCima(estado));
+        partida.restaurar(consultarMesa(estado), consultarTurno(estado), consultarUltimoGanador(estado));
+    }
+
+    /**
+     * Escribe en un estado el comienzo de una partida con la baraja en el
+     * orden dado, sin cartas repartidas.
+     *
+     * @param estado        estado
+     * @param jugadores     número de jugadores, de 2 a 4
+     * @param numeroEquipos número de equipos, que debe dividir al de jugadores
+     * @param orden         claves de las {@link Baraja#NUMERO_CARTAS} cartas en
+     *                      orden de extracción (ver {@link Baraja#consultarOrden(byte[])})
+     * @throws IllegalArgumentException si el número de jugadores o de equipos
+     *                                  o el orden no son válidos
+     */
+    public void iniciar(int estado, int jugadores, int numeroEquipos, byte[] orden) {
+        if (jugadores < Partida.MINIMO_JUGADORES || jugadores > Partida.MAXIMO_JUGADORES
+                || numeroEquipos < 2 || jugadores % numeroEquipos != 0) {
+            throw new IllegalArgumentException("No se pueden repartir " + jugadores + " jugadores en "
+                    + numeroEquipos + " equipos");
+        }
+        long vistas = CartaSet.VACIO;
+        for (int i = 0; i < Baraja.NUMERO_CARTAS; i++) {
+            final int clave = orden[i];
+            if (clave < 1 || clave > Baraja.NUMERO_CARTAS || (vistas & (1L << (clave - 1))) != 0) {
+                throw new IllegalArgumentException("Orden de baraja no válido en la posición " + i + ": " + clave);
+            }
+            vistas |= 1L << (clave - 1);
+        }
+        final long base = base(estado);
+        memoria.asSlice(base, BYTES_ESTADO).fill((byte) 0);
+        MemorySegment.copy(orden, 0, memoria, ValueLayout.JAVA_BYTE, base + ORDEN, Baraja.NUMERO_CARTAS);
+        memoria.set(ValueLayout.JAVA_BYTE, base + ULTIMO_GANADOR, (byte) Jugada.SIN_GANADOR);
+        memoria.set(ValueLayout.JAVA_BYTE, base + JUGADORES, (byte) jugadores);
+        memoria.set(ValueLayout.JAVA_BYTE, base + EQUIPOS, (byte) numeroEquipos);
+    }
+
+    /**
+     * Copia un estado sobre otro, por ejemplo para simular desde él sin
+     * modificarlo.
+     *
+     * @param origen  estado de origen
+     * @param destino estado de destino
+     */
+    public void copiar(int origen, int destino) {
+        MemorySegment.copy(memoria, base(origen), memoria, base(destino), BYTES_ESTADO);
+    }
+
+    /**
+     * Consulta el número de jugadores.
+     *
+     * @param estado estado
+     * @return número de jugadores
+     */
+    public int consultarJugadores(int estado) {
+        return memoria.get(ValueLayout.JAVA_BYTE, base(estado) + JUGADORES);
+    }
+
+    /**
+     * Consulta el número de equipos.
+     *
+     * @param estado estado
+     * @return número de equipos
+     */
+    public int consultarNumeroEquipos(int estado) {
+        return memoria.get(ValueLayout.JAVA_BYTE, base(estado) + EQUIPOS);
+    }
+
+    /**
+     * Consulta las cartas de la mesa.
+     *
+     * @param estado estado
+     * @return conjunto de cartas (ver {@link CartaSet})
+     */
+    public long consultarMesa(int estado) {
+        return memoria.get(ValueLayout.JAVA_LONG, base(estado) + MESA);
+    }
+
+    /**
+     * Consulta la mano de un asiento.
+     *
+     * @param estado  estado
+     * @param asiento asiento
+     * @return conjunto de cartas de la mano
+     */
+    public long consultarMano(int estado, int asiento) {
+        return memoria.get(ValueLayout.JAVA_LONG, base(estado) + MANOS + comprobarAsiento(asiento) * Long.BYTES);
+    }
+
+    /**
+     * Consulta las cartas ganadas por un asiento.
+     *
+     * @param estado  estado
+     * @param asiento asiento
+     * @return conjunto de cartas ganadas
+     */
+    public long consultarCartasGanadas(int estado, int asiento) {
+        return memoria.get(ValueLayout.JAVA_LONG, base(estado) + GANADAS + comprobarAsiento(asiento) * Long.BYTES);
+    }
+
+    /**
+     * Consulta las escobas de un asiento.
+     *
+     * @param estado  estado
+     * @param asiento asiento
+     * @return número de escobas
+     */
+    public int consultarEscobas(int estado, int asiento) {
+        return memoria.get(ValueLayout.JAVA_BYTE, base(estado) + ESCOBAS + comprobarAsiento(asiento));
+    }
+
+    /**
+     * Consulta la posición del jugador al que le toca jugar.
+     *
+     * @param estado estado
+     * @return asiento
+     */
+    public int consultarTurno(int estado) {
+        return memoria.get(ValueLayout.JAVA_BYTE, base(estado) + TURNO);
+    }
+
+    /**
+     * Consulta la posición del último jugador que ganó una baza.
+     *
+     * @param estado estado
+     * @return asiento, o -1 si nadie ha ganado bazas
+     */
+    public int consultarUltimoGanador(int estado) {
+        return memoria.get(ValueLayout.JAVA_BYTE, base(estado) + ULTIMO_GANADOR);
+    }
+
+    /**
+     * Consulta el número de cartas que quedan en la baraja.
+     *
+     * @param estado estado
+     * @return cartas disponibles
+     */
+    public int consultarNumeroCartas(int estado) {
+        return Baraja.NUMERO_CARTAS - consultarCima(estado);
+    }
+
+    /**
+     * Extrae la carta de la cima de la baraja, como {@link Baraja#extraerCarta()}.
+     *
+     * @param estado estado
+     * @return carta, o {@code null} si la baraja está vacía
+     */
+    public Carta extraerCarta(int estado) {
+        final long base = base(estado);
+        final int cima = consultarCima(estado);
+        if (cima == Baraja.NUMERO_CARTAS) {
+            return null;
+        }
+        memoria.set(ValueLayout.JAVA_BYTE, base + CIMA, (byte) (cima + 1));
+        return Carta.deClave(memoria.get(ValueLayout.JAVA_BYTE, base + ORDEN + cima));
+    }
+
+    /**
+     * Pone una carta en la mesa, como {@link Mesa#ponerCarta(Carta)}.
+     *
+     * @param estado estado
+     * @param carta  carta
+     */
+    public void ponerCarta(int estado, Carta carta) {
+        final long base = base(estado);
+        memoria.set(ValueLayout.JAVA_LONG, base + MESA,
+                CartaSet.agregar(memoria.get(ValueLayout.JAVA_LONG, base + MESA), carta));
+    }
+
+    /**
+     * Reparte cartas de la baraja a cada jugador, de una en una y por orden de
+     * asiento, mientras queden cartas, como {@link Partida#repartir(int)}.
+     *
+     * @param estado           estado
+     * @param cartasPorJugador número de cartas que recibe cada jugador
+     */
+    public void repartir(int estado, int cartasPorJugador) {
+        final long base = base(estado);
+        final int jugadores = consultarJugadores(estado);
+        int cima = consultarCima(estado);
+        for (int i = 0; i < cartasPorJugador; i++) {
+            for (int asiento = 0; asiento < jugadores && cima < Baraja.NUMERO_CARTAS; asiento++) {
+                final long posicion = base + MANOS + asiento * Long.BYTES;
+                final int clave = memoria.get(ValueLayout.JAVA_BYTE, base + ORDEN + cima++);
+                memoria.set(ValueLayout.JAVA_LONG, posicion,
+                        memoria.get(ValueLayout.JAVA_LONG, posicion) | 1L << (clave - 1));
+            }
+        }
+        memoria.set(ValueLayout.JAVA_BYTE, base + CIMA, (byte) cima);
+    }
+
+    /**
+     * Aplica la jugada del jugador al que le toca jugar y pasa el turno al
+     * siguiente, como {@link Partida#aplicar(Jugada)}. La jugada debe ser
+     * legal, y no se comprueba.
+     *
+     * @param estado  estado
+     * @param carta   carta jugada de la mano
+     * @param captura cartas retiradas de la mesa, vacío si la carta se deja en la mesa
+     * @return {@code true} si la jugada es escoba
+     */
+    public boolean aplicar(int estado, Carta carta, long captura) {
+        final long base = base(estado);
+        final int turno = consultarTurno(estado);
+        final long mano = base + MANOS + turno * Long.BYTES;
+        memoria.set(ValueLayout.JAVA_LONG, mano, CartaSet.quitar(memoria.get(ValueLayout.JAVA_LONG, mano), carta));
+        final long mesa = memoria.get(ValueLayout.JAVA_LONG, base + MESA);
+        boolean escoba = false;
+        if (CartaSet.estaVacio(captura)) {
+            memoria.set(ValueLayout.JAVA_LONG, base + MESA, CartaSet.agregar(mesa, carta));
+        } else {
+            final long resto = mesa & ~captura;
+            memoria.set(ValueLayout.JAVA_LONG, base + MESA, resto);
+            final long ganadas = base + GANADAS + turno * Long.BYTES;
+            memoria.set(ValueLayout.JAVA_LONG, ganadas,
+                    memoria.get(ValueLayout.JAVA_LONG, ganadas) | CartaSet.agregar(captura, carta));
+            escoba = CartaSet.estaVacio(resto);
+            if (escoba) {
+                final long escobas = base + ESCOBAS + turno;
+                memoria.set(ValueLayout.JAVA_BYTE, escobas, (byte) (memoria.get(ValueLayout.JAVA_BYTE, escobas) + 1));
+            }
+            memoria.set(ValueLayout.JAVA_BYTE, base + ULTIMO_GANADOR, (byte) turno);
+        }
+        final int siguiente = turno + 1 == consultarJugadores(estado) ? 0 : turno + 1;
+        memoria.set(ValueLayout.JAVA_BYTE, base + TURNO, (byte) siguiente);
+        return escoba;
+    }
+
+    /**
+     * Da las cartas que quedan en la mesa al último jugador que ganó una baza,
+     * como al terminar la partida.
+     *
+     * @param estado estado
+     */
+    public void darCartasRestantes(int estado) {
+        final long base = base(estado);
+        final int ultimoGanador = consultarUltimoGanador(estado);
+        if (ultimoGanador == Jugada.SIN_GANADOR) {
+            return;
+        }
+        final long ganadas = base + GANADAS + ultimoGanador * Long.BYTES;
+        memoria.set(ValueLayout.JAVA_LONG, ganadas,
+                memoria.get(ValueLayout.JAVA_LONG, ganadas) | memoria.get(ValueLayout.JAVA_LONG, base + MESA));
+        memoria.set(ValueLayout.JAVA_LONG, base + MESA, CartaSet.VACIO);
+    }
+
+    /**
+     * Calcula la diferencia de puntos de un equipo en un estado sin cartas por
+     * jugar, como {@link Puntuacion#diferenciaFinal(Partida, int)}: las
+     * cartas que queden en la mesa cuentan para el equipo del último ganador
+     * y, con más de dos equipos, todos los demás cuentan como un único rival.
+     *
+     * @param estado estado terminado
+     * @param equipo equipo desde cuyo punto de vista se valora
+     * @return puntos del equipo menos puntos del rival
+     */
+    public int diferenciaFinal(int estado, int equipo) {
+        final int numeroEquipos = consultarNumeroEquipos(estado);
+        final int jugadores = consultarJugadores(estado);
+        long propias = CartaSet.VACIO;
+        long rivales = CartaSet.VACIO;
+        int escobasPropias = 0;
+        int escobasRivales = 0;
+        for (int asiento = 0; asiento < jugadores; asiento++) {
+            if (asiento % numeroEquipos == equipo) {
+                propias |= consultarCartasGanadas(estado, asiento);
+                escobasPropias += consultarEscobas(estado, asiento);
+            } else {
+                rivales |= consultarCartasGanadas(estado, asiento);
+                escobasRivales += consultarEscobas(estado, asiento);
+            }
+        }
+        final int ultimoGanador = consultarUltimoGanador(estado);
+        if (ultimoGanador != Jugada.SIN_GANADOR) {
+            if (ultimoGanador % numeroEquipos == equipo) {
+                propias |= consultarMesa(estado);
+            } else {
+                rivales |= consultarMesa(estado);
+            }
+        }
+        return Puntuacion.diferencia(propias, escobasPropias, rivales, escobasRivales);
+    }
+
+    /**
+     * Calcula la clave de Zobrist del estado, igual a la de
+     * {@link Partida#consultarClave()} para la misma situación.
+     *
+     * @param estado estado
+     * @return clave del estado
+     */
+    public long consultarClave(int estado) {
+        long clave = Zobrist.mesa(consultarMesa(estado)) ^ Zobrist.cima(consultarCima(estado))
+                ^ Zobrist.turno(consultarTurno(estado)) ^ Zobrist.ultimoGanador(consultarUltimoGanador(estado));
+        final int jugadores = consultarJugadores(estado);
+        for (int asiento = 0; asiento < jugadores; asiento++) {
+            final long claveJugador = Zobrist.mano(consultarMano(estado, asiento))
+                    ^ Zobrist.ganadas(consultarCartasGanadas(estado, asiento))
+                    ^ Zobrist.escobas(consultarEscobas(estado, asiento));
+            clave ^= Zobrist.asiento(claveJugador, asiento);
+        }
+        return clave;
+    }
+
+    /**
+     * Libera la memoria. Los estados no pueden usarse después.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Consulta la cima de la baraja.
+     *
+     * @param estado estado
+     * @return número de cartas extraídas
+     */
+    private int consultarCima(int estado) {
+        return memoria.get(ValueLayout.JAVA_BYTE, base(estado) + CIMA);
+    }
+
+    /**
+     * Calcula la posición de un estado en la memoria.
+     *
+     * @param estado estado
+     * @return desplazamiento en bytes
+     * @throws IndexOutOfBoundsException si el estado no existe
+     */
+    private long base(int estado) {
+        return (long) Objects.checkIndex(estado, capacidad) * BYTES_ESTADO;
+    }
+
+    /**
+     * Comprueba un asiento.
+     *
+     * @param asiento asiento
+     * @return el mismo asiento
+     * @throws IndexOutOfBoundsException si el asiento no existe
+     */
+    private static int comprobarAsiento(int asiento) {
+        return Objects.checkIndex(asiento, Partida.MAXIMO_JUGADORES);
+    }
+}
@@ -1,5 +1,9 @@
 package escoba.modelo;
 
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
 /**
  * Baraja.
  * 
@@ -15,6 +19,9 @@ public class Baraja {
 	/** Número de cartas. */
 	public static final int NUMERO_CARTAS = 40;
 
+	/** Algoritmo de generación de números aleatorios usado por defecto. */
+	public static final String ALGORITMO_ALEATORIO = "L64X128MixRandom";
+
 	/** Cartas que componen una baraja. */
 	private Carta[] cartas;
 
@@ -23,24 +30,65 @@ public class Baraja {
 	 */
 	private int cima;
 
+	/** Generador de números aleatorios para barajar. */
+	private final RandomGenerator aleatorio;
+
+	/** Claves en orden, reutilizadas al convertir de y a rangos de Lehmer. */
+	private final byte[] claves = new byte[NUMERO_CARTAS];
+
 	/**
-	 * Constructor. Inicializa la baraja con las 40 cartas.
+	 * Constructor. Inicializa la baraja con las 40 cartas y un generador
+	 * aleatorio propio con semilla impredecible.
 	 */
 	public Baraja() {
+		this(RandomGeneratorFactory.of(ALGORITMO_ALEATORIO).create());
+	}
+
+	/**
+	 * Constructor. Inicializa la baraja con las 40 cartas y un generador
+	 * aleatorio reproducible a partir de la semilla dada.
+	 * 
+	 * @param semilla semilla del generador aleatorio
+	 * @since 2.0
+	 */
+	public Baraja(long semilla) {
+		this(RandomGeneratorFactory.of(ALGORITMO_ALEATORIO).create(semilla));
+	}
+
+	/**
+	 * Constructor. Inicializa la baraja con las 40 cartas y el generador
+	 * aleatorio dado, que no debería compartirse entre hilos.
+	 * 
+	 * @param aleatorio generador de números aleatorios
+	 * @since 2.0
+	 */
+	public Baraja(RandomGenerator aleatorio) {
+		this.aleatorio = Objects.requireNonNull(aleatorio, "El generador aleatorio no puede ser nulo");
 		cartas = new Carta[NUMERO_CARTAS];
-		int clave = 1; // empezamos identificando en uno
-
-		// para cada palo (nos aprovechamos del orden de declaración en el tipo
-		// enumerado)...
-		for (Palo palo : Palo.values()) {
-			// 10 cartas por palo...
-			for (int contador = 0; contador < NUMERO_CARTAS / Palo.values().length; contador++) {
-				cartas[clave - 1] = new Carta(clave, palo, contador + 1); // se crea una nueva carta y se "coloca"
-				clave++;
-			}
+		// se colocan las cartas canónicas por orden de clave (compartidas entre
+		// todas las barajas, no se crean cartas nuevas)
+		for (int clave = 1; clave <= NUMERO_CARTAS; clave++) {
+			cartas[clave - 1] = Carta.deClave(clave);
 		}
 	}
 
+	/**
+	 * Constructor. Inicializa la baraja con las 40 cartas en el orden del rango
+	 * de Lehmer dado y un generador aleatorio propio con semilla impredecible.
+	 * 
+	 * Permite reconstruir un reparto completo a partir de sus
+	 * {@link Permutacion#BYTES_RANGO} bytes, por ejemplo los de un registro.
+	 * 
+	 * @param rango rango de Lehmer del orden (ver {@link Permutacion})
+	 * @throws IllegalArgumentException si el rango no es menor que 40!
+	 * @since 2.0
+	 */
+	public Baraja(byte[] rango) {
+		this();
+		Permutacion.decodificar(rango, 0, claves);
+		colocarClaves();
+	}
+
 	/**
 	 * Extrae la carta en la primera posición.
 	 * 
@@ -51,23 +99,201 @@ public class Baraja {
 		if (cima == cartas.length) {
 			carta = null; // ante ausencia de cartas disponibles en la baraja
 		} else {
-			// extraemos y ponemos a null la posicion de la carta extraída
+			// extraemos la carta de la cima; se deja en su posición (ya no está
+			// disponible al quedar por debajo de la cima) para poder reiniciar
 			carta = cartas[cima];
-			cartas[cima] = null;
 			cima++; // avanzamos la cima
 		}
 		return carta;
 	}
 
+	/**
+	 * Reinicia la baraja devolviendo a ella todas las cartas extraídas, sin
+	 * crear cartas nuevas. El orden es el de la última mezcla, por lo que
+	 * normalmente se llamará después a {@link #barajar()}.
+	 * 
+	 * @since 2.0
+	 */
+	public void reiniciar() {
+		cima = 0;
+	}
+
+	/**
+	 * Deja en la baraja únicamente las cartas del conjunto dado, mezcladas.
+	 * 
+	 * Las demás cartas se colocan por debajo de la cima, como si ya se
+	 * hubieran extraído, de modo que {@link #reiniciar()} sigue devolviendo
+	 * las 40 cartas. Sirve para reconstruir una baraja compatible con lo que
+	 * un jugador sabe de la partida a partir de las cartas que no ha visto.
+	 * 
+	 * @param restantes conjunto de cartas que quedan por extraer (ver {@link CartaSet})
+	 * @throws IllegalArgumentException si el conjunto contiene bits que no son cartas
+	 * @since 2.0
+	 */
+	public void reiniciarCon(long restantes) {
+		if ((restantes & ~CartaSet.TODAS) != CartaSet.VACIO) {
+			throw new IllegalArgumentException("Conjunto de cartas no válido: " + Long.toHexString(restantes));
+		}
+		int posicion = 0;
+		for (long resto = CartaSet.TODAS & ~restantes; !CartaSet.estaVacio(resto); resto = CartaSet
+				.quitarPrimera(resto)) {
+			cartas[posicion++] = CartaSet.primera(resto);
+		}
+		cima = posicion;
+		for (long resto = restantes; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+			cartas[posicion++] = CartaSet.primera(resto);
+		}
+		barajar();
+	}
+
+	/**
+	 * Copia el orden completo de la baraja, incluidas las cartas ya extraídas,
+	 * como claves de carta (ver {@link Carta#clave()}).
+	 * 
+	 * Justo después de {@link #barajar()} con la baraja completa, este orden
+	 * determina el reparto de toda la partida.
+	 * 
+	 * @param destino array de al menos {@link #NUMERO_CARTAS} posiciones donde
+	 *                se escribe la clave de cada posición
+	 * @since 2.0
+	 */
+	public void consultarOrden(byte[] destino) {
+		for (int i = 0; i < cartas.length; i++) {
+			destino[i] = (byte) cartas[i].clave();
+		}
+	}
+
+	/**
+	 * Coloca todas las cartas en el orden dado y las deja disponibles, sin
+	 * mezclarlas. Es la operación inversa de {@link #consultarOrden(byte[])}.
+	 * 
+	 * @param orden claves de carta (ver {@link Carta#clave()}) en el orden de
+	 *              extracción
+	 * @throws IllegalArgumentException si el orden no contiene cada carta
+	 *                                  exactamente una vez
+	 * @since 2.0
+	 */
+	public void ordenar(byte[] orden) {
+		long vistas = CartaSet.VACIO;
+		for (int i = 0; i < NUMERO_CARTAS; i++) {
+			int clave = orden[i];
+			if (clave < 1 || clave > NUMERO_CARTAS || (vistas & (1L << (clave - 1))) != 0) {
+				throw new IllegalArgumentException("Orden de baraja no válido en la posición " + i + ": " + clave);
+			}
+			vistas |= 1L << (clave - 1);
+		}
+		for (int i = 0; i < NUMERO_CARTAS; i++) {
+			cartas[i] = Carta.deClave(orden[i]);
+		}
+		cima = 0;
+	}
+
+	/**
+	 * Coloca todas las cartas en el orden de un rango de Lehmer y las deja
+	 * disponibles, sin mezclarlas.
+	 * 
+	 * @param rango          array que contiene el rango (ver {@link Permutacion})
+	 * @param desplazamiento posición de {@code rango} donde empieza
+	 * @throws IllegalArgumentException si el rango no es menor que 40!
+	 * @since 2.0
+	 */
+	public void ordenarPorRango(byte[] rango, int desplazamiento) {
+		Permutacion.decodificar(rango, desplazamiento, claves);
+		colocarClaves();
+	}
+
+	/**
+	 * Coloca las cartas en el orden de {@link #claves}, ya validado, y las
+	 * deja disponibles.
+	 */
+	private void colocarClaves() {
+		for (int i = 0; i < NUMERO_CARTAS; i++) {
+			cartas[i] = Carta.deClave(claves[i]);
+		}
+		cima = 0;
+	}
+
+	/**
+	 * Calcula el rango de Lehmer del orden completo de la baraja, incluidas
+	 * las cartas ya extraídas.
+	 * 
+	 * Justo después de {@link #barajar()} con la baraja completa, el rango
+	 * identifica el reparto de toda la partida en
+	 * {@link Permutacion#BYTES_RANGO} bytes, y sirve como clave de registros
+	 * o cachés.
+	 * 
+	 * @param destino        array donde se escribe el rango
+	 * @param desplazamiento posición de {@code destino} donde empieza
+	 * @since 2.0
+	 */
+	public void consultarRango(byte[] destino, int desplazamiento) {
+		consultarOrden(claves);
+		Permutacion.codificar(claves, destino, desplazamiento);
+	}
+
+	/**
+	 * Consulta la clave de la carta de una posición, extraída o no, sin
+	 * copiar el orden. Lo usa {@link ArenaPartidas} al guardar un estado.
+	 * 
+	 * @param posicion posición entre 0 y {@link #NUMERO_CARTAS} - 1
+	 * @return clave de la carta
+	 */
+	int consultarClaveEn(int posicion) {
+		return cartas[posicion].clave();
+	}
+
+	/**
+	 * Consulta la posición de la cima, que es el número de cartas extraídas.
+	 * 
+	 * @return posición de la primera carta disponible
+	 */
+	int consultarCima() {
+		return cima;
+	}
+
+	/**
+	 * Coloca una carta en una posición sin comprobar el orden resultante.
+	 * Lo usa {@link ArenaPartidas} al cargar un estado ya validado.
+	 * 
+	 * @param posicion posición entre 0 y {@link #NUMERO_CARTAS} - 1
+	 * @param clave    clave de la carta
+	 */
+	void colocar(int posicion, int clave) {
+		cartas[posicion] = Carta.deClave(clave);
+	}
+
+	/**
+	 * Coloca la cima, dejando extraídas las cartas anteriores.
+	 * 
+	 * @param nuevaCima posición de la primera carta disponible
+	 */
+	void colocarCima(int nuevaCima) {
+		cima = nuevaCima;
+	}
+
+	/**
+	 * Consulta la clave de Zobrist de la posición de la cima. Dentro de una
+	 * misma mezcla identifica qué cartas quedan por extraer.
+	 * 
+	 * @return clave
+	 * @see Zobrist
+	 * @since 2.0
+	 */
+	public long consultarClave() {
+		return Zobrist.cima(cima);
+	}
+
 	/**
 	 * Baraja aleatoriamente las cartas restantes.
+	 * 
+	 * Se sigue el algoritmo de Fisher-Yates, de forma que todas las
+	 * ordenaciones de las cartas restantes son equiprobables.
 	 */
 	public void barajar() {
-		// iteramos partiendo desde la cima (en posiciones previas no hay cartas)
-		for (int contador = cima; contador < consultarNumeroCartas() + cima; contador++) {
-			// calculamos posición aleatoria con el número de cartas restantes
-			// y sumamos la cima
-			int nuevaPosicion = (int) (Math.random() * consultarNumeroCartas()) + cima;
+		// iteramos desde el final hasta la cima (en posiciones previas no hay
+		// cartas), intercambiando cada posición con una de las aún no fijadas
+		for (int contador = cartas.length - 1; contador > cima; contador--) {
+			int nuevaPosicion = cima + aleatorio.nextInt(contador - cima + 1);
 			intercambiarCartas(contador, nuevaPosicion);
 		}
 	}
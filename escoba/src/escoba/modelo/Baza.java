@@ -24,8 +24,8 @@ import java.util.Objects;
  */
 public class Baza {
 
-    /** Cartas que forman parte de la baza. */
-    private Carta[] cartas;
+    /** Cartas que forman parte de la baza, como conjunto de bits por clave. */
+    private long cartas;
 
     /** Indica si la baza fue conseguida con una escoba (mesa vacía). */
     private boolean fueEscoba;
@@ -34,7 +34,7 @@ public class Baza {
      * Crea una nueva baza vacía, sin cartas y sin marcar como escoba.
      */
     public Baza() {
-        this.cartas = new Carta[0];
+        this.cartas = CartaSet.VACIO;
         this.fueEscoba = false;
     }
 
@@ -44,9 +44,7 @@ public class Baza {
      * @param carta la carta que se va a agregar a la baza
      */
     public void agregarCarta(Carta carta) {
-        Carta[] nuevo = Arrays.copyOf(cartas, cartas.length + 1);
-        nuevo[nuevo.length - 1] = carta;
-        cartas = nuevo;
+        cartas = CartaSet.agregar(cartas, carta);
     }
 
     /**
@@ -59,20 +57,53 @@ public class Baza {
      */
     public Baza clonar() {
         Baza clon = new Baza();
-        clon.cartas = Arrays.copyOf(this.cartas, this.cartas.length);
+        clon.cartas = this.cartas;
         clon.fueEscoba = this.fueEscoba;
         return clon;
     }
 
     /**
      * Devuelve las cartas contenidas en esta baza.
-     * <p>Se devuelve una copia del array para proteger la encapsulación
-     * del objeto.</p>
+     * <p>Se devuelve un nuevo array, ordenado por clave, para proteger la
+     * encapsulación del objeto.</p>
      *
      * @return un nuevo array con las cartas de esta baza
      */
     public Carta[] consultarCartas() {
-        return Arrays.copyOf(cartas, cartas.length);
+        return CartaSet.aCartas(cartas);
+    }
+
+    /**
+     * Devuelve las cartas de esta baza como conjunto de bits.
+     * <p>Al ser un valor primitivo no requiere copia para proteger la
+     * encapsulación.</p>
+     *
+     * @return conjunto de cartas de la baza
+     * @see CartaSet
+     */
+    public long consultarConjunto() {
+        return cartas;
+    }
+
+    /**
+     * Devuelve el número de cartas de esta baza.
+     *
+     * @return número de cartas
+     */
+    public int consultarNumeroCartas() {
+        return CartaSet.contar(cartas);
+    }
+
+    /**
+     * Devuelve la carta de la baza en la posición indicada, siguiendo el mismo
+     * orden que {@link #consultarCartas()} pero sin copiar el array.
+     *
+     * @param indice posición de la carta
+     * @return carta en esa posición
+     * @throws IndexOutOfBoundsException si el índice no es válido
+     */
+    public Carta consultarCarta(int indice) {
+        return CartaSet.enPosicion(cartas, indice);
     }
 
     /**
@@ -82,13 +113,7 @@ public class Baza {
      * @return número de cartas del palo {@link Palo#OROS} en la baza
      */
     public int contarOros() {
-        int contador = 0;
-        for (Carta c : cartas) {
-            if (c.palo() == Palo.OROS) {
-                contador++;
-            }
-        }
-        return contador;
+        return CartaSet.contar(cartas & CartaSet.delPalo(Palo.OROS));
     }
 
     /**
@@ -98,13 +123,7 @@ public class Baza {
      * @return número de cartas con valor 7 en la baza
      */
     public int contarSietes() {
-        int contador = 0;
-        for (Carta c : cartas) {
-            if (c.clave() == 7) {
-                contador++;
-            }
-        }
-        return contador;
+        return CartaSet.contar(cartas & CartaSet.SIETES);
     }
 
     /**
@@ -114,12 +133,7 @@ public class Baza {
      * @return {@code true} si contiene el siete de oros, {@code false} en caso contrario
      */
     public boolean tieneSieteOros() {
-        for (Carta c : cartas) {
-            if (c.palo() == Palo.OROS && c.clave() == 7) {
-                return true;
-            }
-        }
-        return false;
+        return (cartas & CartaSet.SIETES & CartaSet.delPalo(Palo.OROS)) != 0;
     }
 
     /**
@@ -150,15 +164,15 @@ public class Baza {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(cartas);
+        result = prime * result + Long.hashCode(cartas);
         result = prime * result + Objects.hash(fueEscoba);
         return result;
     }
 
     /**
      * Compara esta baza con otro objeto para determinar si son iguales.
-     * <p>Dos bazas son iguales si contienen las mismas cartas (en el mismo orden)
-     * y comparten el mismo estado de {@code fueEscoba}.</p>
+     * <p>Dos bazas son iguales si contienen las mismas cartas (sin importar el
+     * orden en que se agregaron) y comparten el mismo estado de {@code fueEscoba}.</p>
      *
      * @param obj el objeto a comparar con esta baza
      * @return {@code true} si ambas bazas son equivalentes, {@code false} en caso contrario
@@ -175,7 +189,7 @@ public class Baza {
             return false;
         }
         Baza other = (Baza) obj;
-        return Arrays.equals(cartas, other.cartas) && fueEscoba == other.fueEscoba;
+        return cartas == other.cartas && fueEscoba == other.fueEscoba;
     }
 
     /**
@@ -186,6 +200,6 @@ public class Baza {
      */
     @Override
     public String toString() {
-        return "Baza [cartas=" + Arrays.toString(cartas) + ", fueEscoba=" + fueEscoba + "]";
+        return "Baza [cartas=" + Arrays.toString(consultarCartas()) + ", fueEscoba=" + fueEscoba + "]";
     }
 }
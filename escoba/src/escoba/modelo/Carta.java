@@ -3,21 +3,104 @@ package escoba.modelo;
 /**
  * Carta de una bajara española.
  * 
+ * Las 40 cartas de la baraja están preasignadas en una tabla canónica que se
+ * consulta con {@link #deClave(int)} o {@link #de(Palo, int)}, de forma que no
+ * es necesario crear cartas nuevas y la comparación entre cartas canónicas se
+ * resuelve por identidad o comparando enteros.
+ * 
  * @author <a href="mailto:rmartico@ubu.es">Raúl Marticorena Sánchez</a>
- * @version 1.0
+ * @version 1.1
  * @param clave      número identificativo único
  * @param palo       palo
  * @param puntuacion puntuación
  */
 public record Carta(int clave, Palo palo, int puntuacion) {
 
+	/** Número de cartas de cada palo. */
+	private static final int CARTAS_POR_PALO = 10;
+
+	/** Nombres de las cartas por puntuación. */
+	private static final String[] NOMBRES = { "<No definido>", "As", "Dos", "Tres", "Cuatro", "Cinco", "Seis",
+			"Siete", "Sota", "Caballo", "Rey" };
+
+	/** Cartas canónicas indexadas por clave (la posición 0 no se usa). */
+	private static final Carta[] CARTAS = crearCartas();
+
+	/** Textos de las cartas canónicas indexados por clave. */
+	private static final String[] TEXTOS = crearTextos();
+
+	/**
+	 * Consulta la carta canónica con la clave dada.
+	 * 
+	 * @param clave clave de la carta (1-40)
+	 * @return carta canónica
+	 * @throws IllegalArgumentException si la clave no es válida
+	 * @since 2.0
+	 */
+	public static Carta deClave(int clave) {
+		if (clave < 1 || clave >= CARTAS.length) {
+			throw new IllegalArgumentException("Clave de carta no válida: " + clave);
+		}
+		return CARTAS[clave];
+	}
+
+	/**
+	 * Consulta la carta canónica con el palo y puntuación dados.
+	 * 
+	 * @param palo       palo
+	 * @param puntuacion puntuación (1-10)
+	 * @return carta canónica
+	 * @throws IllegalArgumentException si la puntuación no es válida
+	 * @since 2.0
+	 */
+	public static Carta de(Palo palo, int puntuacion) {
+		if (puntuacion < 1 || puntuacion > CARTAS_POR_PALO) {
+			throw new IllegalArgumentException("Puntuación de carta no válida: " + puntuacion);
+		}
+		return CARTAS[palo.ordinal() * CARTAS_POR_PALO + puntuacion];
+	}
+
 	/**
 	 * Recupera el estado actual de la carta en formato texto.
 	 * 
 	 * @return texto descriptivo
 	 */
 	public String aTexto() {
-		return traducir(puntuacion) + " de " + palo.toString().toLowerCase() + " (" + puntuacion + ")";
+		return esCanonica() ? TEXTOS[clave] : crearTexto(this);
+	}
+
+	/**
+	 * Compara esta carta con otro objeto. Las cartas canónicas se comparan por
+	 * identidad; en otro caso se comparan los tres componentes empezando por la
+	 * clave.
+	 * 
+	 * @param obj objeto a comparar
+	 * @return true si son iguales, false en caso contrario
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj || (obj instanceof Carta otra && clave == otra.clave && puntuacion == otra.puntuacion
+				&& palo == otra.palo);
+	}
+
+	/**
+	 * Calcula el código hash de la carta a partir de su clave, coherente con
+	 * {@link #equals(Object)}.
+	 * 
+	 * @return código hash
+	 */
+	@Override
+	public int hashCode() {
+		return clave;
+	}
+
+	/**
+	 * Comprueba si esta carta coincide con la canónica de su clave.
+	 * 
+	 * @return true si es canónica, false en caso contrario
+	 */
+	private boolean esCanonica() {
+		return clave >= 1 && clave < CARTAS.length && CARTAS[clave].equals(this);
 	}
 
 	/**
@@ -27,8 +110,49 @@ public record Carta(int clave, Palo palo, int puntuacion) {
 	 * @return texto asociado
 	 */
 	private static String traducir(int puntuacion) {
-		String[] cartas = { "<No definido>", "As", "Dos", "Tres", "Cuatro", "Cinco", "Seis", "Siete", "Sota", "Caballo",
-				"Rey" };
-		return (puntuacion >= 1 && puntuacion <= 10) ? cartas[puntuacion] : cartas[0];
+		return (puntuacion >= 1 && puntuacion <= 10) ? NOMBRES[puntuacion] : NOMBRES[0];
+	}
+
+	/**
+	 * Construye el texto descriptivo de una carta.
+	 * 
+	 * @param carta carta
+	 * @return texto descriptivo
+	 */
+	private static String crearTexto(Carta carta) {
+		return traducir(carta.puntuacion) + " de " + carta.palo.toString().toLowerCase() + " ("
+				+ carta.puntuacion + ")";
+	}
+
+	/**
+	 * Crea la tabla de cartas canónicas. Las claves se asignan en el orden de
+	 * declaración de los palos y, dentro de cada palo, por puntuación.
+	 * 
+	 * @return cartas indexadas por clave
+	 */
+	private static Carta[] crearCartas() {
+		Palo[] palos = Palo.values();
+		Carta[] cartas = new Carta[palos.length * CARTAS_POR_PALO + 1];
+		int clave = 1; // empezamos identificando en uno
+		for (Palo palo : palos) {
+			for (int puntuacion = 1; puntuacion <= CARTAS_POR_PALO; puntuacion++) {
+				cartas[clave] = new Carta(clave, palo, puntuacion);
+				clave++;
+			}
+		}
+		return cartas;
+	}
+
+	/**
+	 * Precalcula los textos de las cartas canónicas.
+	 * 
+	 * @return textos indexados por clave
+	 */
+	private static String[] crearTextos() {
+		String[] textos = new String[CARTAS.length];
+		for (int clave = 1; clave < CARTAS.length; clave++) {
+			textos[clave] = crearTexto(CARTAS[clave]);
+		}
+		return textos;
 	}
 }
@@ -0,0 +1,217 @@
+package escoba.modelo;
+
+import java.util.Objects;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Conjunto de cartas representado sobre un único {@code long}.
+ * <p>Como la baraja española tiene 40 cartas, cualquier mano, mesa o baza cabe
+ * en una palabra de 64 bits: la carta con {@code clave} {@code k} ocupa el bit
+ * {@code k - 1}. Todas las operaciones son estáticas y trabajan directamente
+ * sobre el valor primitivo, por lo que no reservan memoria.</p>
+ *
+ * <p>Para recorrer un conjunto sin crear objetos se puede usar:</p>
+ * <pre>
+ * for (long resto = conjunto; resto != CartaSet.VACIO; resto = CartaSet.quitarPrimera(resto)) {
+ *     Carta carta = CartaSet.primera(resto);
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Carta
+ */
+public final class CartaSet {
+
+    /** Conjunto vacío. */
+    public static final long VACIO = 0L;
+
+    /** Conjunto con las 40 cartas de la baraja. */
+    public static final long TODAS = (1L << Baraja.NUMERO_CARTAS) - 1;
+
+    /** Número de cartas de cada palo. */
+    private static final int CARTAS_POR_PALO = Baraja.NUMERO_CARTAS / Palo.values().length;
+
+    /** Conjunto con los cuatro sietes. */
+    public static final long SIETES = mascaraPuntuacion(7);
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private CartaSet() {
+    }
+
+    /**
+     * Devuelve el bit asociado a una carta.
+     *
+     * @param carta carta
+     * @return conjunto con únicamente esa carta
+     */
+    public static long bit(Carta carta) {
+        return 1L << (carta.clave() - 1);
+    }
+
+    /**
+     * Añade una carta al conjunto.
+     *
+     * @param conjunto conjunto de partida
+     * @param carta    carta a añadir
+     * @return nuevo conjunto con la carta incluida
+     */
+    public static long agregar(long conjunto, Carta carta) {
+        return conjunto | bit(carta);
+    }
+
+    /**
+     * Quita una carta del conjunto.
+     *
+     * @param conjunto conjunto de partida
+     * @param carta    carta a quitar
+     * @return nuevo conjunto sin la carta
+     */
+    public static long quitar(long conjunto, Carta carta) {
+        return conjunto & ~bit(carta);
+    }
+
+    /**
+     * Comprueba si la carta pertenece al conjunto.
+     *
+     * @param conjunto conjunto
+     * @param carta    carta a buscar
+     * @return {@code true} si la carta está en el conjunto, {@code false} en caso contrario
+     */
+    public static boolean contiene(long conjunto, Carta carta) {
+        return (conjunto & bit(carta)) != 0;
+    }
+
+    /**
+     * Une dos conjuntos.
+     *
+     * @param conjunto1 primer conjunto
+     * @param conjunto2 segundo conjunto
+     * @return conjunto con las cartas de ambos
+     */
+    public static long unir(long conjunto1, long conjunto2) {
+        return conjunto1 | conjunto2;
+    }
+
+    /**
+     * Cuenta las cartas del conjunto.
+     *
+     * @param conjunto conjunto
+     * @return número de cartas
+     */
+    public static int contar(long conjunto) {
+        return Long.bitCount(conjunto);
+    }
+
+    /**
+     * Comprueba si el conjunto está vacío.
+     *
+     * @param conjunto conjunto
+     * @return {@code true} si no contiene cartas, {@code false} en caso contrario
+     */
+    public static boolean estaVacio(long conjunto) {
+        return conjunto == VACIO;
+    }
+
+    /**
+     * Devuelve la carta de menor clave del conjunto.
+     *
+     * @param conjunto conjunto no vacío
+     * @return carta de menor clave
+     */
+    public static Carta primera(long conjunto) {
+        return Carta.deClave(Long.numberOfTrailingZeros(conjunto) + 1);
+    }
+
+    /**
+     * Devuelve la carta que ocupa la posición indicada recorriendo el conjunto en
+     * orden de clave.
+     *
+     * @param conjunto conjunto
+     * @param indice   posición (0 es la carta de menor clave)
+     * @return carta en esa posición
+     * @throws IndexOutOfBoundsException si el índice no es válido
+     */
+    public static Carta enPosicion(long conjunto, int indice) {
+        Objects.checkIndex(indice, contar(conjunto));
+        long resto = conjunto;
+        for (int i = 0; i < indice; i++) {
+            resto = quitarPrimera(resto);
+        }
+        return primera(resto);
+    }
+
+    /**
+     * Quita la carta de menor clave del conjunto.
+     *
+     * @param conjunto conjunto
+     * @return conjunto sin su carta de menor clave
+     */
+    public static long quitarPrimera(long conjunto) {
+        return conjunto & (conjunto - 1);
+    }
+
+    /**
+     * Devuelve las cartas del palo indicado.
+     *
+     * @param palo palo
+     * @return conjunto con las diez cartas del palo
+     */
+    public static long delPalo(Palo palo) {
+        return ((1L << CARTAS_POR_PALO) - 1) << (palo.ordinal() * CARTAS_POR_PALO);
+    }
+
+    /**
+     * Construye un conjunto a partir de un array de cartas. Los nulos se ignoran.
+     *
+     * @param cartas cartas
+     * @return conjunto con dichas cartas
+     */
+    public static long deCartas(Carta[] cartas) {
+        long conjunto = VACIO;
+        for (Carta carta : cartas) {
+            if (carta != null) {
+                conjunto = agregar(conjunto, carta);
+            }
+        }
+        return conjunto;
+    }
+
+    /**
+     * Convierte el conjunto en un array de cartas ordenadas por clave.
+     *
+     * @param conjunto conjunto
+     * @return nuevo array con las cartas del conjunto
+     */
+    public static Carta[] aCartas(long conjunto) {
+        Carta[] cartas = new Carta[contar(conjunto)];
+        int i = 0;
+        for (long resto = conjunto; resto != VACIO; resto = quitarPrimera(resto)) {
+            cartas[i++] = primera(resto);
+        }
+        return cartas;
+    }
+
+    /**
+     * Calcula la máscara de las cartas con una puntuación dada en todos los palos.
+     *
+     * @param puntuacion puntuación (1-10)
+     * @return conjunto con una carta de esa puntuación por palo
+     */
+    private static long mascaraPuntuacion(int puntuacion) {
+        long conjunto = VACIO;
+        for (int palo = 0; palo < Palo.values().length; palo++) {
+            conjunto |= 1L << (palo * CARTAS_POR_PALO + puntuacion - 1);
+        }
+        return conjunto;
+    }
+}
@@ -0,0 +1,153 @@
+package escoba.modelo;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Combinaciones de {@code k} cartas tomadas de un universo de cartas, ambos
+ * representados como {@link CartaSet}.
+ * <p>Las combinaciones se recorren en orden colexicográfico y cada una tiene
+ * un índice entre 0 y {@code C(n, k) - 1}, siendo {@code n} el número de
+ * cartas del universo (sistema numérico combinatorio). Sirven para enumerar
+ * subespacios de repartos en los que unas cartas están fijadas y otras se
+ * recorren todas, por ejemplo todas las mesas iniciales posibles para una
+ * mano dada, o para numerarlos de forma compacta.</p>
+ *
+ * <p>Para recorrer todas las combinaciones sin crear objetos se puede usar:</p>
+ * <pre>
+ * for (long c = Combinaciones.primera(universo, k); c != CartaSet.VACIO; c = Combinaciones.siguiente(universo, c)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see Permutacion
+ */
+public final class Combinaciones {
+
+    /** Números combinatorios {@code C(n, k)} para {@code n} y {@code k} hasta 40. */
+    private static final long[][] BINOMIALES = calcularBinomiales();
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private Combinaciones() {
+    }
+
+    /**
+     * Calcula el número de combinaciones.
+     *
+     * @param n tamaño del universo, como mucho {@link Baraja#NUMERO_CARTAS}
+     * @param k tamaño de cada combinación
+     * @return {@code C(n, k)}, 0 si {@code k} es negativo o mayor que {@code n}
+     */
+    public static long contar(int n, int k) {
+        return k < 0 || k > n ? 0 : BINOMIALES[n][k];
+    }
+
+    /**
+     * Devuelve la primera combinación, formada por las {@code k} cartas de
+     * menor clave del universo.
+     *
+     * @param universo cartas de las que se eligen (ver {@link CartaSet})
+     * @param k        cartas de cada combinación
+     * @return primera combinación
+     * @throws IllegalArgumentException si {@code k} no está entre 1 y el
+     *                                  número de cartas del universo
+     */
+    public static long primera(long universo, int k) {
+        if (k < 1 || k > Long.bitCount(universo)) {
+            throw new IllegalArgumentException("No se pueden elegir " + k + " cartas de "
+                    + Long.bitCount(universo));
+        }
+        return Long.expand((1L << k) - 1, universo);
+    }
+
+    /**
+     * Devuelve la combinación siguiente en orden colexicográfico.
+     * <p>Se comprime la combinación sobre las posiciones del universo, se
+     * avanza con el truco de Gosper (siguiente entero con el mismo número de
+     * bits a uno) y se vuelve a expandir.</p>
+     *
+     * @param universo    cartas de las que se eligen
+     * @param combinacion combinación actual, no vacía y contenida en el universo
+     * @return combinación siguiente, o {@link CartaSet#VACIO} si era la última
+     */
+    public static long siguiente(long universo, long combinacion) {
+        final long c = Long.compress(combinacion, universo);
+        final long menor = c & -c;
+        final long v = c + menor;
+        final long siguiente = v | (((v ^ c) >>> 2) / menor);
+        if ((siguiente >>> Long.bitCount(universo)) != 0) {
+            return CartaSet.VACIO;
+        }
+        return Long.expand(siguiente, universo);
+    }
+
+    /**
+     * Calcula el índice de una combinación en orden colexicográfico.
+     *
+     * @param universo    cartas de las que se eligen
+     * @param combinacion combinación contenida en el universo
+     * @return índice entre 0 y {@code C(n, k) - 1}
+     */
+    public static long indice(long universo, long combinacion) {
+        long indice = 0;
+        int j = 1;
+        for (long resto = Long.compress(combinacion, universo); resto != 0; resto &= resto - 1) {
+            indice += BINOMIALES[Long.numberOfTrailingZeros(resto)][j++];
+        }
+        return indice;
+    }
+
+    /**
+     * Reconstruye la combinación de un índice. Es la operación inversa de
+     * {@link #indice(long, long)}.
+     *
+     * @param universo cartas de las que se eligen
+     * @param k        cartas de la combinación
+     * @param indice   índice entre 0 y {@code C(n, k) - 1}
+     * @return combinación
+     * @throws IllegalArgumentException si el índice está fuera de límites
+     */
+    public static long enIndice(long universo, int k, long indice) {
+        final int n = Long.bitCount(universo);
+        if (indice < 0 || indice >= contar(n, k)) {
+            throw new IllegalArgumentException("Índice de combinación fuera de límites: " + indice);
+        }
+        long resto = indice;
+        long comprimida = 0;
+        int posicion = n - 1;
+        for (int j = k; j >= 1; j--) {
+            // la mayor posición cuyo número combinatorio no supera el resto
+            while (BINOMIALES[posicion][j] > resto) {
+                posicion--;
+            }
+            comprimida |= 1L << posicion;
+            resto -= BINOMIALES[posicion][j];
+            posicion--;
+        }
+        return Long.expand(comprimida, universo);
+    }
+
+    /**
+     * Calcula el triángulo de Pascal.
+     *
+     * @return números combinatorios
+     */
+    private static long[][] calcularBinomiales() {
+        final long[][] binomiales = new long[Baraja.NUMERO_CARTAS + 1][Baraja.NUMERO_CARTAS + 1];
+        for (int n = 0; n <= Baraja.NUMERO_CARTAS; n++) {
+            binomiales[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                binomiales[n][k] = binomiales[n - 1][k - 1] + binomiales[n - 1][k];
+            }
+        }
+        return binomiales;
+    }
+}
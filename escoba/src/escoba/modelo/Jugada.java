@@ -0,0 +1,124 @@
+package escoba.modelo;
+
+import java.util.Arrays;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Jugada de un turno: la carta que se juega de la mano y las cartas de la
+ * mesa que se retiran con ella.
+ * <p>Se aplica y se deshace con {@link Partida#aplicar(Jugada)} y
+ * {@link Partida#deshacer(Jugada)}. Al aplicarla, la partida guarda en la
+ * propia jugada lo necesario para restaurar exactamente el estado anterior,
+ * por lo que una jugada aplicada solo debe deshacerse una vez y en orden
+ * inverso al de aplicación.</p>
+ *
+ * <p>Es mutable para que una búsqueda pueda reservar una jugada por nivel y
+ * reutilizarla con {@link #asignar(Carta, long)} sin crear objetos.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Partida
+ */
+public final class Jugada {
+
+    /** Valor de {@link #ultimoGanadorAnterior} cuando nadie había ganado bazas. */
+    static final int SIN_GANADOR = -1;
+
+    /** Carta jugada de la mano. */
+    private Carta carta;
+
+    /** Cartas retiradas de la mesa, vacío si la carta se deja en la mesa. */
+    private long captura;
+
+    /** Indica si al aplicarla la mesa quedó vacía con una baza. */
+    private boolean escoba;
+
+    /** Posición del último ganador de baza antes de aplicarla. */
+    int ultimoGanadorAnterior = SIN_GANADOR;
+
+    /**
+     * Crea una jugada.
+     *
+     * @param carta   carta jugada de la mano
+     * @param captura cartas retiradas de la mesa (ver {@link CartaSet}),
+     *                vacío si la carta se deja en la mesa
+     */
+    public Jugada(Carta carta, long captura) {
+        asignar(carta, captura);
+    }
+
+    /**
+     * Reutiliza la jugada con otra carta y captura.
+     *
+     * @param carta   carta jugada de la mano
+     * @param captura cartas retiradas de la mesa, vacío si la carta se deja en la mesa
+     */
+    public void asignar(Carta carta, long captura) {
+        this.carta = carta;
+        this.captura = captura;
+        this.escoba = false;
+        this.ultimoGanadorAnterior = SIN_GANADOR;
+    }
+
+    /**
+     * Consulta la carta jugada.
+     *
+     * @return carta jugada de la mano
+     */
+    public Carta consultarCarta() {
+        return carta;
+    }
+
+    /**
+     * Consulta las cartas retiradas de la mesa.
+     *
+     * @return conjunto de cartas retiradas, vacío si la carta se deja en la mesa
+     */
+    public long consultarCaptura() {
+        return captura;
+    }
+
+    /**
+     * Indica si la jugada gana una baza.
+     *
+     * @return {@code true} si retira cartas de la mesa, {@code false} en caso contrario
+     */
+    public boolean esBaza() {
+        return !CartaSet.estaVacio(captura);
+    }
+
+    /**
+     * Indica si la jugada, una vez aplicada, dejó la mesa vacía.
+     *
+     * @return {@code true} si fue escoba, {@code false} en caso contrario o si no se ha aplicado
+     */
+    public boolean fueEscoba() {
+        return escoba;
+    }
+
+    /**
+     * Marca la jugada como escoba al aplicarla.
+     *
+     * @param escoba si la mesa quedó vacía
+     */
+    void marcarEscoba(boolean escoba) {
+        this.escoba = escoba;
+    }
+
+    /**
+     * Devuelve una representación textual de la jugada.
+     *
+     * @return cadena descriptiva
+     */
+    @Override
+    public String toString() {
+        return "Jugada [carta=" + carta + ", captura=" + Arrays.toString(CartaSet.aCartas(captura))
+                + ", escoba=" + escoba + "]";
+    }
+}
@@ -16,7 +16,9 @@ import java.util.Objects;
  * juego, como el número de escobas, oros o sietes obtenidos.</p>
  *
  * <p>Los métodos que devuelven arrays siempre retornan copias para evitar
- * modificaciones externas del estado interno.</p>
+ * modificaciones externas del estado interno. Para consultas frecuentes se
+ * ofrecen alternativas sin copia: accesos por índice y conjuntos de bits
+ * ({@link CartaSet}).</p>
  *
  * @author Ricardo Sevilla Soba
  * @version 1.0
@@ -27,11 +29,35 @@ public class Jugador {
     /** Nombre del jugador (por ejemplo, "María" o "Juan"). */
     private String nombre;
 
-    /** Cartas que el jugador tiene actualmente en la mano. */
-    private Carta[] mano;
+    /** Cartas que el jugador tiene actualmente en la mano, como conjunto de bits por clave. */
+    private long mano;
 
-    /** Conjunto de bazas ganadas por el jugador. */
-    private Baza[] bazas;
+    /** Capacidad inicial del array de bazas. */
+    private static final int CAPACIDAD_INICIAL_BAZAS = 8;
+
+    /** Marca de escoba en el conjunto de una baza (fuera de los 40 bits de las cartas). */
+    private static final long MARCA_ESCOBA = 1L << 63;
+
+    /**
+     * Bazas ganadas por el jugador como conjunto de bits, con {@link #MARCA_ESCOBA}
+     * si fueron escoba (solo son válidas las {@code numeroBazas} primeras).
+     */
+    private long[] bazas;
+
+    /** Número de bazas ganadas. */
+    private int numeroBazas;
+
+    /** Número de bazas ganadas con escoba. */
+    private int escobas;
+
+    /** Cartas ganadas en todas las bazas, como conjunto de bits por clave. */
+    private long cartasGanadas;
+
+    /** Clave de Zobrist de la mano, actualizada en cada cambio. */
+    private long claveMano;
+
+    /** Clave de Zobrist de las cartas ganadas, actualizada en cada cambio. */
+    private long claveGanadas;
 
     /**
      * Crea un nuevo jugador con el nombre indicado.
@@ -41,8 +67,11 @@ public class Jugador {
      */
     public Jugador(String nombre) {
         this.nombre = nombre;
-        this.mano = new Carta[0];
-        this.bazas = new Baza[0];
+        this.mano = CartaSet.VACIO;
+        this.bazas = new long[CAPACIDAD_INICIAL_BAZAS];
+        this.numeroBazas = 0;
+        this.escobas = 0;
+        this.cartasGanadas = CartaSet.VACIO;
     }
 
     /**
@@ -56,41 +85,119 @@ public class Jugador {
 
     /**
      * Devuelve una copia de las cartas que el jugador tiene en la mano.
-     * <p>Se devuelve una copia del array para mantener la encapsulación
-     * y evitar modificaciones externas.</p>
+     * <p>Se devuelve un nuevo array, ordenado por clave, para mantener la
+     * encapsulación y evitar modificaciones externas.</p>
      *
      * @return un nuevo array con las cartas de la mano
      */
     public Carta[] consultarMano() {
-        return Arrays.copyOf(mano, mano.length);
+        return CartaSet.aCartas(mano);
+    }
+
+    /**
+     * Devuelve las cartas de la mano como conjunto de bits.
+     * <p>Al ser un valor primitivo no requiere copia para proteger la
+     * encapsulación.</p>
+     *
+     * @return conjunto de cartas de la mano
+     * @see CartaSet
+     */
+    public long consultarConjuntoMano() {
+        return mano;
+    }
+
+    /**
+     * Devuelve el número de cartas que el jugador tiene en la mano.
+     *
+     * @return número de cartas en la mano
+     */
+    public int consultarNumeroCartasEnMano() {
+        return CartaSet.contar(mano);
+    }
+
+    /**
+     * Devuelve la carta de la mano en la posición indicada, siguiendo el mismo
+     * orden que {@link #consultarMano()} pero sin copiar el array.
+     *
+     * @param indice posición de la carta
+     * @return carta en esa posición
+     * @throws IndexOutOfBoundsException si el índice no es válido
+     */
+    public Carta consultarCartaEnMano(int indice) {
+        return CartaSet.enPosicion(mano, indice);
     }
 
     /**
      * Devuelve las bazas ganadas por el jugador.
-     * <p>Realiza una copia profunda: se copia el array y se clona
-     * cada {@link Baza} individualmente.</p>
+     * <p>Se crea una {@link Baza} nueva por cada baza ganada, de modo que
+     * modificarlas no afecta al jugador.</p>
      *
      * @return un nuevo array con las bazas ganadas
      */
     public Baza[] consultarBazas() {
-        Baza[] copia = new Baza[bazas.length];
-        for (int i = 0; i < bazas.length; i++) {
-            copia[i] = bazas[i].clonar();
+        Baza[] copia = new Baza[numeroBazas];
+        for (int i = 0; i < numeroBazas; i++) {
+            copia[i] = aBaza(bazas[i]);
         }
         return copia;
     }
 
+    /**
+     * Devuelve el número de bazas ganadas por el jugador sin copiarlas.
+     *
+     * @return cantidad de bazas ganadas
+     */
+    public int consultarNumeroBazas() {
+        return numeroBazas;
+    }
+
     /**
      * Agrega una nueva baza ganada al historial del jugador.
      * <p>Se guarda una copia de la baza para evitar modificaciones
-     * externas.</p>
+     * externas y se actualizan los totales acumulados de cartas y escobas.</p>
      *
      * @param baza la baza ganada que se desea agregar
      */
     public void agregarBaza(Baza baza) {
-        Baza[] nuevo = Arrays.copyOf(bazas, bazas.length + 1);
-        nuevo[nuevo.length - 1] = baza.clonar();
-        bazas = nuevo;
+        agregarBaza(baza.consultarConjunto(), baza.fueEscoba());
+    }
+
+    /**
+     * Agrega una nueva baza ganada, dada como conjunto de cartas, sin crear
+     * ningún objeto {@link Baza}.
+     *
+     * @param cartas conjunto de cartas de la baza (ver {@link CartaSet})
+     * @param escoba si la baza se consiguió con escoba
+     * @since 2.0
+     */
+    public void agregarBaza(long cartas, boolean escoba) {
+        if (numeroBazas == bazas.length) {
+            bazas = Arrays.copyOf(bazas, bazas.length * 2);
+        }
+        bazas[numeroBazas++] = escoba ? cartas | MARCA_ESCOBA : cartas;
+        cambiarGanadas(cartasGanadas | cartas);
+        if (escoba) {
+            escobas++;
+        }
+    }
+
+    /**
+     * Quita la última baza ganada, deshaciendo {@link #agregarBaza(long, boolean)}.
+     * <p>Como una carta solo puede estar en una baza, basta con quitar sus
+     * cartas del total acumulado.</p>
+     *
+     * @throws IllegalStateException si el jugador no tiene bazas
+     * @since 2.0
+     */
+    public void quitarUltimaBaza() {
+        if (numeroBazas == 0) {
+            throw new IllegalStateException(nombre + " no tiene bazas que quitar");
+        }
+        long baza = bazas[--numeroBazas];
+        cambiarGanadas(cartasGanadas & ~baza);
+        if ((baza & MARCA_ESCOBA) != 0) {
+            escobas--;
+        }
     }
 
     /**
@@ -99,13 +206,7 @@ public class Jugador {
      * @return cantidad de escobas ganadas por el jugador
      */
     public int consultarEscobas() {
-        int contador = 0;
-        for (Baza b : bazas) {
-            if (b.fueEscoba()) {
-                contador++;
-            }
-        }
-        return contador;
+        return escobas;
     }
 
     /**
@@ -115,11 +216,7 @@ public class Jugador {
      * @return total de cartas ganadas
      */
     public int contarCartas() {
-        int contador = 0;
-        for (Baza b : bazas) {
-            contador += b.consultarCartas().length;
-        }
-        return contador;
+        return CartaSet.contar(cartasGanadas);
     }
 
     /**
@@ -129,11 +226,7 @@ public class Jugador {
      * @return número total de oros ganados
      */
     public int contarOros() {
-        int contador = 0;
-        for (Baza b : bazas) {
-            contador += b.contarOros();
-        }
-        return contador;
+        return CartaSet.contar(cartasGanadas & CartaSet.delPalo(Palo.OROS));
     }
 
     /**
@@ -143,11 +236,7 @@ public class Jugador {
      * @return número total de sietes ganados
      */
     public int contarSietes() {
-        int contador = 0;
-        for (Baza b : bazas) {
-            contador += b.contarSietes();
-        }
-        return contador;
+        return CartaSet.contar(cartasGanadas & CartaSet.SIETES);
     }
 
     /**
@@ -158,12 +247,107 @@ public class Jugador {
      *         {@code false} en caso contrario
      */
     public boolean tieneSieteOros() {
-        for (Baza b : bazas) {
-            if (b.tieneSieteOros()) {
-                return true;
-            }
+        return (cartasGanadas & CartaSet.SIETES & CartaSet.delPalo(Palo.OROS)) != 0;
+    }
+
+    /**
+     * Devuelve todas las cartas ganadas en las bazas como conjunto de bits.
+     *
+     * @return conjunto de cartas ganadas
+     * @see CartaSet
+     */
+    public long consultarCartasGanadas() {
+        return cartasGanadas;
+    }
+
+    /**
+     * Devuelve las cartas de la baza en la posición indicada como conjunto de
+     * bits, sin clonar la baza.
+     *
+     * @param indice posición de la baza
+     * @return conjunto de cartas de la baza
+     * @throws IndexOutOfBoundsException si el índice no es válido
+     */
+    public long consultarCartasBaza(int indice) {
+        Objects.checkIndex(indice, numeroBazas);
+        return bazas[indice] & ~MARCA_ESCOBA;
+    }
+
+    /**
+     * Indica si la baza en la posición indicada se consiguió con escoba, sin
+     * clonar la baza.
+     *
+     * @param indice posición de la baza
+     * @return {@code true} si la baza fue una escoba, {@code false} en caso contrario
+     * @throws IndexOutOfBoundsException si el índice no es válido
+     */
+    public boolean fueEscobaBaza(int indice) {
+        Objects.checkIndex(indice, numeroBazas);
+        return (bazas[indice] & MARCA_ESCOBA) != 0;
+    }
+
+    /**
+     * Devuelve al jugador a su estado inicial, sin cartas en la mano ni bazas,
+     * conservando su nombre. Permite reutilizar el objeto en varias partidas.
+     */
+    public void reiniciar() {
+        cambiarMano(CartaSet.VACIO);
+        numeroBazas = 0;
+        escobas = 0;
+        cambiarGanadas(CartaSet.VACIO);
+    }
+
+    /**
+     * Copia de otro jugador la información que conocen todos los jugadores:
+     * sus bazas, escobas y cartas ganadas. La mano queda vacía y el nombre no
+     * cambia.
+     * <p>Sirve para reconstruir la partida desde el punto de vista de un
+     * jugador sin conocer las cartas ocultas de los demás.</p>
+     *
+     * @param otro jugador de referencia
+     * @since 2.0
+     */
+    public void copiarPublicoDe(Jugador otro) {
+        cambiarMano(CartaSet.VACIO);
+        if (bazas.length < otro.numeroBazas) {
+            bazas = new long[otro.bazas.length];
+        }
+        System.arraycopy(otro.bazas, 0, bazas, 0, otro.numeroBazas);
+        numeroBazas = otro.numeroBazas;
+        escobas = otro.escobas;
+        cambiarGanadas(otro.cartasGanadas);
+    }
+
+    /**
+     * Restaura el estado del jugador a partir de sus totales, como los guarda
+     * {@link ArenaPartidas}. No hay historial de bazas: todas las cartas
+     * ganadas quedan en una única baza y las escobas solo se cuentan, por lo
+     * que no pueden deshacerse jugadas anteriores a la restauración.
+     *
+     * @param nuevaMano     cartas de la mano
+     * @param ganadas       cartas ganadas
+     * @param nuevasEscobas número de escobas
+     */
+    void restaurar(long nuevaMano, long ganadas, int nuevasEscobas) {
+        cambiarMano(nuevaMano);
+        numeroBazas = 0;
+        if (!CartaSet.estaVacio(ganadas)) {
+            bazas[numeroBazas++] = ganadas;
         }
-        return false;
+        escobas = nuevasEscobas;
+        cambiarGanadas(ganadas);
+    }
+
+    /**
+     * Devuelve la clave de Zobrist del jugador, que resume su mano, sus cartas
+     * ganadas y su número de escobas sin recorrer sus bazas.
+     *
+     * @return clave del jugador, independiente de su asiento en la partida
+     * @see Zobrist
+     * @since 2.0
+     */
+    public long consultarClave() {
+        return claveMano ^ claveGanadas ^ Zobrist.escobas(escobas);
     }
 
     /**
@@ -172,7 +356,7 @@ public class Jugador {
      * @return {@code true} si la mano está vacía, {@code false} en caso contrario
      */
     public boolean estaSinCartas() {
-        return mano.length == 0;
+        return CartaSet.estaVacio(mano);
     }
 
     /**
@@ -181,9 +365,7 @@ public class Jugador {
      * @param carta carta a añadir a la mano
      */
     public void recibirCarta(Carta carta) {
-        Carta[] nuevo = Arrays.copyOf(mano, mano.length + 1);
-        nuevo[nuevo.length - 1] = carta;
-        mano = nuevo;
+        cambiarMano(CartaSet.agregar(mano, carta));
     }
 
     /**
@@ -192,14 +374,28 @@ public class Jugador {
      * @param carta carta que se ha jugado y debe retirarse de la mano
      */
     public void jugarCarta(Carta carta) {
-        Carta[] nuevo = new Carta[mano.length - 1];
-        int j = 0;
-        for (Carta c : mano) {
-            if (!c.equals(carta)) {
-                nuevo[j++] = c;
-            }
-        }
-        mano = nuevo;
+        cambiarMano(CartaSet.quitar(mano, carta));
+    }
+
+    /**
+     * Sustituye la mano actualizando su clave solo con las cartas que cambian.
+     *
+     * @param nueva nueva mano
+     */
+    private void cambiarMano(long nueva) {
+        claveMano ^= Zobrist.mano(nueva ^ mano);
+        mano = nueva;
+    }
+
+    /**
+     * Sustituye las cartas ganadas actualizando su clave solo con las cartas
+     * que cambian.
+     *
+     * @param nuevas nuevo conjunto de cartas ganadas
+     */
+    private void cambiarGanadas(long nuevas) {
+        claveGanadas ^= Zobrist.ganadas(nuevas ^ cartasGanadas);
+        cartasGanadas = nuevas;
     }
 
     /**
@@ -212,8 +408,10 @@ public class Jugador {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(bazas);
-        result = prime * result + Arrays.hashCode(mano);
+        for (int i = 0; i < numeroBazas; i++) {
+            result = prime * result + Long.hashCode(bazas[i]);
+        }
+        result = prime * result + Long.hashCode(mano);
         result = prime * result + Objects.hash(nombre);
         return result;
     }
@@ -239,8 +437,8 @@ public class Jugador {
             return false;
         }
         Jugador other = (Jugador) obj;
-        return Arrays.equals(bazas, other.bazas)
-                && Arrays.equals(mano, other.mano)
+        return Arrays.equals(bazas, 0, numeroBazas, other.bazas, 0, other.numeroBazas)
+                && mano == other.mano
                 && Objects.equals(nombre, other.nombre);
     }
 
@@ -252,7 +450,25 @@ public class Jugador {
      */
     @Override
     public String toString() {
-        return "Jugador [nombre=" + nombre + ", mano=" + Arrays.toString(mano)
-                + ", bazas=" + Arrays.toString(bazas) + "]";
+        return "Jugador [nombre=" + nombre + ", mano=" + Arrays.toString(consultarMano())
+                + ", bazas=" + Arrays.toString(consultarBazas()) + "]";
+    }
+
+    /**
+     * Construye una {@link Baza} a partir de su conjunto de bits.
+     *
+     * @param baza conjunto de cartas con la marca de escoba
+     * @return nueva baza equivalente
+     */
+    private static Baza aBaza(long baza) {
+        Baza resultado = new Baza();
+        long cartas = baza & ~MARCA_ESCOBA;
+        for (long resto = cartas; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+            resultado.agregarCarta(CartaSet.primera(resto));
+        }
+        if ((baza & MARCA_ESCOBA) != 0) {
+            resultado.marcarEscoba();
+        }
+        return resultado;
     }
 }
@@ -12,21 +12,20 @@ public class Mesa {
 	/** Puntos que hay que sumar para hacer una escoba. */
 	public static final int SUMA_PUNTOS_A_ALCANZAR = 15;
 
-	/** Tamaño máximo de cartas en la mesa. */
-	private static final int TAMAÑO_MAXIMO = 40; // en teoría sería un 9 pero jugando a no retirar todas explota el
-													// programa
+	/** Destino vacío para contar capturas sin almacenarlas. */
+	private static final long[] SIN_DESTINO = new long[0];
 
-	/** Cartas que hay en la mesa. */
-	private Carta[] cartasEnMesa;
+	/** Cartas que hay en la mesa, como conjunto de bits por clave. */
+	private long cartasEnMesa;
 
-	/** Cantidad de cartas que hay en la mesa. */
-	private int cantidad;
+	/** Clave de Zobrist de las cartas en la mesa, actualizada en cada cambio. */
+	private long clave;
 
 	/**
 	 * Constructor de la clase Mesa.
 	 */
 	public Mesa() {
-		cartasEnMesa = new Carta[TAMAÑO_MAXIMO];
+		cartasEnMesa = CartaSet.VACIO;
 	}
 
 	/**
@@ -35,21 +34,47 @@ public class Mesa {
 	 * @param carta carta
 	 */
 	public void ponerCarta(Carta carta) {
-		cartasEnMesa[cantidad] = carta;
-		cantidad++;
+		cambiar(CartaSet.agregar(cartasEnMesa, carta));
 	}
 
 	/**
-	 * Consulta las cartas que hay en la mesa.
+	 * Consulta las cartas que hay en la mesa, ordenadas por clave.
 	 * 
 	 * @return cartas que hay en la mesa
 	 */
 	public Carta[] consultarCartasEnMesa() {
-		Carta[] copia = new Carta[cantidad];
-		for (int i = 0; i < cantidad; i++) {
-			copia[i] = cartasEnMesa[i];
-		}
-		return copia;
+		return CartaSet.aCartas(cartasEnMesa);
+	}
+
+	/**
+	 * Consulta las cartas que hay en la mesa como conjunto de bits, sin copias.
+	 * 
+	 * @return conjunto de cartas en la mesa
+	 * @see CartaSet
+	 */
+	public long consultarConjunto() {
+		return cartasEnMesa;
+	}
+
+	/**
+	 * Consulta el número de cartas que hay en la mesa.
+	 * 
+	 * @return número de cartas en la mesa
+	 */
+	public int consultarNumeroCartas() {
+		return CartaSet.contar(cartasEnMesa);
+	}
+
+	/**
+	 * Consulta la carta de la mesa en la posición indicada, siguiendo el mismo
+	 * orden que {@link #consultarCartasEnMesa()} pero sin copiar el array.
+	 * 
+	 * @param indice posición de la carta
+	 * @return carta en esa posición
+	 * @throws IndexOutOfBoundsException si el índice no es válido
+	 */
+	public Carta consultarCarta(int indice) {
+		return CartaSet.enPosicion(cartasEnMesa, indice);
 	}
 
 	/**
@@ -58,16 +83,53 @@ public class Mesa {
 	 * @param carta carta
 	 */
 	public void quitarCarta(Carta carta) {
-		boolean encontrado = false;
-		for (int i = 0; i < cantidad && !encontrado; i++) {
-			if (cartasEnMesa[i].equals(carta)) {
-				for (int j = i; j < cantidad - 1; j++) {
-					cartasEnMesa[j] = cartasEnMesa[j + 1];
-				}
-				cantidad--;
-				encontrado = true;
-			}
-		}
+		cambiar(CartaSet.quitar(cartasEnMesa, carta));
+	}
+
+	/**
+	 * Pone sobre la mesa todas las cartas de un conjunto.
+	 * 
+	 * @param cartas conjunto de cartas (ver {@link CartaSet})
+	 */
+	public void ponerCartas(long cartas) {
+		cambiar(cartasEnMesa | cartas);
+	}
+
+	/**
+	 * Quita de la mesa todas las cartas de un conjunto.
+	 * 
+	 * @param cartas conjunto de cartas (ver {@link CartaSet})
+	 */
+	public void quitarCartas(long cartas) {
+		cambiar(cartasEnMesa & ~cartas);
+	}
+
+	/**
+	 * Retira todas las cartas de la mesa.
+	 */
+	public void vaciar() {
+		cambiar(CartaSet.VACIO);
+	}
+
+	/**
+	 * Consulta la clave de Zobrist de las cartas en la mesa.
+	 * 
+	 * @return clave
+	 * @see Zobrist
+	 */
+	public long consultarClave() {
+		return clave;
+	}
+
+	/**
+	 * Sustituye las cartas de la mesa actualizando su clave solo con las
+	 * cartas que cambian.
+	 * 
+	 * @param nuevas nuevo conjunto de cartas en la mesa
+	 */
+	private void cambiar(long nuevas) {
+		clave ^= Zobrist.mesa(nuevas ^ cartasEnMesa);
+		cartasEnMesa = nuevas;
 	}
 
 	/**
@@ -76,7 +138,87 @@ public class Mesa {
 	 * @return true si la mesa está vacía, false en caso contrario
 	 */
 	public boolean estaVacia() {
-		return cantidad == 0;
+		return CartaSet.estaVacio(cartasEnMesa);
+	}
+
+	/**
+	 * Genera todas las capturas posibles con la carta del jugador.
+	 * 
+	 * Cada captura es un conjunto de cartas de la mesa (ver {@link CartaSet}) que
+	 * sumado a la carta del jugador alcanza {@link #SUMA_PUNTOS_A_ALCANZAR}. Se
+	 * escriben en el array de destino tantas capturas como quepan y se devuelve el
+	 * total encontrado, de forma que llamando con un array vacío se obtiene el
+	 * tamaño necesario. No se reserva memoria durante la búsqueda.
+	 * 
+	 * @param cartaJugador carta del jugador
+	 * @param destino      array donde se escriben las capturas encontradas
+	 * @return número total de capturas posibles (puede superar destino.length)
+	 */
+	public int generarCapturas(Carta cartaJugador, long[] destino) {
+		int objetivo = SUMA_PUNTOS_A_ALCANZAR - cartaJugador.puntuacion();
+		return buscarCapturas(cartasEnMesa, objetivo, CartaSet.VACIO, destino, 0);
+	}
+
+	/**
+	 * Consulta si existe al menos una captura posible con la carta del jugador.
+	 * 
+	 * @param cartaJugador carta del jugador
+	 * @return true si alguna combinación de cartas de la mesa suma 15 con la carta,
+	 *         false en caso contrario
+	 */
+	public boolean hayCaptura(Carta cartaJugador) {
+		return generarCapturas(cartaJugador, SIN_DESTINO) > 0;
+	}
+
+	/**
+	 * Consulta si una captura, expresada como conjunto de cartas (ver
+	 * {@link CartaSet}), es válida con la carta del jugador: todas sus cartas
+	 * deben estar en la mesa y sumar 15 puntos con la carta del jugador.
+	 * 
+	 * @param cartaJugador carta del jugador
+	 * @param captura      conjunto de cartas de la mesa a retirar
+	 * @return true si la captura es válida, false en caso contrario
+	 */
+	public boolean esCapturaValida(Carta cartaJugador, long captura) {
+		if (CartaSet.estaVacio(captura) || (captura & ~cartasEnMesa) != CartaSet.VACIO) {
+			return false;
+		}
+		int suma = cartaJugador.puntuacion();
+		for (long resto = captura; resto != CartaSet.VACIO; resto = CartaSet.quitarPrimera(resto)) {
+			suma += CartaSet.primera(resto).puntuacion();
+		}
+		return suma == SUMA_PUNTOS_A_ALCANZAR;
+	}
+
+	/**
+	 * Busca en profundidad los subconjuntos de las cartas candidatas que suman
+	 * exactamente los puntos restantes. Cada carta solo se combina con las de
+	 * clave mayor, por lo que cada subconjunto se genera una única vez.
+	 * 
+	 * @param candidatas  cartas que aún pueden añadirse
+	 * @param restantes   puntos que faltan por sumar
+	 * @param elegidas    cartas ya elegidas
+	 * @param destino     array donde se escriben las capturas
+	 * @param encontradas capturas encontradas hasta el momento
+	 * @return capturas encontradas tras la búsqueda
+	 */
+	private static int buscarCapturas(long candidatas, int restantes, long elegidas, long[] destino,
+			int encontradas) {
+		for (long pendientes = candidatas; pendientes != CartaSet.VACIO; pendientes = CartaSet
+				.quitarPrimera(pendientes)) {
+			int puntos = CartaSet.primera(pendientes).puntuacion();
+			long captura = elegidas | Long.lowestOneBit(pendientes);
+			if (puntos == restantes) {
+				if (encontradas < destino.length) {
+					destino[encontradas] = captura;
+				}
+				encontradas++;
+			} else if (puntos < restantes) {
+				encontradas = buscarCapturas(CartaSet.quitarPrimera(pendientes), restantes - puntos, captura,
+						destino, encontradas);
+			}
+		}
+		return encontradas;
 	}
 
 	/**
@@ -1,13 +1,27 @@
 package escoba.modelo;
 
 /**
- * Partida de escoba entre dos jugadores.
+ * Partida de escoba entre dos y cuatro jugadores, individualmente o por
+ * parejas.
+ * 
+ * El turno se guarda como índice sobre el array de jugadores y avanza en
+ * anillo, de modo que cambiar de turno no depende de comparar jugadores.
+ * 
+ * Con equipos, el jugador de la posición {@code i} pertenece al equipo
+ * {@code i % numeroEquipos}, por lo que los compañeros quedan sentados de
+ * forma alterna (en un dos contra dos juegan 0 y 2 frente a 1 y 3).
  * 
  * @author <a href="mailto:rmartico@ubu.es">Raúl Marticorena Sánchez</a>
- * @version 1.0
+ * @version 1.1
  */
 public class Partida {
 	
+	/** Número mínimo de jugadores. */
+	public static final int MINIMO_JUGADORES = 2;
+
+	/** Número máximo de jugadores. */
+	public static final int MAXIMO_JUGADORES = 4;
+
 	/** Jugadores de la partida. */
     private Jugador[] jugadores;
     
@@ -17,8 +31,14 @@ public class Partida {
     /** Baraja de la partida. */
     private Baraja baraja;
     
-    /** Jugador al que le toca jugar. */
-    private Jugador turno;
+    /** Posición en {@link #jugadores} del jugador al que le toca jugar. */
+    private int turno;
+
+    /** Número de equipos en los que se reparten los jugadores. */
+    private final int numeroEquipos;
+
+    /** Posición del último jugador que ganó una baza, o {@link Jugada#SIN_GANADOR}. */
+    private int ultimoGanador;
 
     /**
      * Constructor de la partida.
@@ -29,12 +49,46 @@ public class Partida {
      * @param baraja baraja
      */
     public Partida(Jugador jugador1, Jugador jugador2, Mesa mesa, Baraja baraja) {
-        jugadores = new Jugador[2];
-        jugadores[0] = jugador1;
-        jugadores[1] = jugador2;
+        this(new Jugador[] { jugador1, jugador2 }, mesa, baraja);
+    }
+
+    /**
+     * Constructor de una partida individual, donde cada jugador forma su
+     * propio equipo.
+     * 
+     * @param jugadores jugadores en orden de turno (de 2 a 4)
+     * @param mesa mesa
+     * @param baraja baraja
+     * @throws IllegalArgumentException si el número de jugadores no es válido
+     */
+    public Partida(Jugador[] jugadores, Mesa mesa, Baraja baraja) {
+        this(jugadores, jugadores.length, mesa, baraja);
+    }
+
+    /**
+     * Constructor de una partida por equipos.
+     * 
+     * @param jugadores jugadores en orden de turno (de 2 a 4)
+     * @param numeroEquipos número de equipos, que debe dividir al de jugadores
+     * @param mesa mesa
+     * @param baraja baraja
+     * @throws IllegalArgumentException si el número de jugadores o de equipos no es válido
+     */
+    public Partida(Jugador[] jugadores, int numeroEquipos, Mesa mesa, Baraja baraja) {
+        if (jugadores.length < MINIMO_JUGADORES || jugadores.length > MAXIMO_JUGADORES) {
+            throw new IllegalArgumentException("La partida es de " + MINIMO_JUGADORES + " a "
+                    + MAXIMO_JUGADORES + " jugadores: " + jugadores.length);
+        }
+        if (numeroEquipos < 2 || jugadores.length % numeroEquipos != 0) {
+            throw new IllegalArgumentException("No se pueden repartir " + jugadores.length
+                    + " jugadores en " + numeroEquipos + " equipos");
+        }
+        this.jugadores = jugadores.clone();
+        this.numeroEquipos = numeroEquipos;
         this.mesa = mesa;
         this.baraja = baraja;
-        turno = jugador1;
+        turno = 0;
+        ultimoGanador = Jugada.SIN_GANADOR;
     }
 
     /**
@@ -52,14 +106,218 @@ public class Partida {
      * @return jugador actual
      */
     public Jugador obtenerJugadorActual() {
+        return jugadores[turno];
+    }
+
+    /**
+     * Obtiene la posición del jugador al que le toca jugar.
+     * 
+     * @return índice en {@link #obtenerJugadores()}
+     */
+    public int obtenerIndiceTurno() {
         return turno;
     }
 
     /**
-     * Cambia el turno al otro jugador.
+     * Cambia el turno al siguiente jugador, volviendo al primero tras el último.
      */
     public void cambiarTurno() {
-        turno = turno.equals(jugadores[0]) ? jugadores[1] : jugadores[0];
+        turno++;
+        if (turno == jugadores.length) {
+            turno = 0;
+        }
+    }
+
+    /**
+     * Obtiene el número de equipos. En una partida individual coincide con el
+     * número de jugadores.
+     * 
+     * @return número de equipos
+     */
+    public int obtenerNumeroEquipos() {
+        return numeroEquipos;
+    }
+
+    /**
+     * Obtiene el equipo del jugador que ocupa una posición.
+     * 
+     * @param indiceJugador posición del jugador en {@link #obtenerJugadores()}
+     * @return equipo, entre 0 y {@link #obtenerNumeroEquipos()} - 1
+     */
+    public int obtenerEquipo(int indiceJugador) {
+        return indiceJugador % numeroEquipos;
+    }
+
+    /**
+     * Reinicia la partida para volver a jugarla con los mismos objetos: se
+     * reinician los jugadores y la baraja, se vacía la mesa, se olvida el
+     * último ganador y el turno vuelve al primer jugador.
+     */
+    public void reiniciar() {
+        for (Jugador jugador : jugadores) {
+            jugador.reiniciar();
+        }
+        mesa.vaciar();
+        baraja.reiniciar();
+        turno = 0;
+        ultimoGanador = Jugada.SIN_GANADOR;
+    }
+
+    /**
+     * Reparte cartas de la baraja a cada jugador, de una en una y por orden de
+     * asiento, mientras queden cartas.
+     * 
+     * @param cartasPorJugador número de cartas que recibe cada jugador
+     */
+    public void repartir(int cartasPorJugador) {
+        for (int i = 0; i < cartasPorJugador; i++) {
+            for (Jugador jugador : jugadores) {
+                Carta extraida = baraja.extraerCarta();
+                if (extraida != null) {
+                    jugador.recibirCarta(extraida);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copia de otra partida la información que conocen todos los jugadores:
+     * la mesa, el turno, el último ganador y las bazas, escobas y cartas
+     * ganadas de cada jugador (ver {@link Jugador#copiarPublicoDe(Jugador)}).
+     * 
+     * Las manos quedan vacías y la baraja no se modifica: la información
+     * oculta la completa quien llama, por ejemplo con
+     * {@link Baraja#reiniciarCon(long)} y {@link Jugador#recibirCarta(Carta)}.
+     * 
+     * @param otra partida de referencia, con los mismos jugadores y equipos
+     * @throws IllegalArgumentException si el número de jugadores o de equipos no coincide
+     */
+    public void copiarPublicoDe(Partida otra) {
+        if (otra.jugadores.length != jugadores.length || otra.numeroEquipos != numeroEquipos) {
+            throw new IllegalArgumentException("Las partidas no tienen los mismos jugadores y equipos");
+        }
+        for (int i = 0; i < jugadores.length; i++) {
+            jugadores[i].copiarPublicoDe(otra.jugadores[i]);
+        }
+        mesa.vaciar();
+        mesa.ponerCartas(otra.mesa.consultarConjunto());
+        turno = otra.turno;
+        ultimoGanador = otra.ultimoGanador;
+    }
+
+    /**
+     * Aplica la jugada del jugador al que le toca jugar y pasa el turno al
+     * siguiente.
+     * 
+     * Si la jugada retira cartas, el jugador gana una baza con ellas y con la
+     * carta jugada, que es escoba si la mesa queda vacía, y pasa a ser el
+     * último ganador. Si no, la carta se deja sobre la mesa. No se crea ningún
+     * objeto: lo necesario para deshacerla se guarda en la propia jugada.
+     * 
+     * La jugada debe ser legal: la carta ha de estar en la mano y la captura
+     * ha de ser válida según {@link Mesa#esCapturaValida(Carta, long)}. No se
+     * comprueba aquí para no penalizar las búsquedas.
+     * 
+     * @param jugada jugada a aplicar
+     * @see #deshacer(Jugada)
+     */
+    public void aplicar(Jugada jugada) {
+        final Jugador jugador = jugadores[turno];
+        final Carta carta = jugada.consultarCarta();
+        final long captura = jugada.consultarCaptura();
+
+        jugador.jugarCarta(carta);
+        jugada.ultimoGanadorAnterior = ultimoGanador;
+        if (CartaSet.estaVacio(captura)) {
+            mesa.ponerCarta(carta);
+            jugada.marcarEscoba(false);
+        } else {
+            mesa.quitarCartas(captura);
+            boolean escoba = mesa.estaVacia();
+            jugador.agregarBaza(CartaSet.agregar(captura, carta), escoba);
+            jugada.marcarEscoba(escoba);
+            ultimoGanador = turno;
+        }
+        cambiarTurno();
+    }
+
+    /**
+     * Deshace la última jugada aplicada, devolviendo exactamente al estado
+     * anterior la mesa, la mano y las bazas del jugador, el último ganador y
+     * el turno.
+     * 
+     * @param jugada la misma jugada pasada a la última llamada a {@link #aplicar(Jugada)}
+     */
+    public void deshacer(Jugada jugada) {
+        turno = (turno == 0 ? jugadores.length : turno) - 1;
+        final Jugador jugador = jugadores[turno];
+        final Carta carta = jugada.consultarCarta();
+        final long captura = jugada.consultarCaptura();
+
+        if (CartaSet.estaVacio(captura)) {
+            mesa.quitarCarta(carta);
+        } else {
+            jugador.quitarUltimaBaza();
+            mesa.ponerCartas(captura);
+            ultimoGanador = jugada.ultimoGanadorAnterior;
+        }
+        jugador.recibirCarta(carta);
+    }
+
+    /**
+     * Restaura la mesa, el turno y el último ganador, como los guarda
+     * {@link ArenaPartidas}.
+     * 
+     * @param cartasMesa    cartas de la mesa
+     * @param nuevoTurno    posición del jugador al que le toca jugar
+     * @param nuevoGanador  posición del último ganador, o -1 si no lo hay
+     */
+    void restaurar(long cartasMesa, int nuevoTurno, int nuevoGanador) {
+        mesa.vaciar();
+        mesa.ponerCartas(cartasMesa);
+        turno = nuevoTurno;
+        ultimoGanador = nuevoGanador;
+    }
+
+    /**
+     * Obtiene el último jugador que ganó una baza, que se lleva las cartas
+     * que queden en la mesa al terminar.
+     * 
+     * @return último ganador, o {@code null} si nadie ha ganado bazas
+     */
+    public Jugador obtenerUltimoGanador() {
+        return ultimoGanador == Jugada.SIN_GANADOR ? null : jugadores[ultimoGanador];
+    }
+
+    /**
+     * Obtiene la posición del último jugador que ganó una baza.
+     * 
+     * @return índice en {@link #obtenerJugadores()}, o -1 si nadie ha ganado bazas
+     */
+    public int obtenerIndiceUltimoGanador() {
+        return ultimoGanador;
+    }
+
+    /**
+     * Calcula la clave de Zobrist del estado de la partida: mesa, mano, cartas
+     * ganadas y escobas de cada jugador en su asiento, cima de la baraja,
+     * turno y último ganador.
+     * 
+     * Cada parte mantiene su propia clave al cambiar, de modo que el cálculo
+     * solo combina un valor por elemento, sin recorrer cartas ni bazas. Sirve
+     * como índice de tablas de transposición y para detectar partidas
+     * repetidas.
+     * 
+     * @return clave del estado
+     * @see Zobrist
+     */
+    public long consultarClave() {
+        long clave = mesa.consultarClave() ^ baraja.consultarClave()
+                ^ Zobrist.turno(turno) ^ Zobrist.ultimoGanador(ultimoGanador);
+        for (int i = 0; i < jugadores.length; i++) {
+            clave ^= Zobrist.asiento(jugadores[i].consultarClave(), i);
+        }
+        return clave;
     }
 
     /**
@@ -0,0 +1,159 @@
+package escoba.modelo;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Rango de Lehmer de un orden de la baraja.
+ * <p>Cada una de las 40! ordenaciones de la baraja se numera con un entero
+ * entre 0 y 40! - 1, que cabe en {@value #BYTES_RANGO} bytes (159 bits). El
+ * dígito {@code i} del código de Lehmer es el número de cartas aún no
+ * colocadas con clave menor que la de la posición {@code i}, y el rango es
+ * ese número en base factorial.</p>
+ *
+ * <p>Los órdenes se expresan como claves de carta (ver
+ * {@link Carta#clave()}), igual que en {@link Baraja#consultarOrden(byte[])},
+ * y el rango se escribe en big-endian. La aritmética se hace sobre cinco
+ * palabras de 32 bits en variables locales, por lo que no se reserva
+ * memoria.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Permutacion {
+
+    /** Bytes que ocupa un rango. */
+    public static final int BYTES_RANGO = 20;
+
+    /** Máscara de una palabra de 32 bits. */
+    private static final long PALABRA = 0xFFFF_FFFFL;
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private Permutacion() {
+    }
+
+    /**
+     * Calcula el rango de un orden de la baraja.
+     *
+     * @param orden          claves de las {@link Baraja#NUMERO_CARTAS} cartas en orden
+     * @param destino        array donde se escribe el rango
+     * @param desplazamiento posición de {@code destino} donde empieza el rango
+     * @throws IllegalArgumentException si el orden no contiene cada carta
+     *                                  exactamente una vez
+     */
+    public static void codificar(byte[] orden, byte[] destino, int desplazamiento) {
+        // palabras del rango de mayor a menor peso
+        long p0 = 0;
+        long p1 = 0;
+        long p2 = 0;
+        long p3 = 0;
+        long p4 = 0;
+        long pendientes = CartaSet.TODAS;
+        for (int i = 0; i < Baraja.NUMERO_CARTAS; i++) {
+            final int clave = orden[i];
+            final long bit = 1L << (clave - 1);
+            if (clave < 1 || clave > Baraja.NUMERO_CARTAS || (pendientes & bit) == 0) {
+                throw new IllegalArgumentException("Orden de baraja no válido en la posición " + i + ": " + clave);
+            }
+            final long digito = Long.bitCount(pendientes & (bit - 1));
+            pendientes &= ~bit;
+
+            // rango = rango * (40 - i) + dígito, por Horner
+            final long base = Baraja.NUMERO_CARTAS - i;
+            long v = p4 * base + digito;
+            p4 = v & PALABRA;
+            v = p3 * base + (v >>> 32);
+            p3 = v & PALABRA;
+            v = p2 * base + (v >>> 32);
+            p2 = v & PALABRA;
+            v = p1 * base + (v >>> 32);
+            p1 = v & PALABRA;
+            p0 = (p0 * base + (v >>> 32)) & PALABRA;
+        }
+        escribir(destino, desplazamiento, p0);
+        escribir(destino, desplazamiento + 4, p1);
+        escribir(destino, desplazamiento + 8, p2);
+        escribir(destino, desplazamiento + 12, p3);
+        escribir(destino, desplazamiento + 16, p4);
+    }
+
+    /**
+     * Reconstruye el orden de la baraja a partir de su rango.
+     *
+     * @param origen         array que contiene el rango
+     * @param desplazamiento posición de {@code origen} donde empieza el rango
+     * @param orden          array de al menos {@link Baraja#NUMERO_CARTAS}
+     *                       posiciones donde se escriben las claves en orden
+     * @throws IllegalArgumentException si el rango no es menor que 40!
+     */
+    public static void decodificar(byte[] origen, int desplazamiento, byte[] orden) {
+        long p0 = leer(origen, desplazamiento);
+        long p1 = leer(origen, desplazamiento + 4);
+        long p2 = leer(origen, desplazamiento + 8);
+        long p3 = leer(origen, desplazamiento + 12);
+        long p4 = leer(origen, desplazamiento + 16);
+
+        // los dígitos salen del de menor peso (posición 39, base 1) al de mayor
+        // peso; se guardan en el propio orden y después se traducen a claves
+        for (int i = Baraja.NUMERO_CARTAS - 1; i >= 0; i--) {
+            final long base = Baraja.NUMERO_CARTAS - i;
+            long v = p0;
+            p0 = v / base;
+            v = ((v % base) << 32) | p1;
+            p1 = v / base;
+            v = ((v % base) << 32) | p2;
+            p2 = v / base;
+            v = ((v % base) << 32) | p3;
+            p3 = v / base;
+            v = ((v % base) << 32) | p4;
+            p4 = v / base;
+            orden[i] = (byte) (v % base);
+        }
+        if ((p0 | p1 | p2 | p3 | p4) != 0) {
+            throw new IllegalArgumentException("Rango de baraja fuera de límites");
+        }
+
+        long pendientes = CartaSet.TODAS;
+        for (int i = 0; i < Baraja.NUMERO_CARTAS; i++) {
+            long resto = pendientes;
+            for (int j = orden[i]; j > 0; j--) {
+                resto = CartaSet.quitarPrimera(resto);
+            }
+            final long bit = Long.lowestOneBit(resto);
+            orden[i] = (byte) (Long.numberOfTrailingZeros(bit) + 1);
+            pendientes &= ~bit;
+        }
+    }
+
+    /**
+     * Escribe una palabra de 32 bits en big-endian.
+     *
+     * @param destino        array de destino
+     * @param desplazamiento posición del primer byte
+     * @param palabra        palabra a escribir
+     */
+    private static void escribir(byte[] destino, int desplazamiento, long palabra) {
+        destino[desplazamiento] = (byte) (palabra >>> 24);
+        destino[desplazamiento + 1] = (byte) (palabra >>> 16);
+        destino[desplazamiento + 2] = (byte) (palabra >>> 8);
+        destino[desplazamiento + 3] = (byte) palabra;
+    }
+
+    /**
+     * Lee una palabra de 32 bits en big-endian.
+     *
+     * @param origen         array de origen
+     * @param desplazamiento posición del primer byte
+     * @return palabra leída, sin signo
+     */
+    private static long leer(byte[] origen, int desplazamiento) {
+        return (origen[desplazamiento] & 0xFFL) << 24 | (origen[desplazamiento + 1] & 0xFFL) << 16
+                | (origen[desplazamiento + 2] & 0xFFL) << 8 | (origen[desplazamiento + 3] & 0xFFL);
+    }
+}
@@ -0,0 +1,373 @@
+package escoba.modelo;
+
+import java.util.Arrays;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Recuento de puntos al terminar una partida.
+ * <p>Reúne todas las reglas de puntuación: escobas, mayoría de oros o todos
+ * los oros, siete de oros, mayoría de sietes o todos los sietes, mayoría de
+ * cartas y los dos puntos por dejar al contrario con menos de diez cartas.
+ * Las mayorías se comparan siempre con el mejor equipo rival.</p>
+ *
+ * <p>Todas las operaciones son estáticas, trabajan con recuentos de bits
+ * sobre conjuntos de cartas (ver {@link CartaSet}) y no reservan memoria. El
+ * resultado de cada equipo es un desglose empaquetado en un {@code int} que
+ * se consulta con {@link #total(int)} y los métodos {@code puntosPor...}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Puntuacion {
+
+    /** Cartas por debajo de las cuales el contrario da dos puntos. */
+    public static final int MINIMO_CARTAS_CONTRARIO = 10;
+
+    /** Conjunto de los oros. */
+    private static final long OROS = CartaSet.delPalo(Palo.OROS);
+
+    /** Conjunto con el siete de oros. */
+    private static final long SIETE_OROS = OROS & CartaSet.SIETES;
+
+    /** Número de oros de la baraja. */
+    private static final int TOTAL_OROS = CartaSet.contar(OROS);
+
+    /** Número de sietes de la baraja. */
+    private static final int TOTAL_SIETES = CartaSet.contar(CartaSet.SIETES);
+
+    /** Desplazamiento de los puntos por escobas en el desglose. */
+    private static final int ESCOBAS = 0;
+
+    /** Desplazamiento de los puntos por oros en el desglose. */
+    private static final int PUNTOS_OROS = 8;
+
+    /** Desplazamiento del punto por el siete de oros en el desglose. */
+    private static final int PUNTOS_SIETE_OROS = 10;
+
+    /** Desplazamiento de los puntos por sietes en el desglose. */
+    private static final int PUNTOS_SIETES = 11;
+
+    /** Desplazamiento del punto por mayoría de cartas en el desglose. */
+    private static final int PUNTOS_CARTAS = 13;
+
+    /** Desplazamiento de los puntos por cartas del contrario en el desglose. */
+    private static final int PUNTOS_CONTRARIO = 14;
+
+    /** Desplazamiento del total en el desglose. */
+    private static final int TOTAL = 16;
+
+    /** Desplazamiento del número de oros en un recuento. */
+    private static final int CUENTA_OROS = 8;
+
+    /** Desplazamiento del número de sietes en un recuento. */
+    private static final int CUENTA_SIETES = 16;
+
+    /** Desplazamiento de las escobas en un recuento. */
+    private static final int CUENTA_ESCOBAS = 24;
+
+    /** Bit del siete de oros en un recuento. */
+    private static final int CUENTA_SIETE_OROS = 1 << 23;
+
+    /** Máscara de un campo de ocho bits. */
+    private static final int BYTE = 0xFF;
+
+    /** Máscara del número de sietes en un recuento. */
+    private static final int CAMPO_SIETES = 0x7F;
+
+    /** Máscara de un campo de dos bits. */
+    private static final int DOS_BITS = 0b11;
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private Puntuacion() {
+    }
+
+    /**
+     * Calcula el desglose de puntos de un bando frente a un único rival.
+     *
+     * @param propias cartas ganadas por el bando
+     * @param escobas escobas del bando
+     * @param rivales cartas ganadas por el rival
+     * @return desglose empaquetado
+     */
+    public static int desglosar(long propias, int escobas, long rivales) {
+        return desglosar(recontar(propias, escobas), recontar(rivales, 0));
+    }
+
+    /**
+     * Calcula los puntos de un bando frente a un único rival.
+     *
+     * @param propias cartas ganadas por el bando
+     * @param escobas escobas del bando
+     * @param rivales cartas ganadas por el rival
+     * @return puntos del bando
+     */
+    public static int puntos(long propias, int escobas, long rivales) {
+        return total(desglosar(propias, escobas, rivales));
+    }
+
+    /**
+     * Calcula la diferencia de puntos entre un bando y su rival.
+     *
+     * @param propias        cartas ganadas por el bando
+     * @param escobas        escobas del bando
+     * @param rivales        cartas ganadas por el rival
+     * @param escobasRivales escobas del rival
+     * @return puntos del bando menos puntos del rival
+     */
+    public static int diferencia(long propias, int escobas, long rivales, int escobasRivales) {
+        int recuentoPropio = recontar(propias, escobas);
+        int recuentoRival = recontar(rivales, escobasRivales);
+        return total(desglosar(recuentoPropio, recuentoRival)) - total(desglosar(recuentoRival, recuentoPropio));
+    }
+
+    /**
+     * Calcula el desglose de puntos de todos los equipos de una partida en la
+     * que ya no quedan cartas por jugar. Si aún quedan cartas en la mesa, se
+     * cuentan para el equipo del último jugador que se llevó una baza.
+     *
+     * @param partida   partida terminada
+     * @param desgloses array donde se deja el desglose de cada equipo, con al
+     *                  menos {@link Partida#obtenerNumeroEquipos()} posiciones
+     * @throws IllegalArgumentException si el array no tiene espacio para todos
+     *                                  los equipos
+     */
+    public static void puntuar(Partida partida, int[] desgloses) {
+        final int numeroEquipos = partida.obtenerNumeroEquipos();
+        if (desgloses.length < numeroEquipos) {
+            throw new IllegalArgumentException("Se necesitan " + numeroEquipos + " posiciones y hay "
+                    + desgloses.length);
+        }
+        Arrays.fill(desgloses, 0, numeroEquipos, 0);
+        // cada carta solo puede estar en un jugador, así que los
+        // recuentos de los miembros de un equipo se suman campo a campo
+        final Jugador[] jugadores = partida.obtenerJugadores();
+        for (int i = 0; i < jugadores.length; i++) {
+            desgloses[partida.obtenerEquipo(i)] += recontar(jugadores[i].consultarCartasGanadas(),
+                    jugadores[i].consultarEscobas());
+        }
+        final int ultimoGanador = partida.obtenerIndiceUltimoGanador();
+        if (ultimoGanador >= 0) {
+            desgloses[partida.obtenerEquipo(ultimoGanador)] +=
+                    recontar(partida.obtenerMesa().consultarConjunto(), 0);
+        }
+
+        // mejor y segundo mejor recuento de cada campo, para comparar a cada
+        // equipo con su mejor rival sin volver a recorrer los demás
+        int primerOros = -1;
+        int primerSietes = -1;
+        int primerCartas = -1;
+        int segundoOros = 0;
+        int segundoSietes = 0;
+        int segundoCartas = 0;
+        int equipoOros = -1;
+        int equipoSietes = -1;
+        int equipoCartas = -1;
+        for (int equipo = 0; equipo < numeroEquipos; equipo++) {
+            final int recuento = desgloses[equipo];
+            final int oros = (recuento >>> CUENTA_OROS) & BYTE;
+            if (oros > primerOros) {
+                segundoOros = Math.max(primerOros, 0);
+                primerOros = oros;
+                equipoOros = equipo;
+            } else {
+                segundoOros = Math.max(segundoOros, oros);
+            }
+            final int sietes = (recuento >>> CUENTA_SIETES) & CAMPO_SIETES;
+            if (sietes > primerSietes) {
+                segundoSietes = Math.max(primerSietes, 0);
+                primerSietes = sietes;
+                equipoSietes = equipo;
+            } else {
+                segundoSietes = Math.max(segundoSietes, sietes);
+            }
+            final int cartas = recuento & BYTE;
+            if (cartas > primerCartas) {
+                segundoCartas = Math.max(primerCartas, 0);
+                primerCartas = cartas;
+                equipoCartas = equipo;
+            } else {
+                segundoCartas = Math.max(segundoCartas, cartas);
+            }
+        }
+        for (int equipo = 0; equipo < numeroEquipos; equipo++) {
+            desgloses[equipo] = desglosar(desgloses[equipo],
+                    equipo == equipoOros ? segundoOros : primerOros,
+                    equipo == equipoSietes ? segundoSietes : primerSietes,
+                    equipo == equipoCartas ? segundoCartas : primerCartas);
+        }
+    }
+
+    /**
+     * Calcula la diferencia de puntos de un equipo en una partida entre dos
+     * equipos en la que ya no quedan cartas por jugar. Si aún quedan cartas en
+     * la mesa, se cuentan para el equipo del último jugador que se llevó una
+     * baza. Con más de dos equipos, todos los demás cuentan como un único
+     * rival.
+     *
+     * @param partida partida terminada
+     * @param equipo  equipo desde cuyo punto de vista se valora
+     * @return puntos del equipo menos puntos del rival
+     */
+    public static int diferenciaFinal(Partida partida, int equipo) {
+        final Jugador[] jugadores = partida.obtenerJugadores();
+        int propio = 0;
+        int rival = 0;
+        for (int i = 0; i < jugadores.length; i++) {
+            final int recuento = recontar(jugadores[i].consultarCartasGanadas(), jugadores[i].consultarEscobas());
+            if (partida.obtenerEquipo(i) == equipo) {
+                propio += recuento;
+            } else {
+                rival += recuento;
+            }
+        }
+        final int ultimoGanador = partida.obtenerIndiceUltimoGanador();
+        if (ultimoGanador >= 0) {
+            final int mesa = recontar(partida.obtenerMesa().consultarConjunto(), 0);
+            if (partida.obtenerEquipo(ultimoGanador) == equipo) {
+                propio += mesa;
+            } else {
+                rival += mesa;
+            }
+        }
+        return total(desglosar(propio, rival)) - total(desglosar(rival, propio));
+    }
+
+    /**
+     * Consulta el total de puntos de un desglose.
+     *
+     * @param desglose desglose empaquetado
+     * @return total de puntos
+     */
+    public static int total(int desglose) {
+        return (desglose >>> TOTAL) & BYTE;
+    }
+
+    /**
+     * Consulta los puntos por escobas de un desglose.
+     *
+     * @param desglose desglose empaquetado
+     * @return un punto por escoba
+     */
+    public static int puntosPorEscobas(int desglose) {
+        return (desglose >>> ESCOBAS) & BYTE;
+    }
+
+    /**
+     * Consulta los puntos por oros de un desglose.
+     *
+     * @param desglose desglose empaquetado
+     * @return 2 por todos los oros, 1 por mayoría de oros o 0
+     */
+    public static int puntosPorOros(int desglose) {
+        return (desglose >>> PUNTOS_OROS) & DOS_BITS;
+    }
+
+    /**
+     * Consulta el punto por el siete de oros de un desglose.
+     *
+     * @param desglose desglose empaquetado
+     * @return 1 si se tiene el siete de oros, 0 en caso contrario
+     */
+    public static int puntosPorSieteOros(int desglose) {
+        return (desglose >>> PUNTOS_SIETE_OROS) & 1;
+    }
+
+    /**
+     * Consulta los puntos por sietes de un desglose.
+     *
+     * @param desglose desglose empaquetado
+     * @return 2 por todos los sietes, 1 por mayoría de sietes o 0
+     */
+    public static int puntosPorSietes(int desglose) {
+        return (desglose >>> PUNTOS_SIETES) & DOS_BITS;
+    }
+
+    /**
+     * Consulta el punto por mayoría de cartas de un desglose.
+     *
+     * @param desglose desglose empaquetado
+     * @return 1 por mayoría de cartas, 0 en caso contrario
+     */
+    public static int puntosPorMayoriaCartas(int desglose) {
+        return (desglose >>> PUNTOS_CARTAS) & 1;
+    }
+
+    /**
+     * Consulta los puntos por dejar al contrario con menos de
+     * {@value #MINIMO_CARTAS_CONTRARIO} cartas.
+     *
+     * @param desglose desglose empaquetado
+     * @return 2 si el mejor rival tiene menos cartas que el mínimo y menos que
+     *         el equipo, 0 en caso contrario
+     */
+    public static int puntosPorCartasContrario(int desglose) {
+        return (desglose >>> PUNTOS_CONTRARIO) & DOS_BITS;
+    }
+
+    /**
+     * Resume un conjunto de cartas y unas escobas en un recuento empaquetado:
+     * cartas, oros, sietes, siete de oros y escobas. Como cada carta la gana un
+     * único jugador, los recuentos de conjuntos disjuntos se pueden sumar.
+     *
+     * @param cartas  cartas ganadas
+     * @param escobas escobas
+     * @return recuento empaquetado
+     */
+    private static int recontar(long cartas, int escobas) {
+        return CartaSet.contar(cartas)
+                | CartaSet.contar(cartas & OROS) << CUENTA_OROS
+                | CartaSet.contar(cartas & CartaSet.SIETES) << CUENTA_SIETES
+                | ((cartas & SIETE_OROS) != CartaSet.VACIO ? CUENTA_SIETE_OROS : 0)
+                | escobas << CUENTA_ESCOBAS;
+    }
+
+    /**
+     * Calcula el desglose de un recuento frente al recuento del mejor rival.
+     *
+     * @param recuento      recuento propio
+     * @param recuentoRival recuento del rival
+     * @return desglose empaquetado
+     */
+    private static int desglosar(int recuento, int recuentoRival) {
+        return desglosar(recuento, (recuentoRival >>> CUENTA_OROS) & BYTE,
+                (recuentoRival >>> CUENTA_SIETES) & CAMPO_SIETES, recuentoRival & BYTE);
+    }
+
+    /**
+     * Calcula el desglose de un recuento frente a los máximos de los rivales.
+     *
+     * @param recuento    recuento propio
+     * @param orosRival   mayor número de oros de un rival
+     * @param sietesRival mayor número de sietes de un rival
+     * @param cartasRival mayor número de cartas de un rival
+     * @return desglose empaquetado
+     */
+    private static int desglosar(int recuento, int orosRival, int sietesRival, int cartasRival) {
+        final int cartas = recuento & BYTE;
+        final int oros = (recuento >>> CUENTA_OROS) & BYTE;
+        final int sietes = (recuento >>> CUENTA_SIETES) & CAMPO_SIETES;
+        final int escobas = (recuento >>> CUENTA_ESCOBAS) & BYTE;
+
+        final int puntosOros = oros == TOTAL_OROS ? 2 : oros > orosRival ? 1 : 0;
+        final int puntosSieteOros = (recuento & CUENTA_SIETE_OROS) != 0 ? 1 : 0;
+        final int puntosSietes = sietes == TOTAL_SIETES ? 2 : sietes > sietesRival ? 1 : 0;
+        final int puntosCartas = cartas > cartasRival ? 1 : 0;
+        final int puntosContrario = cartasRival < MINIMO_CARTAS_CONTRARIO && cartas > cartasRival ? 2 : 0;
+        final int total = escobas + puntosOros + puntosSieteOros + puntosSietes + puntosCartas + puntosContrario;
+        return escobas << ESCOBAS
+                | puntosOros << PUNTOS_OROS
+                | puntosSieteOros << PUNTOS_SIETE_OROS
+                | puntosSietes << PUNTOS_SIETES
+                | puntosCartas << PUNTOS_CARTAS
+                | puntosContrario << PUNTOS_CONTRARIO
+                | total << TOTAL;
+    }
+}
@@ -0,0 +1,200 @@
+package escoba.modelo;
+
+import java.util.SplittableRandom;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Claves de Zobrist para resumir el estado de una partida en 64 bits.
+ * <p>Cada elemento del estado (una carta en la mesa, en una mano o entre las
+ * ganadas, el número de escobas, la cima de la baraja, el turno y el último
+ * ganador) tiene asignado un valor aleatorio fijo, y la clave de un estado es
+ * la o exclusiva de los valores de sus elementos. Así, al poner o quitar una
+ * carta basta con combinar su valor con la clave actual.</p>
+ *
+ * <p>Como la clave de un conjunto de cartas es lineal respecto a sus bits, se
+ * precalcula la clave de cada byte posible del conjunto: la de cualquier
+ * conjunto ({@link CartaSet}) se obtiene con cinco consultas a tabla, sin
+ * recorrer sus cartas. Los valores se generan con una semilla fija, por lo
+ * que las claves son las mismas en todas las ejecuciones.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Zobrist {
+
+    /** Semilla fija con la que se generan los valores. */
+    private static final long SEMILLA = 0x5EB1_77A5_0BA5_2025L;
+
+    /** Bytes que ocupan las 40 cartas de un conjunto. */
+    private static final int BYTES_CONJUNTO = (Baraja.NUMERO_CARTAS + Byte.SIZE - 1) / Byte.SIZE;
+
+    /** Desplazamiento de la rotación que distingue a cada asiento. */
+    private static final int ROTACION_ASIENTO = Long.SIZE / Partida.MAXIMO_JUGADORES;
+
+    /** Generador de los valores, solo se usa durante la inicialización. */
+    private static final SplittableRandom GENERADOR = new SplittableRandom(SEMILLA);
+
+    /** Claves de cada byte de un conjunto de cartas en la mesa. */
+    private static final long[][] MESA = generarTablaConjunto();
+
+    /** Claves de cada byte de un conjunto de cartas en una mano. */
+    private static final long[][] MANO = generarTablaConjunto();
+
+    /** Claves de cada byte de un conjunto de cartas ganadas. */
+    private static final long[][] GANADAS = generarTablaConjunto();
+
+    /** Claves de cada número posible de escobas. */
+    private static final long[] ESCOBAS = generarValores(Baraja.NUMERO_CARTAS + 1);
+
+    /** Claves de cada posición posible de la cima de la baraja. */
+    private static final long[] CIMA = generarValores(Baraja.NUMERO_CARTAS + 1);
+
+    /** Claves de cada turno posible. */
+    private static final long[] TURNO = generarValores(Partida.MAXIMO_JUGADORES);
+
+    /** Claves de cada último ganador posible, empezando por ninguno. */
+    private static final long[] ULTIMO_GANADOR = generarValores(Partida.MAXIMO_JUGADORES + 1);
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Calcula la clave de un conjunto de cartas sobre la mesa.
+     *
+     * @param conjunto conjunto de cartas
+     * @return clave del conjunto
+     */
+    public static long mesa(long conjunto) {
+        return clave(MESA, conjunto);
+    }
+
+    /**
+     * Calcula la clave de un conjunto de cartas en la mano de un jugador.
+     *
+     * @param conjunto conjunto de cartas
+     * @return clave del conjunto
+     */
+    public static long mano(long conjunto) {
+        return clave(MANO, conjunto);
+    }
+
+    /**
+     * Calcula la clave de un conjunto de cartas ganadas por un jugador.
+     *
+     * @param conjunto conjunto de cartas
+     * @return clave del conjunto
+     */
+    public static long ganadas(long conjunto) {
+        return clave(GANADAS, conjunto);
+    }
+
+    /**
+     * Devuelve la clave de un número de escobas.
+     *
+     * @param escobas número de escobas (0-40)
+     * @return clave
+     */
+    public static long escobas(int escobas) {
+        return ESCOBAS[escobas];
+    }
+
+    /**
+     * Devuelve la clave de una posición de la cima de la baraja.
+     *
+     * @param cima número de cartas extraídas (0-40)
+     * @return clave
+     */
+    public static long cima(int cima) {
+        return CIMA[cima];
+    }
+
+    /**
+     * Devuelve la clave del turno.
+     *
+     * @param turno posición del jugador al que le toca jugar
+     * @return clave
+     */
+    public static long turno(int turno) {
+        return TURNO[turno];
+    }
+
+    /**
+     * Devuelve la clave del último ganador de baza.
+     *
+     * @param indice posición del último ganador, o -1 si no hay
+     * @return clave
+     */
+    public static long ultimoGanador(int indice) {
+        return ULTIMO_GANADOR[indice + 1];
+    }
+
+    /**
+     * Sitúa la clave de un jugador en su asiento, de modo que el mismo estado
+     * en asientos distintos dé claves distintas.
+     *
+     * @param clave   clave del jugador
+     * @param asiento posición del jugador en la partida
+     * @return clave del jugador en ese asiento
+     */
+    public static long asiento(long clave, int asiento) {
+        return Long.rotateLeft(clave, asiento * ROTACION_ASIENTO);
+    }
+
+    /**
+     * Combina las claves de los bytes de un conjunto.
+     *
+     * @param tabla    tabla de claves por byte
+     * @param conjunto conjunto de cartas
+     * @return clave del conjunto
+     */
+    private static long clave(long[][] tabla, long conjunto) {
+        long clave = 0;
+        for (int i = 0; i < BYTES_CONJUNTO; i++) {
+            clave ^= tabla[i][(int) (conjunto >>> (i * Byte.SIZE)) & 0xFF];
+        }
+        return clave;
+    }
+
+    /**
+     * Genera una clave por carta y precalcula la clave de cada valor posible
+     * de cada byte de un conjunto.
+     *
+     * @return tabla de claves por byte
+     */
+    private static long[][] generarTablaConjunto() {
+        long[] cartas = generarValores(Baraja.NUMERO_CARTAS);
+        long[][] tabla = new long[BYTES_CONJUNTO][1 << Byte.SIZE];
+        for (int i = 0; i < BYTES_CONJUNTO; i++) {
+            for (int valor = 1; valor < tabla[i].length; valor++) {
+                int bit = Integer.numberOfTrailingZeros(valor);
+                int carta = i * Byte.SIZE + bit;
+                long propia = carta < cartas.length ? cartas[carta] : 0;
+                tabla[i][valor] = tabla[i][valor & (valor - 1)] ^ propia;
+            }
+        }
+        return tabla;
+    }
+
+    /**
+     * Genera valores aleatorios.
+     *
+     * @param cantidad número de valores
+     * @return nuevo array de valores
+     */
+    private static long[] generarValores(int cantidad) {
+        long[] valores = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = GENERADOR.nextLong();
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,108 @@
+package escoba.registro;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import escoba.control.ObservadorPartida;
+import escoba.modelo.Baraja;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Observador que anota en un {@link DiarioPartidas} los cambios de estado de
+ * la partida de una mesa antes de que el {@link escoba.control.Controlador}
+ * los aplique.
+ * <p>El reparto y cada jugada se anotan y se espera a que el diario los
+ * confirme en disco; el final de la partida se anota sin esperar, porque si
+ * se pierde la mesa solo se recupera ya terminada. Como el grupo se comparte
+ * con las demás mesas, la espera no supone una sincronización por jugada.</p>
+ *
+ * <p>Cada mesa necesita su propio observador, aunque todas compartan el
+ * diario. Sirve también para una partida reanudada, porque el número de
+ * jugada se deduce de las cartas que quedan.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class DiarioMesa implements ObservadorPartida {
+
+    /** Cartas que se ponen en la mesa al empezar y nunca se juegan. */
+    private static final int CARTAS_NO_JUGADAS = FormatoRegistro.CARTAS_INICIALES_MESA;
+
+    /** Diario compartido. */
+    private final DiarioPartidas diario;
+
+    /** Identificador de la mesa. */
+    private final long mesa;
+
+    /**
+     * Crea el observador de una mesa.
+     *
+     * @param diario diario compartido
+     * @param mesa   identificador de la mesa, único entre las mesas abiertas
+     */
+    public DiarioMesa(DiarioPartidas diario, long mesa) {
+        this.diario = Objects.requireNonNull(diario, "El diario no puede ser nulo");
+        this.mesa = mesa;
+    }
+
+    /**
+     * Anota el reparto y espera a que sea duradero.
+     *
+     * @param partida partida que comienza
+     * @throws UncheckedIOException si el diario no puede confirmarlo
+     */
+    @Override
+    public void partidaIniciada(Partida partida) {
+        try {
+            diario.confirmar(diario.anotarInicio(mesa, partida));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo anotar el reparto de la mesa " + mesa, e);
+        }
+    }
+
+    /**
+     * Anota la jugada y espera a que sea duradera antes de que se aplique.
+     *
+     * @param partida partida en curso
+     * @param asiento posición del jugador que va a jugar
+     * @param jugada  jugada que se va a aplicar
+     * @throws UncheckedIOException si el diario no puede confirmarla
+     */
+    @Override
+    public void jugadaElegida(Partida partida, int asiento, Jugada jugada) {
+        int porJugar = partida.obtenerBaraja().consultarNumeroCartas();
+        for (Jugador jugador : partida.obtenerJugadores()) {
+            porJugar += jugador.consultarNumeroCartasEnMano();
+        }
+        try {
+            diario.confirmar(diario.anotarJugada(mesa, Baraja.NUMERO_CARTAS - CARTAS_NO_JUGADAS - porJugar, jugada));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo anotar la jugada de la mesa " + mesa, e);
+        }
+    }
+
+    /**
+     * Anota el final de la partida sin esperar a que sea duradero.
+     *
+     * @param partida partida terminada
+     * @throws UncheckedIOException si el diario está cerrado
+     */
+    @Override
+    public void partidaTerminada(Partida partida) {
+        try {
+            diario.anotarFin(mesa);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo anotar el final de la mesa " + mesa, e);
+        }
+    }
+}
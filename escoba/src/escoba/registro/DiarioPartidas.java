@@ -0,0 +1,653 @@
+package escoba.registro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Jugada;
+import escoba.modelo.Partida;
+import escoba.modelo.Permutacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Diario de escritura anticipada compartido por todas las mesas en juego.
+ * <p>Antes de cada cambio de estado de una partida se anota en el diario el
+ * reparto (rango de la baraja recién mezclada), cada jugada y el final de
+ * la partida. Los cambios de turno, los repartos de tres cartas y las cartas
+ * restantes del último ganador se deducen de ellos al reproducir, como en
+ * {@link LectorRegistros}.</p>
+ *
+ * <p>Las anotaciones de todas las mesas se acumulan en un búfer común y un
+ * único hilo las escribe y llama a {@link FileChannel#force(boolean)} por
+ * grupos: mientras se fuerza un grupo, el siguiente se va llenando, de modo
+ * que con miles de mesas cada sincronización con el disco confirma muchas
+ * jugadas. Cada mesa espera con {@link #confirmar(long)} a que su anotación
+ * sea duradera antes de aplicar el cambio.</p>
+ *
+ * <p>Cada anotación lleva un CRC32C, así que una anotación a medio escribir
+ * por una caída se descarta. Al abrir el diario se reproducen sus anotaciones
+ * para recuperar las mesas que no terminaron (ver
+ * {@link #consultarRecuperadas()}) y se reescribe solo con ellas, por lo que
+ * no crece de una ejecución a otra; el directorio se fuerza a disco tras el
+ * renombrado para que la reescritura también sea duradera.</p>
+ *
+ * <p>Es seguro para uso concurrente.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.registro.DiarioMesa
+ */
+public final class DiarioPartidas implements Closeable {
+
+    /** Marca de inicio de archivo: {@code ESCD} en ASCII. */
+    private static final int MARCA = 0x45534344;
+
+    /** Versión del formato. */
+    private static final short VERSION = 1;
+
+    /** Bytes de la cabecera del archivo. */
+    private static final int BYTES_CABECERA = 8;
+
+    /** Tipo de anotación del reparto de una partida. */
+    private static final byte INICIO = 1;
+
+    /** Tipo de anotación de una jugada. */
+    private static final byte JUGADA = 2;
+
+    /** Tipo de anotación del final de una partida. */
+    private static final byte FIN = 3;
+
+    /** Bytes comunes a toda anotación: CRC, tipo y mesa. */
+    private static final int BYTES_COMUNES = 4 + 1 + 8;
+
+    /** Bytes de una anotación de reparto: configuración y rango. */
+    private static final int BYTES_INICIO = BYTES_COMUNES + 1 + Permutacion.BYTES_RANGO;
+
+    /** Bytes de una anotación de jugada: turno, carta y captura. */
+    private static final int BYTES_JUGADA = BYTES_COMUNES + 2 + 1 + FormatoRegistro.BYTES_CAPTURA;
+
+    /** Bytes de una anotación de final. */
+    private static final int BYTES_FIN = BYTES_COMUNES;
+
+    /** Tamaño de cada uno de los dos búferes de anotaciones. */
+    private static final int TAMANO_BUFER = 1 << 20;
+
+    /** Tamaño del búfer de lectura al recuperar. */
+    private static final int TAMANO_LECTURA = 1 << 16;
+
+    /** Canal del archivo, abierto para añadir. */
+    private final FileChannel canal;
+
+    /** Mesas sin terminar recuperadas al abrir. */
+    private final List<MesaRecuperada> recuperadas;
+
+    /** Cerrojo que protege los búferes y los contadores. */
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    /** Condición de anotaciones pendientes de escribir o de cierre. */
+    private final Condition hayPendientes = cerrojo.newCondition();
+
+    /** Condición de grupo confirmado en disco. */
+    private final Condition hayConfirmadas = cerrojo.newCondition();
+
+    /** Búfer donde se acumulan las anotaciones nuevas. */
+    private ByteBuffer activo = ByteBuffer.allocateDirect(TAMANO_BUFER);
+
+    /** Búfer del grupo que se está escribiendo. */
+    private ByteBuffer volcando = ByteBuffer.allocateDirect(TAMANO_BUFER);
+
+    /** Anotación codificada antes de copiarla al búfer. */
+    private final byte[] anotacion = new byte[BYTES_INICIO];
+
+    /** Rango de la baraja de la anotación de reparto. */
+    private final byte[] rango = new byte[Permutacion.BYTES_RANGO];
+
+    /** Cálculo del CRC de cada anotación. */
+    private final CRC32C crc = new CRC32C();
+
+    /** Número de secuencia de la siguiente anotación. */
+    private long siguiente = 1;
+
+    /** Número de secuencia de la última anotación confirmada en disco. */
+    private long confirmado;
+
+    /** Sincronizaciones con el disco realizadas. */
+    private long forzados;
+
+    /** Indica si se ha pedido el cierre. */
+    private boolean cerrado;
+
+    /** Error de escritura que detiene el diario ({@code null} si no lo hay). */
+    private IOException fallo;
+
+    /** Hilo que escribe y fuerza los grupos. */
+    private final Thread escritor;
+
+    /**
+     * Crea un diario sobre un canal ya posicionado al final y arranca el hilo
+     * escritor.
+     *
+     * @param archivo     ruta del archivo, para nombrar el hilo
+     * @param canal       canal del archivo
+     * @param recuperadas mesas recuperadas
+     */
+    private DiarioPartidas(Path archivo, FileChannel canal, List<MesaRecuperada> recuperadas) {
+        this.canal = canal;
+        this.recuperadas = Collections.unmodifiableList(recuperadas);
+        this.escritor = new Thread(this::escribirGrupos, "diario " + archivo.getFileName());
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Abre un diario, creándolo si no existe.
+     * <p>Si existe, se reproducen sus anotaciones hasta la primera dañada o
+     * incompleta y se reescribe de forma atómica con solo las mesas que no
+     * terminaron.</p>
+     *
+     * @param archivo ruta del archivo
+     * @return diario listo para anotar, con las mesas recuperadas
+     * @throws IOException si no se puede leer, reescribir o abrir el archivo
+     */
+    public static DiarioPartidas abrir(Path archivo) throws IOException {
+        List<MesaRecuperada> recuperadas = Files.exists(archivo) ? recuperar(archivo) : new ArrayList<>();
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bufer = ByteBuffer.allocate(TAMANO_LECTURA);
+            bufer.putInt(MARCA).putShort(VERSION).putShort((short) 0);
+            byte[] entrada = new byte[BYTES_INICIO];
+            byte[] rango = new byte[Permutacion.BYTES_RANGO];
+            CRC32C crc = new CRC32C();
+            for (MesaRecuperada mesa : recuperadas) {
+                Permutacion.codificar(mesa.orden, rango, 0);
+                codificarInicio(entrada, mesa.consultarMesa(),
+                        FormatoRegistro.configuracion(mesa.consultarNumeroJugadores(), mesa.consultarNumeroEquipos()),
+                        rango);
+                escribir(nuevo, bufer, entrada, BYTES_INICIO, crc);
+                for (int turno = 0; turno < mesa.consultarNumeroTurnos(); turno++) {
+                    codificarJugada(entrada, mesa.consultarMesa(), turno, mesa.claves[turno], mesa.capturas[turno]);
+                    escribir(nuevo, bufer, entrada, BYTES_JUGADA, crc);
+                }
+            }
+            bufer.flip();
+            while (bufer.hasRemaining()) {
+                nuevo.write(bufer);
+            }
+            nuevo.force(true);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forzarDirectorio(archivo);
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new DiarioPartidas(archivo, canal, recuperadas);
+    }
+
+    /**
+     * Fuerza a disco el directorio que contiene un archivo, para que un
+     * renombrado sobre él sobreviva a una caída. Sin esto el sistema de
+     * archivos puede recuperar la entrada antigua del directorio, que apunta
+     * al diario sin reescribir, aunque el contenido nuevo ya esté en disco.
+     *
+     * @param archivo ruta del archivo
+     * @throws IOException si no se puede abrir o forzar el directorio
+     */
+    private static void forzarDirectorio(Path archivo) throws IOException {
+        try (FileChannel directorio = FileChannel.open(archivo.toAbsolutePath().getParent(),
+                StandardOpenOption.READ)) {
+            directorio.force(true);
+        }
+    }
+
+    /**
+     * Consulta las mesas que no terminaron en la ejecución anterior, en el
+     * orden en que empezaron.
+     *
+     * @return lista no modificable de mesas recuperadas
+     */
+    public List<MesaRecuperada> consultarRecuperadas() {
+        return recuperadas;
+    }
+
+    /**
+     * Anota el reparto de una partida cuya baraja se acaba de mezclar.
+     *
+     * @param mesa    identificador de la mesa
+     * @param partida partida que comienza
+     * @return número de secuencia de la anotación
+     * @throws IOException si el diario está cerrado o falló una escritura
+     */
+    public long anotarInicio(long mesa, Partida partida) throws IOException {
+        cerrojo.lock();
+        try {
+            reservar(BYTES_INICIO);
+            partida.obtenerBaraja().consultarRango(rango, 0);
+            codificarInicio(anotacion, mesa, FormatoRegistro.configuracion(partida.obtenerJugadores().length,
+                    partida.obtenerNumeroEquipos()), rango);
+            return anadir(BYTES_INICIO);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Anota una jugada antes de aplicarla.
+     *
+     * @param mesa   identificador de la mesa
+     * @param turno  número de jugadas ya aplicadas en la partida
+     * @param jugada jugada que se va a aplicar
+     * @return número de secuencia de la anotación
+     * @throws IOException si el diario está cerrado o falló una escritura
+     */
+    public long anotarJugada(long mesa, int turno, Jugada jugada) throws IOException {
+        cerrojo.lock();
+        try {
+            reservar(BYTES_JUGADA);
+            codificarJugada(anotacion, mesa, turno, (byte) jugada.consultarCarta().clave(), jugada.consultarCaptura());
+            return anadir(BYTES_JUGADA);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Anota el final de una partida, que ya no se recuperará.
+     *
+     * @param mesa identificador de la mesa
+     * @return número de secuencia de la anotación
+     * @throws IOException si el diario está cerrado o falló una escritura
+     */
+    public long anotarFin(long mesa) throws IOException {
+        cerrojo.lock();
+        try {
+            reservar(BYTES_FIN);
+            codificarComunes(anotacion, FIN, mesa);
+            return anadir(BYTES_FIN);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Espera a que una anotación esté confirmada en disco.
+     *
+     * @param secuencia número de secuencia devuelto al anotar
+     * @throws IOException si falló la escritura del grupo
+     */
+    public void confirmar(long secuencia) throws IOException {
+        cerrojo.lock();
+        try {
+            while (confirmado < secuencia && fallo == null) {
+                hayConfirmadas.awaitUninterruptibly();
+            }
+            if (confirmado < secuencia) {
+                throw new IOException("No se pudo confirmar la anotación " + secuencia, fallo);
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Consulta cuántas veces se ha sincronizado el diario con el disco.
+     *
+     * @return número de sincronizaciones
+     */
+    public long consultarForzados() {
+        cerrojo.lock();
+        try {
+            return forzados;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Consulta el número de anotaciones hechas desde que se abrió.
+     *
+     * @return número de anotaciones
+     */
+    public long consultarAnotaciones() {
+        cerrojo.lock();
+        try {
+            return siguiente - 1;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Confirma las anotaciones pendientes y cierra el diario.
+     *
+     * @throws IOException si falló alguna escritura o el cierre
+     */
+    @Override
+    public void close() throws IOException {
+        cerrojo.lock();
+        try {
+            cerrado = true;
+            hayPendientes.signal();
+        } finally {
+            cerrojo.unlock();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        if (fallo != null) {
+            throw fallo;
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: intercambia los búferes, escribe el grupo
+     * acumulado, lo fuerza a disco y avisa a las mesas que esperan.
+     */
+    private void escribirGrupos() {
+        while (true) {
+            final long hasta;
+            cerrojo.lock();
+            try {
+                while (activo.position() == 0 && !cerrado) {
+                    hayPendientes.awaitUninterruptibly();
+                }
+                if (activo.position() == 0) {
+                    return;
+                }
+                ByteBuffer lleno = activo;
+                activo = volcando;
+                volcando = lleno;
+                hasta = siguiente - 1;
+                // puede haber mesas esperando hueco en el búfer activo
+                hayConfirmadas.signalAll();
+            } finally {
+                cerrojo.unlock();
+            }
+
+            IOException error = null;
+            try {
+                volcando.flip();
+                while (volcando.hasRemaining()) {
+                    canal.write(volcando);
+                }
+                canal.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            volcando.clear();
+
+            cerrojo.lock();
+            try {
+                if (error != null) {
+                    fallo = error;
+                } else {
+                    confirmado = hasta;
+                    forzados++;
+                }
+                hayConfirmadas.signalAll();
+                if (error != null) {
+                    return;
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+    }
+
+    /**
+     * Espera a que haya hueco en el búfer activo. Se llama con el cerrojo
+     * adquirido.
+     *
+     * @param bytes bytes necesarios
+     * @throws IOException si el diario está cerrado o falló una escritura
+     */
+    private void reservar(int bytes) throws IOException {
+        while (true) {
+            if (fallo != null) {
+                throw new IOException("El diario ha dejado de escribir", fallo);
+            }
+            if (cerrado) {
+                throw new IOException("El diario está cerrado");
+            }
+            if (activo.remaining() >= bytes) {
+                return;
+            }
+            hayPendientes.signal();
+            hayConfirmadas.awaitUninterruptibly();
+        }
+    }
+
+    /**
+     * Sella con su CRC la anotación codificada, la copia al búfer activo y
+     * despierta al hilo escritor. Se llama con el cerrojo adquirido.
+     *
+     * @param bytes bytes de la anotación
+     * @return número de secuencia asignado
+     */
+    private long anadir(int bytes) {
+        sellar(anotacion, bytes, crc);
+        activo.put(anotacion, 0, bytes);
+        hayPendientes.signal();
+        return siguiente++;
+    }
+
+    /**
+     * Reproduce las anotaciones de un diario existente.
+     *
+     * @param archivo ruta del archivo
+     * @return mesas que no terminaron, en orden de inicio
+     * @throws IOException si no se puede leer o la cabecera no es válida
+     */
+    private static List<MesaRecuperada> recuperar(Path archivo) throws IOException {
+        Map<Long, MesaRecuperada> abiertas = new LinkedHashMap<>();
+        try (FileChannel lectura = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer bufer = ByteBuffer.allocate(TAMANO_LECTURA).flip();
+            if (!asegurar(lectura, bufer, BYTES_CABECERA)) {
+                return new ArrayList<>();
+            }
+            if (bufer.getInt() != MARCA || bufer.getShort() != VERSION) {
+                throw new IOException("No es un diario de partidas: " + archivo);
+            }
+            bufer.getShort();
+
+            byte[] entrada = new byte[BYTES_INICIO];
+            byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+            CRC32C crc = new CRC32C();
+            while (asegurar(lectura, bufer, BYTES_COMUNES)) {
+                final int bytes = switch (bufer.get(bufer.position() + 4)) {
+                    case INICIO -> BYTES_INICIO;
+                    case JUGADA -> BYTES_JUGADA;
+                    case FIN -> BYTES_FIN;
+                    default -> -1;
+                };
+                if (bytes < 0 || !asegurar(lectura, bufer, bytes)) {
+                    break;
+                }
+                bufer.get(entrada, 0, bytes);
+                crc.reset();
+                crc.update(entrada, 4, bytes - 4);
+                if ((int) crc.getValue() != leerEntero(entrada, 0)) {
+                    break;
+                }
+                final long mesa = leerLargo(entrada, 5);
+                switch (entrada[4]) {
+                    case INICIO -> {
+                        Permutacion.decodificar(entrada, BYTES_COMUNES + 1, orden);
+                        abiertas.remove(mesa);
+                        abiertas.put(mesa, new MesaRecuperada(mesa, entrada[BYTES_COMUNES] & 0x0F,
+                                (entrada[BYTES_COMUNES] >>> 4) & 0x0F, orden));
+                    }
+                    case JUGADA -> {
+                        MesaRecuperada recuperada = abiertas.get(mesa);
+                        int turno = (entrada[BYTES_COMUNES] & 0xFF) << 8 | (entrada[BYTES_COMUNES + 1] & 0xFF);
+                        if (recuperada != null && turno == recuperada.consultarNumeroTurnos()) {
+                            long captura = 0;
+                            for (int i = 0; i < FormatoRegistro.BYTES_CAPTURA; i++) {
+                                captura = captura << 8 | (entrada[BYTES_COMUNES + 3 + i] & 0xFF);
+                            }
+                            recuperada.anadirJugada(entrada[BYTES_COMUNES + 2], captura);
+                        }
+                    }
+                    default -> abiertas.remove(mesa);
+                }
+            }
+        }
+        return new ArrayList<>(abiertas.values());
+    }
+
+    /**
+     * Se asegura de que el búfer de lectura tiene los bytes indicados,
+     * leyendo más del canal si hace falta.
+     *
+     * @param canal canal de lectura
+     * @param bufer búfer en modo lectura
+     * @param bytes bytes necesarios
+     * @return {@code true} si hay suficientes bytes, {@code false} al llegar al final
+     * @throws IOException si falla la lectura
+     */
+    private static boolean asegurar(FileChannel canal, ByteBuffer bufer, int bytes) throws IOException {
+        if (bufer.remaining() >= bytes) {
+            return true;
+        }
+        bufer.compact();
+        int leidos = 0;
+        while (bufer.position() < bytes && leidos >= 0) {
+            leidos = canal.read(bufer);
+        }
+        bufer.flip();
+        return bufer.remaining() >= bytes;
+    }
+
+    /**
+     * Sella una anotación y la copia al búfer de reescritura, volcándolo si
+     * está lleno.
+     *
+     * @param canal   canal de escritura
+     * @param bufer   búfer en modo escritura
+     * @param entrada anotación
+     * @param bytes   bytes de la anotación
+     * @param crc     cálculo del CRC
+     * @throws IOException si falla la escritura
+     */
+    private static void escribir(FileChannel canal, ByteBuffer bufer, byte[] entrada, int bytes, CRC32C crc)
+            throws IOException {
+        sellar(entrada, bytes, crc);
+        if (bufer.remaining() < bytes) {
+            bufer.flip();
+            while (bufer.hasRemaining()) {
+                canal.write(bufer);
+            }
+            bufer.clear();
+        }
+        bufer.put(entrada, 0, bytes);
+    }
+
+    /**
+     * Codifica una anotación de reparto, sin sellar.
+     *
+     * @param entrada       array de destino
+     * @param mesa          identificador de la mesa
+     * @param configuracion byte de configuración
+     * @param rango         rango de la baraja
+     */
+    private static void codificarInicio(byte[] entrada, long mesa, byte configuracion, byte[] rango) {
+        codificarComunes(entrada, INICIO, mesa);
+        entrada[BYTES_COMUNES] = configuracion;
+        System.arraycopy(rango, 0, entrada, BYTES_COMUNES + 1, Permutacion.BYTES_RANGO);
+    }
+
+    /**
+     * Codifica una anotación de jugada, sin sellar.
+     *
+     * @param entrada array de destino
+     * @param mesa    identificador de la mesa
+     * @param turno   número de jugadas anteriores
+     * @param clave   clave de la carta jugada
+     * @param captura cartas retiradas
+     */
+    private static void codificarJugada(byte[] entrada, long mesa, int turno, byte clave, long captura) {
+        codificarComunes(entrada, JUGADA, mesa);
+        entrada[BYTES_COMUNES] = (byte) (turno >>> 8);
+        entrada[BYTES_COMUNES + 1] = (byte) turno;
+        entrada[BYTES_COMUNES + 2] = clave;
+        for (int i = 0; i < FormatoRegistro.BYTES_CAPTURA; i++) {
+            entrada[BYTES_COMUNES + 3 + i] = (byte) (captura >>> (8 * (FormatoRegistro.BYTES_CAPTURA - 1 - i)));
+        }
+    }
+
+    /**
+     * Codifica el tipo y la mesa de una anotación.
+     *
+     * @param entrada array de destino
+     * @param tipo    tipo de anotación
+     * @param mesa    identificador de la mesa
+     */
+    private static void codificarComunes(byte[] entrada, byte tipo, long mesa) {
+        entrada[4] = tipo;
+        for (int i = 0; i < 8; i++) {
+            entrada[5 + i] = (byte) (mesa >>> (56 - 8 * i));
+        }
+    }
+
+    /**
+     * Escribe al principio de la anotación el CRC32C del resto.
+     *
+     * @param entrada anotación
+     * @param bytes   bytes de la anotación
+     * @param crc     cálculo del CRC
+     */
+    private static void sellar(byte[] entrada, int bytes, CRC32C crc) {
+        crc.reset();
+        crc.update(entrada, 4, bytes - 4);
+        final int valor = (int) crc.getValue();
+        entrada[0] = (byte) (valor >>> 24);
+        entrada[1] = (byte) (valor >>> 16);
+        entrada[2] = (byte) (valor >>> 8);
+        entrada[3] = (byte) valor;
+    }
+
+    /**
+     * Lee un entero en big-endian.
+     *
+     * @param origen         array de origen
+     * @param desplazamiento posición del primer byte
+     * @return entero leído
+     */
+    private static int leerEntero(byte[] origen, int desplazamiento) {
+        return (origen[desplazamiento] & 0xFF) << 24 | (origen[desplazamiento + 1] & 0xFF) << 16
+                | (origen[desplazamiento + 2] & 0xFF) << 8 | (origen[desplazamiento + 3] & 0xFF);
+    }
+
+    /**
+     * Lee un largo en big-endian.
+     *
+     * @param origen         array de origen
+     * @param desplazamiento posición del primer byte
+     * @return largo leído
+     */
+    private static long leerLargo(byte[] origen, int desplazamiento) {
+        return (long) leerEntero(origen, desplazamiento) << 32
+                | (leerEntero(origen, desplazamiento + 4) & 0xFFFF_FFFFL);
+    }
+}
@@ -0,0 +1,158 @@
+package escoba.registro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Escritor de registros de partidas que solo añade al final del archivo.
+ * <p>Los registros ya codificados (ver {@link GrabadorPartida}) se copian a
+ * un búfer directo y se vuelcan al canal en bloques, de modo que archivar una
+ * partida no supone una llamada al sistema. Nunca se reescribe lo ya
+ * escrito: si el archivo existe, se comprueba su cabecera y se continúa tras
+ * el último registro completo. Si el archivo termina en un registro a medias,
+ * por una caída durante la escritura, se trunca antes de él; si no, los
+ * registros añadidos después quedarían detrás de uno que
+ * {@link LectorRegistros} no puede saltar.</p>
+ *
+ * <p>Es seguro para uso concurrente: varios grabadores, cada uno en su hilo,
+ * pueden compartir el mismo escritor.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.registro.LectorRegistros
+ */
+public final class EscritorRegistros implements Closeable {
+
+    /** Tamaño por defecto del búfer de escritura. */
+    private static final int TAMANO_BUFER = 1 << 16;
+
+    /** Canal del archivo, abierto para añadir. */
+    private final FileChannel canal;
+
+    /** Búfer de registros pendientes de volcar. */
+    private final ByteBuffer bufer;
+
+    /** Registros escritos desde que se abrió. */
+    private long registros;
+
+    /**
+     * Crea un escritor sobre un canal ya posicionado al final.
+     *
+     * @param canal canal del archivo
+     */
+    private EscritorRegistros(FileChannel canal) {
+        this.canal = canal;
+        this.bufer = ByteBuffer.allocateDirect(TAMANO_BUFER);
+    }
+
+    /**
+     * Abre un archivo de registros para añadir partidas, creándolo con su
+     * cabecera si no existe y descartando el registro incompleto del final si
+     * lo hay.
+     *
+     * @param archivo ruta del archivo
+     * @return escritor posicionado tras el último registro completo
+     * @throws IOException si no se puede abrir, su cabecera no es válida o
+     *                     tiene algún registro dañado
+     */
+    public static EscritorRegistros abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        try {
+            if (canal.size() == 0) {
+                ByteBuffer cabecera = ByteBuffer.allocate(FormatoRegistro.BYTES_CABECERA);
+                cabecera.putInt(FormatoRegistro.MARCA).putShort(FormatoRegistro.VERSION).putShort((short) 0).flip();
+                while (cabecera.hasRemaining()) {
+                    canal.write(cabecera);
+                }
+            } else {
+                final long finValido;
+                try (FileChannel lectura = FileChannel.open(archivo, StandardOpenOption.READ)) {
+                    LectorRegistros.comprobarCabecera(lectura, archivo);
+                    finValido = LectorRegistros.buscarFinValido(lectura);
+                } catch (IllegalStateException e) {
+                    throw new IOException("Archivo de partidas dañado: " + archivo, e);
+                }
+                if (finValido < canal.size()) {
+                    canal.truncate(finValido);
+                }
+            }
+            return new EscritorRegistros(canal);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Añade un registro de partida ya codificado.
+     *
+     * @param registro       array con el registro
+     * @param desplazamiento posición del primer byte
+     * @param longitud       bytes del registro, incluido el campo de longitud
+     * @throws IOException si falla la escritura
+     */
+    public synchronized void escribir(byte[] registro, int desplazamiento, int longitud) throws IOException {
+        if (bufer.remaining() < longitud) {
+            volcarBufer();
+        }
+        bufer.put(registro, desplazamiento, longitud);
+        registros++;
+    }
+
+    /**
+     * Vuelca al archivo los registros pendientes.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public synchronized void volcar() throws IOException {
+        volcarBufer();
+    }
+
+    /**
+     * Consulta el número de registros escritos desde que se abrió el archivo.
+     *
+     * @return número de registros
+     */
+    public synchronized long consultarRegistros() {
+        return registros;
+    }
+
+    /**
+     * Vuelca los registros pendientes y cierra el archivo.
+     *
+     * @throws IOException si falla la escritura o el cierre
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            volcarBufer();
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * Escribe en el canal el contenido del búfer y lo deja vacío.
+     *
+     * @throws IOException si falla la escritura
+     */
+    private void volcarBufer() throws IOException {
+        bufer.flip();
+        while (bufer.hasRemaining()) {
+            canal.write(bufer);
+        }
+        bufer.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package escoba.registro;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Permutacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Constantes del formato binario de los archivos de partidas.
+ * <p>Un archivo empieza con una cabecera de {@value #BYTES_CABECERA} bytes
+ * (marca {@code ESCR}, versión y dos bytes reservados) seguida de registros
+ * consecutivos, uno por partida:</p>
+ * <ul>
+ *     <li>2 bytes: longitud del resto del registro.</li>
+ *     <li>1 byte: número de jugadores (4 bits bajos) y de equipos (4 bits altos).</li>
+ *     <li>{@value escoba.modelo.Permutacion#BYTES_RANGO} bytes: rango de
+ *     Lehmer del orden de la baraja recién mezclada (ver
+ *     {@link escoba.modelo.Permutacion}).</li>
+ *     <li>1 byte por turno: posición de la carta en la mano ordenada por clave
+ *     (2 bits altos) y código de captura (6 bits bajos), que vale 0 si la carta
+ *     se deja en la mesa o {@code k + 1} si se retira la captura {@code k} en
+ *     el orden de {@link escoba.modelo.Mesa#generarCapturas}.</li>
+ * </ul>
+ *
+ * <p>Una jugada que no cabe en un byte se escribe con el byte de escape
+ * {@code 0xFF} seguido de la clave de la carta y de los 40 bits de la captura
+ * en 5 bytes. Con dos a cuatro jugadores una partida tiene 36 turnos, por lo
+ * que un registro ocupa normalmente 59 bytes. Todos los enteros van en
+ * big-endian.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+final class FormatoRegistro {
+
+    /** Marca de inicio de archivo: {@code ESCR} en ASCII. */
+    static final int MARCA = 0x45534352;
+
+    /** Versión del formato. */
+    static final short VERSION = 1;
+
+    /** Bytes de la cabecera del archivo. */
+    static final int BYTES_CABECERA = 8;
+
+    /** Bytes del campo de longitud de cada registro. */
+    static final int BYTES_LONGITUD = 2;
+
+    /** Posición del byte de configuración, tras la longitud. */
+    static final int CONFIGURACION = BYTES_LONGITUD;
+
+    /** Posición del rango de la baraja. */
+    static final int RANGO = CONFIGURACION + 1;
+
+    /** Posición del primer turno. */
+    static final int TURNOS = RANGO + Permutacion.BYTES_RANGO;
+
+    /** Byte de escape de una jugada que no cabe en un byte. */
+    static final int ESCAPE = 0xFF;
+
+    /** Bytes de una jugada escapada: escape, clave y captura. */
+    static final int BYTES_ESCAPE = 7;
+
+    /** Bytes de la captura en una jugada escapada. */
+    static final int BYTES_CAPTURA = 5;
+
+    /** Código de captura de una carta que se deja en la mesa. */
+    static final int SIN_CAPTURA = 0;
+
+    /** Mayor código de captura que cabe en un byte sin confundirse con el escape. */
+    static final int MAXIMO_CODIGO = 0x3E;
+
+    /** Bits del código de captura. */
+    static final int BITS_CODIGO = 6;
+
+    /** Máscara del código de captura. */
+    static final int MASCARA_CODIGO = (1 << BITS_CODIGO) - 1;
+
+    /** Mayor posición en la mano que cabe en un byte. */
+    static final int MAXIMO_INDICE_MANO = 3;
+
+    /** Cartas de cada reparto a cada jugador. */
+    static final int CARTAS_POR_REPARTO = 3;
+
+    /** Cartas que se ponen en la mesa al empezar. */
+    static final int CARTAS_INICIALES_MESA = 4;
+
+    /** Tamaño máximo de un registro: todas las cartas jugadas con escape. */
+    static final int MAXIMO_REGISTRO = TURNOS + Baraja.NUMERO_CARTAS * BYTES_ESCAPE;
+
+    /**
+     * Constructor privado en clase de constantes.
+     */
+    private FormatoRegistro() {
+    }
+
+    /**
+     * Empaqueta el número de jugadores y de equipos en el byte de configuración.
+     *
+     * @param jugadores número de jugadores
+     * @param equipos   número de equipos
+     * @return byte de configuración
+     */
+    static byte configuracion(int jugadores, int equipos) {
+        return (byte) (jugadores | equipos << 4);
+    }
+}
@@ -0,0 +1,152 @@
+package escoba.registro;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import escoba.control.ObservadorPartida;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Observador que codifica cada partida en el formato binario de
+ * {@link FormatoRegistro} y la añade a un {@link EscritorRegistros} al
+ * terminar.
+ * <p>Guarda el rango de la baraja al empezar y un byte por jugada: la
+ * posición de la carta en la mano y el índice de la captura entre las que
+ * genera la mesa. Con eso y el reparto fijo del {@link escoba.control.Controlador}
+ * la partida se reproduce entera.</p>
+ *
+ * <p>Reutiliza sus búferes entre partidas y no reserva memoria mientras
+ * graba. No es seguro para uso concurrente: cada hilo que juega partidas
+ * necesita su propio grabador, aunque todos compartan el escritor.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class GrabadorPartida implements ObservadorPartida {
+
+    /** Escritor al que se añaden las partidas terminadas. */
+    private final EscritorRegistros escritor;
+
+    /** Registro de la partida en curso. */
+    private final byte[] registro = new byte[FormatoRegistro.MAXIMO_REGISTRO];
+
+    /** Capturas posibles de la jugada que se codifica. */
+    private final long[] capturas = new long[FormatoRegistro.MAXIMO_CODIGO];
+
+    /** Mesa auxiliar con las cartas que había antes de cada jugada. */
+    private final Mesa mesaAnterior = new Mesa();
+
+    /** Bytes ocupados del registro en curso. */
+    private int longitud;
+
+    /**
+     * Crea un grabador que añade las partidas al escritor dado.
+     *
+     * @param escritor escritor de registros
+     */
+    public GrabadorPartida(EscritorRegistros escritor) {
+        this.escritor = Objects.requireNonNull(escritor, "El escritor no puede ser nulo");
+    }
+
+    /**
+     * Empieza un registro nuevo con la configuración y el rango de la baraja.
+     *
+     * @param partida partida que comienza
+     */
+    @Override
+    public void partidaIniciada(Partida partida) {
+        registro[FormatoRegistro.CONFIGURACION] = FormatoRegistro.configuracion(partida.obtenerJugadores().length,
+                partida.obtenerNumeroEquipos());
+        partida.obtenerBaraja().consultarRango(registro, FormatoRegistro.RANGO);
+        longitud = FormatoRegistro.TURNOS;
+    }
+
+    /**
+     * Añade la jugada al registro en curso.
+     *
+     * @param partida partida en curso
+     * @param asiento posición del jugador que ha jugado
+     * @param jugada  jugada aplicada
+     * @throws IllegalStateException si no se ha iniciado el registro o no cabe la jugada
+     */
+    @Override
+    public void jugadaAplicada(Partida partida, int asiento, Jugada jugada) {
+        if (longitud < FormatoRegistro.TURNOS || longitud + FormatoRegistro.BYTES_ESCAPE > registro.length) {
+            throw new IllegalStateException("Jugada fuera de un registro de partida: " + jugada);
+        }
+        final Carta carta = jugada.consultarCarta();
+        final long bit = CartaSet.bit(carta);
+        final long captura = jugada.consultarCaptura();
+        final long mano = partida.obtenerJugadores()[asiento].consultarConjuntoMano() | bit;
+        final int indice = Long.bitCount(mano & (bit - 1));
+
+        int codigo = FormatoRegistro.SIN_CAPTURA;
+        if (jugada.esBaza()) {
+            final long mesa = partida.obtenerMesa().consultarConjunto() | captura;
+            codigo = codificarCaptura(carta, mesa, captura);
+        }
+        if (indice <= FormatoRegistro.MAXIMO_INDICE_MANO && codigo <= FormatoRegistro.MAXIMO_CODIGO) {
+            registro[longitud++] = (byte) (indice << FormatoRegistro.BITS_CODIGO | codigo);
+        } else {
+            registro[longitud++] = (byte) FormatoRegistro.ESCAPE;
+            registro[longitud++] = (byte) carta.clave();
+            for (int i = FormatoRegistro.BYTES_CAPTURA - 1; i >= 0; i--) {
+                registro[longitud++] = (byte) (captura >>> (8 * i));
+            }
+        }
+    }
+
+    /**
+     * Cierra el registro en curso y lo añade al escritor.
+     *
+     * @param partida partida terminada
+     * @throws UncheckedIOException si falla la escritura
+     */
+    @Override
+    public void partidaTerminada(Partida partida) {
+        final int resto = longitud - FormatoRegistro.BYTES_LONGITUD;
+        registro[0] = (byte) (resto >>> 8);
+        registro[1] = (byte) resto;
+        try {
+            escritor.escribir(registro, 0, longitud);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo archivar la partida", e);
+        } finally {
+            longitud = 0;
+        }
+    }
+
+    /**
+     * Calcula el código de una captura: su posición más uno entre las que
+     * genera la mesa, o un valor mayor que {@link FormatoRegistro#MAXIMO_CODIGO}
+     * si no está entre ellas o no cabe en el código.
+     *
+     * @param carta   carta jugada
+     * @param mesa    cartas de la mesa antes de la jugada
+     * @param captura cartas retiradas
+     * @return código de captura
+     */
+    private int codificarCaptura(Carta carta, long mesa, long captura) {
+        mesaAnterior.vaciar();
+        mesaAnterior.ponerCartas(mesa);
+        final int total = Math.min(mesaAnterior.generarCapturas(carta, capturas), capturas.length);
+        for (int i = 0; i < total; i++) {
+            if (capturas[i] == captura) {
+                return i + 1;
+            }
+        }
+        return FormatoRegistro.MAXIMO_CODIGO + 1;
+    }
+}
@@ -0,0 +1,417 @@
+package escoba.registro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Permutacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Lector secuencial de archivos de partidas proyectados en memoria.
+ * <p>El archivo se recorre por ventanas de {@link MappedByteBuffer}, así que
+ * su tamaño no está limitado a 2 GiB y leer un registro no supone ninguna
+ * llamada al sistema. Los registros se consultan en el propio búfer: el
+ * número de jugadores, el orden de la baraja y, si hace falta, las jugadas
+ * reproducidas como claves de carta y conjuntos de {@link CartaSet}, sin
+ * crear objetos por partida.</p>
+ *
+ * <p>Uso:</p>
+ * <pre>
+ * try (LectorRegistros lector = LectorRegistros.abrir(archivo)) {
+ *     while (lector.siguiente()) {
+ *         int turnos = lector.decodificar(cartas, capturas);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Si el último registro está incompleto, por ejemplo tras una caída
+ * durante la escritura, la lectura termina antes de él y
+ * {@link #consultarPosicion()} indica dónde acaban los datos válidos. No es
+ * seguro para uso concurrente.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.registro.EscritorRegistros
+ */
+public final class LectorRegistros implements Closeable {
+
+    /** Tamaño de cada ventana proyectada. */
+    private static final long VENTANA = 1L << 26;
+
+    /** Canal del archivo. */
+    private final FileChannel canal;
+
+    /** Tamaño del archivo al abrirlo. */
+    private final long tamano;
+
+    /** Ventana proyectada actual. */
+    private MappedByteBuffer ventana;
+
+    /** Posición en el archivo del inicio de la ventana. */
+    private long inicioVentana;
+
+    /** Posición en el archivo del siguiente registro. */
+    private long posicion;
+
+    /** Posición en la ventana del registro actual. */
+    private int inicio;
+
+    /** Bytes del registro actual, incluido el campo de longitud. */
+    private int longitud;
+
+    /** Rango de la baraja del registro actual. */
+    private final byte[] rango = new byte[Permutacion.BYTES_RANGO];
+
+    /** Orden de la baraja usado al reproducir. */
+    private final byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+
+    /** Mano de cada jugador al reproducir. */
+    private final long[] manos = new long[Partida.MAXIMO_JUGADORES];
+
+    /** Capturas posibles de la jugada que se reproduce. */
+    private final long[] capturas = new long[FormatoRegistro.MAXIMO_CODIGO];
+
+    /** Mesa auxiliar para generar las capturas. */
+    private final Mesa mesa = new Mesa();
+
+    /**
+     * Crea un lector sobre un canal con la cabecera ya comprobada.
+     *
+     * @param canal canal del archivo
+     * @throws IOException si no se puede consultar el tamaño
+     */
+    private LectorRegistros(FileChannel canal) throws IOException {
+        this.canal = canal;
+        this.tamano = canal.size();
+        this.posicion = FormatoRegistro.BYTES_CABECERA;
+        this.longitud = 0;
+    }
+
+    /**
+     * Abre un archivo de registros para leerlo desde el principio.
+     *
+     * @param archivo ruta del archivo
+     * @return lector posicionado antes del primer registro
+     * @throws IOException si no se puede abrir o su cabecera no es válida
+     */
+    public static LectorRegistros abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            comprobarCabecera(canal, archivo);
+            return new LectorRegistros(canal);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Comprueba que un archivo empieza con la cabecera del formato.
+     *
+     * @param canal   canal abierto para lectura
+     * @param archivo ruta del archivo, para los mensajes de error
+     * @throws IOException si no se puede leer o la cabecera no es válida
+     */
+    static void comprobarCabecera(FileChannel canal, Path archivo) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(FormatoRegistro.BYTES_CABECERA);
+        int leidos = 0;
+        while (cabecera.hasRemaining() && leidos >= 0) {
+            leidos = canal.read(cabecera, cabecera.position());
+        }
+        cabecera.flip();
+        if (cabecera.remaining() < FormatoRegistro.BYTES_CABECERA || cabecera.getInt() != FormatoRegistro.MARCA) {
+            throw new IOException("No es un archivo de partidas: " + archivo);
+        }
+        short version = cabecera.getShort();
+        if (version != FormatoRegistro.VERSION) {
+            throw new IOException("Versión " + version + " no soportada en " + archivo);
+        }
+    }
+
+    /**
+     * Avanza al siguiente registro.
+     *
+     * @return {@code true} si hay un registro completo, {@code false} al
+     *         llegar al final o a un registro incompleto
+     * @throws IOException si falla la proyección del archivo
+     * @throws IllegalStateException si el registro está dañado
+     */
+    public boolean siguiente() throws IOException {
+        posicion += longitud;
+        longitud = 0;
+        if (posicion + FormatoRegistro.BYTES_LONGITUD > tamano) {
+            return false;
+        }
+        proyectar(FormatoRegistro.BYTES_LONGITUD);
+        final int total = comprobarLongitud(ventana.getShort((int) (posicion - inicioVentana)), posicion);
+        if (posicion + total > tamano) {
+            return false;
+        }
+        proyectar(total);
+        inicio = (int) (posicion - inicioVentana);
+        longitud = total;
+        return true;
+    }
+
+    /**
+     * Busca el final del último registro completo de un archivo con la
+     * cabecera ya comprobada, con el mismo criterio que {@link #siguiente()}
+     * pero leyendo solo los campos de longitud y sin proyectar el archivo,
+     * de modo que después puede truncarse.
+     *
+     * @param canal canal abierto para lectura
+     * @return posición en bytes donde acaban los datos válidos
+     * @throws IOException si falla la lectura
+     * @throws IllegalStateException si algún registro está dañado
+     */
+    static long buscarFinValido(FileChannel canal) throws IOException {
+        final long tamano = canal.size();
+        final ByteBuffer campo = ByteBuffer.allocate(FormatoRegistro.BYTES_LONGITUD);
+        long posicion = FormatoRegistro.BYTES_CABECERA;
+        while (posicion + FormatoRegistro.BYTES_LONGITUD <= tamano) {
+            campo.clear();
+            int leidos = 0;
+            while (campo.hasRemaining() && leidos >= 0) {
+                leidos = canal.read(campo, posicion + campo.position());
+            }
+            final int total = comprobarLongitud(campo.getShort(0), posicion);
+            if (posicion + total > tamano) {
+                break;
+            }
+            posicion += total;
+        }
+        return posicion;
+    }
+
+    /**
+     * Comprueba el campo de longitud de un registro.
+     *
+     * @param campo    campo de longitud leído
+     * @param posicion posición del registro, para los mensajes de error
+     * @return bytes del registro, incluido el campo de longitud
+     * @throws IllegalStateException si la longitud no es posible
+     */
+    private static int comprobarLongitud(short campo, long posicion) {
+        final int resto = campo & 0xFFFF;
+        final int total = FormatoRegistro.BYTES_LONGITUD + resto;
+        if (total < FormatoRegistro.TURNOS || total > FormatoRegistro.MAXIMO_REGISTRO) {
+            throw new IllegalStateException("Registro dañado en la posición " + posicion + ": longitud " + resto);
+        }
+        return total;
+    }
+
+    /**
+     * Consulta la posición en el archivo donde empieza el siguiente registro
+     * por leer, que al terminar la lectura es el final de los datos válidos.
+     *
+     * @return posición en bytes
+     */
+    public long consultarPosicion() {
+        return posicion + longitud;
+    }
+
+    /**
+     * Consulta el número de jugadores del registro actual.
+     *
+     * @return número de jugadores
+     */
+    public int consultarNumeroJugadores() {
+        return ventana.get(inicio + FormatoRegistro.CONFIGURACION) & 0x0F;
+    }
+
+    /**
+     * Consulta el número de equipos del registro actual.
+     *
+     * @return número de equipos
+     */
+    public int consultarNumeroEquipos() {
+        return (ventana.get(inicio + FormatoRegistro.CONFIGURACION) >>> 4) & 0x0F;
+    }
+
+    /**
+     * Cuenta las jugadas del registro actual.
+     *
+     * @return número de turnos
+     */
+    public int consultarNumeroTurnos() {
+        int turnos = 0;
+        for (int p = inicio + FormatoRegistro.TURNOS; p < inicio + longitud; turnos++) {
+            p += (ventana.get(p) & 0xFF) == FormatoRegistro.ESCAPE ? FormatoRegistro.BYTES_ESCAPE : 1;
+        }
+        return turnos;
+    }
+
+    /**
+     * Recupera el orden de la baraja del registro actual.
+     *
+     * @param destino array de al menos {@link Baraja#NUMERO_CARTAS} posiciones
+     *                donde se escriben las claves en orden
+     * @see Baraja#ordenar(byte[])
+     */
+    public void consultarOrden(byte[] destino) {
+        ventana.get(inicio + FormatoRegistro.RANGO, rango);
+        Permutacion.decodificar(rango, 0, destino);
+    }
+
+    /**
+     * Reproduce las jugadas del registro actual con el reparto del
+     * {@link escoba.control.Controlador}: tres cartas a cada jugador por turno
+     * de reparto, cuatro en la mesa al empezar y turnos en anillo desde el
+     * primer jugador.
+     *
+     * @param cartas          array donde se escribe la clave de la carta jugada
+     *                        en cada turno
+     * @param capturasJugadas array donde se escribe la captura de cada turno,
+     *                        vacía si la carta se dejó en la mesa
+     * @return número de turnos reproducidos
+     * @throws IllegalStateException si una jugada no es coherente con el reparto
+     */
+    public int decodificar(byte[] cartas, long[] capturasJugadas) {
+        final int jugadores = consultarNumeroJugadores();
+        consultarOrden(orden);
+        Arrays.fill(manos, CartaSet.VACIO);
+        int cima = repartir(jugadores, 0);
+        long enMesa = CartaSet.VACIO;
+        for (int i = 0; i < FormatoRegistro.CARTAS_INICIALES_MESA; i++) {
+            enMesa |= 1L << (orden[cima++] - 1);
+        }
+
+        int turno = 0;
+        int turnos = 0;
+        final int fin = inicio + longitud;
+        for (int p = inicio + FormatoRegistro.TURNOS; p < fin; turnos++) {
+            final int valor = ventana.get(p) & 0xFF;
+            final int clave;
+            long captura = CartaSet.VACIO;
+            if (valor == FormatoRegistro.ESCAPE) {
+                clave = ventana.get(p + 1);
+                for (int i = 0; i < FormatoRegistro.BYTES_CAPTURA; i++) {
+                    captura = captura << 8 | (ventana.get(p + 2 + i) & 0xFF);
+                }
+                p += FormatoRegistro.BYTES_ESCAPE;
+            } else {
+                long mano = manos[turno];
+                for (int i = valor >>> FormatoRegistro.BITS_CODIGO; i > 0; i--) {
+                    mano = CartaSet.quitarPrimera(mano);
+                }
+                if (mano == CartaSet.VACIO) {
+                    throw new IllegalStateException("Carta fuera de la mano en el turno " + turnos);
+                }
+                clave = Long.numberOfTrailingZeros(mano) + 1;
+                final int codigo = valor & FormatoRegistro.MASCARA_CODIGO;
+                if (codigo != FormatoRegistro.SIN_CAPTURA) {
+                    captura = capturaEn(Carta.deClave(clave), enMesa, codigo - 1, turnos);
+                }
+                p++;
+            }
+
+            final long bit = 1L << (clave - 1);
+            manos[turno] &= ~bit;
+            enMesa = captura != CartaSet.VACIO ? enMesa & ~captura : enMesa | bit;
+            cartas[turnos] = (byte) clave;
+            capturasJugadas[turnos] = captura;
+
+            turno = (turno + 1) % jugadores;
+            if (cima < Baraja.NUMERO_CARTAS && sinCartas(jugadores)) {
+                cima = repartir(jugadores, cima);
+            }
+        }
+        return turnos;
+    }
+
+    /**
+     * Cierra el archivo.
+     *
+     * @throws IOException si falla el cierre
+     */
+    @Override
+    public void close() throws IOException {
+        ventana = null;
+        canal.close();
+    }
+
+    /**
+     * Se asegura de que la ventana contiene los bytes indicados a partir de la
+     * posición actual, proyectando una nueva desde ella si hace falta.
+     *
+     * @param bytes bytes necesarios
+     * @throws IOException si falla la proyección
+     */
+    private void proyectar(int bytes) throws IOException {
+        if (ventana == null || posicion < inicioVentana
+                || posicion + bytes > inicioVentana + ventana.capacity()) {
+            inicioVentana = posicion;
+            ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicioVentana,
+                    Math.min(VENTANA, tamano - inicioVentana));
+        }
+    }
+
+    /**
+     * Reparte tres cartas a cada jugador, por rondas, desde la cima dada.
+     *
+     * @param jugadores número de jugadores
+     * @param cima      posición de la siguiente carta del orden
+     * @return nueva cima
+     */
+    private int repartir(int jugadores, int cima) {
+        int siguiente = cima;
+        for (int i = 0; i < FormatoRegistro.CARTAS_POR_REPARTO; i++) {
+            for (int j = 0; j < jugadores && siguiente < Baraja.NUMERO_CARTAS; j++) {
+                manos[j] |= 1L << (orden[siguiente++] - 1);
+            }
+        }
+        return siguiente;
+    }
+
+    /**
+     * Comprueba si todos los jugadores se han quedado sin cartas.
+     *
+     * @param jugadores número de jugadores
+     * @return {@code true} si ninguna mano tiene cartas
+     */
+    private boolean sinCartas(int jugadores) {
+        for (int j = 0; j < jugadores; j++) {
+            if (manos[j] != CartaSet.VACIO) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recupera una captura por su posición entre las que genera la mesa.
+     *
+     * @param carta  carta jugada
+     * @param enMesa cartas de la mesa antes de la jugada
+     * @param indice posición de la captura
+     * @param turno  turno, para los mensajes de error
+     * @return captura
+     * @throws IllegalStateException si no hay tantas capturas
+     */
+    private long capturaEn(Carta carta, long enMesa, int indice, int turno) {
+        mesa.vaciar();
+        mesa.ponerCartas(enMesa);
+        if (indice >= Math.min(mesa.generarCapturas(carta, capturas), capturas.length)) {
+            throw new IllegalStateException("Captura inexistente en el turno " + turno);
+        }
+        return capturas[indice];
+    }
+}
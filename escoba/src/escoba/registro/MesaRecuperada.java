@@ -0,0 +1,169 @@
+package escoba.registro;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Partida sin terminar recuperada de un {@link DiarioPartidas}.
+ * <p>Guarda el orden de la baraja y las jugadas anotadas, y con
+ * {@link #reconstruir(Partida)} las vuelve a aplicar sobre una partida con el
+ * mismo reparto que el {@link escoba.control.Controlador}, que después puede
+ * continuarla con {@link escoba.control.Controlador#reanudarPartida()}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class MesaRecuperada {
+
+    /** Identificador de la mesa. */
+    private final long mesa;
+
+    /** Número de jugadores. */
+    private final int numeroJugadores;
+
+    /** Número de equipos. */
+    private final int numeroEquipos;
+
+    /** Orden de la baraja al empezar. */
+    final byte[] orden;
+
+    /** Clave de la carta de cada jugada. */
+    final byte[] claves = new byte[Baraja.NUMERO_CARTAS];
+
+    /** Captura de cada jugada. */
+    final long[] capturas = new long[Baraja.NUMERO_CARTAS];
+
+    /** Jugadas anotadas. */
+    private int turnos;
+
+    /**
+     * Crea una mesa recuperada sin jugadas.
+     *
+     * @param mesa            identificador de la mesa
+     * @param numeroJugadores número de jugadores
+     * @param numeroEquipos   número de equipos
+     * @param orden           orden de la baraja (se copia)
+     */
+    MesaRecuperada(long mesa, int numeroJugadores, int numeroEquipos, byte[] orden) {
+        this.mesa = mesa;
+        this.numeroJugadores = numeroJugadores;
+        this.numeroEquipos = numeroEquipos;
+        this.orden = orden.clone();
+    }
+
+    /**
+     * Añade la siguiente jugada anotada. Las que exceden el número de cartas
+     * de la baraja se ignoran.
+     *
+     * @param clave   clave de la carta jugada
+     * @param captura cartas retiradas
+     */
+    void anadirJugada(byte clave, long captura) {
+        if (turnos < claves.length) {
+            claves[turnos] = clave;
+            capturas[turnos] = captura;
+            turnos++;
+        }
+    }
+
+    /**
+     * Consulta el identificador de la mesa.
+     *
+     * @return identificador
+     */
+    public long consultarMesa() {
+        return mesa;
+    }
+
+    /**
+     * Consulta el número de jugadores.
+     *
+     * @return número de jugadores
+     */
+    public int consultarNumeroJugadores() {
+        return numeroJugadores;
+    }
+
+    /**
+     * Consulta el número de equipos.
+     *
+     * @return número de equipos
+     */
+    public int consultarNumeroEquipos() {
+        return numeroEquipos;
+    }
+
+    /**
+     * Consulta el número de jugadas anotadas.
+     *
+     * @return número de jugadas
+     */
+    public int consultarNumeroTurnos() {
+        return turnos;
+    }
+
+    /**
+     * Reconstruye el estado de la partida: la reinicia, coloca la baraja en
+     * el orden anotado, hace el reparto inicial y aplica todas las jugadas,
+     * repartiendo de nuevo cuando se quedan todos sin cartas.
+     *
+     * @param partida partida con el mismo número de jugadores y equipos
+     * @throws IllegalArgumentException si la partida no tiene la misma configuración
+     * @throws IllegalStateException    si una jugada anotada no es posible
+     */
+    public void reconstruir(Partida partida) {
+        if (partida.obtenerJugadores().length != numeroJugadores
+                || partida.obtenerNumeroEquipos() != numeroEquipos) {
+            throw new IllegalArgumentException("La mesa " + mesa + " necesita " + numeroJugadores
+                    + " jugadores en " + numeroEquipos + " equipos");
+        }
+        partida.reiniciar();
+        final Baraja baraja = partida.obtenerBaraja();
+        final Mesa mesaPartida = partida.obtenerMesa();
+        baraja.ordenar(orden);
+        partida.repartir(FormatoRegistro.CARTAS_POR_REPARTO);
+        for (int i = 0; i < FormatoRegistro.CARTAS_INICIALES_MESA; i++) {
+            mesaPartida.ponerCarta(baraja.extraerCarta());
+        }
+
+        for (int turno = 0; turno < turnos; turno++) {
+            final Carta carta = Carta.deClave(claves[turno]);
+            final Jugador jugador = partida.obtenerJugadorActual();
+            if (!CartaSet.contiene(jugador.consultarConjuntoMano(), carta)
+                    || (capturas[turno] != CartaSet.VACIO && !mesaPartida.esCapturaValida(carta, capturas[turno]))) {
+                throw new IllegalStateException("Jugada " + turno + " imposible en la mesa " + mesa);
+            }
+            partida.aplicar(new Jugada(carta, capturas[turno]));
+            if (!baraja.estaVacia() && sinCartas(partida)) {
+                partida.repartir(FormatoRegistro.CARTAS_POR_REPARTO);
+            }
+        }
+    }
+
+    /**
+     * Comprueba si todos los jugadores se han quedado sin cartas.
+     *
+     * @param partida partida
+     * @return {@code true} si ningún jugador tiene cartas
+     */
+    private static boolean sinCartas(Partida partida) {
+        for (Jugador jugador : partida.obtenerJugadores()) {
+            if (!jugador.estaSinCartas()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
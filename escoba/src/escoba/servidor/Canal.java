@@ -0,0 +1,83 @@
+package escoba.servidor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Canal bidireccional de líneas de texto entre el servidor y un cliente.
+ * <p>Las operaciones son bloqueantes y están pensadas para hilos virtuales:
+ * mientras un jugador piensa, el hilo de su mesa queda aparcado en
+ * {@link #recibir()} sin ocupar un hilo de plataforma. Cada extremo lo usa un
+ * solo hilo, salvo {@link #close()}, que puede llamarse desde cualquiera para
+ * desbloquear al que espera.</p>
+ *
+ * <p>Hay dos implementaciones: sobre un {@link Socket}, para clientes remotos,
+ * y una pareja de colas en memoria, para clientes en el mismo proceso.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see ProtocoloMesa
+ */
+public interface Canal extends Closeable {
+
+    /**
+     * Envía una línea.
+     *
+     * @param linea línea sin el salto de línea final
+     * @throws IOException si el canal está cerrado o falla la escritura
+     */
+    void enviar(String linea) throws IOException;
+
+    /**
+     * Espera y recibe la siguiente línea.
+     *
+     * @return línea recibida, o {@code null} si el otro extremo ha cerrado
+     * @throws IOException si falla la lectura o se interrumpe la espera
+     */
+    String recibir() throws IOException;
+
+    /**
+     * Crea un canal sobre un socket conectado, que se cierra con el canal.
+     * <p>Cada lectura espera como mucho dos minutos y cada línea recibida
+     * puede tener hasta {@value CanalSocket#MAXIMO_LINEA} caracteres.</p>
+     *
+     * @param socket socket conectado
+     * @return canal
+     * @throws IOException si no se pueden configurar u obtener los flujos del socket
+     */
+    static Canal deSocket(Socket socket) throws IOException {
+        return new CanalSocket(socket, CanalSocket.ESPERA_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un canal sobre un socket conectado con una espera máxima de
+     * lectura propia.
+     *
+     * @param socket       socket conectado
+     * @param milisegundos espera máxima de cada lectura, mayor que 0
+     * @return canal
+     * @throws IOException si no se pueden configurar u obtener los flujos del socket
+     * @throws IllegalArgumentException si la espera no es positiva
+     */
+    static Canal deSocket(Socket socket, int milisegundos) throws IOException {
+        return new CanalSocket(socket, milisegundos);
+    }
+
+    /**
+     * Crea dos canales en memoria conectados entre sí: lo que se envía por
+     * uno se recibe por el otro. Cerrar cualquiera de los dos cierra ambos.
+     *
+     * @return array con los dos extremos
+     */
+    static Canal[] crearParLocal() {
+        return CanalLocal.crearPar();
+    }
+}
@@ -0,0 +1,99 @@
+package escoba.servidor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Extremo de una pareja de canales en memoria.
+ * <p>Cada sentido es una cola bloqueante de {@code java.util.concurrent}, que
+ * aparca los hilos virtuales en lugar de bloquear su hilo portador, a
+ * diferencia de los flujos entubados ({@code PipedInputStream}), que esperan
+ * en el monitor del objeto. Al cerrar se deja una marca de fin en las dos
+ * colas, de modo que quien espera en cualquiera de los extremos recibe
+ * {@code null}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+final class CanalLocal implements Canal {
+
+    /** Marca de fin; se compara por identidad. */
+    private static final String FIN = new String("FIN");
+
+    /** Líneas que recibe este extremo. */
+    private final BlockingQueue<String> entrada;
+
+    /** Líneas que recibe el otro extremo. */
+    private final BlockingQueue<String> salida;
+
+    /** Estado compartido por los dos extremos. */
+    private final AtomicBoolean cerrado;
+
+    /**
+     * Crea un extremo.
+     *
+     * @param entrada cola de la que lee
+     * @param salida  cola en la que escribe
+     * @param cerrado estado compartido
+     */
+    private CanalLocal(BlockingQueue<String> entrada, BlockingQueue<String> salida, AtomicBoolean cerrado) {
+        this.entrada = entrada;
+        this.salida = salida;
+        this.cerrado = cerrado;
+    }
+
+    /**
+     * Crea dos extremos conectados.
+     *
+     * @return array con los dos extremos
+     */
+    static Canal[] crearPar() {
+        final BlockingQueue<String> ida = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> vuelta = new LinkedBlockingQueue<>();
+        final AtomicBoolean cerrado = new AtomicBoolean();
+        return new Canal[] { new CanalLocal(vuelta, ida, cerrado), new CanalLocal(ida, vuelta, cerrado) };
+    }
+
+    @Override
+    public void enviar(String linea) throws IOException {
+        if (cerrado.get()) {
+            throw new IOException("Canal cerrado");
+        }
+        salida.add(linea);
+    }
+
+    @Override
+    public String recibir() throws IOException {
+        final String linea;
+        try {
+            linea = entrada.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera interrumpida");
+        }
+        if (linea == FIN) {
+            // se deja para los siguientes que lean
+            entrada.add(FIN);
+            return null;
+        }
+        return linea;
+    }
+
+    @Override
+    public void close() {
+        if (cerrado.compareAndSet(false, true)) {
+            entrada.add(FIN);
+            salida.add(FIN);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package escoba.servidor;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Canal de líneas en UTF-8 sobre un socket TCP.
+ * <p>Desactiva el algoritmo de Nagle, porque los mensajes son líneas cortas
+ * que esperan respuesta y, si se retienen, cada turno sumaría el retardo de
+ * los asentimientos diferidos.</p>
+ *
+ * <p>Un extremo que no contesta o que envía líneas sin fin no puede retener
+ * la mesa para siempre ni agotar la memoria: cada lectura espera como mucho
+ * el tiempo indicado y cada línea tiene una longitud máxima. Si se supera
+ * cualquiera de los dos límites, {@link #recibir()} lanza una
+ * {@link IOException}, que para el servidor equivale a una desconexión.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+final class CanalSocket implements Canal {
+
+    /** Espera por defecto de cada lectura, en milisegundos. */
+    static final int ESPERA_POR_DEFECTO = 120_000;
+
+    /** Longitud máxima de una línea recibida, sin el salto de línea. */
+    static final int MAXIMO_LINEA = 1024;
+
+    /** Socket conectado. */
+    private final Socket socket;
+
+    /** Lectura de líneas. */
+    private final BufferedReader entrada;
+
+    /** Escritura de líneas. */
+    private final BufferedWriter salida;
+
+    /** Línea en construcción, reutilizada entre lecturas. */
+    private final StringBuilder linea = new StringBuilder();
+
+    /**
+     * Crea el canal.
+     *
+     * @param socket       socket conectado
+     * @param milisegundos espera máxima de cada lectura, mayor que 0
+     * @throws IOException si no se pueden configurar u obtener los flujos del socket
+     * @throws IllegalArgumentException si la espera no es positiva
+     */
+    CanalSocket(Socket socket, int milisegundos) throws IOException {
+        if (milisegundos <= 0) {
+            throw new IllegalArgumentException("La espera debe ser positiva: " + milisegundos);
+        }
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(milisegundos);
+        this.entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.salida = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void enviar(String linea) throws IOException {
+        salida.write(linea);
+        salida.write('\n');
+        salida.flush();
+    }
+
+    /**
+     * Espera y recibe la siguiente línea, terminada en {@code \n} o en
+     * {@code \r\n}.
+     *
+     * @return línea recibida, o {@code null} si el otro extremo ha cerrado
+     *         sin dejar una línea a medias
+     * @throws SocketTimeoutException si la línea no llega a tiempo
+     * @throws IOException            si la línea supera {@value #MAXIMO_LINEA}
+     *                                caracteres o falla la lectura
+     */
+    @Override
+    public String recibir() throws IOException {
+        linea.setLength(0);
+        while (true) {
+            final int c = entrada.read();
+            if (c < 0) {
+                return linea.isEmpty() ? null : linea.toString();
+            }
+            if (c == '\n') {
+                final int fin = linea.length();
+                if (fin > 0 && linea.charAt(fin - 1) == '\r') {
+                    linea.setLength(fin - 1);
+                }
+                return linea.toString();
+            }
+            if (linea.length() == MAXIMO_LINEA) {
+                throw new IOException("Línea de más de " + MAXIMO_LINEA + " caracteres");
+            }
+            linea.append((char) c);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,158 @@
+package escoba.servidor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Mesa;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Cliente automático del {@link ServidorEscoba}, que contesta a cada
+ * {@code TURNO} con una carta al azar de la mano y, si con ella se puede
+ * recoger algo, una captura al azar.
+ * <p>Sirve para probar el servidor y medir cuántas mesas admite, ya sea
+ * conectado por socket o en el mismo proceso con
+ * {@link Canal#crearParLocal()}. Puede esperar un tiempo antes de cada
+ * respuesta para simular a un jugador que piensa.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see ProtocoloMesa
+ */
+public final class ClienteEscoba {
+
+    /** Canal con el servidor. */
+    private final Canal canal;
+
+    /** Generador con el que se eligen las jugadas. */
+    private final RandomGenerator aleatorio;
+
+    /** Milisegundos de espera antes de cada respuesta. */
+    private final long milisegundosPorTurno;
+
+    /** Mesa local donde se buscan las capturas. */
+    private final Mesa mesa = new Mesa();
+
+    /** Array reutilizable donde la mesa escribe las capturas posibles. */
+    private long[] capturas = new long[64];
+
+    /** Número de la mesa asignada (0 si aún no hay). */
+    private long numeroMesa;
+
+    /** Asiento en la mesa. */
+    private int asiento;
+
+    /** Jugadas rechazadas por el servidor. */
+    private int errores;
+
+    /**
+     * Crea un cliente.
+     *
+     * @param canal                canal con el servidor
+     * @param aleatorio            generador con el que se eligen las jugadas
+     * @param milisegundosPorTurno espera antes de cada respuesta, 0 para contestar enseguida
+     */
+    public ClienteEscoba(Canal canal, RandomGenerator aleatorio, long milisegundosPorTurno) {
+        this.canal = Objects.requireNonNull(canal, "El canal no puede ser nulo");
+        this.aleatorio = Objects.requireNonNull(aleatorio, "El generador aleatorio no puede ser nulo");
+        this.milisegundosPorTurno = milisegundosPorTurno;
+    }
+
+    /**
+     * Juega una partida completa, hasta que el servidor envía {@code FIN}.
+     *
+     * @return puntos de cada equipo
+     * @throws IOException          si el canal se cierra antes del final
+     * @throws InterruptedException si se interrumpe una espera
+     */
+    public int[] jugar() throws IOException, InterruptedException {
+        while (true) {
+            final String linea = canal.recibir();
+            if (linea == null) {
+                throw new EOFException("El servidor ha cerrado el canal antes del final");
+            }
+            final String[] campos = linea.split(ProtocoloMesa.SEPARADOR);
+            switch (campos[0]) {
+                case ProtocoloMesa.MESA -> {
+                    numeroMesa = Long.parseLong(campos[1]);
+                    asiento = Integer.parseInt(campos[2]);
+                }
+                case ProtocoloMesa.TURNO -> contestar(ProtocoloMesa.leerConjunto(campos[1]),
+                        ProtocoloMesa.leerConjunto(campos[2]));
+                case ProtocoloMesa.ERROR -> errores++;
+                case ProtocoloMesa.FIN -> {
+                    final int[] puntos = new int[campos.length - 1];
+                    for (int i = 0; i < puntos.length; i++) {
+                        puntos[i] = Integer.parseInt(campos[i + 1]);
+                    }
+                    canal.close();
+                    return puntos;
+                }
+                default -> {
+                    // JUGADA y órdenes futuras no afectan a la elección
+                }
+            }
+        }
+    }
+
+    /**
+     * Consulta el número de la mesa asignada.
+     *
+     * @return número de mesa, 0 si aún no se ha asignado
+     */
+    public long consultarMesa() {
+        return numeroMesa;
+    }
+
+    /**
+     * Consulta el asiento en la mesa.
+     *
+     * @return asiento
+     */
+    public int consultarAsiento() {
+        return asiento;
+    }
+
+    /**
+     * Consulta el número de jugadas rechazadas por el servidor.
+     *
+     * @return jugadas rechazadas
+     */
+    public int consultarErrores() {
+        return errores;
+    }
+
+    /**
+     * Elige y envía una jugada.
+     *
+     * @param mano       cartas de la mano
+     * @param cartasMesa cartas de la mesa
+     * @throws IOException          si falla el envío
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    private void contestar(long mano, long cartasMesa) throws IOException, InterruptedException {
+        if (milisegundosPorTurno > 0) {
+            Thread.sleep(milisegundosPorTurno);
+        }
+        final Carta carta = CartaSet.enPosicion(mano, aleatorio.nextInt(CartaSet.contar(mano)));
+        mesa.vaciar();
+        mesa.ponerCartas(cartasMesa);
+        int total = mesa.generarCapturas(carta, capturas);
+        if (total > capturas.length) {
+            capturas = new long[Integer.highestOneBit(total) << 1];
+            mesa.generarCapturas(carta, capturas);
+        }
+        final long captura = total == 0 ? CartaSet.VACIO : capturas[aleatorio.nextInt(total)];
+        canal.enviar(ProtocoloMesa.linea(ProtocoloMesa.JUGAR, carta.clave(), ProtocoloMesa.conjunto(captura)));
+    }
+}
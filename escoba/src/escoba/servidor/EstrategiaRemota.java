@@ -0,0 +1,181 @@
+package escoba.servidor;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import escoba.control.Estrategia;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Estrategia que pide cada jugada a un cliente a través de un {@link Canal}.
+ * <p>En {@link #elegirCarta(Partida, Jugador)} envía el estado con
+ * {@code TURNO} y espera la respuesta {@code JUGAR}; la carta y la captura
+ * llegan juntas, se validan contra la partida y, si no son válidas, se
+ * contesta {@code ERROR} y se vuelve a pedir la jugada, hasta
+ * {@value #MAXIMO_RECHAZOS} veces por turno. La espera bloquea el
+ * hilo de la mesa, que debe ser virtual para no ocupar un hilo de plataforma
+ * por jugador.</p>
+ *
+ * <p>Si el cliente se desconecta, no contesta a tiempo o agota los rechazos
+ * de un turno, se le da por desconectado y el resto de la partida juega en su
+ * asiento la estrategia sustituta, de modo que la mesa termina para los
+ * demás.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see ProtocoloMesa
+ */
+public final class EstrategiaRemota implements Estrategia {
+
+    /** Respuestas no válidas que se admiten en un turno antes de desconectar. */
+    public static final int MAXIMO_RECHAZOS = 3;
+
+    /** Canal con el cliente. */
+    private final Canal canal;
+
+    /** Estrategia que juega si el cliente se desconecta. */
+    private final Estrategia sustituta;
+
+    /** Si el cliente se ha desconectado. */
+    private boolean desconectado;
+
+    /** Captura recibida junto con la última carta. */
+    private long captura;
+
+    /**
+     * Crea la estrategia de un asiento.
+     *
+     * @param canal     canal con el cliente
+     * @param sustituta estrategia que juega si el cliente se desconecta
+     */
+    public EstrategiaRemota(Canal canal, Estrategia sustituta) {
+        this.canal = Objects.requireNonNull(canal, "El canal no puede ser nulo");
+        this.sustituta = Objects.requireNonNull(sustituta, "La estrategia sustituta no puede ser nula");
+    }
+
+    /**
+     * Consulta si el cliente se ha desconectado.
+     *
+     * @return {@code true} si ya juega la estrategia sustituta
+     */
+    public boolean estaDesconectado() {
+        return desconectado;
+    }
+
+    /**
+     * Envía una línea al cliente. Si falla, se le da por desconectado.
+     *
+     * @param linea línea a enviar
+     */
+    public void notificar(String linea) {
+        if (desconectado) {
+            return;
+        }
+        try {
+            canal.enviar(linea);
+        } catch (IOException e) {
+            desconectar();
+        }
+    }
+
+    /**
+     * Pide la jugada al cliente y devuelve su carta, o la de la estrategia
+     * sustituta si el cliente se ha desconectado.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @return carta de la mano del jugador
+     */
+    @Override
+    public Carta elegirCarta(Partida partida, Jugador jugador) {
+        if (!desconectado) {
+            try {
+                return pedirJugada(partida, jugador);
+            } catch (IOException e) {
+                desconectar();
+            }
+        }
+        return sustituta.elegirCarta(partida, jugador);
+    }
+
+    /**
+     * Devuelve la captura recibida con la carta.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @param carta   carta elegida
+     * @return captura validada, o la de la estrategia sustituta
+     */
+    @Override
+    public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+        return desconectado ? sustituta.elegirCaptura(partida, jugador, carta) : captura;
+    }
+
+    /**
+     * Pide la jugada hasta que el cliente envía una válida.
+     *
+     * @param partida partida en curso
+     * @param jugador jugador al que le toca jugar
+     * @return carta elegida; la captura queda en {@link #captura}
+     * @throws IOException si el cliente se desconecta o envía
+     *                     {@value #MAXIMO_RECHAZOS} respuestas no válidas
+     */
+    private Carta pedirJugada(Partida partida, Jugador jugador) throws IOException {
+        final long mano = jugador.consultarConjuntoMano();
+        final String turno = ProtocoloMesa.linea(ProtocoloMesa.TURNO, ProtocoloMesa.conjunto(mano),
+                ProtocoloMesa.conjunto(partida.obtenerMesa().consultarConjunto()),
+                partida.obtenerBaraja().consultarNumeroCartas());
+        for (int rechazos = 0; rechazos < MAXIMO_RECHAZOS; rechazos++) {
+            canal.enviar(turno);
+            final String linea = canal.recibir();
+            if (linea == null) {
+                throw new IOException("El cliente ha cerrado el canal");
+            }
+            final String[] campos = linea.split(ProtocoloMesa.SEPARADOR);
+            if (campos.length != 3 || !ProtocoloMesa.JUGAR.equals(campos[0])) {
+                canal.enviar(ProtocoloMesa.linea(ProtocoloMesa.ERROR, "se esperaba JUGAR carta captura"));
+                continue;
+            }
+            final Carta carta;
+            final long elegida;
+            try {
+                carta = Carta.deClave(Integer.parseInt(campos[1]));
+                elegida = ProtocoloMesa.leerConjunto(campos[2]);
+            } catch (IllegalArgumentException e) {
+                canal.enviar(ProtocoloMesa.linea(ProtocoloMesa.ERROR, "carta o captura ilegible"));
+                continue;
+            }
+            if (!CartaSet.contiene(mano, carta)) {
+                canal.enviar(ProtocoloMesa.linea(ProtocoloMesa.ERROR, "la carta no está en la mano"));
+            } else if (elegida != CartaSet.VACIO && !partida.obtenerMesa().esCapturaValida(carta, elegida)) {
+                canal.enviar(ProtocoloMesa.linea(ProtocoloMesa.ERROR, "la captura no suma 15"));
+            } else {
+                captura = elegida;
+                return carta;
+            }
+        }
+        throw new IOException(MAXIMO_RECHAZOS + " respuestas no válidas en el mismo turno");
+    }
+
+    /**
+     * Da al cliente por desconectado y cierra el canal.
+     */
+    private void desconectar() {
+        desconectado = true;
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // el canal ya no se usa
+        }
+    }
+}
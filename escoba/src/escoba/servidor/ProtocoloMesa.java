@@ -0,0 +1,101 @@
+package escoba.servidor;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Protocolo de texto entre el servidor y los jugadores, una orden por línea
+ * con los campos separados por un espacio.
+ * <p>Las cartas se expresan por su clave (1-40) y los conjuntos de cartas
+ * como el {@code long} de {@link escoba.modelo.CartaSet} en hexadecimal.
+ * Del servidor al cliente:</p>
+ * <ul>
+ *     <li>{@code MESA mesa asiento jugadores equipos}: el cliente se ha
+ *     sentado en una mesa.</li>
+ *     <li>{@code TURNO mano mesa baraja}: le toca jugar, con las cartas de su
+ *     mano, las de la mesa y las que quedan en la baraja.</li>
+ *     <li>{@code ERROR motivo}: la jugada no es válida; le sigue otro
+ *     {@code TURNO}.</li>
+ *     <li>{@code JUGADA asiento carta captura}: jugada aplicada por
+ *     cualquier jugador de la mesa.</li>
+ *     <li>{@code FIN puntos...}: la partida ha terminado, con los puntos de
+ *     cada equipo; después el servidor cierra el canal.</li>
+ * </ul>
+ * <p>Del cliente al servidor solo hay una orden,
+ * {@code JUGAR carta captura}, en respuesta a cada {@code TURNO}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+final class ProtocoloMesa {
+
+    /** Asignación de mesa. */
+    static final String MESA = "MESA";
+
+    /** Petición de jugada. */
+    static final String TURNO = "TURNO";
+
+    /** Jugada rechazada. */
+    static final String ERROR = "ERROR";
+
+    /** Jugada aplicada. */
+    static final String JUGADA = "JUGADA";
+
+    /** Fin de la partida. */
+    static final String FIN = "FIN";
+
+    /** Jugada del cliente. */
+    static final String JUGAR = "JUGAR";
+
+    /** Separador de campos. */
+    static final String SEPARADOR = " ";
+
+    /** Base en la que se escriben los conjuntos de cartas. */
+    private static final int BASE_CONJUNTOS = 16;
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private ProtocoloMesa() {
+    }
+
+    /**
+     * Compone una línea con una orden y sus campos.
+     *
+     * @param orden  orden
+     * @param campos campos, ya en texto o números
+     * @return línea
+     */
+    static String linea(String orden, Object... campos) {
+        final StringBuilder texto = new StringBuilder(orden);
+        for (Object campo : campos) {
+            texto.append(SEPARADOR).append(campo);
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Escribe un conjunto de cartas.
+     *
+     * @param conjunto conjunto (ver {@link escoba.modelo.CartaSet})
+     * @return texto en hexadecimal
+     */
+    static String conjunto(long conjunto) {
+        return Long.toHexString(conjunto);
+    }
+
+    /**
+     * Lee un conjunto de cartas.
+     *
+     * @param texto texto en hexadecimal
+     * @return conjunto
+     * @throws NumberFormatException si el texto no es un número hexadecimal
+     */
+    static long leerConjunto(String texto) {
+        return Long.parseUnsignedLong(texto, BASE_CONJUNTOS);
+    }
+}
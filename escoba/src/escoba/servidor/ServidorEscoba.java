@@ -0,0 +1,319 @@
+package escoba.servidor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+import escoba.control.Controlador;
+import escoba.control.Estrategia;
+import escoba.control.ObservadorPartida;
+import escoba.ia.EstrategiaVoraz;
+import escoba.modelo.Baraja;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Servidor de partidas simultáneas en muchas mesas.
+ * <p>Los clientes llegan por un {@link Canal}, ya sea aceptado en un
+ * {@link ServerSocket} con {@link #atender(ServerSocket)} o creado en el
+ * mismo proceso y entregado con {@link #conectar(Canal)}, y esperan hasta que
+ * hay suficientes para llenar los asientos remotos de una mesa. Los asientos
+ * restantes los juega una {@link EstrategiaVoraz}.</p>
+ *
+ * <p>Cada mesa tiene su propia {@link Partida} y su {@link Controlador}
+ * desatendido, con una {@link EstrategiaRemota} por cliente, y se juega en
+ * su propio hilo virtual. Mientras un jugador piensa, el hilo de su mesa
+ * queda aparcado en la lectura del canal y no ocupa ningún hilo de
+ * plataforma, por lo que el número de mesas lo limita la memoria (unos pocos
+ * KiB por mesa) y no el número de hilos del sistema.</p>
+ *
+ * <p>Cada mesa baraja con un generador propio, separado del generador del
+ * servidor al crearla.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see ProtocoloMesa
+ */
+public final class ServidorEscoba implements Closeable {
+
+    /** Número de jugadores de cada mesa. */
+    private final int jugadoresPorMesa;
+
+    /** Número de asientos de cada mesa que ocupan clientes. */
+    private final int remotosPorMesa;
+
+    /** Cerrojo de la lista de espera y del generador del servidor. */
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    /** Generador del que se separa el de cada mesa (protegido por el cerrojo). */
+    private final SplittableRandom aleatorio;
+
+    /** Clientes esperando a completar una mesa (protegido por el cerrojo). */
+    private final List<Canal> enEspera = new ArrayList<>();
+
+    /** Canales abiertos, para cerrarlos con el servidor. */
+    private final Set<Canal> abiertos = ConcurrentHashMap.newKeySet();
+
+    /** Fábrica de los hilos virtuales de las mesas. */
+    private final ThreadFactory hilosMesa = Thread.ofVirtual().name("mesa-", 0).factory();
+
+    /** Mesas creadas, que sirve también para numerarlas. */
+    private final AtomicLong mesasCreadas = new AtomicLong();
+
+    /** Mesas en juego. */
+    private final AtomicInteger mesasActivas = new AtomicInteger();
+
+    /** Socket en el que se aceptan clientes ({@code null} si no se atiende ninguno). */
+    private volatile ServerSocket socket;
+
+    /** Si el servidor se ha cerrado. */
+    private volatile boolean cerrado;
+
+    /**
+     * Crea un servidor.
+     *
+     * @param jugadoresPorMesa número de jugadores de cada mesa
+     * @param remotosPorMesa   asientos de cada mesa que ocupan clientes (al
+     *                         menos uno); el resto los juega el servidor
+     * @param semilla          semilla del generador del servidor
+     * @throws IllegalArgumentException si el número de jugadores o de asientos remotos no es válido
+     */
+    public ServidorEscoba(int jugadoresPorMesa, int remotosPorMesa, long semilla) {
+        if (jugadoresPorMesa < Partida.MINIMO_JUGADORES || jugadoresPorMesa > Partida.MAXIMO_JUGADORES) {
+            throw new IllegalArgumentException("La partida es de " + Partida.MINIMO_JUGADORES + " a "
+                    + Partida.MAXIMO_JUGADORES + " jugadores: " + jugadoresPorMesa);
+        }
+        if (remotosPorMesa < 1 || remotosPorMesa > jugadoresPorMesa) {
+            throw new IllegalArgumentException("Asientos remotos no válidos: " + remotosPorMesa);
+        }
+        this.jugadoresPorMesa = jugadoresPorMesa;
+        this.remotosPorMesa = remotosPorMesa;
+        this.aleatorio = new SplittableRandom(semilla);
+    }
+
+    /**
+     * Acepta clientes en el socket hasta que se cierra el servidor. Bloquea
+     * el hilo que llama.
+     *
+     * @param servidor socket de escucha, que se cierra con el servidor
+     * @throws IOException si falla la aceptación de clientes sin haberse cerrado el servidor
+     */
+    public void atender(ServerSocket servidor) throws IOException {
+        socket = servidor;
+        if (cerrado) {
+            servidor.close();
+            return;
+        }
+        while (true) {
+            final Socket cliente;
+            try {
+                cliente = servidor.accept();
+            } catch (IOException e) {
+                if (cerrado) {
+                    return;
+                }
+                throw e;
+            }
+            try {
+                conectar(Canal.deSocket(cliente));
+            } catch (IOException | IllegalStateException e) {
+                // no se pudo configurar el socket o el servidor se cerró entre
+                // aceptar y sentar al cliente: nadie más cerrará el socket
+                cliente.close();
+            }
+        }
+    }
+
+    /**
+     * Sienta a un cliente en la siguiente mesa libre. Si con él se completan
+     * los asientos remotos, la mesa empieza a jugarse en un hilo virtual.
+     *
+     * @param canal canal con el cliente; el servidor lo cierra al terminar la partida
+     * @throws IllegalStateException si el servidor está cerrado
+     */
+    public void conectar(Canal canal) {
+        Canal[] remotos = null;
+        RandomGenerator aleatorioMesa = null;
+        cerrojo.lock();
+        try {
+            if (cerrado) {
+                throw new IllegalStateException("El servidor está cerrado");
+            }
+            abiertos.add(canal);
+            enEspera.add(canal);
+            if (enEspera.size() == remotosPorMesa) {
+                remotos = enEspera.toArray(new Canal[remotosPorMesa]);
+                enEspera.clear();
+                aleatorioMesa = aleatorio.split();
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+        if (remotos != null) {
+            final Canal[] sentados = remotos;
+            final RandomGenerator barajado = aleatorioMesa;
+            final long numero = mesasCreadas.incrementAndGet();
+            mesasActivas.incrementAndGet();
+            hilosMesa.newThread(() -> jugarMesa(numero, sentados, barajado)).start();
+        }
+    }
+
+    /**
+     * Consulta el número de mesas en juego.
+     *
+     * @return mesas cuya partida no ha terminado
+     */
+    public int consultarMesasActivas() {
+        return mesasActivas.get();
+    }
+
+    /**
+     * Consulta el número de mesas creadas desde que se arrancó el servidor.
+     *
+     * @return mesas creadas
+     */
+    public long consultarMesasCreadas() {
+        return mesasCreadas.get();
+    }
+
+    /**
+     * Consulta el número de clientes que esperan a completar una mesa.
+     *
+     * @return clientes en espera
+     */
+    public int consultarEnEspera() {
+        cerrojo.lock();
+        try {
+            return enEspera.size();
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Cierra el servidor: deja de aceptar clientes y cierra todos los
+     * canales. Las mesas en juego terminan con la estrategia sustituta en los
+     * asientos de los clientes.
+     *
+     * @throws IOException si no se puede cerrar el socket de escucha
+     */
+    @Override
+    public void close() throws IOException {
+        cerrojo.lock();
+        try {
+            cerrado = true;
+            enEspera.clear();
+        } finally {
+            cerrojo.unlock();
+        }
+        for (Canal canal : abiertos) {
+            cerrar(canal);
+        }
+        final ServerSocket servidor = socket;
+        if (servidor != null) {
+            servidor.close();
+        }
+    }
+
+    /**
+     * Juega la partida de una mesa y cierra los canales de sus clientes.
+     *
+     * @param numero  número de la mesa
+     * @param remotos canales de los clientes, en el orden de sus asientos
+     * @param barajado generador con el que se baraja
+     */
+    private void jugarMesa(long numero, Canal[] remotos, RandomGenerator barajado) {
+        try {
+            final Jugador[] jugadores = new Jugador[jugadoresPorMesa];
+            final Estrategia[] estrategias = new Estrategia[jugadoresPorMesa];
+            final EstrategiaRemota[] clientes = new EstrategiaRemota[remotos.length];
+            for (int i = 0; i < jugadoresPorMesa; i++) {
+                jugadores[i] = new Jugador("Jugador " + (i + 1));
+                if (i < remotos.length) {
+                    clientes[i] = new EstrategiaRemota(remotos[i], new EstrategiaVoraz());
+                    estrategias[i] = clientes[i];
+                } else {
+                    estrategias[i] = new EstrategiaVoraz();
+                }
+            }
+            final Partida partida = new Partida(jugadores, new Mesa(), new Baraja(barajado));
+            for (int i = 0; i < clientes.length; i++) {
+                clientes[i].notificar(ProtocoloMesa.linea(ProtocoloMesa.MESA, numero, i, jugadoresPorMesa,
+                        partida.obtenerNumeroEquipos()));
+            }
+
+            final Controlador controlador = new Controlador(partida, estrategias);
+            controlador.asignarObservador(new Difusion(clientes));
+            controlador.ejecutarPartida();
+
+            final int[] desgloses = new int[partida.obtenerNumeroEquipos()];
+            Puntuacion.puntuar(partida, desgloses);
+            final Object[] puntos = new Object[desgloses.length];
+            for (int i = 0; i < desgloses.length; i++) {
+                puntos[i] = Puntuacion.total(desgloses[i]);
+            }
+            final String fin = ProtocoloMesa.linea(ProtocoloMesa.FIN, puntos);
+            for (EstrategiaRemota cliente : clientes) {
+                cliente.notificar(fin);
+            }
+        } finally {
+            for (Canal canal : remotos) {
+                cerrar(canal);
+            }
+            mesasActivas.decrementAndGet();
+        }
+    }
+
+    /**
+     * Cierra un canal y lo olvida.
+     *
+     * @param canal canal
+     */
+    private void cerrar(Canal canal) {
+        abiertos.remove(canal);
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // el cliente ya no recibe nada más
+        }
+    }
+
+    /**
+     * Observador que envía cada jugada aplicada a todos los clientes de la
+     * mesa.
+     *
+     * @param clientes estrategias de los asientos remotos
+     */
+    private record Difusion(EstrategiaRemota[] clientes) implements ObservadorPartida {
+
+        @Override
+        public void jugadaAplicada(Partida partida, int asiento, Jugada jugada) {
+            final String linea = ProtocoloMesa.linea(ProtocoloMesa.JUGADA, asiento, jugada.consultarCarta().clave(),
+                    ProtocoloMesa.conjunto(jugada.consultarCaptura()));
+            for (EstrategiaRemota cliente : clientes) {
+                cliente.notificar(linea);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package escoba.simulacion;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Acumulador de resultados seguro para uso concurrente.
+ * <p>Cada total se guarda en un {@link LongAdder}, que reparte las sumas en
+ * celdas por hilo, de forma que varios trabajadores pueden volcar sus
+ * resultados a la vez sin competir por el mismo contador.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+final class AcumuladorConcurrente {
+
+    /** Número de totales por posición. */
+    private static final int NUMERO_TOTALES = 7;
+
+    /** Número de jugadores por partida. */
+    private final int numeroJugadores;
+
+    /** Partidas acumuladas. */
+    private final LongAdder partidas = new LongAdder();
+
+    /** Totales por posición: cartas, escobas, oros, sietes, sietes de oros, bazas y puntos. */
+    private final LongAdder[][] totales;
+
+    /**
+     * Crea un acumulador vacío.
+     *
+     * @param numeroJugadores número de jugadores por partida
+     */
+    AcumuladorConcurrente(int numeroJugadores) {
+        this.numeroJugadores = numeroJugadores;
+        this.totales = new LongAdder[numeroJugadores][NUMERO_TOTALES];
+        for (LongAdder[] posicion : totales) {
+            for (int i = 0; i < NUMERO_TOTALES; i++) {
+                posicion[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Suma los totales de un resultado parcial.
+     *
+     * @param resultado resultado parcial de un trabajador
+     */
+    void acumular(ResultadoSimulacion resultado) {
+        for (int i = 0; i < numeroJugadores; i++) {
+            LongAdder[] posicion = totales[i];
+            posicion[0].add(resultado.consultarCartas(i));
+            posicion[1].add(resultado.consultarEscobas(i));
+            posicion[2].add(resultado.consultarOros(i));
+            posicion[3].add(resultado.consultarSietes(i));
+            posicion[4].add(resultado.consultarSietesOros(i));
+            posicion[5].add(resultado.consultarBazas(i));
+            posicion[6].add(resultado.consultarPuntos(i));
+        }
+        partidas.add(resultado.consultarPartidas());
+    }
+
+    /**
+     * Vuelca los totales acumulados en un resultado.
+     *
+     * @param resultado resultado donde se suman los totales
+     */
+    void volcarEn(ResultadoSimulacion resultado) {
+        for (int i = 0; i < numeroJugadores; i++) {
+            LongAdder[] posicion = totales[i];
+            resultado.sumar(i, posicion[0].sum(), posicion[1].sum(), posicion[2].sum(), posicion[3].sum(),
+                    posicion[4].sum(), posicion[5].sum(), posicion[6].sum());
+        }
+        resultado.sumarPartidas(partidas.sum());
+    }
+}
@@ -0,0 +1,185 @@
+package escoba.simulacion;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+import escoba.control.Controlador;
+import escoba.control.Estrategia;
+import escoba.modelo.Baraja;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Comparación de dos estrategias por repartos duplicados.
+ * <p>Cada reparto se juega dos veces con el mismo orden de la baraja: primero
+ * con la estrategia A en el primer asiento y B en el segundo, y después con
+ * los asientos cambiados. Así las dos estrategias reciben las mismas cartas y
+ * la diferencia de puntos del reparto mide sobre todo la habilidad, no la
+ * suerte, lo que reduce mucho las partidas necesarias para distinguirlas (ver
+ * {@link ResultadoDuplicado#factorReduccion()}).</p>
+ *
+ * <p>Con una {@link PruebaSecuencial} la comparación se detiene en cuanto el
+ * resultado es concluyente.</p>
+ *
+ * <p>El orden de cada reparto se obtiene de una semilla derivada de la del
+ * duplicado y del número de reparto: antes de cada una de las dos partidas se
+ * coloca la baraja en su orden natural y se reinicia su generador con esa
+ * semilla, de modo que el {@link Controlador} la mezcla igual las dos veces.
+ * Como el {@link Simulador}, reutiliza la misma {@link Partida} y no es
+ * seguro para uso concurrente.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class Duplicado {
+
+    /** Orden natural de la baraja, del que parte cada mezcla. */
+    private static final byte[] ORDEN_NATURAL = ordenNatural();
+
+    /** Semilla del duplicado. */
+    private final long semilla;
+
+    /** Generador de la baraja, que se reinicia en cada partida. */
+    private final GeneradorRepetible generador = new GeneradorRepetible();
+
+    /** Partida reutilizada en todos los repartos. */
+    private final Partida partida;
+
+    /** Estrategias con A en el primer asiento. */
+    private final Estrategia[] directas;
+
+    /** Estrategias con A en el segundo asiento. */
+    private final Estrategia[] cambiadas;
+
+    /** Desgloses de la última partida, reutilizados. */
+    private final int[] desgloses = new int[2];
+
+    /**
+     * Crea una comparación por repartos duplicados.
+     *
+     * @param semilla semilla de la que se derivan los repartos
+     * @param a       estrategia A
+     * @param b       estrategia B
+     */
+    public Duplicado(long semilla, Estrategia a, Estrategia b) {
+        Objects.requireNonNull(a, "La estrategia A no puede ser nula");
+        Objects.requireNonNull(b, "La estrategia B no puede ser nula");
+        this.semilla = semilla;
+        this.directas = new Estrategia[] { a, b };
+        this.cambiadas = new Estrategia[] { b, a };
+        this.partida = new Partida(new Jugador("Jugador 1"), new Jugador("Jugador 2"), new Mesa(),
+                new Baraja(generador));
+    }
+
+    /**
+     * Juega un número fijo de repartos.
+     *
+     * @param repartos número de repartos, cada uno en dos partidas
+     * @return resultados
+     */
+    public ResultadoDuplicado jugar(long repartos) {
+        return jugar(repartos, null);
+    }
+
+    /**
+     * Juega repartos hasta que la prueba secuencial decide o se alcanza el
+     * máximo.
+     *
+     * @param maximoRepartos máximo de repartos
+     * @param prueba         prueba secuencial, {@code null} para jugar todos
+     * @return resultados, con la decisión de la prueba si la hay
+     */
+    public ResultadoDuplicado jugar(long maximoRepartos, PruebaSecuencial prueba) {
+        final ResultadoDuplicado resultado = new ResultadoDuplicado();
+        final long inicio = System.nanoTime();
+        PruebaSecuencial.Decision decision = PruebaSecuencial.Decision.CONTINUAR;
+        for (long reparto = 0; reparto < maximoRepartos && decision == PruebaSecuencial.Decision.CONTINUAR;
+                reparto++) {
+            final long semillaReparto = semillaReparto(reparto);
+            final int diferencia1 = jugarPartida(semillaReparto, directas);
+            final int diferencia2 = -jugarPartida(semillaReparto, cambiadas);
+            resultado.acumular(diferencia1, diferencia2);
+            if (prueba != null) {
+                decision = prueba.evaluar(resultado);
+            }
+        }
+        resultado.sumarTiempo(System.nanoTime() - inicio);
+        if (prueba != null) {
+            resultado.anotarDecision(decision);
+        }
+        return resultado;
+    }
+
+    /**
+     * Juega una partida con la baraja del reparto.
+     *
+     * @param semillaReparto semilla del orden de la baraja
+     * @param estrategias    estrategias de cada asiento
+     * @return puntos del primer asiento menos los del segundo
+     */
+    private int jugarPartida(long semillaReparto, Estrategia[] estrategias) {
+        partida.reiniciar();
+        partida.obtenerBaraja().ordenar(ORDEN_NATURAL);
+        generador.reiniciar(semillaReparto);
+        new Controlador(partida, estrategias).ejecutarPartida();
+        Puntuacion.puntuar(partida, desgloses);
+        return Puntuacion.total(desgloses[0]) - Puntuacion.total(desgloses[1]);
+    }
+
+    /**
+     * Deriva la semilla de un reparto.
+     *
+     * @param reparto número de reparto
+     * @return semilla del reparto
+     */
+    private long semillaReparto(long reparto) {
+        return Semillas.derivar(semilla, reparto);
+    }
+
+    /**
+     * Crea el orden natural de la baraja, por claves.
+     *
+     * @return claves de 1 a {@link Baraja#NUMERO_CARTAS}
+     */
+    private static byte[] ordenNatural() {
+        final byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = (byte) (i + 1);
+        }
+        return orden;
+    }
+
+    /**
+     * Generador SplitMix64 que puede volver a una semilla, para barajar dos
+     * veces igual sin crear otro generador.
+     */
+    private static final class GeneradorRepetible implements RandomGenerator {
+
+        /** Estado del generador. */
+        private long estado;
+
+        /**
+         * Vuelve a empezar desde una semilla.
+         *
+         * @param semilla semilla
+         */
+        void reiniciar(long semilla) {
+            estado = semilla;
+        }
+
+        @Override
+        public long nextLong() {
+            estado += Semillas.GOLDEN_GAMMA;
+            return Semillas.mezclar(estado);
+        }
+    }
+}
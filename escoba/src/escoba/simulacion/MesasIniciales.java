@@ -0,0 +1,303 @@
+package escoba.simulacion;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Combinaciones;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+import escoba.modelo.Permutacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Enumeración exhaustiva de las mesas iniciales posibles cuando las manos
+ * de algunos jugadores están fijadas.
+ * <p>Cada mesa de {@value #CARTAS_MESA} cartas elegida entre las cartas no
+ * fijadas define un estrato de repartos. Las mesas se recorren y numeran con
+ * {@link Combinaciones}, y cada una tiene un orden canónico de la baraja,
+ * en el que las cartas que no se han fijado van por orden de clave, cuyo
+ * rango de Lehmer (ver {@link Permutacion}) sirve de clave compacta y
+ * determinista del estrato para registros y cachés.</p>
+ *
+ * <p>El orden sigue el reparto del {@link escoba.control.Controlador}: tres
+ * cartas a cada jugador, de una en una y por orden de asiento (ver
+ * {@link Partida#repartir(int)}), y después las cuatro de la mesa. Las manos
+ * con menos de {@value #CARTAS_MANO} cartas fijadas se completan en el orden
+ * canónico con las cartas libres de menor clave que no están en la mesa.</p>
+ *
+ * <p>Con {@link #distribuir()} se obtiene la distribución exacta, en lugar
+ * de muestreada, de las mesas iniciales que dan escoba. No es seguro para
+ * uso concurrente.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class MesasIniciales {
+
+    /** Cartas de la mesa inicial. */
+    public static final int CARTAS_MESA = 4;
+
+    /** Cartas de cada mano. */
+    public static final int CARTAS_MANO = 3;
+
+    /** Suma máxima de una mesa inicial (cuatro reyes). */
+    private static final int SUMA_MAXIMA = 40;
+
+    /** Cartas fijadas de la mano de cada asiento. */
+    private final long[] manos;
+
+    /** Manos completadas al componer un orden, reutilizadas. */
+    private final long[] completas;
+
+    /** Cartas no fijadas, entre las que se eligen las mesas. */
+    private final long libres;
+
+    /** Orden reutilizado al calcular rangos. */
+    private final byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+
+    /**
+     * Distribución exacta de las sumas de las mesas iniciales.
+     *
+     * @param mesas     número de mesas posibles
+     * @param porSuma   número de mesas con cada suma de puntos, de 0 a 40
+     * @param barribles número de mesas que el primer jugador puede llevarse
+     *                  enteras con una de las cartas fijadas de su mano
+     */
+    public record Distribucion(long mesas, long[] porSuma, long barribles) {
+
+        /**
+         * Número de mesas que suman 15 puntos, con las que quien reparte hace
+         * escoba según el reglamento habitual.
+         *
+         * @return mesas que suman 15
+         */
+        public long sumanQuince() {
+            return porSuma[Mesa.SUMA_PUNTOS_A_ALCANZAR];
+        }
+
+        /**
+         * Número de mesas que suman 30 puntos, con las que quien reparte hace
+         * dos escobas según el reglamento habitual.
+         *
+         * @return mesas que suman 30
+         */
+        public long sumanTreinta() {
+            return porSuma[2 * Mesa.SUMA_PUNTOS_A_ALCANZAR];
+        }
+
+        /**
+         * Calcula la proporción de mesas de un caso.
+         *
+         * @param casos número de mesas del caso
+         * @return proporción entre 0 y 1
+         */
+        public double proporcion(long casos) {
+            return mesas == 0 ? 0 : (double) casos / mesas;
+        }
+
+        /**
+         * Recupera un resumen en formato texto.
+         *
+         * @return texto descriptivo
+         */
+        public String aTexto() {
+            StringBuilder texto = new StringBuilder();
+            texto.append(String.format("Mesas iniciales posibles: %d%n", mesas));
+            texto.append(String.format("Suman 15 (escoba de quien reparte): %d (%.4f %%)%n", sumanQuince(),
+                    100 * proporcion(sumanQuince())));
+            texto.append(String.format("Suman 30 (dos escobas de quien reparte): %d (%.4f %%)%n", sumanTreinta(),
+                    100 * proporcion(sumanTreinta())));
+            texto.append(String.format("El primer jugador puede barrerlas: %d (%.4f %%)%n", barribles,
+                    100 * proporcion(barribles)));
+            return texto.toString();
+        }
+    }
+
+    /**
+     * Prepara la enumeración.
+     *
+     * @param manos cartas fijadas de la mano de cada asiento (ver
+     *              {@link CartaSet}), {@link CartaSet#VACIO} si no se fija
+     *              ninguna; hay tantas como jugadores
+     * @throws IllegalArgumentException si el número de jugadores no es válido
+     *                                  o las manos no son conjuntos disjuntos
+     *                                  de como mucho {@value #CARTAS_MANO} cartas
+     */
+    public MesasIniciales(long... manos) {
+        if (manos.length < Partida.MINIMO_JUGADORES || manos.length > Partida.MAXIMO_JUGADORES) {
+            throw new IllegalArgumentException("La partida es de " + Partida.MINIMO_JUGADORES + " a "
+                    + Partida.MAXIMO_JUGADORES + " jugadores: " + manos.length);
+        }
+        long fijadas = CartaSet.VACIO;
+        for (long mano : manos) {
+            if ((mano & ~CartaSet.TODAS) != CartaSet.VACIO || (mano & fijadas) != CartaSet.VACIO
+                    || CartaSet.contar(mano) > CARTAS_MANO) {
+                throw new IllegalArgumentException("Mano no válida: " + Long.toHexString(mano));
+            }
+            fijadas |= mano;
+        }
+        this.manos = manos.clone();
+        this.completas = new long[manos.length];
+        this.libres = CartaSet.TODAS & ~fijadas;
+    }
+
+    /**
+     * Consulta el número de mesas posibles.
+     *
+     * @return número de combinaciones de {@value #CARTAS_MESA} cartas libres
+     */
+    public long contar() {
+        return Combinaciones.contar(CartaSet.contar(libres), CARTAS_MESA);
+    }
+
+    /**
+     * Devuelve la primera mesa.
+     *
+     * @return conjunto de cartas de la mesa
+     */
+    public long primera() {
+        return Combinaciones.primera(libres, CARTAS_MESA);
+    }
+
+    /**
+     * Devuelve la mesa siguiente.
+     *
+     * @param mesa mesa actual
+     * @return mesa siguiente, o {@link CartaSet#VACIO} si era la última
+     */
+    public long siguiente(long mesa) {
+        return Combinaciones.siguiente(libres, mesa);
+    }
+
+    /**
+     * Calcula el índice de una mesa dentro del estrato de las manos fijadas.
+     *
+     * @param mesa mesa
+     * @return índice entre 0 y {@link #contar()} - 1
+     */
+    public long indice(long mesa) {
+        return Combinaciones.indice(libres, mesa);
+    }
+
+    /**
+     * Reconstruye la mesa de un índice, por ejemplo para muestrear el estrato
+     * uniformemente.
+     *
+     * @param indice índice entre 0 y {@link #contar()} - 1
+     * @return mesa
+     * @throws IllegalArgumentException si el índice está fuera de límites
+     */
+    public long enIndice(long indice) {
+        return Combinaciones.enIndice(libres, CARTAS_MESA, indice);
+    }
+
+    /**
+     * Compone el orden canónico de la baraja para una mesa.
+     *
+     * @param mesa    mesa, formada por {@value #CARTAS_MESA} cartas libres
+     * @param destino array de al menos {@link Baraja#NUMERO_CARTAS} posiciones
+     *                donde se escriben las claves en orden
+     * @throws IllegalArgumentException si la mesa no es válida
+     */
+    public void componerOrden(long mesa, byte[] destino) {
+        if ((mesa & ~libres) != CartaSet.VACIO || CartaSet.contar(mesa) != CARTAS_MESA) {
+            throw new IllegalArgumentException("Mesa no válida: " + Long.toHexString(mesa));
+        }
+        long resto = libres & ~mesa;
+        for (int asiento = 0; asiento < manos.length; asiento++) {
+            long mano = manos[asiento];
+            while (CartaSet.contar(mano) < CARTAS_MANO) {
+                mano |= Long.lowestOneBit(resto);
+                resto = CartaSet.quitarPrimera(resto);
+            }
+            completas[asiento] = mano;
+        }
+
+        int posicion = 0;
+        for (int carta = 0; carta < CARTAS_MANO; carta++) {
+            for (int asiento = 0; asiento < completas.length; asiento++) {
+                destino[posicion++] = (byte) CartaSet.primera(completas[asiento]).clave();
+                completas[asiento] = CartaSet.quitarPrimera(completas[asiento]);
+            }
+        }
+        posicion = colocar(mesa, destino, posicion);
+        colocar(resto, destino, posicion);
+    }
+
+    /**
+     * Calcula el rango de Lehmer del orden canónico de la baraja para una
+     * mesa, que puede cargarse con {@link Baraja#ordenarPorRango(byte[], int)}.
+     *
+     * @param mesa           mesa, formada por {@value #CARTAS_MESA} cartas libres
+     * @param destino        array donde se escribe el rango
+     * @param desplazamiento posición de {@code destino} donde empieza el rango
+     * @throws IllegalArgumentException si la mesa no es válida
+     */
+    public void codificar(long mesa, byte[] destino, int desplazamiento) {
+        componerOrden(mesa, orden);
+        Permutacion.codificar(orden, destino, desplazamiento);
+    }
+
+    /**
+     * Recorre todas las mesas posibles y calcula la distribución exacta de
+     * sus sumas.
+     *
+     * @return distribución
+     */
+    public Distribucion distribuir() {
+        // puntuaciones de las cartas fijadas del primer jugador, como máscara
+        int puntosMano = 0;
+        for (long resto = manos[0]; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+            puntosMano |= 1 << CartaSet.primera(resto).puntuacion();
+        }
+        final long[] porSuma = new long[SUMA_MAXIMA + 1];
+        long mesas = 0;
+        long barribles = 0;
+        for (long mesa = primera(); mesa != CartaSet.VACIO; mesa = siguiente(mesa)) {
+            final int suma = sumar(mesa);
+            porSuma[suma]++;
+            mesas++;
+            if (suma < Mesa.SUMA_PUNTOS_A_ALCANZAR
+                    && (puntosMano & (1 << (Mesa.SUMA_PUNTOS_A_ALCANZAR - suma))) != 0) {
+                barribles++;
+            }
+        }
+        return new Distribucion(mesas, porSuma, barribles);
+    }
+
+    /**
+     * Suma los puntos de un conjunto de cartas.
+     *
+     * @param cartas conjunto de cartas
+     * @return suma de las puntuaciones
+     */
+    private static int sumar(long cartas) {
+        int suma = 0;
+        for (long resto = cartas; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+            suma += CartaSet.primera(resto).puntuacion();
+        }
+        return suma;
+    }
+
+    /**
+     * Escribe en orden de clave las cartas de un conjunto.
+     *
+     * @param cartas   conjunto de cartas
+     * @param destino  array de claves
+     * @param posicion primera posición donde escribir
+     * @return posición siguiente a la última escrita
+     */
+    private static int colocar(long cartas, byte[] destino, int posicion) {
+        for (long resto = cartas; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+            final Carta carta = CartaSet.primera(resto);
+            destino[posicion++] = (byte) carta.clave();
+        }
+        return posicion;
+    }
+}
@@ -0,0 +1,135 @@
+package escoba.simulacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Prueba secuencial de razón de verosimilitudes (SPRT) de Wald sobre la
+ * ventaja media de A en un {@link ResultadoDuplicado}.
+ * <p>Contrasta la hipótesis H0, ventaja {@code h0} puntos por partida,
+ * frente a H1, ventaja {@code h1}, con aproximación normal y la varianza
+ * estimada de la muestra. El logaritmo de la razón de verosimilitudes es</p>
+ * <pre>
+ *     LLR = (h1 - h0) / varianza * (suma - n * (h0 + h1) / 2)
+ * </pre>
+ * <p>y la prueba se detiene cuando sale del intervalo
+ * {@code [ln(beta / (1 - alfa)), ln((1 - beta) / alfa)]}: por abajo se
+ * acepta H0 y por arriba H1, con probabilidades de error alfa y beta.</p>
+ *
+ * <p>Hasta un número mínimo de repartos no se decide nada, para que la
+ * estimación de la varianza sea fiable.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public final class PruebaSecuencial {
+
+    /** Repartos mínimos por defecto antes de decidir. */
+    public static final long MINIMO_POR_DEFECTO = 100;
+
+    /**
+     * Resultado de evaluar la prueba.
+     */
+    public enum Decision {
+        /** Aún no hay evidencia suficiente. */
+        CONTINUAR,
+        /** Se acepta H0: la ventaja de A no llega a la de H1. */
+        ACEPTAR_H0,
+        /** Se acepta H1: A tiene al menos la ventaja de H1. */
+        ACEPTAR_H1
+    }
+
+    /** Ventaja de A por partida según H0. */
+    private final double h0;
+
+    /** Ventaja de A por partida según H1. */
+    private final double h1;
+
+    /** Límite inferior del logaritmo de la razón de verosimilitudes. */
+    private final double limiteInferior;
+
+    /** Límite superior del logaritmo de la razón de verosimilitudes. */
+    private final double limiteSuperior;
+
+    /** Repartos mínimos antes de decidir. */
+    private final long minimo;
+
+    /**
+     * Crea una prueba con el mínimo de repartos por defecto.
+     *
+     * @param h0   ventaja de A por partida según H0
+     * @param h1   ventaja de A por partida según H1, mayor que {@code h0}
+     * @param alfa probabilidad de aceptar H1 siendo cierta H0
+     * @param beta probabilidad de aceptar H0 siendo cierta H1
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     */
+    public PruebaSecuencial(double h0, double h1, double alfa, double beta) {
+        this(h0, h1, alfa, beta, MINIMO_POR_DEFECTO);
+    }
+
+    /**
+     * Crea una prueba.
+     *
+     * @param h0     ventaja de A por partida según H0
+     * @param h1     ventaja de A por partida según H1, mayor que {@code h0}
+     * @param alfa   probabilidad de aceptar H1 siendo cierta H0
+     * @param beta   probabilidad de aceptar H0 siendo cierta H1
+     * @param minimo repartos mínimos antes de decidir
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     */
+    public PruebaSecuencial(double h0, double h1, double alfa, double beta, long minimo) {
+        if (!(h1 > h0)) {
+            throw new IllegalArgumentException("H1 debe suponer más ventaja que H0: " + h0 + ", " + h1);
+        }
+        if (!(alfa > 0 && alfa < 1 && beta > 0 && beta < 1)) {
+            throw new IllegalArgumentException("Probabilidades de error no válidas: " + alfa + ", " + beta);
+        }
+        this.h0 = h0;
+        this.h1 = h1;
+        this.limiteInferior = Math.log(beta / (1 - alfa));
+        this.limiteSuperior = Math.log((1 - beta) / alfa);
+        this.minimo = Math.max(minimo, 2);
+    }
+
+    /**
+     * Calcula el logaritmo de la razón de verosimilitudes de H1 frente a H0.
+     * <p>Si la varianza es nula, todas las muestras son iguales y el resultado
+     * es infinito hacia la hipótesis más cercana.</p>
+     *
+     * @param resultado resultado acumulado
+     * @return logaritmo de la razón de verosimilitudes
+     */
+    public double razonVerosimilitud(ResultadoDuplicado resultado) {
+        final long repartos = resultado.consultarRepartos();
+        final double exceso = repartos * (resultado.media() - (h0 + h1) / 2);
+        final double varianza = resultado.varianza();
+        if (varianza == 0) {
+            return exceso == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, exceso);
+        }
+        return (h1 - h0) / varianza * exceso;
+    }
+
+    /**
+     * Evalúa la prueba sobre el resultado acumulado.
+     *
+     * @param resultado resultado acumulado
+     * @return decisión
+     */
+    public Decision evaluar(ResultadoDuplicado resultado) {
+        if (resultado.consultarRepartos() < minimo) {
+            return Decision.CONTINUAR;
+        }
+        final double llr = razonVerosimilitud(resultado);
+        if (llr >= limiteSuperior) {
+            return Decision.ACEPTAR_H1;
+        }
+        if (llr <= limiteInferior) {
+            return Decision.ACEPTAR_H0;
+        }
+        return Decision.CONTINUAR;
+    }
+}
@@ -0,0 +1,231 @@
+package escoba.simulacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Resultados de una comparación por repartos duplicados entre una
+ * estrategia A y una estrategia B.
+ * <p>Cada reparto se juega dos veces, una con A en cada asiento, y de cada
+ * partida se guarda la diferencia de puntos de A menos los de B. La muestra
+ * que se analiza es la media de las dos diferencias de cada reparto: la
+ * suerte de las cartas afecta por igual a las dos partidas y se cancela en
+ * gran parte, de modo que su varianza es mucho menor que la de partidas
+ * independientes.</p>
+ *
+ * <p>No es seguro para uso concurrente.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see Duplicado
+ */
+public class ResultadoDuplicado {
+
+    /** Valor de la normal tipificada para un intervalo de confianza del 95 %. */
+    public static final double Z_95 = 1.959963984540054;
+
+    /** Nanosegundos por segundo. */
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000.0;
+
+    /** Repartos jugados, cada uno en dos partidas. */
+    private long repartos;
+
+    /** Suma de las diferencias de las dos partidas de cada reparto. */
+    private long sumaParejas;
+
+    /** Suma de los cuadrados de las diferencias de las dos partidas de cada reparto. */
+    private long sumaCuadradosParejas;
+
+    /** Suma de los cuadrados de la diferencia de cada partida. */
+    private long sumaCuadradosPartidas;
+
+    /** Repartos en los que A suma más puntos que B. */
+    private long ganados;
+
+    /** Repartos en los que A suma menos puntos que B. */
+    private long perdidos;
+
+    /** Tiempo empleado en nanosegundos. */
+    private long nanos;
+
+    /** Decisión de la prueba secuencial ({@code null} si no se ha usado). */
+    private PruebaSecuencial.Decision decision;
+
+    /**
+     * Acumula un reparto.
+     *
+     * @param diferencia1 puntos de A menos puntos de B con A en el primer asiento
+     * @param diferencia2 puntos de A menos puntos de B con A en el segundo asiento
+     */
+    public void acumular(int diferencia1, int diferencia2) {
+        final long pareja = (long) diferencia1 + diferencia2;
+        repartos++;
+        sumaParejas += pareja;
+        sumaCuadradosParejas += pareja * pareja;
+        sumaCuadradosPartidas += (long) diferencia1 * diferencia1 + (long) diferencia2 * diferencia2;
+        if (pareja > 0) {
+            ganados++;
+        } else if (pareja < 0) {
+            perdidos++;
+        }
+    }
+
+    /**
+     * Suma tiempo empleado.
+     *
+     * @param nanosegundos nanosegundos empleados
+     */
+    public void sumarTiempo(long nanosegundos) {
+        nanos += nanosegundos;
+    }
+
+    /**
+     * Anota la decisión de la prueba secuencial.
+     *
+     * @param decision decisión
+     */
+    void anotarDecision(PruebaSecuencial.Decision decision) {
+        this.decision = decision;
+    }
+
+    /**
+     * Consulta el número de repartos jugados.
+     *
+     * @return repartos, la mitad de las partidas
+     */
+    public long consultarRepartos() {
+        return repartos;
+    }
+
+    /**
+     * Consulta los repartos en los que A ha sumado más puntos que B.
+     *
+     * @return repartos ganados por A
+     */
+    public long consultarGanados() {
+        return ganados;
+    }
+
+    /**
+     * Consulta los repartos en los que A ha sumado menos puntos que B.
+     *
+     * @return repartos perdidos por A
+     */
+    public long consultarPerdidos() {
+        return perdidos;
+    }
+
+    /**
+     * Consulta la decisión de la prueba secuencial.
+     *
+     * @return decisión, o {@code null} si no se ha usado prueba secuencial
+     */
+    public PruebaSecuencial.Decision consultarDecision() {
+        return decision;
+    }
+
+    /**
+     * Calcula la ventaja media de A por partida.
+     *
+     * @return media de las diferencias de puntos por partida, 0 sin repartos
+     */
+    public double media() {
+        return repartos == 0 ? 0 : sumaParejas / (2.0 * repartos);
+    }
+
+    /**
+     * Calcula la varianza muestral de la ventaja media de A en un reparto.
+     *
+     * @return varianza, 0 con menos de dos repartos
+     */
+    public double varianza() {
+        if (repartos < 2) {
+            return 0;
+        }
+        final double media = (double) sumaParejas / repartos;
+        return (sumaCuadradosParejas - media * sumaParejas) / (4.0 * (repartos - 1));
+    }
+
+    /**
+     * Calcula el error típico de {@link #media()}.
+     *
+     * @return error típico
+     */
+    public double errorTipico() {
+        return repartos == 0 ? 0 : Math.sqrt(varianza() / repartos);
+    }
+
+    /**
+     * Calcula el extremo inferior del intervalo de confianza de la media.
+     *
+     * @param z valor de la normal tipificada, por ejemplo {@link #Z_95}
+     * @return extremo inferior
+     */
+    public double limiteInferior(double z) {
+        return media() - z * errorTipico();
+    }
+
+    /**
+     * Calcula el extremo superior del intervalo de confianza de la media.
+     *
+     * @param z valor de la normal tipificada, por ejemplo {@link #Z_95}
+     * @return extremo superior
+     */
+    public double limiteSuperior(double z) {
+        return media() + z * errorTipico();
+    }
+
+    /**
+     * Calcula cuántas partidas independientes darían la misma precisión que
+     * cada partida duplicada: el cociente entre la varianza de la diferencia
+     * de una partida suelta y la que aporta cada partida de un reparto.
+     *
+     * @return factor de ahorro de partidas, 0 si aún no puede calcularse
+     */
+    public double factorReduccion() {
+        final double varianzaReparto = varianza();
+        if (repartos < 2 || varianzaReparto == 0) {
+            return 0;
+        }
+        final long partidas = 2 * repartos;
+        final double media = (double) sumaParejas / partidas;
+        final double varianzaPartida = (sumaCuadradosPartidas - media * sumaParejas) / (partidas - 1);
+        return varianzaPartida / (2 * varianzaReparto);
+    }
+
+    /**
+     * Calcula el rendimiento.
+     *
+     * @return partidas por segundo, 0 si no se ha medido tiempo
+     */
+    public double partidasPorSegundo() {
+        return nanos == 0 ? 0 : 2 * repartos * NANOS_POR_SEGUNDO / nanos;
+    }
+
+    /**
+     * Recupera un resumen en formato texto.
+     *
+     * @return texto descriptivo
+     */
+    public String aTexto() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("Repartos: %d (%d partidas, %.0f partidas/s)%n", repartos, 2 * repartos,
+                partidasPorSegundo()));
+        texto.append(String.format("Repartos ganados por A: %d, perdidos: %d, empatados: %d%n", ganados, perdidos,
+                repartos - ganados - perdidos));
+        texto.append(String.format("Ventaja de A por partida: %+.3f puntos, IC 95 %%: [%+.3f, %+.3f]%n", media(),
+                limiteInferior(Z_95), limiteSuperior(Z_95)));
+        if (factorReduccion() > 0) {
+            texto.append(String.format("Cada partida duplicada equivale a %.1f partidas independientes%n",
+                    factorReduccion()));
+        }
+        if (decision != null) {
+            texto.append("Prueba secuencial: ").append(decision).append(String.format("%n"));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,293 @@
+package escoba.simulacion;
+
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Resultados agregados de una serie de partidas simuladas.
+ * <p>Acumula, por posición en la mesa, los totales de cartas, escobas, oros,
+ * sietes, sietes de oros y bazas conseguidos y los puntos de su equipo según
+ * {@link Puntuacion}, junto con el número de partidas y el tiempo empleado
+ * para calcular el rendimiento.</p>
+ *
+ * <p>No es seguro para uso concurrente: cada hilo debe acumular en su propio
+ * resultado y combinarlos al final con {@link #combinar(ResultadoSimulacion)}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class ResultadoSimulacion {
+
+    /** Nanosegundos por segundo. */
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000.0;
+
+    /** Número de jugadores por partida. */
+    private final int numeroJugadores;
+
+    /** Partidas acumuladas. */
+    private long partidas;
+
+    /** Tiempo empleado en nanosegundos. */
+    private long nanos;
+
+    /** Cartas recogidas por posición. */
+    private final long[] cartas;
+
+    /** Escobas por posición. */
+    private final long[] escobas;
+
+    /** Oros recogidos por posición. */
+    private final long[] oros;
+
+    /** Sietes recogidos por posición. */
+    private final long[] sietes;
+
+    /** Partidas en las que cada posición consiguió el siete de oros. */
+    private final long[] sietesOros;
+
+    /** Bazas conseguidas por posición. */
+    private final long[] bazas;
+
+    /** Puntos del equipo de cada posición. */
+    private final long[] puntos;
+
+    /** Desgloses de la última partida acumulada, reutilizados entre partidas. */
+    private final int[] desgloses;
+
+    /**
+     * Crea un resultado vacío.
+     *
+     * @param numeroJugadores número de jugadores por partida
+     */
+    public ResultadoSimulacion(int numeroJugadores) {
+        this.numeroJugadores = numeroJugadores;
+        this.cartas = new long[numeroJugadores];
+        this.escobas = new long[numeroJugadores];
+        this.oros = new long[numeroJugadores];
+        this.sietes = new long[numeroJugadores];
+        this.sietesOros = new long[numeroJugadores];
+        this.bazas = new long[numeroJugadores];
+        this.puntos = new long[numeroJugadores];
+        this.desgloses = new int[numeroJugadores];
+    }
+
+    /**
+     * Acumula las estadísticas de una partida terminada.
+     *
+     * @param partida partida terminada
+     */
+    public void acumular(Partida partida) {
+        Jugador[] jugadores = partida.obtenerJugadores();
+        Puntuacion.puntuar(partida, desgloses);
+        for (int i = 0; i < numeroJugadores; i++) {
+            Jugador jugador = jugadores[i];
+            cartas[i] += jugador.contarCartas();
+            escobas[i] += jugador.consultarEscobas();
+            oros[i] += jugador.contarOros();
+            sietes[i] += jugador.contarSietes();
+            bazas[i] += jugador.consultarNumeroBazas();
+            puntos[i] += Puntuacion.total(desgloses[partida.obtenerEquipo(i)]);
+            if (jugador.tieneSieteOros()) {
+                sietesOros[i]++;
+            }
+        }
+        partidas++;
+    }
+
+    /**
+     * Suma el tiempo empleado en simular.
+     *
+     * @param nanosegundos tiempo en nanosegundos
+     */
+    public void sumarTiempo(long nanosegundos) {
+        nanos += nanosegundos;
+    }
+
+    /**
+     * Combina en este resultado los totales de otro.
+     *
+     * @param otro resultado con el mismo número de jugadores
+     * @throws IllegalArgumentException si el número de jugadores no coincide
+     */
+    public void combinar(ResultadoSimulacion otro) {
+        if (otro.numeroJugadores != numeroJugadores) {
+            throw new IllegalArgumentException("No se pueden combinar resultados de " + numeroJugadores
+                    + " y " + otro.numeroJugadores + " jugadores");
+        }
+        for (int i = 0; i < numeroJugadores; i++) {
+            cartas[i] += otro.cartas[i];
+            escobas[i] += otro.escobas[i];
+            oros[i] += otro.oros[i];
+            sietes[i] += otro.sietes[i];
+            sietesOros[i] += otro.sietesOros[i];
+            bazas[i] += otro.bazas[i];
+            puntos[i] += otro.puntos[i];
+        }
+        partidas += otro.partidas;
+        nanos += otro.nanos;
+    }
+
+    /**
+     * Suma totales de una posición ya agregados externamente.
+     *
+     * @param posicion   posición del jugador
+     * @param cartas     cartas recogidas
+     * @param escobas    escobas
+     * @param oros       oros recogidos
+     * @param sietes     sietes recogidos
+     * @param sietesOros partidas con el siete de oros
+     * @param bazas      bazas conseguidas
+     * @param puntos     puntos del equipo
+     */
+    void sumar(int posicion, long cartas, long escobas, long oros, long sietes, long sietesOros, long bazas,
+            long puntos) {
+        this.cartas[posicion] += cartas;
+        this.escobas[posicion] += escobas;
+        this.oros[posicion] += oros;
+        this.sietes[posicion] += sietes;
+        this.sietesOros[posicion] += sietesOros;
+        this.bazas[posicion] += bazas;
+        this.puntos[posicion] += puntos;
+    }
+
+    /**
+     * Suma partidas ya agregadas externamente.
+     *
+     * @param partidas número de partidas
+     */
+    void sumarPartidas(long partidas) {
+        this.partidas += partidas;
+    }
+
+    /**
+     * Consulta el número de jugadores por partida.
+     *
+     * @return número de jugadores
+     */
+    public int consultarNumeroJugadores() {
+        return numeroJugadores;
+    }
+
+    /**
+     * Consulta el número de partidas acumuladas.
+     *
+     * @return número de partidas
+     */
+    public long consultarPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Consulta el tiempo empleado en nanosegundos.
+     *
+     * @return tiempo en nanosegundos
+     */
+    public long consultarNanos() {
+        return nanos;
+    }
+
+    /**
+     * Consulta el total de cartas recogidas por una posición.
+     *
+     * @param posicion posición del jugador
+     * @return total de cartas
+     */
+    public long consultarCartas(int posicion) {
+        return cartas[posicion];
+    }
+
+    /**
+     * Consulta el total de escobas de una posición.
+     *
+     * @param posicion posición del jugador
+     * @return total de escobas
+     */
+    public long consultarEscobas(int posicion) {
+        return escobas[posicion];
+    }
+
+    /**
+     * Consulta el total de oros recogidos por una posición.
+     *
+     * @param posicion posición del jugador
+     * @return total de oros
+     */
+    public long consultarOros(int posicion) {
+        return oros[posicion];
+    }
+
+    /**
+     * Consulta el total de sietes recogidos por una posición.
+     *
+     * @param posicion posición del jugador
+     * @return total de sietes
+     */
+    public long consultarSietes(int posicion) {
+        return sietes[posicion];
+    }
+
+    /**
+     * Consulta en cuántas partidas una posición consiguió el siete de oros.
+     *
+     * @param posicion posición del jugador
+     * @return número de partidas
+     */
+    public long consultarSietesOros(int posicion) {
+        return sietesOros[posicion];
+    }
+
+    /**
+     * Consulta el total de bazas de una posición.
+     *
+     * @param posicion posición del jugador
+     * @return total de bazas
+     */
+    public long consultarBazas(int posicion) {
+        return bazas[posicion];
+    }
+
+    /**
+     * Consulta el total de puntos del equipo de una posición.
+     *
+     * @param posicion posición del jugador
+     * @return total de puntos
+     */
+    public long consultarPuntos(int posicion) {
+        return puntos[posicion];
+    }
+
+    /**
+     * Calcula el rendimiento de la simulación.
+     *
+     * @return partidas simuladas por segundo, 0 si no se ha medido tiempo
+     */
+    public double partidasPorSegundo() {
+        return nanos == 0 ? 0 : partidas * NANOS_POR_SEGUNDO / nanos;
+    }
+
+    /**
+     * Recupera un resumen en formato texto con las medias por partida.
+     *
+     * @return texto descriptivo
+     */
+    public String aTexto() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("Partidas: %d (%.0f partidas/s)%n", partidas, partidasPorSegundo()));
+        double divisor = Math.max(partidas, 1);
+        for (int i = 0; i < numeroJugadores; i++) {
+            texto.append(String.format("Jugador %d - cartas: %.2f, escobas: %.2f, oros: %.2f, sietes: %.2f, "
+                    + "siete de oros: %.1f%%, bazas: %.2f, puntos: %.2f%n",
+                    i + 1, cartas[i] / divisor, escobas[i] / divisor, oros[i] / divisor, sietes[i] / divisor,
+                    100 * sietesOros[i] / divisor, bazas[i] / divisor, puntos[i] / divisor));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package escoba.simulacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Derivación de semillas y mezcla SplitMix64 compartidas por el
+ * {@link Torneo} y el {@link Duplicado}.
+ * <p>Cada bloque o reparto recibe una semilla distinta a partir de la del
+ * torneo o del duplicado y de su número, sin depender del orden en que se
+ * juegan, de modo que los resultados se pueden reproducir.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+final class Semillas {
+
+    /** Constante de mezcla para derivar semillas (proporción áurea en 64 bits). */
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Constructor privado en clase de utilidades.
+     */
+    private Semillas() {
+    }
+
+    /**
+     * Deriva la semilla de la posición {@code indice} de una secuencia, con
+     * el finalizador de MurmurHash3.
+     *
+     * @param semilla semilla de la secuencia
+     * @param indice  número de bloque o de reparto
+     * @return semilla derivada
+     */
+    static long derivar(long semilla, long indice) {
+        long z = semilla + (indice + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Mezcla un estado de SplitMix64 para obtener su salida.
+     *
+     * @param estado estado ya avanzado en {@link #GOLDEN_GAMMA}
+     * @return valor pseudoaleatorio
+     */
+    static long mezclar(long estado) {
+        long z = estado;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
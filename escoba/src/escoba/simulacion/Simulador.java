@@ -0,0 +1,173 @@
+package escoba.simulacion;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import escoba.control.Controlador;
+import escoba.control.Estrategia;
+import escoba.control.ObservadorPartida;
+import escoba.modelo.Baraja;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Motor de simulación desatendida de partidas completas.
+ * <p>Juega partidas de principio a fin con un {@link Controlador} sin vista,
+ * donde cada jugador decide mediante su {@link Estrategia}, y acumula los
+ * resultados en un {@link ResultadoSimulacion}. No realiza ninguna
+ * entrada/salida por consola.</p>
+ *
+ * <p>Todas las barajas se mezclan con el mismo generador aleatorio, de modo
+ * que una simulación con la misma semilla y estrategias deterministas es
+ * reproducible.</p>
+ *
+ * <p>Cada simulador es un contexto de juego propio: reutiliza en todas sus
+ * partidas la misma {@link Partida} con sus {@link Jugador}es, {@link Mesa} y
+ * {@link Baraja}, reiniciándolos entre partidas. No es seguro para uso
+ * concurrente; para repartir partidas entre hilos se usa {@link Torneo}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class Simulador {
+
+    /** Generador aleatorio con el que se barajan las partidas. */
+    private final RandomGenerator aleatorio;
+
+    /** Estrategias de cada posición. */
+    private final Estrategia[] estrategias;
+
+    /** Partida reutilizada en todas las simulaciones. */
+    private final Partida partida;
+
+    /** Lista vacía de observadores. */
+    private static final ObservadorPartida[] SIN_OBSERVADORES = new ObservadorPartida[0];
+
+    /** Observadores de cada partida. */
+    private ObservadorPartida[] observadores = SIN_OBSERVADORES;
+
+    /**
+     * Crea un simulador reproducible a partir de una semilla.
+     *
+     * @param semilla     semilla del generador con el que se baraja
+     * @param estrategias estrategia de cada jugador (de dos a cuatro)
+     */
+    public Simulador(long semilla, Estrategia... estrategias) {
+        this(RandomGeneratorFactory.of(Baraja.ALGORITMO_ALEATORIO).create(semilla), estrategias);
+    }
+
+    /**
+     * Crea un simulador con el generador aleatorio dado.
+     *
+     * @param aleatorio   generador con el que se baraja
+     * @param estrategias estrategia de cada jugador (de dos a cuatro), en orden de turno
+     * @throws IllegalArgumentException si el número de estrategias no es válido
+     */
+    public Simulador(RandomGenerator aleatorio, Estrategia... estrategias) {
+        this(aleatorio, estrategias.length, estrategias);
+    }
+
+    /**
+     * Crea un simulador de partidas por equipos con el generador aleatorio dado.
+     * <p>El jugador de la posición {@code i} juega en el equipo
+     * {@code i % numeroEquipos}, como en {@link Partida}.</p>
+     *
+     * @param aleatorio     generador con el que se baraja
+     * @param numeroEquipos número de equipos
+     * @param estrategias   estrategia de cada jugador (de dos a cuatro), en orden de turno
+     * @throws IllegalArgumentException si el número de estrategias o de equipos no es válido
+     */
+    public Simulador(RandomGenerator aleatorio, int numeroEquipos, Estrategia... estrategias) {
+        this.aleatorio = Objects.requireNonNull(aleatorio, "El generador aleatorio no puede ser nulo");
+        this.estrategias = estrategias.clone();
+        Jugador[] jugadores = new Jugador[estrategias.length];
+        for (int i = 0; i < jugadores.length; i++) {
+            jugadores[i] = new Jugador("Jugador " + (i + 1));
+        }
+        this.partida = new Partida(jugadores, numeroEquipos, new Mesa(), new Baraja(aleatorio));
+    }
+
+    /**
+     * Consulta el número de jugadores de las partidas simuladas.
+     *
+     * @return número de jugadores
+     */
+    public int consultarNumeroJugadores() {
+        return estrategias.length;
+    }
+
+    /**
+     * Asigna el único observador que recibe los momentos clave de cada
+     * partida simulada, sustituyendo a los que hubiera.
+     *
+     * @param observador observador, {@code null} para no observar las partidas
+     */
+    public void asignarObservador(ObservadorPartida observador) {
+        observadores = observador != null ? new ObservadorPartida[] { observador } : SIN_OBSERVADORES;
+    }
+
+    /**
+     * Añade un observador de los momentos clave de cada partida simulada.
+     *
+     * @param observador observador
+     * @see Controlador#agregarObservador(ObservadorPartida)
+     */
+    public void agregarObservador(ObservadorPartida observador) {
+        Objects.requireNonNull(observador, "El observador no puede ser nulo");
+        observadores = Arrays.copyOf(observadores, observadores.length + 1);
+        observadores[observadores.length - 1] = observador;
+    }
+
+    /**
+     * Simula el número de partidas indicado.
+     *
+     * @param partidas número de partidas
+     * @return resultados agregados, incluido el tiempo empleado
+     */
+    public ResultadoSimulacion simular(long partidas) {
+        ResultadoSimulacion resultado = new ResultadoSimulacion(estrategias.length);
+        simular(partidas, resultado);
+        return resultado;
+    }
+
+    /**
+     * Simula el número de partidas indicado acumulando en un resultado existente.
+     *
+     * @param partidas  número de partidas
+     * @param resultado resultado donde se acumulan las partidas y el tiempo
+     */
+    public void simular(long partidas, ResultadoSimulacion resultado) {
+        long inicio = System.nanoTime();
+        for (long i = 0; i < partidas; i++) {
+            resultado.acumular(jugarPartida());
+        }
+        resultado.sumarTiempo(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Juega una partida completa.
+     * <p>La partida devuelta es la del contexto del simulador y se reinicia en
+     * la siguiente llamada, por lo que debe consultarse antes.</p>
+     *
+     * @return partida terminada
+     */
+    public Partida jugarPartida() {
+        partida.reiniciar();
+        Controlador controlador = new Controlador(partida, estrategias);
+        for (ObservadorPartida observador : observadores) {
+            controlador.agregarObservador(observador);
+        }
+        controlador.ejecutarPartida();
+        return partida;
+    }
+}
@@ -0,0 +1,167 @@
+package escoba.simulacion;
+
+import java.io.Serial;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import escoba.control.Estrategia;
+import escoba.modelo.Baraja;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Torneo de partidas simuladas repartidas entre todos los núcleos.
+ * <p>El lote de partidas se divide en bloques de
+ * {@value #PARTIDAS_POR_BLOQUE} partidas, que se reparten mediante fork/join.
+ * Cada bloque usa su propio {@link Simulador}, es decir, su propia partida,
+ * jugadores, mesa, baraja y estrategias, y un generador aleatorio
+ * independiente derivado de la semilla del torneo y del número de bloque. Así
+ * los trabajadores no comparten estado mutable y, como los bloques solo
+ * dependen del número de partidas, el resultado es el mismo sea cual sea el
+ * número de hilos.</p>
+ *
+ * <p>Los resultados parciales se combinan con contadores repartidos
+ * ({@link java.util.concurrent.atomic.LongAdder}).</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class Torneo {
+
+    /**
+     * Partidas de cada bloque (el último puede tener menos): bastantes para
+     * amortizar la creación del simulador y pocas para equilibrar la carga.
+     */
+    public static final int PARTIDAS_POR_BLOQUE = 256;
+
+    /** Semilla del torneo. */
+    private final long semilla;
+
+    /** Número de jugadores por partida. */
+    private final int numeroJugadores;
+
+    /** Fábrica de estrategias de cada bloque a partir de su generador aleatorio. */
+    private final Function<RandomGenerator, Estrategia[]> fabricaEstrategias;
+
+    /**
+     * Crea un torneo.
+     *
+     * @param semilla            semilla del torneo
+     * @param numeroJugadores    número de jugadores por partida
+     * @param fabricaEstrategias crea las estrategias de un bloque, una por
+     *                           jugador, a partir del generador aleatorio del
+     *                           bloque
+     */
+    public Torneo(long semilla, int numeroJugadores, Function<RandomGenerator, Estrategia[]> fabricaEstrategias) {
+        this.semilla = semilla;
+        this.numeroJugadores = numeroJugadores;
+        this.fabricaEstrategias = Objects.requireNonNull(fabricaEstrategias, "La fábrica no puede ser nula");
+    }
+
+    /**
+     * Juega el número de partidas indicado en el pool común de fork/join.
+     *
+     * @param partidas número de partidas
+     * @return resultados agregados; el tiempo es el tiempo real transcurrido
+     */
+    public ResultadoSimulacion jugar(long partidas) {
+        return jugar(partidas, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Juega el número de partidas indicado en el pool dado.
+     *
+     * @param partidas número de partidas
+     * @param pool     pool de fork/join
+     * @return resultados agregados; el tiempo es el tiempo real transcurrido
+     */
+    public ResultadoSimulacion jugar(long partidas, ForkJoinPool pool) {
+        long bloques = Math.max(1, (partidas + PARTIDAS_POR_BLOQUE - 1) / PARTIDAS_POR_BLOQUE);
+        AcumuladorConcurrente acumulador = new AcumuladorConcurrente(numeroJugadores);
+
+        long inicio = System.nanoTime();
+        pool.invoke(new TareaBloques(0, bloques, partidas, acumulador));
+        long nanos = System.nanoTime() - inicio;
+
+        ResultadoSimulacion resultado = new ResultadoSimulacion(numeroJugadores);
+        acumulador.volcarEn(resultado);
+        resultado.sumarTiempo(nanos);
+        return resultado;
+    }
+
+    /**
+     * Deriva la semilla de un bloque.
+     *
+     * @param bloque número de bloque
+     * @return semilla del bloque
+     */
+    private long semillaBloque(long bloque) {
+        return Semillas.derivar(semilla, bloque);
+    }
+
+    /**
+     * Tarea que divide un rango de bloques por la mitad hasta quedarse con uno,
+     * que se juega con su propio simulador.
+     */
+    private final class TareaBloques extends RecursiveAction {
+
+        /** Versión de serialización, heredada de {@link RecursiveAction}; las tareas no se serializan. */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** Primer bloque (incluido). */
+        private final long desde;
+
+        /** Último bloque (excluido). */
+        private final long hasta;
+
+        /** Número total de partidas. */
+        private final long partidas;
+
+        /** Acumulador compartido. */
+        private final transient AcumuladorConcurrente acumulador;
+
+        /**
+         * Crea la tarea.
+         *
+         * @param desde      primer bloque (incluido)
+         * @param hasta      último bloque (excluido)
+         * @param partidas   número total de partidas
+         * @param acumulador acumulador compartido
+         */
+        TareaBloques(long desde, long hasta, long partidas, AcumuladorConcurrente acumulador) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.partidas = partidas;
+            this.acumulador = acumulador;
+        }
+
+        /**
+         * Divide el rango o juega el bloque.
+         */
+        @Override
+        protected void compute() {
+            if (hasta - desde > 1) {
+                long mitad = (desde + hasta) >>> 1;
+                invokeAll(new TareaBloques(desde, mitad, partidas, acumulador),
+                        new TareaBloques(mitad, hasta, partidas, acumulador));
+            } else {
+                long primera = desde * PARTIDAS_POR_BLOQUE;
+                long ultima = Math.min(partidas, primera + PARTIDAS_POR_BLOQUE);
+                RandomGenerator aleatorio = RandomGeneratorFactory.of(Baraja.ALGORITMO_ALEATORIO)
+                        .create(semillaBloque(desde));
+                Estrategia[] estrategias = fabricaEstrategias.apply(aleatorio);
+                acumulador.acumular(new Simulador(aleatorio, estrategias).simular(ultima - primera));
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package escoba.vista;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import escoba.control.EventoPartida;
+import escoba.control.OyentePartida;
+import escoba.control.ProveedorDecisiones;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Conecta una {@link VistaConsola} con el {@link escoba.control.Controlador}
+ * a través de sus dos puntos de extensión.
+ * <p>Como {@link ProveedorDecisiones} muestra el estado y pide por teclado la
+ * carta y las cartas de la mesa, y entrega la jugada ya completada. Como
+ * {@link OyentePartida} anuncia las escobas y muestra el resultado final
+ * cuando llegan los eventos correspondientes. En ambos casos consulta la
+ * partida viva, por lo que debe añadirse al controlador como oyente directo
+ * y no a través de un {@link escoba.control.PublicadorEventos}.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class AdaptadorConsola implements ProveedorDecisiones, OyentePartida {
+
+    /** Vista de consola. */
+    private final VistaConsola vista;
+
+    /** Partida que se muestra. */
+    private final Partida partida;
+
+    /** Rondas jugadas según los últimos eventos recibidos. */
+    private int ronda;
+
+    /**
+     * Crea el adaptador.
+     *
+     * @param vista   vista de consola
+     * @param partida partida que se juega
+     */
+    public AdaptadorConsola(VistaConsola vista, Partida partida) {
+        this.vista = Objects.requireNonNull(vista, "La vista no puede ser nula");
+        this.partida = Objects.requireNonNull(partida, "La partida no puede ser nula");
+    }
+
+    /**
+     * Muestra el estado de la partida y pide la jugada por teclado.
+     *
+     * @param partida partida en curso
+     * @param asiento posición del jugador al que le toca jugar
+     * @return etapa ya completada con la jugada; si la suma no es correcta la
+     *         captura está vacía y la carta se deja en la mesa
+     */
+    @Override
+    public CompletionStage<Jugada> decidir(Partida partida, int asiento) {
+        final Jugador jugador = partida.obtenerJugadores()[asiento];
+        vista.mostrarEstado(partida.obtenerMesa(), jugador, partida.obtenerBaraja(), ronda);
+        final Carta carta = vista.pedirCarta(jugador);
+        final Carta[] cartasMesa = vista.pedirCartasMesa(partida.obtenerMesa(), carta);
+        return CompletableFuture.completedFuture(new Jugada(carta, CartaSet.deCartas(cartasMesa)));
+    }
+
+    /**
+     * Lleva la cuenta de las rondas y muestra las escobas y el resultado final.
+     *
+     * @param evento evento
+     */
+    @Override
+    public void notificar(EventoPartida evento) {
+        switch (evento) {
+            case EventoPartida.Reparto reparto -> ronda = reparto.ronda();
+            case EventoPartida.CartaJugada jugada -> ronda = jugada.ronda() + 1;
+            case EventoPartida.Captura captura -> {
+                // la ronda ya se contó con la carta jugada
+            }
+            case EventoPartida.Escoba escoba ->
+                vista.anunciarEscoba(partida.obtenerJugadores()[escoba.asiento()].consultarNombre());
+            case EventoPartida.FinReparto fin -> ronda = fin.ronda();
+            case EventoPartida.FinPartida fin -> vista.mostrarResultadoFinal(partida);
+        }
+    }
+}
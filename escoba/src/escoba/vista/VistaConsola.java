@@ -1,13 +1,18 @@
 package escoba.vista;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
 import escoba.modelo.Baraja;
 import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
 import escoba.modelo.Jugador;
 import escoba.modelo.Mesa;
+import escoba.modelo.Palo;
 import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
 import escoba.vista.util.CartaTextoColor;
 import escoba.vista.util.ManejadorArray;
 
@@ -16,29 +21,72 @@ import escoba.vista.util.ManejadorArray;
  * 
  * Se introducen datos, validan y muestran estados intermedios de una partida.
  * 
+ * Las pantallas completas (estado, resultado final, etc.) se componen primero
+ * en un búfer reutilizable y se escriben en la consola con una única
+ * operación de escritura, en lugar de imprimir línea a línea.
+ * 
  * @author <a href="mailto:rmartico@ubu.es">Raúl Marticorena Sánchez</a>
  * @version 1.0
  */
 public class VistaConsola {
 
-	/** Número de sietes en la baraja. */
-	private static final int TOTAL_SIETES_EN_BARAJA = 4;
+	/** Línea separadora de los títulos. */
+	private static final String SEPARADOR = "=".repeat(30);
 
-	/** Numero de cartas por palo en la baraja. */
-	private static final int NUMERO_CARTAS_POR_PALO = 10;
+	/** Salto de línea de la plataforma. */
+	private static final String SALTO = System.lineSeparator();
 
-	/** Número de cartas que dejan al contrario por debajo del mínimo. */
-	private static final int MUCHAS_MAS_CARTAS_QUE_EL_CONTRARIO = Baraja.NUMERO_CARTAS - 10;
+	/** Capacidad inicial del búfer de pantalla. */
+	private static final int CAPACIDAD_MARCO = 4096;
 
 	/** Teclado. */
 	private Scanner scanner;
 
+	/** Salida por consola. */
+	private final PrintStream salida;
+
+	/** Búfer reutilizable donde se compone la pantalla antes de escribirla. */
+	private final StringBuilder marco;
+
 	/**
 	 * Constructor.
 	 * 
 	 */
 	public VistaConsola() {
-		scanner = new Scanner(System.in);
+		this(System.in, System.out);
+	}
+
+	/**
+	 * Constructor con la entrada y la salida indicadas, para poder comprobar
+	 * en los tests lo que se escribe en cada pantalla.
+	 * 
+	 * @param entrada entrada de teclado
+	 * @param salida  salida por consola
+	 */
+	VistaConsola(InputStream entrada, PrintStream salida) {
+		scanner = new Scanner(entrada);
+		this.salida = salida;
+		marco = new StringBuilder(CAPACIDAD_MARCO);
+	}
+
+	/**
+	 * Consulta cuántos caracteres hay compuestos en el búfer de pantalla
+	 * pendientes de escribir.
+	 * 
+	 * @return caracteres pendientes, cero tras escribir cada pantalla
+	 */
+	int consultarPendientes() {
+		return marco.length();
+	}
+
+	/**
+	 * Escribe en la consola todo lo compuesto en el búfer con una única
+	 * escritura y lo deja vacío para la siguiente pantalla.
+	 */
+	private void volcar() {
+		salida.print(marco);
+		salida.flush();
+		marco.setLength(0);
 	}
 
 	/**
@@ -51,18 +99,20 @@ public class VistaConsola {
 	 * @param ronda   ronda
 	 */
 	public void mostrarEstado(Mesa mesa, Jugador jugador, Baraja baraja, int ronda) {
-		System.out.println("=".repeat(30));
-		System.out.println("Estado actual de la partida");
-		System.out.println("=".repeat(30));
+		marco.append(SEPARADOR).append(SALTO);
+		marco.append("Estado actual de la partida").append(SALTO);
+		marco.append(SEPARADOR).append(SALTO);
 
 		ronda++;
-		System.out.println("Ronda: " + ronda + " Cartas actualmente en la baraja: " + baraja.consultarNumeroCartas());
-		System.out.println("Mesa:");
+		marco.append("Ronda: ").append(ronda).append(" Cartas actualmente en la baraja: ")
+				.append(baraja.consultarNumeroCartas()).append(SALTO);
+		marco.append("Mesa:").append(SALTO);
 		mostrarCartasEnLaMesa(mesa);
 
-		System.out.print("\nTurno de " + jugador.consultarNombre());
-		mostrarEstadoJugadorEnPartida(jugador);
+		marco.append(SALTO).append("Turno de ").append(jugador.consultarNombre());
+		componerEstadoJugadorEnPartida(jugador);
 		mostrarCartasJugador(jugador);
+		volcar();
 	}
 
 	/**
@@ -74,9 +124,19 @@ public class VistaConsola {
 	 * @param jugador jugador
 	 */
 	public void mostrarEstadoJugadorEnPartida(Jugador jugador) {
-		System.out.print("- Escobas conseguidas: " + jugador.consultarEscobas());
-		System.out.print(" - Bazas conseguidas: " + jugador.consultarBazas().length);
-		System.out.println(" - Cartas conseguidas: " + jugador.contarCartas());
+		componerEstadoJugadorEnPartida(jugador);
+		volcar();
+	}
+
+	/**
+	 * Compone en el búfer de pantalla el estado del jugador en la partida.
+	 * 
+	 * @param jugador jugador
+	 */
+	private void componerEstadoJugadorEnPartida(Jugador jugador) {
+		marco.append("- Escobas conseguidas: ").append(jugador.consultarEscobas());
+		marco.append(" - Bazas conseguidas: ").append(jugador.consultarNumeroBazas());
+		marco.append(" - Cartas conseguidas: ").append(jugador.contarCartas()).append(SALTO);
 	}
 
 	/**
@@ -87,33 +147,28 @@ public class VistaConsola {
 	private void mostrarCartasJugador(Jugador jugador) {
 
 		// Mostrar cartas del jugador con visualización mejorada
-		Carta[] cartas = jugador.consultarMano();
-		if (cartas.length > 0) {
-			System.out.println("\nCartas de " + jugador.consultarNombre());
+		long cartas = jugador.consultarConjuntoMano();
+		if (!CartaSet.estaVacio(cartas)) {
+			marco.append(SALTO).append("Cartas de ").append(jugador.consultarNombre()).append(SALTO);
 			mostrarCartas(cartas);
 		}
-		System.out.println();
+		marco.append(SALTO);
 	}
 
 	/**
-	 * Muestra las cartas pasadas como parámetro con índices.
+	 * Muestra las cartas pasadas como parámetro con índices, en orden de clave.
 	 * 
-	 * @param cartas cartas a mostrar
+	 * @param cartas conjunto de cartas a mostrar
 	 */
-	private void mostrarCartas(Carta[] cartas) {
+	private void mostrarCartas(long cartas) {
+		int numeroCartas = CartaSet.contar(cartas);
 		// Mostrar índices encima de las cartas
-		for (int i = 0; i < cartas.length; i++) {
-			System.out.printf("    [%d]     ", i);
-		}
-		System.out.println();
-		// Crear array de cartas visuales para impresión
-		String[][] cartasVisuales = new String[cartas.length][];
-		for (int i = 0; i < cartas.length; i++) {
-			cartasVisuales[i] = CartaTextoColor.dibujarCarta(cartas[i]);
+		for (int i = 0; i < numeroCartas; i++) {
+			marco.append("    [").append(i).append("]     ");
 		}
+		marco.append(SALTO);
 		// Imprimir las cartas
-		imprimirCartas(cartasVisuales);
-
+		imprimirCartas(cartas);
 	}
 
 	/**
@@ -124,11 +179,10 @@ public class VistaConsola {
 	private void mostrarCartasEnLaMesa(Mesa mesa) {
 		// Mostrar cartas en la mesa con visualización mejorada
 
-		Carta[] cartas = mesa.consultarCartasEnMesa();
-		if (cartas.length == 0) {
-			System.out.println("(vacía)");
+		if (mesa.estaVacia()) {
+			marco.append("(vacía)").append(SALTO);
 		} else {
-			mostrarCartas(cartas);
+			mostrarCartas(mesa.consultarConjunto());
 		}
 	}
 
@@ -139,24 +193,24 @@ public class VistaConsola {
 	 * @return carta seleccionada para colocar sobre la mesa
 	 */
 	public Carta pedirCarta(Jugador jugador) {
-		Carta[] cartasEnMano = jugador.consultarMano();
+		int numeroCartas = jugador.consultarNumeroCartasEnMano();
 		Carta resultado = null;
 
-		if (cartasEnMano.length > 0) {
+		if (numeroCartas > 0) {
 			int opcion = -1;
-			while (opcion < 0 || opcion >= cartasEnMano.length) {
-				System.out.print("Elige la carta a jugar (0-" + (cartasEnMano.length - 1) + "): ");
+			while (opcion < 0 || opcion >= numeroCartas) {
+				salida.print("Elige la carta a jugar (0-" + (numeroCartas - 1) + "): ");
 				try {
 					opcion = scanner.nextInt();
-					if (opcion < 0 || opcion >= cartasEnMano.length) {
-						System.out.println("❌ Opción inválida. Debe estar entre 0 y " + (cartasEnMano.length - 1));
+					if (opcion < 0 || opcion >= numeroCartas) {
+						salida.println("❌ Opción inválida. Debe estar entre 0 y " + (numeroCartas - 1));
 					}
 				} catch (NumberFormatException | InputMismatchException _) { // unnamed variable since JDK 22
-					System.out.println("Por favor, introduce un número válido.");
+					salida.println("Por favor, introduce un número válido.");
 					scanner.nextLine(); // Limpiar el buffer
 				}
 			}
-			resultado = cartasEnMano[opcion];
+			resultado = jugador.consultarCartaEnMano(opcion);
 		}
 		return resultado;
 	}
@@ -174,7 +228,7 @@ public class VistaConsola {
 		Carta[] mesaCartas = mesa.consultarCartasEnMesa();
 		Carta[] cartasARetirar;
 		if (mesaCartas.length == 0) {
-			System.out.println("La mesa está vacía. Tu carta se quedará en la mesa.");
+			salida.println("La mesa está vacía. Tu carta se quedará en la mesa.");
 			cartasARetirar = new Carta[0];
 		} else {
 			mostrarCartaRetiradaYCartasSobreLaMesa(cartaJugada, mesa);
@@ -184,14 +238,14 @@ public class VistaConsola {
 			if (cartasARetirar.length > 0) {
 				mostrarVerificacionCartas(cartaJugada, cartasARetirar);
 				if (mesa.esCombinacionValida(cartaJugada, cartasARetirar)) {
-					System.out.println(" ✅ ¡Jugada válida!");
+					salida.println(" ✅ ¡Jugada válida!");
 				} else {
-					System.out.printf("🪲 ERROR: La suma no es %d. Tu carta se quedará en la mesa.%n",
+					salida.printf("🪲 ERROR: La suma no es %d. Tu carta se quedará en la mesa.%n",
 							Mesa.SUMA_PUNTOS_A_ALCANZAR);
 					cartasARetirar = new Carta[0]; // eliminamos las cartas a retirar al ser una suma incorrecta
 				}
 			} else {
-				System.out.println("⚠️ No recoges ninguna carta. Tu carta se queda en la mesa.");
+				salida.println("⚠️ No recoges ninguna carta. Tu carta se queda en la mesa.");
 			}
 		}
 		return cartasARetirar;
@@ -204,9 +258,9 @@ public class VistaConsola {
 	 * @param cartasARetirar cartas a retirar de la mesa
 	 */
 	private void mostrarVerificacionCartas(Carta cartaJugada, Carta[] cartasARetirar) {
-		System.out.print("🤔 Verificando jugada: " + cartaJugada.aTexto());
+		salida.print("🤔 Verificando jugada: " + cartaJugada.aTexto());
 		for (Carta carta : cartasARetirar) {
-			System.out.print(" + " + carta.aTexto());
+			salida.print(" + " + carta.aTexto());
 		}
 	}
 
@@ -251,10 +305,10 @@ public class VistaConsola {
 						cartasARetirar[contador++] = carta;
 					}
 				} else {
-					System.out.println("Índice " + indice + " fuera de rango, ignorado.");
+					salida.println("Índice " + indice + " fuera de rango, ignorado.");
 				}
 			} catch (NumberFormatException _) {
-				System.out.println("'" + parte + "' no es un número válido, ignorado.");
+				salida.println("'" + parte + "' no es un número válido, ignorado.");
 			}
 		}
 	}
@@ -266,7 +320,7 @@ public class VistaConsola {
 	 */
 	private String leerCartasARetirar() {
 		String entrada;
-		System.out.println(
+		salida.println(
 				"Introduce los índices de las cartas separados por espacios (o 'enter' para no recoger nada):");
 		scanner.nextLine(); // Limpiar el buffer
 		entrada = scanner.nextLine().trim(); // limpiar cadena
@@ -280,16 +334,16 @@ public class VistaConsola {
 	 * @param mesa        mesa
 	 */
 	private void mostrarCartaRetiradaYCartasSobreLaMesa(Carta cartaJugada, Mesa mesa) {
-		System.out.println("\nHas jugado la siguiente carta:");
+		marco.append(SALTO).append("Has jugado la siguiente carta:").append(SALTO);
 		// Mostrar la carta jugada con visualización mejorada
-		String[] cartaJugadaVisual = CartaTextoColor.dibujarCarta(cartaJugada);
-		String[][] cartasArray = { cartaJugadaVisual };
-		imprimirCartas(cartasArray);
+		imprimirCartas(CartaSet.bit(cartaJugada));
 
-		System.out.print("¿Qué cartas quieres recoger de la mesa?");
-		System.out.println(" (Deben sumar " + (15 - cartaJugada.puntuacion()) + " puntos para hacer 15 total)");
-		System.out.println("Cartas disponibles en la mesa:");
+		marco.append("¿Qué cartas quieres recoger de la mesa?");
+		marco.append(" (Deben sumar ").append(15 - cartaJugada.puntuacion()).append(" puntos para hacer 15 total)")
+				.append(SALTO);
+		marco.append("Cartas disponibles en la mesa:").append(SALTO);
 		mostrarCartasEnLaMesa(mesa);
+		volcar();
 	}
 
 	/**
@@ -298,27 +352,40 @@ public class VistaConsola {
 	 * @param nombreJugador nombre de jugador
 	 */
 	public void anunciarEscoba(String nombreJugador) {
-		System.out.println("\n🎉 ¡¡¡ESCOBA para " + nombreJugador.toUpperCase() + "!!! 🎉");
-		System.out.println("🪧La mesa ha quedado vacía.");
+		marco.append(SALTO).append("🎉 ¡¡¡ESCOBA para ").append(nombreJugador.toUpperCase()).append("!!! 🎉")
+				.append(SALTO);
+		marco.append("🪧La mesa ha quedado vacía.").append(SALTO);
+		volcar();
 	}
 
 	/**
-	 * Muestra el resultado final de la partida para todos los jugadores.
+	 * Muestra el resultado final de la partida para todos los equipos.
+	 * 
+	 * En una partida individual cada jugador es su propio equipo. Los puntos se
+	 * calculan con {@link Puntuacion}, que decide las mayorías comparando con el
+	 * mejor de los equipos rivales; aquí solo se da formato al desglose.
 	 * 
 	 * @param partida partida
 	 */
 	public void mostrarResultadoFinal(Partida partida) {
-		System.out.println("\n" + "=".repeat(30));
-		System.out.println("Resultado final de la partida");
-		System.out.println("=".repeat(30));
-
-		for (Jugador jugador : partida.obtenerJugadores()) {
-			System.out.println(jugador.consultarNombre() + ":");
-			System.out.println(" - Bazas conseguidas: " + jugador.consultarBazas().length);
-			System.out.println(" - Cartas recogidas: " + jugador.contarCartas());
-			mostrarDesglosePuntos(jugador);
-			System.out.println();
+		marco.append(SALTO).append(SEPARADOR).append(SALTO);
+		marco.append("Resultado final de la partida").append(SALTO);
+		marco.append(SEPARADOR).append(SALTO);
+
+		int[] desgloses = new int[partida.obtenerNumeroEquipos()];
+		Puntuacion.puntuar(partida, desgloses);
+		for (int equipo = 0; equipo < desgloses.length; equipo++) {
+			long cartas = consultarCartasEquipo(partida, equipo);
+			componerNombreEquipo(partida, equipo);
+			marco.append(':').append(SALTO);
+			marco.append(" - Bazas conseguidas: ").append(contarBazasEquipo(partida, equipo)).append(SALTO);
+			marco.append(" - Cartas recogidas: ").append(CartaSet.contar(cartas)).append(SALTO);
+			mostrarDesglosePuntos(desgloses[equipo], cartas);
+			marco.append(" Total: ").append(Puntuacion.total(desgloses[equipo])).append(" puntos.").append(SALTO);
+			mostrarMensajeSiNoTieneBazas(contarBazasEquipo(partida, equipo));
+			marco.append(SALTO);
 		}
+		volcar();
 		// se supone que finaliza la partida y cerramos recursos si se quiere usar este
 		// método para depurar y solo por ese motivo se debería comentar la siguiente
 		// línea, puesto que posteriores lecturas de teclado generarían excepción
@@ -326,117 +393,171 @@ public class VistaConsola {
 	}
 
 	/**
-	 * Muestra el desglose de puntos según reglas aplicadas.
+	 * Compone el nombre de un equipo: el del jugador si juega solo, o los de
+	 * todos sus miembros si es una pareja.
 	 * 
-	 * @param jugador jugador
+	 * @param partida partida
+	 * @param equipo  equipo
 	 */
-	private void mostrarDesglosePuntos(Jugador jugador) {
-		mostrarPuntosPorEscobas(jugador);
-		mostrarPuntosPorOros(jugador);
-		mostrarPuntosPorSieteOros(jugador);
-		mostrarPuntosPorSietes(jugador);
-		mostrarPuntosPorMayoríaCartas(jugador);
-		mostrarPuntosPorCartasContrario(jugador);
-		mostrarMensajeSiNoTieneBazas(jugador);
+	private void componerNombreEquipo(Partida partida, int equipo) {
+		Jugador[] jugadores = partida.obtenerJugadores();
+		if (jugadores.length == partida.obtenerNumeroEquipos()) {
+			marco.append(jugadores[equipo].consultarNombre());
+		} else {
+			marco.append("Equipo ").append(equipo + 1).append(" (");
+			String separador = "";
+			for (int i = equipo; i < jugadores.length; i += partida.obtenerNumeroEquipos()) {
+				marco.append(separador).append(jugadores[i].consultarNombre());
+				separador = ", ";
+			}
+			marco.append(')');
+		}
+	}
+
+	/**
+	 * Une las cartas ganadas por los miembros de un equipo.
+	 * 
+	 * @param partida partida
+	 * @param equipo  equipo
+	 * @return conjunto de cartas del equipo
+	 */
+	private static long consultarCartasEquipo(Partida partida, int equipo) {
+		Jugador[] jugadores = partida.obtenerJugadores();
+		long conjunto = CartaSet.VACIO;
+		for (int i = equipo; i < jugadores.length; i += partida.obtenerNumeroEquipos()) {
+			conjunto = CartaSet.unir(conjunto, jugadores[i].consultarCartasGanadas());
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Suma las bazas de los miembros de un equipo.
+	 * 
+	 * @param partida partida
+	 * @param equipo  equipo
+	 * @return bazas del equipo
+	 */
+	private static int contarBazasEquipo(Partida partida, int equipo) {
+		Jugador[] jugadores = partida.obtenerJugadores();
+		int bazas = 0;
+		for (int i = equipo; i < jugadores.length; i += partida.obtenerNumeroEquipos()) {
+			bazas += jugadores[i].consultarNumeroBazas();
+		}
+		return bazas;
+	}
+
+	/**
+	 * Muestra el desglose de puntos de un equipo según reglas aplicadas.
+	 * 
+	 * @param desglose desglose calculado con {@link Puntuacion}
+	 * @param cartas   cartas del equipo
+	 */
+	private void mostrarDesglosePuntos(int desglose, long cartas) {
+		mostrarPuntosPorEscobas(Puntuacion.puntosPorEscobas(desglose));
+		mostrarPuntosPorOros(Puntuacion.puntosPorOros(desglose), cartas);
+		mostrarPuntosPorSieteOros(Puntuacion.puntosPorSieteOros(desglose));
+		mostrarPuntosPorSietes(Puntuacion.puntosPorSietes(desglose));
+		mostrarPuntosPorMayoríaCartas(Puntuacion.puntosPorMayoriaCartas(desglose));
+		mostrarPuntosPorCartasContrario(Puntuacion.puntosPorCartasContrario(desglose));
 	}
 
 	/**
 	 * Muestra los puntos obtenidos por escobas.
 	 * 
-	 * @param jugador jugador
+	 * @param puntos puntos por escobas
 	 */
-	private void mostrarPuntosPorEscobas(Jugador jugador) {
-		int escobas = jugador.consultarEscobas();
-		if (escobas != 0) {
-			System.out.printf(" %d Puntos - Escobas.%n", escobas);
+	private void mostrarPuntosPorEscobas(int puntos) {
+		if (puntos != 0) {
+			marco.append(' ').append(puntos).append(" Puntos - Escobas.").append(SALTO);
 		}
 	}
 
 	/**
 	 * Muestra los puntos obtenidos por oros.
 	 * 
-	 * @param jugador jugador
+	 * @param puntos puntos por oros
+	 * @param cartas cartas del equipo
 	 */
-	private void mostrarPuntosPorOros(Jugador jugador) {
-		int oros = jugador.contarOros();
-		if (oros == NUMERO_CARTAS_POR_PALO) {
-			System.out.println(" 2 Puntos - Todos los oros. ");
-		} else if (oros > NUMERO_CARTAS_POR_PALO / 2) {
-			System.out.println(" 1 Punto - Mayoría de oros: " + oros);
+	private void mostrarPuntosPorOros(int puntos, long cartas) {
+		if (puntos == 2) {
+			marco.append(" 2 Puntos - Todos los oros. ").append(SALTO);
+		} else if (puntos == 1) {
+			int oros = CartaSet.contar(cartas & CartaSet.delPalo(Palo.OROS));
+			marco.append(" 1 Punto - Mayoría de oros: ").append(oros).append(SALTO);
 		}
 	}
 
 	/**
 	 * Muestra los puntos obtenidos por tener el siete de oros.
 	 * 
-	 * @param jugador jugador
+	 * @param puntos puntos por el siete de oros
 	 */
-	private void mostrarPuntosPorSieteOros(Jugador jugador) {
-		if (jugador.tieneSieteOros()) {
-			System.out.println(" 1 Punto - Siete de oros (\"guindis\").");
+	private void mostrarPuntosPorSieteOros(int puntos) {
+		if (puntos != 0) {
+			marco.append(" 1 Punto - Siete de oros (\"guindis\").").append(SALTO);
 		}
 	}
 
 	/**
 	 * Muestra los puntos obtenidos por sietes.
 	 * 
-	 * @param jugador jugador
+	 * @param puntos puntos por sietes
 	 */
-	private void mostrarPuntosPorSietes(Jugador jugador) {
-		int sietes = jugador.contarSietes();
-		if (sietes == TOTAL_SIETES_EN_BARAJA) {
-			System.out.println(" 2 Puntos - Tener todos los sietes.");
-		} else if (sietes >= TOTAL_SIETES_EN_BARAJA - 1) {
-			System.out.println(" 1 Punto - Tener mayoría de sietes.");
+	private void mostrarPuntosPorSietes(int puntos) {
+		if (puntos == 2) {
+			marco.append(" 2 Puntos - Tener todos los sietes.").append(SALTO);
+		} else if (puntos == 1) {
+			marco.append(" 1 Punto - Tener mayoría de sietes.").append(SALTO);
 		}
 	}
 
 	/**
 	 * Muestra los puntos obtenidos por mayoría de cartas.
 	 * 
-	 * @param jugador jugador
+	 * @param puntos puntos por mayoría de cartas
 	 */
-	private void mostrarPuntosPorMayoríaCartas(Jugador jugador) {
-		if (jugador.contarCartas() > Baraja.NUMERO_CARTAS / 2) {
-			System.out.println(" 1 Punto - Tener mayoría de cartas.");
+	private void mostrarPuntosPorMayoríaCartas(int puntos) {
+		if (puntos != 0) {
+			marco.append(" 1 Punto - Tener mayoría de cartas.").append(SALTO);
 		}
 	}
 
 	/**
-	 * Muestra los puntos obtenidos por tener menos de 10 cartas que el contrario.
+	 * Muestra los puntos obtenidos por tener todos los contrarios menos de 10
+	 * cartas.
 	 * 
-	 * @param jugador jugador
+	 * @param puntos puntos por las cartas del contrario
 	 */
-	private void mostrarPuntosPorCartasContrario(Jugador jugador) {
-		if (jugador.contarCartas() > MUCHAS_MAS_CARTAS_QUE_EL_CONTRARIO) {
-			System.out.println(" 2 Puntos - Tener el contrario menos de 10 cartas.");
+	private void mostrarPuntosPorCartasContrario(int puntos) {
+		if (puntos != 0) {
+			marco.append(" 2 Puntos - Tener el contrario menos de 10 cartas.").append(SALTO);
 		}
 	}
 
 	/**
-	 * Muestra un mensaje si el jugador no ha conseguido ninguna baza.
+	 * Muestra un mensaje si el equipo no ha conseguido ninguna baza.
 	 * 
-	 * @param jugador jugador
+	 * @param bazas bazas del equipo
 	 */
-	private void mostrarMensajeSiNoTieneBazas(Jugador jugador) {
-		if (jugador.consultarBazas().length == 0) {
-			System.out.println("☠️ ¡¡Pierdes la partida por no completar ninguna baza!!!");
+	private void mostrarMensajeSiNoTieneBazas(int bazas) {
+		if (bazas == 0) {
+			marco.append("☠️ ¡¡Pierdes la partida por no completar ninguna baza!!!").append(SALTO);
 		}
 	}
 
 	/**
-	 * Imprime varias cartas en la misma fila.
+	 * Compone en el búfer de pantalla varias cartas en la misma fila, en orden
+	 * de clave, usando los dibujos en caché de {@link CartaTextoColor}.
 	 * 
-	 * @param cartas como un array de arrays de cadenas de texto representando
-	 *               cartas
+	 * @param cartas conjunto de cartas a dibujar
 	 */
-	private static void imprimirCartas(String[][] cartas) {
-		if (cartas.length != 0) {
-			for (int i = 0; i < cartas[0].length; i++) {
-				for (String[] carta : cartas) {
-					System.out.print(carta[i] + " ");
+	private void imprimirCartas(long cartas) {
+		if (!CartaSet.estaVacio(cartas)) {
+			for (int i = 0; i < CartaTextoColor.FILAS; i++) {
+				for (long resto = cartas; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+					marco.append(CartaTextoColor.dibujarLinea(CartaSet.primera(resto), i)).append(' ');
 				}
-				System.out.println();
+				marco.append(SALTO);
 			}
 		}
 	}
@@ -0,0 +1,104 @@
+package escoba.vista;
+
+import java.io.PrintStream;
+import java.util.Objects;
+
+import escoba.control.EventoPartida;
+import escoba.control.OyentePartida;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Puntuacion;
+
+/**
+ * *       RRRRR    SSSSS    SSSSS
+ *         R    R  S        S
+ *         RRRRR    SSSS     SSSS
+ *         R  R          S        S
+ *         R    R   SSSSS     SSSSS
+ *
+ * Vista de texto para espectadores, que escribe una línea por cada
+ * {@link EventoPartida}.
+ * <p>Como solo usa los datos del evento, puede suscribirse a un
+ * {@link escoba.control.PublicadorEventos} y escribir en su propio hilo sin
+ * retrasar la partida, a diferencia de {@link VistaConsola}, que consulta el
+ * modelo en el hilo del juego.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ */
+public class VistaEventos implements OyentePartida {
+
+    /** Salida de texto. */
+    private final PrintStream salida;
+
+    /** Búfer reutilizable donde se compone cada línea. */
+    private final StringBuilder linea = new StringBuilder();
+
+    /**
+     * Crea la vista.
+     *
+     * @param salida flujo donde se escriben los eventos
+     */
+    public VistaEventos(PrintStream salida) {
+        this.salida = Objects.requireNonNull(salida, "La salida no puede ser nula");
+    }
+
+    /**
+     * Escribe la línea de un evento.
+     *
+     * @param evento evento
+     */
+    @Override
+    public void notificar(EventoPartida evento) {
+        linea.setLength(0);
+        linea.append('[').append(evento.ronda()).append("] ");
+        switch (evento) {
+            case EventoPartida.Reparto reparto -> {
+                linea.append("Reparto. Mesa: ");
+                componerCartas(reparto.mesa());
+                linea.append(". Quedan ").append(reparto.cartasEnBaraja()).append(" cartas en la baraja.");
+            }
+            case EventoPartida.CartaJugada jugada ->
+                linea.append("Jugador ").append(jugada.asiento() + 1).append(" juega ").append(jugada.carta().aTexto());
+            case EventoPartida.Captura captura -> {
+                linea.append("Jugador ").append(captura.asiento() + 1).append(" recoge ");
+                componerCartas(captura.cartas());
+            }
+            case EventoPartida.Escoba escoba -> linea.append("¡Escoba del jugador ").append(escoba.asiento() + 1)
+                    .append('!');
+            case EventoPartida.FinReparto fin -> {
+                linea.append("Fin del reparto. Mesa: ");
+                componerCartas(fin.mesa());
+            }
+            case EventoPartida.FinPartida fin -> {
+                linea.append("Fin de la partida. Puntos:");
+                final int[] desgloses = fin.desgloses();
+                for (int equipo = 0; equipo < desgloses.length; equipo++) {
+                    linea.append(" equipo ").append(equipo + 1).append(' ')
+                            .append(Puntuacion.total(desgloses[equipo]));
+                }
+            }
+        }
+        salida.println(linea);
+    }
+
+    /**
+     * Añade a la línea los textos de un conjunto de cartas.
+     *
+     * @param cartas conjunto de cartas (ver {@link CartaSet})
+     */
+    private void componerCartas(long cartas) {
+        if (CartaSet.estaVacio(cartas)) {
+            linea.append("vacía");
+            return;
+        }
+        for (long resto = cartas; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+            final Carta carta = CartaSet.primera(resto);
+            linea.append(carta.aTexto());
+            if (CartaSet.contar(resto) > 1) {
+                linea.append(", ");
+            }
+        }
+    }
+}
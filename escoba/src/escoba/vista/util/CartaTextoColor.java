@@ -16,6 +16,10 @@ import escoba.modelo.Palo;
  * letra correspondiente y la línea de enmedio con el palo coloreado con un
  * fondo correspondiente al color de dicho palo.
  * 
+ * Las 40 cartas se dibujan una única vez, con y sin colores, al cargar la
+ * clase, y la detección de las capacidades del terminal también se realiza una
+ * sola vez. Cada dibujo posterior se obtiene de esa caché inmutable.
+ * 
  * Se siguen los colores clásicos de la baraja española.
  * <ul>
  * <li>Oros es amarillo.</li>
@@ -57,6 +61,21 @@ public class CartaTextoColor {
 	/** Ancho interno del contenido. */
 	private static final int ANCHO = 9;
 
+	/** Número de líneas de texto con las que se dibuja una carta. */
+	public static final int FILAS = 5;
+
+	/** Número de cartas de cada palo. */
+	private static final int CARTAS_POR_PALO = 10;
+
+	/** Indica si el terminal soporta ANSI, detectado una sola vez al cargar la clase. */
+	private static final boolean SOPORTA_ANSI = soportaAnsi();
+
+	/** Dibujos de las cartas sin colores, indexados por palo y puntuación. */
+	private static final String[][] DIBUJOS_SIN_COLOR = dibujarTodas(false);
+
+	/** Dibujos de las cartas con colores ANSI, indexados por palo y puntuación. */
+	private static final String[][] DIBUJOS_CON_COLOR = dibujarTodas(true);
+
 	/** Constructor privado. */
 	private CartaTextoColor() {
 	}
@@ -111,17 +130,99 @@ public class CartaTextoColor {
 	}
 
 	/**
-	 * Dibuja una carta con fondo coloreado y texto en blanco/negrita.
+	 * Dibuja una carta con fondo coloreado y texto en blanco/negrita, si el
+	 * terminal lo soporta.
 	 * 
 	 * @param carta la carta a dibujar
 	 * @return array de cadenas de texto representando las líneas de la carta
 	 */
 	public static String[] dibujarCarta(Carta carta) {
-		String valor = puntuacionAValorVisual(carta.puntuacion());
-		String nombrePalo = obtenerNombrePalo(carta.palo());
-		Attribute colorFondo = obtenerColorPalo(carta.palo());
+		return dibujarCarta(carta, SOPORTA_ANSI);
+	}
 
-		return dibujarCarta(valor, nombrePalo, colorFondo);
+	/**
+	 * Dibuja una carta, con o sin colores.
+	 * 
+	 * @param carta      la carta a dibujar
+	 * @param conColores true para colorear el palo con códigos ANSI
+	 * @return array de cadenas de texto representando las líneas de la carta
+	 */
+	public static String[] dibujarCarta(Carta carta, boolean conColores) {
+		String[] dibujo = buscarDibujo(carta, conColores);
+		// se devuelve una copia para que la caché no pueda modificarse
+		return dibujo != null ? dibujo.clone() : dibujarCarta(carta.puntuacion(), carta.palo(), conColores);
+	}
+
+	/**
+	 * Recupera una línea del dibujo de una carta sin crear ningún objeto.
+	 * 
+	 * @param carta la carta a dibujar
+	 * @param fila  número de línea (de 0 a {@link #FILAS} - 1)
+	 * @return línea de texto del dibujo de la carta
+	 */
+	public static String dibujarLinea(Carta carta, int fila) {
+		String[] dibujo = buscarDibujo(carta, SOPORTA_ANSI);
+		return dibujo != null ? dibujo[fila] : dibujarCarta(carta.puntuacion(), carta.palo(), SOPORTA_ANSI)[fila];
+	}
+
+	/**
+	 * Consulta si el terminal soporta colores ANSI, según la detección
+	 * realizada al cargar la clase.
+	 * 
+	 * @return true si soporta ANSI, false en caso contrario
+	 */
+	public static boolean soportaColores() {
+		return SOPORTA_ANSI;
+	}
+
+	/**
+	 * Busca en la caché el dibujo de una carta.
+	 * 
+	 * @param carta      carta
+	 * @param conColores true para el dibujo con colores
+	 * @return dibujo en caché o null si la puntuación no es válida
+	 */
+	private static String[] buscarDibujo(Carta carta, boolean conColores) {
+		int puntuacion = carta.puntuacion();
+		if (puntuacion < AS || puntuacion > REY) {
+			return null;
+		}
+		String[][] dibujos = conColores ? DIBUJOS_CON_COLOR : DIBUJOS_SIN_COLOR;
+		return dibujos[carta.palo().ordinal() * CARTAS_POR_PALO + puntuacion - 1];
+	}
+
+	/**
+	 * Dibuja todas las cartas de la baraja para la caché.
+	 * 
+	 * @param conColores true para colorear el palo con códigos ANSI
+	 * @return dibujos indexados por palo y puntuación
+	 */
+	private static String[][] dibujarTodas(boolean conColores) {
+		Palo[] palos = Palo.values();
+		String[][] dibujos = new String[palos.length * CARTAS_POR_PALO][];
+		for (Palo palo : palos) {
+			for (int puntuacion = AS; puntuacion <= REY; puntuacion++) {
+				dibujos[palo.ordinal() * CARTAS_POR_PALO + puntuacion - 1] = dibujarCarta(puntuacion, palo,
+						conColores);
+			}
+		}
+		return dibujos;
+	}
+
+	/**
+	 * Dibuja una carta a partir de su puntuación y palo.
+	 * 
+	 * @param puntuacion puntuación de la carta
+	 * @param palo       palo de la carta
+	 * @param conColores true para colorear el palo con códigos ANSI
+	 * @return array de cadenas de texto representando las líneas de la carta
+	 */
+	private static String[] dibujarCarta(int puntuacion, Palo palo, boolean conColores) {
+		String valor = puntuacionAValorVisual(puntuacion);
+		String nombrePalo = obtenerNombrePalo(palo);
+		Attribute colorFondo = obtenerColorPalo(palo);
+
+		return dibujarCarta(valor, nombrePalo, colorFondo, conColores);
 	}
 
 	/**
@@ -130,9 +231,11 @@ public class CartaTextoColor {
 	 * @param valor      valor a mostrar en las esquinas
 	 * @param nombrePalo nombre del palo
 	 * @param colorFondo color de fondo
+	 * @param conColores true para colorear el palo con códigos ANSI
 	 * @return array de cadenas de texto epresentando las líneas de la carta
 	 */
-	private static String[] dibujarCarta(String valor, String nombrePalo, Attribute colorFondo) {
+	private static String[] dibujarCarta(String valor, String nombrePalo, Attribute colorFondo,
+			boolean conColores) {
 		int desp = valor.length() > 1 ? valor.length() : 2;
 		String filaArriba = String.format("│%-2s%-" + (ANCHO - desp) + "s│", valor, "");
 		String filaAbajo = String.format("│%" + (ANCHO - desp) + "s%2s│", "", valor);
@@ -145,8 +248,8 @@ public class CartaTextoColor {
 		String paloCentrado = " ".repeat(izq) + nombrePalo + " ".repeat(der);
 
 		String filaCentral;
-		// Si se soportan ANSI, devolver sin colores
-		if (soportaAnsi()) {
+		// Si no se soportan ANSI, devolver sin colores
+		if (conColores) {
 			filaCentral = Ansi.colorize(paloCentrado, TEXTO_BLANCO, NEGRITA, colorFondo);
 		} else {
 			filaCentral = paloCentrado;
@@ -196,6 +299,9 @@ public class CartaTextoColor {
 	/**
 	 * Detecta si el entorno de ejecución soporta ANSI.
 	 * 
+	 * Solo se invoca una vez, al cargar la clase. La comprobación de Eclipse,
+	 * que recorre el árbol de procesos, se deja para el final.
+	 * 
 	 * @return true si soporta ANSI, false en caso contrario
 	 */
 	private static boolean soportaAnsi() {
@@ -205,9 +311,9 @@ public class CartaTextoColor {
 				|| System.getenv("ConEmuANSI") != null // ConEmu
 				|| System.getenv("TERM_PROGRAM") != null // macOS Terminal, VSCode
 				|| (System.getenv("TERM") != null && !"dumb".equals(System.getenv("TERM"))) // Linux, Git Bash, WSL
-				|| estaEjecutandoseDesdeEclipse() // Desde eclipse...
 				|| sistemaOperativo.contains("windows 11") // windows 11 terminal
-				|| sistemaOperativo.contains("linux") || sistemaOperativo.contains("mac");
+				|| sistemaOperativo.contains("linux") || sistemaOperativo.contains("mac")
+				|| estaEjecutandoseDesdeEclipse(); // Desde eclipse...
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package escoba;
+
+import escoba.control.Estrategia;
+import escoba.ia.EstrategiaVoraz;
+import escoba.modelo.Baraja;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Partida;
+
+/**
+ * Partidas y estrategias de prueba compartidas por los tests que juegan
+ * partidas completas.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Partida
+ */
+public final class PartidasPrueba {
+
+	/** Constructor privado en clase de utilidades. */
+	private PartidasPrueba() {	}
+
+	/**
+	 * Crea una partida de jugadores individuales, llamados "Jugador 1",
+	 * "Jugador 2", etc., con la baraja de la semilla dada.
+	 *
+	 * @param jugadores número de jugadores
+	 * @param semilla   semilla de la baraja
+	 * @return partida
+	 */
+	public static Partida crearPartida(int jugadores, long semilla) {
+		return crearPartida(jugadores, jugadores, semilla);
+	}
+
+	/**
+	 * Crea una partida por equipos, con jugadores llamados "Jugador 1",
+	 * "Jugador 2", etc., y la baraja de la semilla dada.
+	 *
+	 * @param jugadores número de jugadores
+	 * @param equipos   número de equipos
+	 * @param semilla   semilla de la baraja
+	 * @return partida
+	 */
+	public static Partida crearPartida(int jugadores, int equipos, long semilla) {
+		Jugador[] asientos = new Jugador[jugadores];
+		for (int i = 0; i < jugadores; i++) {
+			asientos[i] = new Jugador("Jugador " + (i + 1));
+		}
+		return new Partida(asientos, equipos, new Mesa(), new Baraja(semilla));
+	}
+
+	/**
+	 * Crea una estrategia voraz por jugador.
+	 *
+	 * @param jugadores número de jugadores
+	 * @return estrategias
+	 */
+	public static Estrategia[] estrategias(int jugadores) {
+		Estrategia[] estrategias = new Estrategia[jugadores];
+		for (int i = 0; i < jugadores; i++) {
+			estrategias[i] = new EstrategiaVoraz();
+		}
+		return estrategias;
+	}
+}
@@ -13,11 +13,17 @@ import org.junit.platform.suite.api.SuiteDisplayName;
  * @version 1.0
  * @see escoba.modelo.Jugador
  * @see escoba.modelo.Baza
+ * @see escoba.modelo.CartaSet
  * @see escoba.control.Controlador
  */
 @SelectPackages({
 	"escoba.modelo",
-	"escoba.control"
+	"escoba.control",
+	"escoba.ia",
+	"escoba.registro",
+	"escoba.servidor",
+	"escoba.simulacion",
+	"escoba.vista"
 	})
 @Suite
 @SuiteDisplayName("Ejecución de todos los tests sobre signaturas de las clases solicitadas.")
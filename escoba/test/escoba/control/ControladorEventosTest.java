@@ -0,0 +1,198 @@
+package escoba.control;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static escoba.PartidasPrueba.estrategias;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+
+/**
+ * Tests sobre los eventos que publica el controlador y sobre las partidas
+ * con decisiones asíncronas.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.control.Controlador
+ * @see escoba.control.EventoPartida
+ */
+@DisplayName("Tests sobre los eventos y las decisiones asíncronas del controlador")
+public class ControladorEventosTest {
+
+	/** Rondas de una partida. */
+	private static final int RONDAS = 36;
+
+	/** Segundos que se espera como mucho a una partida asíncrona. */
+	private static final long ESPERA = 30;
+
+	/** Constructor. */
+	private ControladorEventosTest() {	}
+
+	/**
+	 * Comprueba el orden de los eventos de partidas desatendidas completas.
+	 *
+	 * @param jugadores número de jugadores
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación del orden de los eventos")
+	@ValueSource(ints = { 2, 3, 4 })
+	void testOrdenEventos(int jugadores) {
+		for (long semilla = 1; semilla <= 20; semilla++) {
+			Partida partida = crearPartida(jugadores, semilla);
+			Controlador controlador = new Controlador(partida, estrategias(jugadores));
+			List<EventoPartida> eventos = new ArrayList<>();
+			controlador.agregarOyente(eventos::add);
+			controlador.ejecutarPartida();
+			comprobarOrden(eventos, jugadores);
+		}
+	}
+
+	/**
+	 * Comprueba que el desglose del evento de fin de partida no puede
+	 * modificarse desde fuera.
+	 */
+	@Test
+	@DisplayName("Comprobación de que el fin de partida es inmutable")
+	void testFinPartidaInmutable() {
+		int[] desgloses = { 1, 2 };
+		EventoPartida.FinPartida fin = new EventoPartida.FinPartida(RONDAS, 0, 0L, desgloses);
+		desgloses[0] = 7;
+		fin.desgloses()[1] = 7;
+		assertArrayEquals(new int[] { 1, 2 }, fin.desgloses(), "El evento guarda y entrega copias");
+	}
+
+	/**
+	 * Comprueba que una partida cuyas jugadas llegan en otro hilo termina y
+	 * acaba igual que la misma partida jugada de forma síncrona.
+	 *
+	 * @throws Exception si la partida no termina a tiempo o falla
+	 */
+	@Test
+	@DisplayName("Comprobación de que la partida asíncrona termina igual que la síncrona")
+	void testPartidaAsincronaTermina() throws Exception {
+		ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+		try {
+			for (int jugadores = 2; jugadores <= 4; jugadores++) {
+				for (long semilla = 1; semilla <= 10; semilla++) {
+					Partida sincrona = crearPartida(jugadores, semilla);
+					new Controlador(sincrona, estrategias(jugadores)).ejecutarPartida();
+
+					Partida asincrona = crearPartida(jugadores, semilla);
+					ProveedorDecisiones directo = ProveedorDecisiones.deEstrategias(estrategias(jugadores));
+					ProveedorDecisiones remoto = (partida, asiento) -> CompletableFuture.supplyAsync(
+							() -> directo.decidir(partida, asiento).toCompletableFuture().join(), ejecutor);
+					Controlador controlador = new Controlador(asincrona, remoto);
+					List<EventoPartida> eventos = new ArrayList<>();
+					controlador.agregarOyente(eventos::add);
+					controlador.ejecutarPartidaAsincrona().toCompletableFuture().get(ESPERA, TimeUnit.SECONDS);
+
+					assertEquals(sincrona.consultarClave(), asincrona.consultarClave(),
+							"Mismo estado final con " + jugadores + " jugadores y semilla " + semilla);
+					comprobarOrden(eventos, jugadores);
+				}
+			}
+		} finally {
+			ejecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Comprueba que una jugada con una carta que no está en la mano termina
+	 * la partida con error en ambos modos.
+	 */
+	@Test
+	@DisplayName("Comprobación de que una carta ajena termina la partida con error")
+	void testCartaAjenaTerminaConError() {
+		ProveedorDecisiones tramposo = (partida, asiento) -> {
+			Jugador rival = partida.obtenerJugadores()[(asiento + 1) % 2];
+			return CompletableFuture.completedFuture(new Jugada(rival.consultarCartaEnMano(0), 0L));
+		};
+		CompletableFuture<Void> etapa = new Controlador(crearPartida(2, 1), tramposo).ejecutarPartidaAsincrona()
+				.toCompletableFuture();
+		ExecutionException error = assertThrows(ExecutionException.class, () -> etapa.get(ESPERA, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalStateException.class, error.getCause(), "La etapa falla con la causa original");
+		assertThrows(IllegalStateException.class, () -> new Controlador(crearPartida(2, 1), tramposo).ejecutarPartida(),
+				"El modo síncrono relanza la causa original");
+	}
+
+	/**
+	 * Comprueba la secuencia de eventos de una partida completa: un reparto
+	 * inicial, una carta por ronda en orden de turno, cada captura y cada
+	 * escoba justo detrás de su carta, un fin de reparto cada vez que se
+	 * vacían las manos seguido de un nuevo reparto mientras quedan cartas, y
+	 * el fin de la partida al final.
+	 *
+	 * @param eventos   eventos recibidos
+	 * @param jugadores número de jugadores
+	 */
+	private static void comprobarOrden(List<EventoPartida> eventos, int jugadores) {
+		EventoPartida.Reparto inicial = assertInstanceOf(EventoPartida.Reparto.class, eventos.get(0), "Reparto inicial");
+		assertEquals(0, inicial.ronda(), "El reparto inicial es en la ronda 0");
+		assertEquals(RONDAS - 3 * jugadores, inicial.cartasEnBaraja(), "Cartas en la baraja tras el reparto inicial");
+
+		int ronda = 0;
+		EventoPartida anterior = inicial;
+		for (int i = 1; i < eventos.size(); i++) {
+			EventoPartida evento = eventos.get(i);
+			switch (evento) {
+				case EventoPartida.CartaJugada jugada -> {
+					assertTrue(anterior instanceof EventoPartida.Reparto || anterior instanceof EventoPartida.CartaJugada
+							|| anterior instanceof EventoPartida.Captura || anterior instanceof EventoPartida.Escoba,
+							"Carta tras " + anterior);
+					assertEquals(ronda, jugada.ronda(), "Una carta por ronda");
+					assertEquals(ronda % jugadores, jugada.asiento(), "Los turnos rotan en anillo");
+					ronda++;
+				}
+				case EventoPartida.Captura captura -> {
+					EventoPartida.CartaJugada jugada = assertInstanceOf(EventoPartida.CartaJugada.class, anterior,
+							"La captura sigue a su carta");
+					assertEquals(jugada.ronda(), captura.ronda(), "Misma ronda que la carta");
+					assertEquals(jugada.asiento(), captura.asiento(), "Mismo asiento que la carta");
+					assertEquals(jugada.carta(), captura.carta(), "Misma carta");
+				}
+				case EventoPartida.Escoba escoba -> {
+					EventoPartida.Captura captura = assertInstanceOf(EventoPartida.Captura.class, anterior,
+							"La escoba sigue a su captura");
+					assertEquals(captura.ronda(), escoba.ronda(), "Misma ronda que la captura");
+				}
+				case EventoPartida.FinReparto fin -> {
+					assertEquals(ronda, fin.ronda(), "Rondas jugadas al terminar el reparto");
+					assertEquals(0, ronda % (3 * jugadores), "El reparto termina cuando se vacían las manos");
+				}
+				case EventoPartida.Reparto reparto -> {
+					EventoPartida.FinReparto fin = assertInstanceOf(EventoPartida.FinReparto.class, anterior,
+							"Cada reparto sigue al fin del anterior");
+					assertEquals(fin.cartasEnBaraja() - 3 * jugadores, reparto.cartasEnBaraja(), "Cartas repartidas");
+				}
+				case EventoPartida.FinPartida fin -> {
+					assertEquals(eventos.size() - 1, i, "El fin de la partida es el último evento");
+					EventoPartida.FinReparto ultimo = assertInstanceOf(EventoPartida.FinReparto.class, anterior,
+							"El fin de la partida sigue al último fin de reparto");
+					assertEquals(0, ultimo.cartasEnBaraja(), "La baraja está vacía");
+					assertEquals(RONDAS, fin.ronda(), "Se juegan todas las rondas");
+				}
+			}
+			anterior = evento;
+		}
+		assertInstanceOf(EventoPartida.FinPartida.class, anterior, "La partida termina");
+	}
+}
@@ -0,0 +1,63 @@
+package escoba.ia;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.control.Controlador;
+import escoba.control.Estrategia;
+import escoba.modelo.Partida;
+
+/**
+ * Tests sobre la estrategia que resuelve el último reparto.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.ia.EstrategiaFinal
+ */
+@DisplayName("Tests sobre la estrategia del último reparto")
+public class EstrategiaFinalTest {
+
+	/** Partidas que se juegan. */
+	private static final int PARTIDAS = 50;
+
+	/** Constructor. */
+	private EstrategiaFinalTest() {	}
+
+	/**
+	 * Comprueba que con tres jugadores, que no forman dos bandos, la partida
+	 * termina y se juega igual que con la estrategia previa sola.
+	 */
+	@Test
+	@DisplayName("Comprobación de que con tres jugadores decide la estrategia previa")
+	void testTresJugadoresDelegaEnPrevia() {
+		for (long semilla = 1; semilla <= PARTIDAS; semilla++) {
+			Partida conFinal = jugar(3, semilla, true);
+			Partida voraz = jugar(3, semilla, false);
+			assertTrue(conFinal.obtenerBaraja().estaVacia(), "La partida termina");
+			assertEquals(voraz.consultarClave(), conFinal.consultarClave(), "Mismas jugadas que la previa");
+		}
+	}
+
+	/**
+	 * Juega una partida completa de estrategias voraces.
+	 *
+	 * @param jugadores número de jugadores
+	 * @param semilla   semilla de la baraja
+	 * @param resolver  si las estrategias resuelven el último reparto
+	 * @return partida terminada
+	 */
+	private static Partida jugar(int jugadores, long semilla, boolean resolver) {
+		Estrategia[] estrategias = new Estrategia[jugadores];
+		for (int i = 0; i < jugadores; i++) {
+			estrategias[i] = resolver ? new EstrategiaFinal(new EstrategiaVoraz()) : new EstrategiaVoraz();
+		}
+		Partida partida = crearPartida(jugadores, semilla);
+		new Controlador(partida, estrategias).ejecutarPartida();
+		return partida;
+	}
+}
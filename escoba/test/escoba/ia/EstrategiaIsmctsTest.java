@@ -0,0 +1,153 @@
+package escoba.ia;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import escoba.control.Controlador;
+import escoba.control.Estrategia;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+import escoba.simulacion.ResultadoSimulacion;
+import escoba.simulacion.Simulador;
+
+/**
+ * Tests sobre la estrategia de búsqueda Monte Carlo sobre conjuntos de
+ * información.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.ia.EstrategiaIsmcts
+ */
+@DisplayName("Tests sobre la estrategia ISMCTS")
+public class EstrategiaIsmctsTest {
+
+	/** Milisegundos por jugada en los tests. */
+	private static final long MILISEGUNDOS = 5;
+
+	/** Hilos de búsqueda en los tests. */
+	private static final int HILOS = 2;
+
+	/** Semilla fija de los tests. */
+	private static final long SEMILLA = 2025L;
+
+	/** Constructor. */
+	private EstrategiaIsmctsTest() {	}
+
+	/**
+	 * Comprueba en partidas completas que cada jugada elegida es legal en la
+	 * partida real, aunque la búsqueda se haga sobre determinizaciones, y que
+	 * buscar no modifica la partida.
+	 *
+	 * @param jugadores número de jugadores, en dos bandos
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de que las jugadas elegidas son legales")
+	@ValueSource(ints = { 2, 4 })
+	void testJugadasLegales(int jugadores) {
+		Estrategia[] estrategias = new Estrategia[jugadores];
+		EstrategiaIsmcts[] busquedas = new EstrategiaIsmcts[jugadores];
+		for (int i = 0; i < jugadores; i++) {
+			busquedas[i] = new EstrategiaIsmcts(MILISEGUNDOS, HILOS, SEMILLA + i);
+			estrategias[i] = new Comprobadora(busquedas[i]);
+		}
+		try {
+			Partida partida = crearPartida(jugadores, 2, SEMILLA);
+			new Controlador(partida, estrategias).ejecutarPartida();
+			assertTrue(partida.obtenerBaraja().estaVacia(), "La partida termina");
+			for (EstrategiaIsmcts busqueda : busquedas) {
+				assertTrue(busqueda.consultarIteraciones() > 0, "Se ha buscado en la última jugada");
+			}
+		} finally {
+			for (EstrategiaIsmcts busqueda : busquedas) {
+				busqueda.close();
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que con una semilla fija la búsqueda saca más puntos que una
+	 * estrategia aleatoria.
+	 */
+	@Test
+	@DisplayName("Comprobación de que gana a la estrategia aleatoria")
+	void testGanaAAleatoria() {
+		try (EstrategiaIsmcts busqueda = new EstrategiaIsmcts(MILISEGUNDOS, HILOS, SEMILLA)) {
+			Simulador simulador = new Simulador(SEMILLA, busqueda, new EstrategiaAleatoria(new SplittableRandom(SEMILLA)));
+			ResultadoSimulacion resultado = simulador.simular(20);
+			assertTrue(resultado.consultarPuntos(0) > resultado.consultarPuntos(1),
+					"Puntos: " + resultado.consultarPuntos(0) + " frente a " + resultado.consultarPuntos(1));
+		}
+	}
+
+	/**
+	 * Comprueba que con tres jugadores, que no forman dos bandos, juega la
+	 * estrategia voraz en lugar de fallar.
+	 */
+	@Test
+	@DisplayName("Comprobación de que con tres jugadores juega la estrategia voraz")
+	void testTresJugadoresJuegaVoraz() {
+		Partida conBusqueda = crearPartida(3, SEMILLA);
+		Partida voraz = crearPartida(3, SEMILLA);
+		EstrategiaIsmcts[] busquedas = new EstrategiaIsmcts[3];
+		Estrategia[] vorazes = new Estrategia[3];
+		for (int i = 0; i < 3; i++) {
+			busquedas[i] = new EstrategiaIsmcts(MILISEGUNDOS, HILOS, SEMILLA + i);
+			vorazes[i] = new EstrategiaVoraz();
+		}
+		try {
+			new Controlador(conBusqueda, busquedas).ejecutarPartida();
+			new Controlador(voraz, vorazes).ejecutarPartida();
+			assertEquals(voraz.consultarClave(), conBusqueda.consultarClave(), "Mismas jugadas que la voraz");
+		} finally {
+			for (EstrategiaIsmcts busqueda : busquedas) {
+				busqueda.close();
+			}
+		}
+	}
+
+	/**
+	 * Estrategia que comprueba las decisiones de otra antes de devolverlas.
+	 */
+	private static final class Comprobadora implements Estrategia {
+
+		/** Estrategia comprobada. */
+		private final Estrategia estrategia;
+
+		/**
+		 * Crea la estrategia.
+		 *
+		 * @param estrategia estrategia comprobada
+		 */
+		private Comprobadora(Estrategia estrategia) {
+			this.estrategia = estrategia;
+		}
+
+		@Override
+		public Carta elegirCarta(Partida partida, Jugador jugador) {
+			long clave = partida.consultarClave();
+			Carta carta = estrategia.elegirCarta(partida, jugador);
+			assertEquals(clave, partida.consultarClave(), "Buscar no modifica la partida");
+			assertTrue(CartaSet.contiene(jugador.consultarConjuntoMano(), carta), "La carta está en la mano");
+			return carta;
+		}
+
+		@Override
+		public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+			long captura = estrategia.elegirCaptura(partida, jugador, carta);
+			assertTrue(CartaSet.estaVacio(captura) || partida.obtenerMesa().esCapturaValida(carta, captura),
+					"La captura es válida en la mesa real");
+			return captura;
+		}
+	}
+}
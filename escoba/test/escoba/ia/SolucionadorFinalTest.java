@@ -0,0 +1,143 @@
+package escoba.ia;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * Tests que comparan el solucionador del último reparto con una búsqueda
+ * exhaustiva sin poda ni tabla de transposición.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.ia.SolucionadorFinal
+ */
+@DisplayName("Tests sobre el solucionador del último reparto")
+public class SolucionadorFinalTest {
+
+	/** Capacidad de los arrays de capturas de la búsqueda exhaustiva. */
+	private static final int CAPACIDAD_CAPTURAS = 256;
+
+	/** Constructor. */
+	private SolucionadorFinalTest() {	}
+
+	/**
+	 * Comprueba en últimos repartos aleatorios entre dos jugadores que el
+	 * valor del solucionador y el de su mejor jugada coinciden con los de la
+	 * búsqueda exhaustiva, y que la partida queda como estaba.
+	 * <p>Solo se usan dos jugadores: sin poda, los doce turnos de un final
+	 * entre dos parejas son demasiados para la búsqueda exhaustiva.</p>
+	 *
+	 * @param finales número de últimos repartos
+	 * @param semilla semilla de los repartos
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación del solucionador frente a la búsqueda exhaustiva")
+	@CsvSource({
+		"200, 1",
+		"200, 2"
+	})
+	void testCoincideConBusquedaExhaustiva(int finales, long semilla) {
+		SplittableRandom aleatorio = new SplittableRandom(semilla);
+		SolucionadorFinal solucionador = new SolucionadorFinal();
+		for (int i = 0; i < finales; i++) {
+			Partida partida = crearUltimoReparto(2, aleatorio);
+			long clave = partida.consultarClave();
+			int exacto = exhaustivo(partida);
+
+			assertEquals(exacto, solucionador.resolver(partida), "Valor del final " + i);
+			assertEquals(clave, partida.consultarClave(), "La partida no cambia al resolver");
+
+			Jugada mejor = solucionador.mejorJugada(partida);
+			assertNotNull(mejor, "Hay jugada con cartas en la mano");
+			assertEquals(clave, partida.consultarClave(), "La partida no cambia al buscar la jugada");
+			int equipo = partida.obtenerEquipo(partida.obtenerIndiceTurno());
+			partida.aplicar(mejor);
+			int valor = exhaustivo(partida);
+			if (partida.obtenerEquipo(partida.obtenerIndiceTurno()) != equipo) {
+				valor = -valor;
+			}
+			assertEquals(exacto, valor, "La mejor jugada del final " + i + " alcanza el valor exacto");
+		}
+	}
+
+	/**
+	 * Juega al azar hasta que se reparte la última mano.
+	 *
+	 * @param jugadores número de jugadores
+	 * @param aleatorio generador aleatorio
+	 * @return partida con la baraja vacía y todas las manos completas
+	 */
+	private static Partida crearUltimoReparto(int jugadores, SplittableRandom aleatorio) {
+		Partida partida = crearPartida(jugadores, 2, aleatorio.nextLong());
+		Baraja baraja = partida.obtenerBaraja();
+		baraja.barajar();
+		partida.repartir(3);
+		for (int i = 0; i < 4; i++) {
+			partida.obtenerMesa().ponerCarta(baraja.extraerCarta());
+		}
+		long[] capturas = new long[CAPACIDAD_CAPTURAS];
+		while (true) {
+			Jugador jugador = partida.obtenerJugadorActual();
+			if (jugador.estaSinCartas()) {
+				partida.repartir(3);
+				if (baraja.estaVacia()) {
+					return partida;
+				}
+				continue;
+			}
+			long mano = jugador.consultarConjuntoMano();
+			Carta carta = CartaSet.enPosicion(mano, aleatorio.nextInt(CartaSet.contar(mano)));
+			int total = partida.obtenerMesa().generarCapturas(carta, capturas);
+			partida.aplicar(new Jugada(carta, total == 0 ? CartaSet.VACIO : capturas[aleatorio.nextInt(total)]));
+		}
+	}
+
+	/**
+	 * Valora la posición recorriendo todas las jugadas, incluida dejar la
+	 * carta en la mesa aunque pueda capturar.
+	 *
+	 * @param partida partida con la baraja vacía
+	 * @return diferencia final de puntos a favor del bando al que le toca jugar
+	 */
+	private static int exhaustivo(Partida partida) {
+		Jugador jugador = partida.obtenerJugadorActual();
+		int equipo = partida.obtenerEquipo(partida.obtenerIndiceTurno());
+		if (jugador.estaSinCartas()) {
+			return Puntuacion.diferenciaFinal(partida, equipo);
+		}
+		long[] capturas = new long[CAPACIDAD_CAPTURAS];
+		int mejor = Integer.MIN_VALUE;
+		for (long resto = jugador.consultarConjuntoMano(); !CartaSet.estaVacio(resto);
+				resto = CartaSet.quitarPrimera(resto)) {
+			Carta carta = CartaSet.primera(resto);
+			int total = partida.obtenerMesa().generarCapturas(carta, capturas);
+			for (int i = 0; i <= total; i++) {
+				Jugada jugada = new Jugada(carta, i < total ? capturas[i] : CartaSet.VACIO);
+				partida.aplicar(jugada);
+				int valor = exhaustivo(partida);
+				if (partida.obtenerEquipo(partida.obtenerIndiceTurno()) != equipo) {
+					valor = -valor;
+				}
+				partida.deshacer(jugada);
+				mejor = Math.max(mejor, valor);
+			}
+		}
+		return mejor;
+	}
+}
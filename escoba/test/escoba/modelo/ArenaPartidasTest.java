@@ -0,0 +1,197 @@
+package escoba.modelo;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests sobre el almacén de estados de partida fuera del montículo.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.ArenaPartidas
+ */
+@DisplayName("Tests sobre el almacén de estados de partida")
+public class ArenaPartidasTest {
+
+	/** Partidas aleatorias por número de jugadores. */
+	private static final int PARTIDAS = 300;
+
+	/** Constructor. */
+	private ArenaPartidasTest() {	}
+
+	/**
+	 * Juega las mismas partidas aleatorias sobre una {@link Partida} y sobre
+	 * un estado del almacén y comprueba que coinciden tras cada reparto y
+	 * cada jugada, que guardar y cargar conservan la situación y que la
+	 * diferencia final es la misma.
+	 *
+	 * @param jugadores número de jugadores, en dos bandos
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de que el almacén juega igual que la partida")
+	@ValueSource(ints = { 2, 4 })
+	void testParidadConPartida(int jugadores) {
+		SplittableRandom aleatorio = new SplittableRandom(jugadores);
+		long[] capturas = new long[1024];
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		try (ArenaPartidas arena = new ArenaPartidas(4)) {
+			int jugado = arena.reservar();
+			int guardado = arena.reservar();
+			for (int n = 0; n < PARTIDAS; n++) {
+				Partida partida = crearPartida(jugadores, 2, aleatorio.nextLong());
+				Partida cargada = crearPartida(jugadores, 2, 0L);
+				partida.obtenerBaraja().barajar();
+				partida.obtenerBaraja().consultarOrden(orden);
+				arena.iniciar(jugado, jugadores, 2, orden);
+				comprobar(arena, jugado, partida);
+
+				partida.repartir(3);
+				arena.repartir(jugado, 3);
+				for (int i = 0; i < 4; i++) {
+					Carta carta = partida.obtenerBaraja().extraerCarta();
+					assertEquals(carta, arena.extraerCarta(jugado), "Misma carta de la cima");
+					partida.obtenerMesa().ponerCarta(carta);
+					arena.ponerCarta(jugado, carta);
+				}
+				comprobar(arena, jugado, partida);
+
+				for (int ronda = 0; ronda < Baraja.NUMERO_CARTAS - 4; ronda++) {
+					arena.guardar(guardado, partida);
+					comprobar(arena, guardado, partida);
+					arena.cargar(guardado, cargada);
+					assertEquals(partida.consultarClave(), cargada.consultarClave(), "Guardar y cargar");
+
+					long mano = partida.obtenerJugadorActual().consultarConjuntoMano();
+					Carta carta = CartaSet.enPosicion(mano, aleatorio.nextInt(CartaSet.contar(mano)));
+					int total = partida.obtenerMesa().generarCapturas(carta, capturas);
+					int eleccion = aleatorio.nextInt(total + 1);
+					Jugada jugada = new Jugada(carta, eleccion == total ? CartaSet.VACIO : capturas[eleccion]);
+					partida.aplicar(jugada);
+					assertEquals(jugada.fueEscoba(), arena.aplicar(jugado, carta, jugada.consultarCaptura()), "Escoba");
+					comprobar(arena, jugado, partida);
+					if (partida.obtenerJugadorActual().estaSinCartas() && !partida.obtenerBaraja().estaVacia()) {
+						partida.repartir(3);
+						arena.repartir(jugado, 3);
+						comprobar(arena, jugado, partida);
+					}
+				}
+				for (int equipo = 0; equipo < 2; equipo++) {
+					assertEquals(Puntuacion.diferenciaFinal(partida, equipo), arena.diferenciaFinal(jugado, equipo),
+							"Diferencia final del equipo " + equipo);
+				}
+				arena.darCartasRestantes(jugado);
+				assertEquals(0L, arena.consultarMesa(jugado), "La mesa queda vacía");
+			}
+		}
+	}
+
+	/**
+	 * Comprueba la reserva y la liberación, incluido que no se puede liberar
+	 * un estado sin reservar, liberado dos veces o fuera de rango.
+	 */
+	@Test
+	@DisplayName("Comprobación de la reserva y la liberación de estados")
+	void testReservarYLiberar() {
+		try (ArenaPartidas arena = new ArenaPartidas(3)) {
+			int primero = arena.reservar();
+			int segundo = arena.reservar();
+			int tercero = arena.reservar();
+			assertEquals(3, arena.consultarReservados(), "Tres reservados");
+			assertThrows(IllegalStateException.class, arena::reservar, "Sin estados libres");
+
+			arena.liberar(segundo);
+			assertThrows(IllegalStateException.class, () -> arena.liberar(segundo), "Doble liberación");
+			assertEquals(2, arena.consultarReservados(), "La doble liberación no cuenta");
+			assertEquals(segundo, arena.reservar(), "Se reutiliza el liberado");
+			assertThrows(IndexOutOfBoundsException.class, () -> arena.liberar(3), "Fuera de rango");
+			assertThrows(IndexOutOfBoundsException.class, () -> arena.liberar(-1), "Negativo");
+
+			arena.liberar(primero);
+			arena.liberar(tercero);
+			arena.liberar(segundo);
+			assertEquals(0, arena.consultarReservados(), "Ninguno reservado");
+		}
+		try (ArenaPartidas arena = new ArenaPartidas(2)) {
+			assertThrows(IllegalStateException.class, () -> arena.liberar(1), "Nunca reservado");
+		}
+	}
+
+	/**
+	 * Comprueba que varios hilos reservan y liberan a la vez sin recibir
+	 * nunca el mismo estado.
+	 *
+	 * @throws Exception si algún hilo falla
+	 */
+	@Test
+	@DisplayName("Comprobación de la reserva concurrente")
+	void testReservaConcurrente() throws Exception {
+		int hilos = 4;
+		int capacidad = 64;
+		try (ArenaPartidas arena = new ArenaPartidas(capacidad)) {
+			Set<Integer> enUso = ConcurrentHashMap.newKeySet();
+			ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+			try {
+				Future<?>[] tareas = new Future<?>[hilos];
+				for (int h = 0; h < hilos; h++) {
+					tareas[h] = ejecutor.submit(() -> {
+						int[] propios = new int[capacidad / hilos];
+						for (int vuelta = 0; vuelta < 2000; vuelta++) {
+							for (int i = 0; i < propios.length; i++) {
+								propios[i] = arena.reservar();
+								assertTrue(enUso.add(propios[i]), "Estado entregado dos veces");
+							}
+							for (int estado : propios) {
+								enUso.remove(estado);
+								arena.liberar(estado);
+							}
+						}
+					});
+				}
+				for (Future<?> tarea : tareas) {
+					tarea.get(30, TimeUnit.SECONDS);
+				}
+			} finally {
+				ejecutor.shutdown();
+			}
+			assertEquals(0, arena.consultarReservados(), "Todos liberados");
+		}
+	}
+
+	/**
+	 * Compara un estado con una partida campo a campo y por su clave.
+	 *
+	 * @param arena   almacén
+	 * @param estado  estado
+	 * @param partida partida
+	 */
+	private static void comprobar(ArenaPartidas arena, int estado, Partida partida) {
+		Jugador[] jugadores = partida.obtenerJugadores();
+		assertEquals(partida.obtenerMesa().consultarConjunto(), arena.consultarMesa(estado), "Mesa");
+		assertEquals(partida.obtenerBaraja().consultarNumeroCartas(), arena.consultarNumeroCartas(estado), "Baraja");
+		assertEquals(partida.obtenerIndiceTurno(), arena.consultarTurno(estado), "Turno");
+		assertEquals(partida.obtenerIndiceUltimoGanador(), arena.consultarUltimoGanador(estado), "Último ganador");
+		for (int asiento = 0; asiento < jugadores.length; asiento++) {
+			assertEquals(jugadores[asiento].consultarConjuntoMano(), arena.consultarMano(estado, asiento), "Mano");
+			assertEquals(jugadores[asiento].consultarCartasGanadas(), arena.consultarCartasGanadas(estado, asiento),
+					"Cartas ganadas");
+			assertEquals(jugadores[asiento].consultarEscobas(), arena.consultarEscobas(estado, asiento), "Escobas");
+		}
+		assertEquals(partida.consultarClave(), arena.consultarClave(estado), "Clave");
+	}
+}
@@ -0,0 +1,117 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sobre la reproducibilidad y la uniformidad del barajado.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Baraja#barajar()
+ */
+@DisplayName("Tests sobre el barajado")
+public class BarajaTest {
+
+	/** Barajados del contraste de uniformidad. */
+	private static final int BARAJADOS = 48_000;
+
+	/**
+	 * Valor crítico de la chi cuadrado con 23 grados de libertad para un
+	 * nivel de significación de 0,001.
+	 */
+	private static final double CHI_CUADRADO_23 = 49.728;
+
+	/** Constructor. */
+	private BarajaTest() {	}
+
+	/**
+	 * Comprueba que dos barajas con la misma semilla dan el mismo orden en
+	 * barajados sucesivos, también tras extraer cartas, y que otra semilla
+	 * da otro orden.
+	 */
+	@Test
+	@DisplayName("Comprobación de que la misma semilla da el mismo orden")
+	void testReproducible() {
+		Baraja una = new Baraja(2025L);
+		Baraja otra = new Baraja(2025L);
+		Baraja distinta = new Baraja(2026L);
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		byte[] repetido = new byte[Baraja.NUMERO_CARTAS];
+		byte[] diferente = new byte[Baraja.NUMERO_CARTAS];
+		for (int n = 0; n < 10; n++) {
+			una.barajar();
+			otra.barajar();
+			distinta.barajar();
+			una.consultarOrden(orden);
+			otra.consultarOrden(repetido);
+			distinta.consultarOrden(diferente);
+			assertArrayEquals(orden, repetido, "Mismo orden en el barajado " + n);
+			assertFalse(Arrays.equals(orden, diferente), "Otra semilla, otro orden");
+
+			for (int i = 0; i < 7; i++) {
+				assertEquals(una.extraerCarta(), otra.extraerCarta(), "Misma carta extraída");
+			}
+			una.barajar();
+			otra.barajar();
+			una.consultarOrden(orden);
+			otra.consultarOrden(repetido);
+			assertArrayEquals(orden, repetido, "Mismo orden al barajar el resto");
+			una.reiniciar();
+			otra.reiniciar();
+			distinta.reiniciar();
+		}
+	}
+
+	/**
+	 * Baraja muchas veces un resto de cuatro cartas con
+	 * {@link Baraja#reiniciarCon(long)} y contrasta con una chi cuadrado que
+	 * las 24 ordenaciones son equiprobables; un barajado sesgado, como
+	 * intercambiar cada posición con cualquier otra, no lo supera.
+	 */
+	@Test
+	@DisplayName("Comprobación de que las ordenaciones del resto son equiprobables")
+	void testUniforme() {
+		long resto = CartaSet.deCartas(new Carta[] { Carta.de(Palo.OROS, 1), Carta.de(Palo.COPAS, 5),
+				Carta.de(Palo.ESPADAS, 7), Carta.de(Palo.BASTOS, 10) });
+		Baraja baraja = new Baraja(7L);
+		Map<String, Integer> frecuencias = new HashMap<>();
+		int[][] posiciones = new int[4][Baraja.NUMERO_CARTAS + 1];
+		Carta[] extraidas = new Carta[4];
+		for (int n = 0; n < BARAJADOS; n++) {
+			baraja.reiniciarCon(resto);
+			assertEquals(4, baraja.consultarNumeroCartas(), "Cuatro cartas por extraer");
+			for (int i = 0; i < extraidas.length; i++) {
+				extraidas[i] = baraja.extraerCarta();
+				posiciones[i][extraidas[i].clave()]++;
+			}
+			assertEquals(resto, CartaSet.deCartas(extraidas), "Se extrae el resto");
+			frecuencias.merge(Arrays.toString(extraidas), 1, Integer::sum);
+		}
+		assertEquals(24, frecuencias.size(), "Aparecen las 24 ordenaciones");
+		double esperada = BARAJADOS / 24.0;
+		double chiCuadrado = 0;
+		for (int frecuencia : frecuencias.values()) {
+			chiCuadrado += (frecuencia - esperada) * (frecuencia - esperada) / esperada;
+		}
+		assertTrue(chiCuadrado < CHI_CUADRADO_23, "Chi cuadrado de las ordenaciones: " + chiCuadrado);
+
+		// cada carta aparece en cada posición alrededor de una cuarta parte de las veces
+		for (int[] posicion : posiciones) {
+			for (long cartas = resto; !CartaSet.estaVacio(cartas); cartas = CartaSet.quitarPrimera(cartas)) {
+				int veces = posicion[CartaSet.primera(cartas).clave()];
+				assertTrue(Math.abs(veces - BARAJADOS / 4.0) < 0.02 * BARAJADOS, "Frecuencia por posición: " + veces);
+			}
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sobre el comportamiento de los conjuntos de cartas de 64 bits.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.CartaSet
+ */
+@DisplayName("Tests sobre los conjuntos de cartas")
+public class CartaSetTest {
+
+	/** Constructor. */
+	private CartaSetTest() {	}
+
+	/**
+	 * Comprueba agregar, quitar, contener y contar carta a carta, incluidas
+	 * las operaciones que no cambian el conjunto.
+	 */
+	@Test
+	@DisplayName("Comprobación de agregar, quitar, contener y contar")
+	void testAgregarYQuitar() {
+		long conjunto = CartaSet.VACIO;
+		assertTrue(CartaSet.estaVacio(conjunto), "Vacío al principio");
+		Carta as = Carta.de(Palo.OROS, 1);
+		Carta rey = Carta.de(Palo.BASTOS, 10);
+
+		conjunto = CartaSet.agregar(conjunto, as);
+		assertTrue(CartaSet.contiene(conjunto, as), "Contiene el as");
+		assertFalse(CartaSet.contiene(conjunto, rey), "No contiene el rey");
+		assertEquals(conjunto, CartaSet.agregar(conjunto, as), "Agregar dos veces no cambia");
+		conjunto = CartaSet.agregar(conjunto, rey);
+		assertEquals(2, CartaSet.contar(conjunto), "Dos cartas");
+		assertEquals(CartaSet.bit(as) | CartaSet.bit(rey), conjunto, "Un bit por carta");
+
+		conjunto = CartaSet.quitar(conjunto, as);
+		assertFalse(CartaSet.contiene(conjunto, as), "Ya no contiene el as");
+		assertEquals(conjunto, CartaSet.quitar(conjunto, as), "Quitar una carta ausente no cambia");
+		conjunto = CartaSet.quitar(conjunto, rey);
+		assertTrue(CartaSet.estaVacio(conjunto), "Vacío al final");
+	}
+
+	/**
+	 * Compara conjuntos aleatorios con un {@link TreeSet} de claves: unión,
+	 * pertenencia, número de cartas, recorrido en orden de clave, posición y
+	 * conversión de ida y vuelta a array.
+	 */
+	@Test
+	@DisplayName("Comprobación frente a un conjunto de claves")
+	void testFrenteAConjuntoDeClaves() {
+		SplittableRandom aleatorio = new SplittableRandom(64L);
+		for (int n = 0; n < 2000; n++) {
+			TreeSet<Integer> primero = new TreeSet<>();
+			TreeSet<Integer> segundo = new TreeSet<>();
+			long a = CartaSet.VACIO;
+			long b = CartaSet.VACIO;
+			for (int i = aleatorio.nextInt(Baraja.NUMERO_CARTAS + 1); i > 0; i--) {
+				int clave = 1 + aleatorio.nextInt(Baraja.NUMERO_CARTAS);
+				primero.add(clave);
+				a = CartaSet.agregar(a, Carta.deClave(clave));
+			}
+			for (int i = aleatorio.nextInt(Baraja.NUMERO_CARTAS + 1); i > 0; i--) {
+				int clave = 1 + aleatorio.nextInt(Baraja.NUMERO_CARTAS);
+				segundo.add(clave);
+				b = CartaSet.agregar(b, Carta.deClave(clave));
+			}
+			TreeSet<Integer> union = new TreeSet<>(primero);
+			union.addAll(segundo);
+			long unidos = CartaSet.unir(a, b);
+
+			assertEquals(primero.size(), CartaSet.contar(a), "Número de cartas");
+			assertEquals(union.size(), CartaSet.contar(unidos), "Número de cartas de la unión");
+			for (int clave = 1; clave <= Baraja.NUMERO_CARTAS; clave++) {
+				assertEquals(union.contains(clave), CartaSet.contiene(unidos, Carta.deClave(clave)), "Unión");
+			}
+			assertEquals(new ArrayList<>(union), recorrer(unidos), "Recorrido en orden de clave");
+			int posicion = 0;
+			for (int clave : union) {
+				assertEquals(Carta.deClave(clave), CartaSet.enPosicion(unidos, posicion++), "Carta en posición");
+			}
+			Carta[] cartas = CartaSet.aCartas(unidos);
+			assertEquals(union.size(), cartas.length, "Cartas del array");
+			assertEquals(unidos, CartaSet.deCartas(cartas), "Ida y vuelta por array");
+		}
+	}
+
+	/**
+	 * Comprueba el conjunto con los 40 bits: recuento, recorrido de todas
+	 * las claves, palos y sietes, y que no hay bits fuera de la baraja.
+	 */
+	@Test
+	@DisplayName("Comprobación del conjunto con las 40 cartas")
+	void testTodas() {
+		assertEquals(Baraja.NUMERO_CARTAS, CartaSet.contar(CartaSet.TODAS), "Cuarenta cartas");
+		assertEquals(0L, CartaSet.TODAS >>> Baraja.NUMERO_CARTAS, "Ningún bit por encima de la baraja");
+		List<Integer> todas = new ArrayList<>();
+		for (int clave = 1; clave <= Baraja.NUMERO_CARTAS; clave++) {
+			todas.add(clave);
+		}
+		assertEquals(todas, recorrer(CartaSet.TODAS), "Todas las claves en orden");
+		assertEquals(Carta.deClave(1), CartaSet.primera(CartaSet.TODAS), "Primera carta");
+		assertEquals(Carta.deClave(Baraja.NUMERO_CARTAS), CartaSet.enPosicion(CartaSet.TODAS, Baraja.NUMERO_CARTAS - 1),
+				"Última carta");
+		assertEquals(CartaSet.TODAS, CartaSet.deCartas(CartaSet.aCartas(CartaSet.TODAS)), "Ida y vuelta por array");
+
+		long palos = CartaSet.VACIO;
+		for (Palo palo : Palo.values()) {
+			long delPalo = CartaSet.delPalo(palo);
+			assertEquals(10, CartaSet.contar(delPalo), "Diez cartas de " + palo);
+			assertEquals(CartaSet.VACIO, palos & delPalo, "Palos disjuntos");
+			for (long resto = delPalo; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+				assertEquals(palo, CartaSet.primera(resto).palo(), "Carta de " + palo);
+			}
+			palos = CartaSet.unir(palos, delPalo);
+		}
+		assertEquals(CartaSet.TODAS, palos, "Los cuatro palos forman la baraja");
+		assertEquals(4, CartaSet.contar(CartaSet.SIETES), "Cuatro sietes");
+		for (long resto = CartaSet.SIETES; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+			assertEquals(7, CartaSet.primera(resto).puntuacion(), "Siete");
+		}
+	}
+
+	/**
+	 * Comprueba que una posición fuera del conjunto lanza excepción, también
+	 * en el conjunto vacío y en el completo, y que los nulos del array se
+	 * ignoran.
+	 */
+	@Test
+	@DisplayName("Comprobación de posiciones fuera de límites y nulos")
+	void testFueraDeLimites() {
+		long dos = CartaSet.agregar(CartaSet.agregar(CartaSet.VACIO, Carta.deClave(3)), Carta.deClave(30));
+		assertThrows(IndexOutOfBoundsException.class, () -> CartaSet.enPosicion(dos, 2), "Posición igual al tamaño");
+		assertThrows(IndexOutOfBoundsException.class, () -> CartaSet.enPosicion(dos, -1), "Posición negativa");
+		assertThrows(IndexOutOfBoundsException.class, () -> CartaSet.enPosicion(CartaSet.VACIO, 0), "Vacío");
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> CartaSet.enPosicion(CartaSet.TODAS, Baraja.NUMERO_CARTAS), "Tras la última de la baraja");
+		assertArrayEquals(new Carta[0], CartaSet.aCartas(CartaSet.VACIO), "Vacío a array");
+		assertEquals(dos, CartaSet.deCartas(new Carta[] { null, Carta.deClave(30), null, Carta.deClave(3) }),
+				"Nulos ignorados");
+	}
+
+	/**
+	 * Recorre un conjunto con {@link CartaSet#primera(long)} y
+	 * {@link CartaSet#quitarPrimera(long)}.
+	 *
+	 * @param conjunto conjunto
+	 * @return claves en el orden del recorrido
+	 */
+	private static List<Integer> recorrer(long conjunto) {
+		List<Integer> claves = new ArrayList<>();
+		for (long resto = conjunto; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+			claves.add(CartaSet.primera(resto).clave());
+		}
+		return claves;
+	}
+}
@@ -0,0 +1,143 @@
+package escoba.modelo;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests sobre la clave de Zobrist que mantiene la partida de forma
+ * incremental.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Zobrist
+ * @see escoba.modelo.Partida#consultarClave()
+ */
+@DisplayName("Tests sobre la clave de Zobrist de la partida")
+public class ClaveZobristTest {
+
+	/** Partidas aleatorias por número de jugadores. */
+	private static final int PARTIDAS = 300;
+
+	/** Constructor. */
+	private ClaveZobristTest() {	}
+
+	/**
+	 * Juega partidas aleatorias comprobando tras cada reparto, cada jugada y
+	 * cada jugada deshecha que la clave incremental coincide con la calculada
+	 * desde cero, y que estados distintos no comparten clave.
+	 *
+	 * @param jugadores número de jugadores
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de la clave incremental frente al cálculo desde cero")
+	@ValueSource(ints = { 2, 3, 4 })
+	void testClaveIncremental(int jugadores) {
+		SplittableRandom aleatorio = new SplittableRandom(jugadores);
+		Map<Long, String> estados = new HashMap<>();
+		long[] capturas = new long[1024];
+		for (int n = 0; n < PARTIDAS; n++) {
+			Partida partida = crearPartida(jugadores, aleatorio.nextLong());
+			partida.obtenerBaraja().barajar();
+			comprobar(partida, estados);
+			partida.repartir(3);
+			comprobar(partida, estados);
+			for (int i = 0; i < 4; i++) {
+				partida.obtenerMesa().ponerCarta(partida.obtenerBaraja().extraerCarta());
+				comprobar(partida, estados);
+			}
+
+			for (int ronda = 0; ronda < Baraja.NUMERO_CARTAS - 4; ronda++) {
+				long mano = partida.obtenerJugadorActual().consultarConjuntoMano();
+				Carta carta = CartaSet.enPosicion(mano, aleatorio.nextInt(CartaSet.contar(mano)));
+				int total = partida.obtenerMesa().generarCapturas(carta, capturas);
+				int eleccion = aleatorio.nextInt(total + 1);
+				Jugada jugada = new Jugada(carta, eleccion == total ? CartaSet.VACIO : capturas[eleccion]);
+
+				if (aleatorio.nextInt(4) == 0) {
+					long antes = partida.consultarClave();
+					partida.aplicar(jugada);
+					comprobar(partida, estados);
+					partida.deshacer(jugada);
+					comprobar(partida, estados);
+					assertEquals(antes, partida.consultarClave(), "Deshacer recupera la clave");
+				}
+				partida.aplicar(jugada);
+				comprobar(partida, estados);
+				if (partida.obtenerJugadorActual().estaSinCartas() && !partida.obtenerBaraja().estaVacia()) {
+					partida.repartir(3);
+					comprobar(partida, estados);
+				}
+			}
+		}
+		assertTrue(estados.size() > PARTIDAS * Baraja.NUMERO_CARTAS, "Estados distintos: " + estados.size());
+	}
+
+	/**
+	 * Compara la clave de la partida con la calculada desde cero y la
+	 * registra junto con el estado completo, fallando si otro estado
+	 * distinto ya tenía la misma clave.
+	 *
+	 * @param partida partida
+	 * @param estados estado completo de cada clave vista
+	 */
+	private static void comprobar(Partida partida, Map<Long, String> estados) {
+		long clave = partida.consultarClave();
+		assertEquals(recalcular(partida), clave, "Clave incremental");
+		String estado = describir(partida);
+		String anterior = estados.putIfAbsent(clave, estado);
+		assertTrue(anterior == null || anterior.equals(estado), "Colisión de " + clave + ": " + anterior + " y " + estado);
+	}
+
+	/**
+	 * Calcula la clave de una partida recorriendo todo su estado.
+	 *
+	 * @param partida partida
+	 * @return clave
+	 */
+	private static long recalcular(Partida partida) {
+		long clave = Zobrist.mesa(partida.obtenerMesa().consultarConjunto())
+				^ Zobrist.cima(Baraja.NUMERO_CARTAS - partida.obtenerBaraja().consultarNumeroCartas())
+				^ Zobrist.turno(partida.obtenerIndiceTurno())
+				^ Zobrist.ultimoGanador(partida.obtenerIndiceUltimoGanador());
+		Jugador[] jugadores = partida.obtenerJugadores();
+		for (int i = 0; i < jugadores.length; i++) {
+			long propia = Zobrist.mano(jugadores[i].consultarConjuntoMano())
+					^ Zobrist.ganadas(jugadores[i].consultarCartasGanadas())
+					^ Zobrist.escobas(jugadores[i].consultarEscobas());
+			clave ^= Zobrist.asiento(propia, i);
+		}
+		return clave;
+	}
+
+	/**
+	 * Describe todo el estado que resume la clave.
+	 *
+	 * @param partida partida
+	 * @return descripción
+	 */
+	private static String describir(Partida partida) {
+		Jugador[] jugadores = partida.obtenerJugadores();
+		long[] estado = new long[4 + 3 * jugadores.length];
+		estado[0] = partida.obtenerMesa().consultarConjunto();
+		estado[1] = partida.obtenerBaraja().consultarNumeroCartas();
+		estado[2] = partida.obtenerIndiceTurno();
+		estado[3] = partida.obtenerIndiceUltimoGanador();
+		for (int i = 0; i < jugadores.length; i++) {
+			estado[4 + 3 * i] = jugadores[i].consultarConjuntoMano();
+			estado[5 + 3 * i] = jugadores[i].consultarCartasGanadas();
+			estado[6 + 3 * i] = jugadores[i].consultarEscobas();
+		}
+		return Arrays.toString(estado);
+	}
+}
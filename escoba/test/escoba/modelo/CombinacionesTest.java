@@ -0,0 +1,132 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests sobre la enumeración y numeración de combinaciones de cartas.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Combinaciones
+ */
+@DisplayName("Tests sobre las combinaciones de cartas")
+public class CombinacionesTest {
+
+	/** Universo disperso de 13 cartas, con huecos entre ellas. */
+	private static final long DISPERSO = 0b1001_0110_0011_0100_1010_0000_0110_0101_0000L;
+
+	/** Constructor. */
+	private CombinacionesTest() {	}
+
+	/**
+	 * Comprueba los números combinatorios frente al cálculo con factoriales
+	 * y los casos fuera de límites.
+	 */
+	@Test
+	@DisplayName("Comprobación de los números combinatorios")
+	void testContar() {
+		for (int n = 0; n <= 20; n++) {
+			for (int k = 0; k <= n; k++) {
+				assertEquals(binomial(n, k), Combinaciones.contar(n, k), "C(" + n + ", " + k + ")");
+			}
+		}
+		assertEquals(91_390L, Combinaciones.contar(Baraja.NUMERO_CARTAS, 4), "C(40, 4)");
+		assertEquals(137_846_528_820L, Combinaciones.contar(Baraja.NUMERO_CARTAS, 20), "C(40, 20)");
+		assertEquals(0L, Combinaciones.contar(5, -1), "k negativo");
+		assertEquals(0L, Combinaciones.contar(5, 6), "k mayor que n");
+	}
+
+	/**
+	 * Comprueba, sobre un universo disperso, que el recorrido visita todas
+	 * las combinaciones de la fuerza bruta una vez y en orden
+	 * colexicográfico, y que el índice de cada una es su posición en el
+	 * recorrido.
+	 *
+	 * @param k cartas de cada combinación
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación del recorrido frente a la fuerza bruta")
+	@ValueSource(ints = { 1, 2, 3, 4, 5, 13 })
+	void testRecorrido(int k) {
+		int n = CartaSet.contar(DISPERSO);
+		assertEquals(13, n, "Tamaño del universo");
+		List<Long> esperadas = new ArrayList<>();
+		for (long mascara = 0; mascara < 1L << n; mascara++) {
+			if (Long.bitCount(mascara) == k) {
+				esperadas.add(Long.expand(mascara, DISPERSO));
+			}
+		}
+		// colexicográfico: se compara por la mayor carta en que difieren
+		esperadas.sort(Comparator.comparing(c -> Long.compress(c, DISPERSO)));
+
+		int posicion = 0;
+		for (long c = Combinaciones.primera(DISPERSO, k); c != CartaSet.VACIO;
+				c = Combinaciones.siguiente(DISPERSO, c)) {
+			assertEquals(esperadas.get(posicion), c, "Combinación " + posicion);
+			assertEquals(posicion, Combinaciones.indice(DISPERSO, c), "Índice");
+			assertEquals(c, Combinaciones.enIndice(DISPERSO, k, posicion), "Combinación del índice");
+			posicion++;
+		}
+		assertEquals(esperadas.size(), posicion, "Todas las combinaciones");
+		assertEquals(Combinaciones.contar(n, k), posicion, "Tantas como C(n, k)");
+	}
+
+	/**
+	 * Comprueba la ida y vuelta entre índice y combinación de todas las mesas
+	 * de cuatro cartas de la baraja completa.
+	 */
+	@Test
+	@DisplayName("Comprobación del índice de las combinaciones de la baraja")
+	void testIndiceBarajaCompleta() {
+		long total = 0;
+		for (long c = Combinaciones.primera(CartaSet.TODAS, 4); c != CartaSet.VACIO;
+				c = Combinaciones.siguiente(CartaSet.TODAS, c)) {
+			assertEquals(4, CartaSet.contar(c), "Cuatro cartas");
+			assertEquals(total, Combinaciones.indice(CartaSet.TODAS, c), "Índice");
+			assertEquals(c, Combinaciones.enIndice(CartaSet.TODAS, 4, total), "Combinación del índice");
+			total++;
+		}
+		assertEquals(Combinaciones.contar(Baraja.NUMERO_CARTAS, 4), total, "C(40, 4) combinaciones");
+	}
+
+	/**
+	 * Comprueba los argumentos no válidos.
+	 */
+	@Test
+	@DisplayName("Comprobación de los argumentos fuera de límites")
+	void testFueraDeLimites() {
+		assertThrows(IllegalArgumentException.class, () -> Combinaciones.primera(DISPERSO, 0), "k nulo");
+		assertThrows(IllegalArgumentException.class, () -> Combinaciones.primera(DISPERSO, 14), "k excesivo");
+		assertThrows(IllegalArgumentException.class, () -> Combinaciones.enIndice(DISPERSO, 4, -1), "Negativo");
+		assertThrows(IllegalArgumentException.class,
+				() -> Combinaciones.enIndice(DISPERSO, 4, Combinaciones.contar(13, 4)), "Índice excesivo");
+		long ultima = Combinaciones.enIndice(DISPERSO, 4, Combinaciones.contar(13, 4) - 1);
+		assertEquals(CartaSet.VACIO, Combinaciones.siguiente(DISPERSO, ultima), "No hay siguiente a la última");
+	}
+
+	/**
+	 * Calcula un número combinatorio con el producto de fracciones.
+	 *
+	 * @param n tamaño del universo
+	 * @param k tamaño de la combinación
+	 * @return {@code C(n, k)}
+	 */
+	private static long binomial(int n, int k) {
+		long resultado = 1;
+		for (int i = 1; i <= k; i++) {
+			resultado = resultado * (n - k + i) / i;
+		}
+		return resultado;
+	}
+}
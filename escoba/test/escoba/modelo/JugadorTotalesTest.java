@@ -0,0 +1,148 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sobre los totales de cartas y escobas que el jugador mantiene al
+ * agregar y quitar bazas.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Jugador
+ */
+@DisplayName("Tests sobre los totales acumulados del jugador")
+public class JugadorTotalesTest {
+
+	/** Operaciones aleatorias sobre el jugador. */
+	private static final int OPERACIONES = 20_000;
+
+	/** Constructor. */
+	private JugadorTotalesTest() {	}
+
+	/**
+	 * Aplica una secuencia aleatoria de altas de bazas, por objeto y por
+	 * conjunto, bajas de la última baza y reinicios, y tras cada una compara
+	 * los totales con los calculados recorriendo {@link Jugador#consultarBazas()}.
+	 */
+	@Test
+	@DisplayName("Comprobación de los totales frente al recorrido de las bazas")
+	void testTotalesFrenteABazas() {
+		SplittableRandom aleatorio = new SplittableRandom(3L);
+		Jugador jugador = new Jugador("Uno");
+		Jugador copia = new Jugador("Copia");
+		comprobar(jugador);
+		for (int n = 0; n < OPERACIONES; n++) {
+			long libres = CartaSet.TODAS & ~jugador.consultarCartasGanadas();
+			int operacion = aleatorio.nextInt(20);
+			if (operacion == 0) {
+				jugador.reiniciar();
+			} else if (operacion < 7 && jugador.consultarNumeroBazas() > 0) {
+				jugador.quitarUltimaBaza();
+			} else if (!CartaSet.estaVacio(libres)) {
+				long cartas = elegir(aleatorio, libres);
+				boolean escoba = aleatorio.nextInt(4) == 0;
+				if (aleatorio.nextBoolean()) {
+					jugador.agregarBaza(cartas, escoba);
+				} else {
+					Baza baza = new Baza();
+					for (Carta carta : CartaSet.aCartas(cartas)) {
+						baza.agregarCarta(carta);
+					}
+					if (escoba) {
+						baza.marcarEscoba();
+					}
+					jugador.agregarBaza(baza);
+				}
+			}
+			comprobar(jugador);
+			if (n % 100 == 0) {
+				copia.copiarPublicoDe(jugador);
+				comprobar(copia);
+			}
+		}
+	}
+
+	/**
+	 * Comprueba los totales de unas bazas conocidas, con el siete de oros y
+	 * una escoba, al quitarlas una a una, y que no se puede quitar una baza
+	 * que no existe.
+	 */
+	@Test
+	@DisplayName("Comprobación de los totales al quitar bazas conocidas")
+	void testQuitarBazas() {
+		Jugador jugador = new Jugador("Uno");
+		jugador.agregarBaza(CartaSet.deCartas(new Carta[] { Carta.de(Palo.OROS, 7), Carta.de(Palo.COPAS, 8) }),
+				true);
+		jugador.agregarBaza(CartaSet.deCartas(new Carta[] { Carta.de(Palo.ESPADAS, 7), Carta.de(Palo.OROS, 1),
+				Carta.de(Palo.BASTOS, 7) }), false);
+		assertEquals(5, jugador.contarCartas(), "Cartas");
+		assertEquals(2, jugador.contarOros(), "Oros");
+		assertEquals(3, jugador.contarSietes(), "Sietes");
+		assertEquals(1, jugador.consultarEscobas(), "Escobas");
+		assertTrue(jugador.tieneSieteOros(), "Siete de oros");
+
+		jugador.quitarUltimaBaza();
+		comprobar(jugador);
+		assertEquals(2, jugador.contarCartas(), "Cartas de la primera baza");
+		assertEquals(1, jugador.contarSietes(), "Solo el siete de oros");
+		jugador.quitarUltimaBaza();
+		comprobar(jugador);
+		assertFalse(jugador.tieneSieteOros(), "Sin siete de oros");
+		assertThrows(IllegalStateException.class, jugador::quitarUltimaBaza, "Sin bazas");
+	}
+
+	/**
+	 * Compara los totales del jugador con los de sus bazas.
+	 *
+	 * @param jugador jugador
+	 */
+	private static void comprobar(Jugador jugador) {
+		int cartas = 0;
+		int oros = 0;
+		int sietes = 0;
+		int escobas = 0;
+		boolean sieteOros = false;
+		long ganadas = CartaSet.VACIO;
+		Baza[] bazas = jugador.consultarBazas();
+		assertEquals(jugador.consultarNumeroBazas(), bazas.length, "Número de bazas");
+		for (Baza baza : bazas) {
+			cartas += baza.consultarNumeroCartas();
+			oros += baza.contarOros();
+			sietes += baza.contarSietes();
+			escobas += baza.fueEscoba() ? 1 : 0;
+			sieteOros |= baza.tieneSieteOros();
+			ganadas |= baza.consultarConjunto();
+		}
+		assertEquals(cartas, jugador.contarCartas(), "Cartas");
+		assertEquals(oros, jugador.contarOros(), "Oros");
+		assertEquals(sietes, jugador.contarSietes(), "Sietes");
+		assertEquals(escobas, jugador.consultarEscobas(), "Escobas");
+		assertEquals(sieteOros, jugador.tieneSieteOros(), "Siete de oros");
+		assertEquals(ganadas, jugador.consultarCartasGanadas(), "Cartas ganadas");
+	}
+
+	/**
+	 * Elige entre una y cuatro cartas de un conjunto no vacío.
+	 *
+	 * @param aleatorio generador
+	 * @param libres    cartas disponibles
+	 * @return cartas elegidas
+	 */
+	private static long elegir(SplittableRandom aleatorio, long libres) {
+		long cartas = CartaSet.VACIO;
+		int numero = Math.min(1 + aleatorio.nextInt(4), CartaSet.contar(libres));
+		while (CartaSet.contar(cartas) < numero) {
+			cartas = CartaSet.agregar(cartas, CartaSet.enPosicion(libres, aleatorio.nextInt(CartaSet.contar(libres))));
+		}
+		return cartas;
+	}
+}
@@ -0,0 +1,145 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sobre la generación de capturas de la mesa.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Mesa#generarCapturas(Carta, long[])
+ * @see escoba.modelo.Mesa#hayCaptura(Carta)
+ */
+@DisplayName("Tests sobre las capturas de la mesa")
+public class MesaCapturasTest {
+
+	/** Mesas aleatorias comparadas con la fuerza bruta. */
+	private static final int MESAS = 5_000;
+
+	/** Máximo de cartas de cada mesa aleatoria. */
+	private static final int MAXIMO_MESA = 12;
+
+	/** Constructor. */
+	private MesaCapturasTest() {	}
+
+	/**
+	 * Compara las capturas de mesas aleatorias, con cada carta de la baraja
+	 * que no está en la mesa, con las de la enumeración de todos los
+	 * subconjuntos de la mesa, y comprueba que no hay repetidas.
+	 */
+	@Test
+	@DisplayName("Comprobación de las capturas frente a la fuerza bruta")
+	void testFuerzaBruta() {
+		SplittableRandom aleatorio = new SplittableRandom(15L);
+		long[] capturas = new long[1 << MAXIMO_MESA];
+		for (int n = 0; n < MESAS; n++) {
+			Mesa mesa = new Mesa();
+			long conjunto = aleatorio.nextLong() & CartaSet.TODAS;
+			while (CartaSet.contar(conjunto) > 1 + aleatorio.nextInt(MAXIMO_MESA)) {
+				Carta quitada = CartaSet.enPosicion(conjunto, aleatorio.nextInt(CartaSet.contar(conjunto)));
+				conjunto = CartaSet.quitar(conjunto, quitada);
+			}
+			mesa.ponerCartas(conjunto);
+			for (long fuera = CartaSet.TODAS & ~conjunto; !CartaSet.estaVacio(fuera);
+					fuera = CartaSet.quitarPrimera(fuera)) {
+				Carta carta = CartaSet.primera(fuera);
+				Set<Long> esperadas = fuerzaBruta(conjunto, carta);
+				int total = mesa.generarCapturas(carta, capturas);
+				Set<Long> obtenidas = new HashSet<>();
+				for (int i = 0; i < total; i++) {
+					assertTrue(mesa.esCapturaValida(carta, capturas[i]), "Captura válida");
+					obtenidas.add(capturas[i]);
+				}
+				assertEquals(total, obtenidas.size(), "Sin capturas repetidas");
+				assertEquals(esperadas, obtenidas,
+						"Capturas con " + carta + " en " + Arrays.toString(mesa.consultarCartasEnMesa()));
+				assertEquals(!esperadas.isEmpty(), mesa.hayCaptura(carta), "Hay captura con " + carta);
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que con un destino más corto que el número de capturas se
+	 * devuelve el total, se llenan las posiciones disponibles y no se escribe
+	 * fuera de ellas.
+	 */
+	@Test
+	@DisplayName("Comprobación de un destino más corto que las capturas")
+	void testDestinoCorto() {
+		Mesa mesa = new Mesa();
+		// cuatro reyes y cuatro cincos; el cinco de oros pasa a la mano
+		for (Palo palo : Palo.values()) {
+			mesa.ponerCarta(Carta.de(palo, 5));
+			mesa.ponerCarta(Carta.de(palo, 10));
+		}
+		Carta carta = Carta.de(Palo.OROS, 5);
+		mesa.quitarCarta(carta);
+		// un rey cualquiera o dos de los tres cincos restantes: 4 + 3
+		assertEquals(7, mesa.generarCapturas(carta, new long[0]), "Tamaño necesario");
+
+		long[] corto = new long[5];
+		Arrays.fill(corto, -1L);
+		long[] holgado = new long[8];
+		Arrays.fill(holgado, -1L);
+		assertEquals(7, mesa.generarCapturas(carta, corto), "Total con destino corto");
+		assertEquals(7, mesa.generarCapturas(carta, holgado), "Total con destino holgado");
+		assertEquals(-1L, holgado[7], "No se escribe tras la última captura");
+		for (int i = 0; i < corto.length; i++) {
+			assertEquals(holgado[i], corto[i], "Mismas primeras capturas");
+		}
+	}
+
+	/**
+	 * Comprueba que {@link Mesa#hayCaptura(Carta)} responde sí y no, también
+	 * con la mesa vacía.
+	 */
+	@Test
+	@DisplayName("Comprobación de si hay captura")
+	void testHayCaptura() {
+		Mesa mesa = new Mesa();
+		assertFalse(mesa.hayCaptura(Carta.de(Palo.OROS, 5)), "Mesa vacía");
+		mesa.ponerCarta(Carta.de(Palo.COPAS, 4));
+		mesa.ponerCarta(Carta.de(Palo.ESPADAS, 3));
+		assertFalse(mesa.hayCaptura(Carta.de(Palo.OROS, 7)), "4 y 3 con un siete suman 14");
+		assertTrue(mesa.hayCaptura(Carta.de(Palo.OROS, 8)), "4 y 3 con una sota suman 15");
+		assertFalse(mesa.hayCaptura(Carta.de(Palo.OROS, 1)), "El as no llega a 15");
+		mesa.ponerCarta(Carta.de(Palo.BASTOS, 10));
+		assertTrue(mesa.hayCaptura(Carta.de(Palo.OROS, 1)), "As, cuatro y rey");
+		assertFalse(mesa.hayCaptura(Carta.de(Palo.OROS, 9)), "Nada suma 15 con el caballo");
+	}
+
+	/**
+	 * Enumera todos los subconjuntos no vacíos de la mesa y se queda con los
+	 * que suman 15 con la carta.
+	 *
+	 * @param mesa  cartas de la mesa
+	 * @param carta carta del jugador
+	 * @return capturas
+	 */
+	private static Set<Long> fuerzaBruta(long mesa, Carta carta) {
+		Set<Long> capturas = new HashSet<>();
+		int n = CartaSet.contar(mesa);
+		for (long mascara = 1; mascara < 1L << n; mascara++) {
+			long captura = Long.expand(mascara, mesa);
+			int suma = carta.puntuacion();
+			for (long resto = captura; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+				suma += CartaSet.primera(resto).puntuacion();
+			}
+			if (suma == Mesa.SUMA_PUNTOS_A_ALCANZAR) {
+				capturas.add(captura);
+			}
+		}
+		return capturas;
+	}
+}
@@ -0,0 +1,198 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import escoba.PartidasPrueba;
+
+/**
+ * Tests sobre aplicar y deshacer jugadas en la partida.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Partida#aplicar(Jugada)
+ * @see escoba.modelo.Partida#deshacer(Jugada)
+ */
+@DisplayName("Tests sobre aplicar y deshacer jugadas")
+public class PartidaDeshacerTest {
+
+	/** Partidas aleatorias por número de jugadores. */
+	private static final int PARTIDAS = 100;
+
+	/** Constructor. */
+	private PartidaDeshacerTest() {	}
+
+	/**
+	 * Comprueba que una escoba sin ganador anterior se deshace dejando la
+	 * partida sin último ganador.
+	 */
+	@Test
+	@DisplayName("Comprobación de deshacer una escoba sin ganador anterior")
+	void testEscobaSinGanador() {
+		Partida partida = crearPartida(Carta.de(Palo.OROS, 10), Carta.de(Palo.COPAS, 5));
+		assertEquals(Jugada.SIN_GANADOR, partida.obtenerIndiceUltimoGanador(), "Nadie ha ganado aún");
+		String antes = describir(partida);
+
+		Jugada jugada = new Jugada(Carta.de(Palo.COPAS, 5), CartaSet.agregar(CartaSet.VACIO, Carta.de(Palo.OROS, 10)));
+		partida.aplicar(jugada);
+		Jugador jugador = partida.obtenerJugadores()[0];
+		assertTrue(jugada.fueEscoba(), "La mesa queda vacía");
+		assertEquals(1, jugador.consultarEscobas(), "Una escoba");
+		assertEquals(1, jugador.consultarNumeroBazas(), "Una baza");
+		assertTrue(jugador.fueEscobaBaza(0), "La baza es escoba");
+		assertEquals(0, partida.obtenerIndiceUltimoGanador(), "Gana el primer jugador");
+		assertEquals(1, partida.obtenerIndiceTurno(), "Pasa el turno");
+
+		partida.deshacer(jugada);
+		assertEquals(antes, describir(partida), "Estado inicial");
+		assertEquals(Jugada.SIN_GANADOR, partida.obtenerIndiceUltimoGanador(), "Sin último ganador");
+		assertEquals(0, jugador.consultarEscobas(), "Sin escobas");
+	}
+
+	/**
+	 * Comprueba que deshacer una captura del otro jugador devuelve el último
+	 * ganador anterior, y que deshacer una carta dejada en la mesa no lo
+	 * cambia.
+	 */
+	@Test
+	@DisplayName("Comprobación de deshacer con un ganador anterior")
+	void testGanadorAnterior() {
+		Partida partida = crearPartida(Carta.de(Palo.OROS, 10), Carta.de(Palo.COPAS, 5));
+		Jugador segundo = partida.obtenerJugadores()[1];
+		segundo.recibirCarta(Carta.de(Palo.ESPADAS, 4));
+		segundo.recibirCarta(Carta.de(Palo.BASTOS, 1));
+		partida.obtenerMesa().ponerCarta(Carta.de(Palo.ESPADAS, 1));
+
+		Jugada primera = new Jugada(Carta.de(Palo.COPAS, 5), CartaSet.agregar(CartaSet.VACIO, Carta.de(Palo.OROS, 10)));
+		partida.aplicar(primera);
+		assertFalse(primera.fueEscoba(), "Queda una carta en la mesa");
+		assertEquals(0, partida.obtenerIndiceUltimoGanador(), "Gana el primer jugador");
+
+		String antes = describir(partida);
+		Jugada dejar = new Jugada(Carta.de(Palo.BASTOS, 1), CartaSet.VACIO);
+		partida.aplicar(dejar);
+		assertEquals(0, partida.obtenerIndiceUltimoGanador(), "Dejar una carta no cambia el ganador");
+		partida.deshacer(dejar);
+		assertEquals(antes, describir(partida), "Estado tras la primera jugada");
+
+		partida.obtenerMesa().ponerCarta(Carta.de(Palo.COPAS, 10));
+		antes = describir(partida);
+		Jugada captura = new Jugada(Carta.de(Palo.ESPADAS, 4),
+				CartaSet.agregar(CartaSet.agregar(CartaSet.VACIO, Carta.de(Palo.ESPADAS, 1)), Carta.de(Palo.COPAS, 10)));
+		partida.aplicar(captura);
+		assertTrue(captura.fueEscoba(), "Uno, cuatro y rey suman 15 y vacían la mesa");
+		assertEquals(1, partida.obtenerIndiceUltimoGanador(), "Gana el segundo jugador");
+		partida.deshacer(captura);
+		assertEquals(antes, describir(partida), "Estado antes de la escoba");
+		assertEquals(0, partida.obtenerIndiceUltimoGanador(), "Vuelve el ganador anterior");
+	}
+
+	/**
+	 * Juega partidas aleatorias y en cada turno aplica y deshace todas las
+	 * jugadas posibles, comprobando que el estado vuelve a ser el mismo.
+	 *
+	 * @param jugadores número de jugadores
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de aplicar y deshacer todas las jugadas de partidas aleatorias")
+	@ValueSource(ints = { 2, 3, 4 })
+	void testIdaYVuelta(int jugadores) {
+		SplittableRandom aleatorio = new SplittableRandom(jugadores);
+		long[] capturas = new long[1024];
+		int escobas = 0;
+		int sinGanador = 0;
+		for (int n = 0; n < PARTIDAS; n++) {
+			Partida partida = PartidasPrueba.crearPartida(jugadores, aleatorio.nextLong());
+			partida.obtenerBaraja().barajar();
+			partida.repartir(3);
+			for (int i = 0; i < 4; i++) {
+				partida.obtenerMesa().ponerCarta(partida.obtenerBaraja().extraerCarta());
+			}
+
+			for (int ronda = 0; ronda < Baraja.NUMERO_CARTAS - 4; ronda++) {
+				String antes = describir(partida);
+				long clave = partida.consultarClave();
+				if (partida.obtenerIndiceUltimoGanador() == Jugada.SIN_GANADOR) {
+					sinGanador++;
+				}
+				Jugada elegida = null;
+				int opciones = 0;
+				for (long mano = partida.obtenerJugadorActual().consultarConjuntoMano(); !CartaSet.estaVacio(mano);
+						mano = CartaSet.quitarPrimera(mano)) {
+					Carta carta = CartaSet.primera(mano);
+					int total = partida.obtenerMesa().generarCapturas(carta, capturas);
+					for (int i = 0; i <= total; i++) {
+						Jugada jugada = new Jugada(carta, i == total ? CartaSet.VACIO : capturas[i]);
+						partida.aplicar(jugada);
+						if (jugada.fueEscoba()) {
+							escobas++;
+						}
+						partida.deshacer(jugada);
+						assertEquals(antes, describir(partida), "Deshacer " + jugada);
+						assertEquals(clave, partida.consultarClave(), "Clave tras deshacer " + jugada);
+						if (aleatorio.nextInt(++opciones) == 0) {
+							elegida = jugada;
+						}
+					}
+				}
+				partida.aplicar(elegida);
+				if (partida.obtenerJugadorActual().estaSinCartas() && !partida.obtenerBaraja().estaVacia()) {
+					partida.repartir(3);
+				}
+			}
+		}
+		assertTrue(escobas > 0, "Se han probado escobas");
+		assertTrue(sinGanador > 0, "Se han probado turnos sin último ganador");
+	}
+
+	/**
+	 * Crea una partida de dos jugadores con una carta en la mesa y otra en la
+	 * mano del primero, sin repartir de la baraja.
+	 *
+	 * @param enMesa carta de la mesa
+	 * @param enMano carta del primer jugador
+	 * @return partida
+	 */
+	private static Partida crearPartida(Carta enMesa, Carta enMano) {
+		Partida partida = new Partida(new Jugador("Uno"), new Jugador("Dos"), new Mesa(), new Baraja());
+		partida.obtenerMesa().ponerCarta(enMesa);
+		partida.obtenerJugadores()[0].recibirCarta(enMano);
+		return partida;
+	}
+
+	/**
+	 * Describe todo lo que una jugada puede cambiar: mesa, turno, último
+	 * ganador y, por jugador, mano, bazas con su marca de escoba y escobas.
+	 *
+	 * @param partida partida
+	 * @return descripción
+	 */
+	private static String describir(Partida partida) {
+		StringBuilder estado = new StringBuilder();
+		estado.append(partida.obtenerMesa().consultarConjunto()).append('|')
+				.append(partida.obtenerIndiceTurno()).append('|')
+				.append(partida.obtenerIndiceUltimoGanador());
+		for (Jugador jugador : partida.obtenerJugadores()) {
+			long[] bazas = new long[jugador.consultarNumeroBazas()];
+			boolean[] marcas = new boolean[bazas.length];
+			for (int i = 0; i < bazas.length; i++) {
+				bazas[i] = jugador.consultarCartasBaza(i);
+				marcas[i] = jugador.fueEscobaBaza(i);
+			}
+			estado.append('|').append(jugador.consultarConjuntoMano())
+					.append(Arrays.toString(bazas)).append(Arrays.toString(marcas))
+					.append(jugador.consultarEscobas()).append('/').append(jugador.consultarCartasGanadas());
+		}
+		return estado.toString();
+	}
+}
@@ -0,0 +1,205 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sobre el rango de Lehmer de los órdenes de la baraja.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Permutacion
+ */
+@DisplayName("Tests sobre el rango de las permutaciones de la baraja")
+public class PermutacionTest {
+
+	/** Constructor. */
+	private PermutacionTest() {	}
+
+	/**
+	 * Comprueba que el orden creciente de claves tiene rango 0.
+	 */
+	@Test
+	@DisplayName("Comprobación del rango 0")
+	void testRangoCero() {
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		for (int i = 0; i < orden.length; i++) {
+			orden[i] = (byte) (i + 1);
+		}
+		comprobarIdaYVuelta(orden, BigInteger.ZERO);
+	}
+
+	/**
+	 * Comprueba que el orden decreciente de claves tiene rango 40! - 1.
+	 */
+	@Test
+	@DisplayName("Comprobación del rango 40! - 1")
+	void testRangoMaximo() {
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		for (int i = 0; i < orden.length; i++) {
+			orden[i] = (byte) (Baraja.NUMERO_CARTAS - i);
+		}
+		comprobarIdaYVuelta(orden, factorial(Baraja.NUMERO_CARTAS).subtract(BigInteger.ONE));
+	}
+
+	/**
+	 * Comprueba que no se decodifica un rango igual a 40!.
+	 */
+	@Test
+	@DisplayName("Comprobación de que se rechaza el rango 40!")
+	void testRangoFueraDeLimites() {
+		byte[] rango = aBytes(factorial(Baraja.NUMERO_CARTAS));
+		assertThrows(IllegalArgumentException.class,
+				() -> Permutacion.decodificar(rango, 0, new byte[Baraja.NUMERO_CARTAS]));
+	}
+
+	/**
+	 * Comprueba que no se codifica un orden con cartas repetidas.
+	 */
+	@Test
+	@DisplayName("Comprobación de que se rechaza un orden con cartas repetidas")
+	void testOrdenRepetido() {
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		for (int i = 0; i < orden.length; i++) {
+			orden[i] = (byte) (i + 1);
+		}
+		orden[1] = orden[0];
+		assertThrows(IllegalArgumentException.class,
+				() -> Permutacion.codificar(orden, new byte[Permutacion.BYTES_RANGO], 0));
+	}
+
+	/**
+	 * Comprueba órdenes barajados contra el rango calculado con enteros de
+	 * precisión arbitraria.
+	 */
+	@Test
+	@DisplayName("Comprobación de ida y vuelta de órdenes barajados")
+	void testOrdenesBarajados() {
+		SplittableRandom aleatorio = new SplittableRandom(40L);
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		for (int n = 0; n < 1000; n++) {
+			new Baraja(aleatorio.nextLong()).consultarOrden(orden);
+			comprobarIdaYVuelta(orden, referencia(orden));
+		}
+	}
+
+	/**
+	 * Comprueba que el rango de una baraja barajada, a medio extraer, es el
+	 * de su orden completo, y que el constructor por rango y
+	 * {@link Baraja#ordenarPorRango(byte[], int)} reconstruyen ese orden con
+	 * todas las cartas disponibles.
+	 */
+	@Test
+	@DisplayName("Comprobación de ida y vuelta del rango de la baraja")
+	void testRangoBaraja() {
+		SplittableRandom aleatorio = new SplittableRandom(41L);
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		byte[] esperado = new byte[Permutacion.BYTES_RANGO];
+		byte[] rango = new byte[Permutacion.BYTES_RANGO + 5];
+		byte[] leido = new byte[Baraja.NUMERO_CARTAS];
+		for (int n = 0; n < 200; n++) {
+			Baraja baraja = new Baraja(aleatorio.nextLong());
+			baraja.barajar();
+			for (int i = aleatorio.nextInt(Baraja.NUMERO_CARTAS); i > 0; i--) {
+				baraja.extraerCarta();
+			}
+			baraja.consultarOrden(orden);
+			Permutacion.codificar(orden, esperado, 0);
+			baraja.consultarRango(rango, 5);
+			assertArrayEquals(esperado, Arrays.copyOfRange(rango, 5, rango.length), "Rango del orden completo");
+
+			Baraja construida = new Baraja(esperado);
+			construida.consultarOrden(leido);
+			assertArrayEquals(orden, leido, "Orden del constructor");
+			assertEquals(Baraja.NUMERO_CARTAS, construida.consultarNumeroCartas(), "Todas disponibles");
+
+			Baraja ordenada = new Baraja(aleatorio.nextLong());
+			ordenada.barajar();
+			ordenada.extraerCarta();
+			ordenada.ordenarPorRango(rango, 5);
+			ordenada.consultarOrden(leido);
+			assertArrayEquals(orden, leido, "Orden de ordenarPorRango");
+			assertEquals(Baraja.NUMERO_CARTAS, ordenada.consultarNumeroCartas(), "Todas disponibles");
+			assertEquals(Carta.deClave(orden[0]), ordenada.extraerCarta(), "Primera carta del orden");
+		}
+		byte[] excesivo = aBytes(factorial(Baraja.NUMERO_CARTAS));
+		assertThrows(IllegalArgumentException.class, () -> new Baraja(excesivo), "Rango 40!");
+	}
+
+	/**
+	 * Codifica un orden, compara el rango con el esperado y lo decodifica,
+	 * también a partir de un desplazamiento distinto de cero.
+	 *
+	 * @param orden    claves en orden
+	 * @param esperado rango esperado
+	 */
+	private static void comprobarIdaYVuelta(byte[] orden, BigInteger esperado) {
+		byte[] rango = new byte[Permutacion.BYTES_RANGO + 3];
+		Permutacion.codificar(orden, rango, 3);
+		byte[] soloRango = new byte[Permutacion.BYTES_RANGO];
+		System.arraycopy(rango, 3, soloRango, 0, soloRango.length);
+		assertArrayEquals(aBytes(esperado), soloRango, "Rango " + esperado);
+
+		byte[] leido = new byte[Baraja.NUMERO_CARTAS];
+		Permutacion.decodificar(rango, 3, leido);
+		assertArrayEquals(orden, leido, "Orden del rango " + esperado);
+	}
+
+	/**
+	 * Calcula el rango de Lehmer de un orden por la definición.
+	 *
+	 * @param orden claves en orden
+	 * @return rango
+	 */
+	private static BigInteger referencia(byte[] orden) {
+		BigInteger rango = BigInteger.ZERO;
+		for (int i = 0; i < orden.length; i++) {
+			int menores = 0;
+			for (int j = i + 1; j < orden.length; j++) {
+				if (orden[j] < orden[i]) {
+					menores++;
+				}
+			}
+			rango = rango.add(BigInteger.valueOf(menores).multiply(factorial(orden.length - 1 - i)));
+		}
+		return rango;
+	}
+
+	/**
+	 * Escribe un entero no negativo en {@link Permutacion#BYTES_RANGO} bytes
+	 * big-endian.
+	 *
+	 * @param valor entero menor que 2 elevado a 160
+	 * @return bytes
+	 */
+	private static byte[] aBytes(BigInteger valor) {
+		byte[] bytes = valor.toByteArray();
+		byte[] rango = new byte[Permutacion.BYTES_RANGO];
+		int copiados = Math.min(bytes.length, rango.length);
+		System.arraycopy(bytes, bytes.length - copiados, rango, rango.length - copiados, copiados);
+		return rango;
+	}
+
+	/**
+	 * Calcula un factorial.
+	 *
+	 * @param n número
+	 * @return n!
+	 */
+	private static BigInteger factorial(int n) {
+		BigInteger resultado = BigInteger.ONE;
+		for (int i = 2; i <= n; i++) {
+			resultado = resultado.multiply(BigInteger.valueOf(i));
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,267 @@
+package escoba.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests sobre las reglas de puntuación, una a una.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.Puntuacion
+ */
+@DisplayName("Tests sobre la puntuación")
+public class PuntuacionTest {
+
+	/** Todos los oros. */
+	private static final long OROS = CartaSet.delPalo(Palo.OROS);
+
+	/** Siete de oros. */
+	private static final long SIETE_OROS = OROS & CartaSet.SIETES;
+
+	/** Oros que no son sietes. */
+	private static final long OROS_SIN_SIETE = OROS & ~SIETE_OROS;
+
+	/** Sietes que no son de oros. */
+	private static final long SIETES_SIN_OROS = CartaSet.SIETES & ~SIETE_OROS;
+
+	/** Cartas que no son oros ni sietes, que solo cuentan para la mayoría. */
+	private static final long RESTO = CartaSet.TODAS & ~OROS & ~CartaSet.SIETES;
+
+	/** Constructor. */
+	private PuntuacionTest() {	}
+
+	/**
+	 * Comprueba el punto por mayoría de cartas, sin punto en el empate, y los
+	 * dos puntos por dejar al contrario con menos de diez cartas.
+	 *
+	 * @param propias   cartas del bando
+	 * @param rivales   cartas del rival
+	 * @param mayoria   punto esperado por mayoría de cartas
+	 * @param contrario puntos esperados por las cartas del contrario
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de la mayoría de cartas y de las cartas del contrario")
+	@CsvSource({ "14, 13, 1, 0", "13, 14, 0, 0", "13, 13, 0, 0", "12, 10, 1, 0", "12, 9, 1, 2", "9, 8, 1, 2",
+			"9, 9, 0, 0", "0, 0, 0, 0" })
+	void testCartas(int propias, int rivales, int mayoria, int contrario) {
+		long mias = primeras(RESTO, propias);
+		long suyas = primeras(RESTO & ~mias, rivales);
+		int desglose = Puntuacion.desglosar(mias, 0, suyas);
+		assertEquals(mayoria, Puntuacion.puntosPorMayoriaCartas(desglose), "Mayoría de cartas");
+		assertEquals(contrario, Puntuacion.puntosPorCartasContrario(desglose), "Cartas del contrario");
+		assertEquals(0, Puntuacion.puntosPorOros(desglose), "Sin oros");
+		assertEquals(0, Puntuacion.puntosPorSietes(desglose), "Sin sietes");
+		assertEquals(mayoria + contrario, Puntuacion.total(desglose), "Total");
+	}
+
+	/**
+	 * Comprueba el punto por mayoría de oros, sin punto en el empate, y los
+	 * dos por tenerlos todos. Ambos bandos tienen doce cartas para que no
+	 * influya la mayoría de cartas.
+	 *
+	 * @param propios oros del bando
+	 * @param rivales oros del rival
+	 * @param puntos  puntos esperados del bando por oros
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de la mayoría de oros y de todos los oros")
+	@CsvSource({ "5, 4, 1", "4, 5, 0", "4, 4, 0", "1, 0, 1", "0, 0, 0", "9, 0, 1" })
+	void testOros(int propios, int rivales, int puntos) {
+		long mias = primeras(OROS_SIN_SIETE, propios);
+		long suyas = primeras(OROS_SIN_SIETE & ~mias, rivales);
+		mias = completar(mias, suyas, 12);
+		suyas = completar(suyas, mias, 12);
+		int desglose = Puntuacion.desglosar(mias, 0, suyas);
+		assertEquals(puntos, Puntuacion.puntosPorOros(desglose), "Puntos por oros");
+		assertEquals(0, Puntuacion.puntosPorMayoriaCartas(desglose), "Empate de cartas");
+		assertEquals(puntos, Puntuacion.total(desglose), "Total");
+
+		int todos = Puntuacion.desglosar(OROS, 0, primeras(RESTO, 10));
+		assertEquals(2, Puntuacion.puntosPorOros(todos), "Todos los oros");
+		assertEquals(1, Puntuacion.puntosPorSieteOros(todos), "Incluido el siete de oros");
+	}
+
+	/**
+	 * Comprueba el punto por mayoría de sietes, sin punto en el empate, y los
+	 * dos por tenerlos todos, con el mismo número de cartas en ambos bandos.
+	 *
+	 * @param propios sietes del bando, sin el de oros
+	 * @param rivales sietes del rival, sin el de oros
+	 * @param puntos  puntos esperados del bando por sietes
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de la mayoría de sietes y de todos los sietes")
+	@CsvSource({ "2, 1, 1", "1, 2, 0", "1, 1, 0", "0, 0, 0", "3, 0, 1" })
+	void testSietes(int propios, int rivales, int puntos) {
+		long mias = primeras(SIETES_SIN_OROS, propios);
+		long suyas = primeras(SIETES_SIN_OROS & ~mias, rivales);
+		mias = completar(mias, suyas, 12);
+		suyas = completar(suyas, mias, 12);
+		int desglose = Puntuacion.desglosar(mias, 0, suyas);
+		assertEquals(puntos, Puntuacion.puntosPorSietes(desglose), "Puntos por sietes");
+		assertEquals(0, Puntuacion.puntosPorSieteOros(desglose), "Sin siete de oros");
+		assertEquals(puntos, Puntuacion.total(desglose), "Total");
+
+		int todos = Puntuacion.desglosar(CartaSet.SIETES, 0, primeras(RESTO, 10));
+		assertEquals(2, Puntuacion.puntosPorSietes(todos), "Todos los sietes");
+	}
+
+	/**
+	 * Comprueba que el siete de oros da un punto a quien lo tiene, aunque
+	 * pierda en todo lo demás, y ninguno al rival.
+	 */
+	@Test
+	@DisplayName("Comprobación del siete de oros")
+	void testSieteOros() {
+		long rivales = OROS_SIN_SIETE | SIETES_SIN_OROS | primeras(RESTO, 10);
+		int desglose = Puntuacion.desglosar(SIETE_OROS, 0, rivales);
+		assertEquals(1, Puntuacion.puntosPorSieteOros(desglose), "Siete de oros");
+		assertEquals(1, Puntuacion.total(desglose), "Solo el siete de oros");
+
+		int rival = Puntuacion.desglosar(rivales, 0, SIETE_OROS);
+		assertEquals(0, Puntuacion.puntosPorSieteOros(rival), "El rival no lo tiene");
+		// nueve oros, tres sietes y 22 cartas frente a una
+		assertEquals(1 + 1 + 1 + 2, Puntuacion.total(rival), "Oros, sietes, cartas y cartas del contrario");
+	}
+
+	/**
+	 * Comprueba que cada escoba vale un punto, también en la diferencia, y
+	 * que el total es la suma del desglose.
+	 */
+	@Test
+	@DisplayName("Comprobación de las escobas")
+	void testEscobas() {
+		long mias = primeras(RESTO, 13);
+		long suyas = primeras(RESTO & ~mias, 13);
+		int desglose = Puntuacion.desglosar(mias, 3, suyas);
+		assertEquals(3, Puntuacion.puntosPorEscobas(desglose), "Tres escobas");
+		assertEquals(3, Puntuacion.total(desglose), "Solo las escobas");
+		assertEquals(3, Puntuacion.puntos(mias, 3, suyas), "Puntos");
+		assertEquals(2, Puntuacion.diferencia(mias, 3, suyas, 1), "Tres escobas frente a una");
+		assertEquals(-2, Puntuacion.diferencia(suyas, 1, mias, 3), "Una escoba frente a tres");
+
+		int completo = Puntuacion.desglosar(OROS | CartaSet.SIETES | primeras(RESTO, 5), 2, primeras(RESTO & ~mias, 3));
+		assertEquals(2 + 2 + 1 + 2 + 1 + 2, Puntuacion.total(completo), "Escobas, oros, siete, sietes y cartas");
+	}
+
+	/**
+	 * Comprueba con tres equipos que cada mayoría se compara con el mejor
+	 * rival: ganar a uno no basta si se empata con el otro.
+	 */
+	@Test
+	@DisplayName("Comprobación de las mayorías frente al mejor rival con tres equipos")
+	void testTresEquipos() {
+		// oros: 4, 4 y 1; sietes: 2, 1 y 0; cartas: 12, 13 y 10
+		long oros = OROS_SIN_SIETE;
+		long sietes = SIETES_SIN_OROS;
+		long a = primeras(oros, 4) | primeras(sietes, 2);
+		long b = primeras(oros & ~a, 4) | primeras(sietes & ~a, 1);
+		long c = primeras(oros & ~a & ~b, 1);
+		a = completar(a, b | c, 12);
+		b = completar(b, a | c, 13);
+		c = completar(c, a | b, 10);
+		int[] desgloses = puntuar(new long[] { a, b, c }, new int[] { 0, 1, 0 });
+
+		assertEquals(0, Puntuacion.puntosPorOros(desgloses[0]), "A empata en oros con B aunque gana a C");
+		assertEquals(0, Puntuacion.puntosPorOros(desgloses[1]), "B empata en oros con A");
+		assertEquals(0, Puntuacion.puntosPorOros(desgloses[2]), "C no tiene mayoría de oros");
+		assertEquals(1, Puntuacion.puntosPorSietes(desgloses[0]), "A tiene más sietes que el mejor rival");
+		assertEquals(0, Puntuacion.puntosPorSietes(desgloses[1]), "B gana a C en sietes pero no a A");
+		assertEquals(0, Puntuacion.puntosPorMayoriaCartas(desgloses[0]), "A tiene menos cartas que B");
+		assertEquals(1, Puntuacion.puntosPorMayoriaCartas(desgloses[1]), "B tiene la mayoría de cartas");
+		assertEquals(0, Puntuacion.puntosPorCartasContrario(desgloses[1]), "El mejor rival de B tiene 12 cartas");
+		assertEquals(1, Puntuacion.puntosPorEscobas(desgloses[1]), "Escoba de B");
+		assertEquals(1, Puntuacion.total(desgloses[0]), "Total de A");
+		assertEquals(2, Puntuacion.total(desgloses[1]), "Total de B");
+		assertEquals(0, Puntuacion.total(desgloses[2]), "Total de C");
+	}
+
+	/**
+	 * Comprueba con tres equipos los dos puntos por cartas del contrario, que
+	 * solo se dan si el mejor rival tiene menos de diez cartas.
+	 */
+	@Test
+	@DisplayName("Comprobación de las cartas del contrario con tres equipos")
+	void testTresEquiposContrario() {
+		// cartas: 19, 9 y 9; oros: 1, 2 y 4; sietes: 0, 3 y 0
+		long a = primeras(RESTO, 18) | primeras(OROS_SIN_SIETE, 1);
+		long b = primeras(RESTO & ~a, 4) | SIETES_SIN_OROS | primeras(OROS_SIN_SIETE & ~a, 2);
+		long c = completar(primeras(OROS_SIN_SIETE & ~a & ~b, 4), a | b, 9);
+		int[] desgloses = puntuar(new long[] { a, b, c }, new int[3]);
+		assertEquals(9, CartaSet.contar(b), "B tiene nueve cartas");
+		assertEquals(9, CartaSet.contar(c), "C tiene nueve cartas");
+		assertEquals(1, Puntuacion.puntosPorMayoriaCartas(desgloses[0]), "A tiene la mayoría de cartas");
+		assertEquals(2, Puntuacion.puntosPorCartasContrario(desgloses[0]), "Los dos rivales tienen menos de diez");
+		assertEquals(0, Puntuacion.puntosPorCartasContrario(desgloses[1]), "B pierde en cartas frente a A");
+		assertEquals(0, Puntuacion.puntosPorCartasContrario(desgloses[2]), "C pierde en cartas frente a A");
+		assertEquals(1, Puntuacion.puntosPorSietes(desgloses[1]), "B tiene la mayoría de sietes");
+		assertEquals(0, Puntuacion.puntosPorOros(desgloses[1]), "B tiene menos oros que C");
+		assertEquals(1, Puntuacion.puntosPorOros(desgloses[2]), "C tiene la mayoría de oros");
+		assertEquals(1 + 2, Puntuacion.total(desgloses[0]), "Total de A");
+	}
+
+	/**
+	 * Comprueba que se rechaza un array sin sitio para todos los equipos.
+	 */
+	@Test
+	@DisplayName("Comprobación del array de desgloses demasiado corto")
+	void testDesglosesCortos() {
+		Partida partida = new Partida(new Jugador[] { new Jugador("A"), new Jugador("B"), new Jugador("C") }, 3,
+				new Mesa(), new Baraja());
+		assertThrows(IllegalArgumentException.class, () -> Puntuacion.puntuar(partida, new int[2]));
+	}
+
+	/**
+	 * Puntúa una partida de un jugador por equipo con las cartas ganadas dadas.
+	 *
+	 * @param ganadas cartas ganadas por cada equipo
+	 * @param escobas escobas de cada equipo
+	 * @return desglose de cada equipo
+	 */
+	private static int[] puntuar(long[] ganadas, int[] escobas) {
+		Jugador[] jugadores = new Jugador[ganadas.length];
+		for (int i = 0; i < jugadores.length; i++) {
+			jugadores[i] = new Jugador("Equipo " + i);
+			jugadores[i].agregarBaza(ganadas[i], false);
+			for (int e = 0; e < escobas[i]; e++) {
+				jugadores[i].agregarBaza(CartaSet.VACIO, true);
+			}
+		}
+		int[] desgloses = new int[ganadas.length];
+		Puntuacion.puntuar(new Partida(jugadores, ganadas.length, new Mesa(), new Baraja()), desgloses);
+		return desgloses;
+	}
+
+	/**
+	 * Toma las primeras cartas de un conjunto.
+	 *
+	 * @param conjunto cartas disponibles
+	 * @param n        cartas que se toman
+	 * @return las {@code n} cartas de menor clave del conjunto
+	 */
+	private static long primeras(long conjunto, int n) {
+		assertTrue(CartaSet.contar(conjunto) >= n, "Cartas suficientes");
+		return Long.expand((1L << n) - 1, conjunto);
+	}
+
+	/**
+	 * Completa un conjunto hasta un número de cartas con cartas que no son
+	 * oros ni sietes y no están en otro conjunto.
+	 *
+	 * @param cartas   conjunto
+	 * @param ocupadas cartas que no se pueden usar
+	 * @param total    cartas finales
+	 * @return conjunto completado
+	 */
+	private static long completar(long cartas, long ocupadas, int total) {
+		return cartas | primeras(RESTO & ~cartas & ~ocupadas, total - CartaSet.contar(cartas));
+	}
+}
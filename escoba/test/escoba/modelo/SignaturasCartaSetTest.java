@@ -0,0 +1,73 @@
+package escoba.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import escoba.SignaturasUtil;
+
+/**
+ * Tests de signatura para la clase CartaSet.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.modelo.CartaSet
+ */
+@DisplayName("Tests sobre signaturas de CartaSet")
+public class SignaturasCartaSetTest extends SignaturasUtil {
+
+	/** Constructor. */
+	private SignaturasCartaSetTest() {	}
+
+	/**
+	 * Comprobación de signaturas de métodos con un argumento.
+	 *
+	 * @param nombreMetodo         nombre del método
+	 * @param nombreTipoRetorno    nombre del tipo de retorno
+	 * @param nombreClaseParametro nombre de la clase del argumento
+	 * @throws ClassNotFoundException si no se encuentra la clase
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de signaturas de métodos públicos con un argumento")
+	@CsvSource({
+		"aCartas, [Lescoba.modelo.Carta;, long",
+		"bit, long, escoba.modelo.Carta",
+		"contar, int, long",
+		"deCartas, long, [Lescoba.modelo.Carta;",
+		"delPalo, long, escoba.modelo.Palo",
+		"estaVacio, boolean, long",
+		"primera, escoba.modelo.Carta, long",
+		"quitarPrimera, long, long"
+	})
+	void testComprobarMetodosConUnParametro(String nombreMetodo, String nombreTipoRetorno,
+			String nombreClaseParametro) throws ClassNotFoundException {
+		Class<?> tipoRetorno = obtenerClase(nombreTipoRetorno);
+		Class<?> tipoParametro = obtenerClase(nombreClaseParametro);
+		verificarMetodo(CartaSet.class, nombreMetodo, tipoRetorno, tipoParametro);
+	}
+
+	/**
+	 * Comprobación de signaturas de métodos con dos argumentos.
+	 *
+	 * @param nombreMetodo          nombre del método
+	 * @param nombreTipoRetorno     nombre del tipo de retorno
+	 * @param nombreClaseParametro1 nombre de la clase del primer argumento
+	 * @param nombreClaseParametro2 nombre de la clase del segundo argumento
+	 * @throws ClassNotFoundException si no se encuentra la clase
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de signaturas de métodos públicos con dos argumentos")
+	@CsvSource({
+		"agregar, long, long, escoba.modelo.Carta",
+		"contiene, boolean, long, escoba.modelo.Carta",
+		"quitar, long, long, escoba.modelo.Carta",
+		"unir, long, long, long"
+	})
+	void testComprobarMetodosConDosParametros(String nombreMetodo, String nombreTipoRetorno,
+			String nombreClaseParametro1, String nombreClaseParametro2) throws ClassNotFoundException {
+		Class<?> tipoRetorno = obtenerClase(nombreTipoRetorno);
+		verificarMetodo(CartaSet.class, nombreMetodo, tipoRetorno, obtenerClase(nombreClaseParametro1),
+				obtenerClase(nombreClaseParametro2));
+	}
+}
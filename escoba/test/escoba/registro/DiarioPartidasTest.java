@@ -0,0 +1,232 @@
+package escoba.registro;
+
+import static escoba.PartidasPrueba.crearPartida;
+import static escoba.PartidasPrueba.estrategias;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import escoba.control.Controlador;
+import escoba.control.ObservadorPartida;
+import escoba.modelo.Jugada;
+import escoba.modelo.Partida;
+import escoba.modelo.Puntuacion;
+
+/**
+ * Tests sobre la recuperación de partidas desde el diario tras una caída.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.registro.DiarioPartidas
+ * @see escoba.registro.MesaRecuperada
+ */
+@DisplayName("Tests sobre el diario de partidas")
+public class DiarioPartidasTest {
+
+	/** Semilla de la baraja. */
+	private static final long SEMILLA = 11L;
+
+	/** Identificador de la mesa. */
+	private static final long MESA = 42L;
+
+	/** Mesas que juegan a la vez en el test de confirmación por grupos. */
+	private static final int MESAS = 128;
+
+	/** Directorio temporal de cada test. */
+	@TempDir
+	Path directorio;
+
+	/** Constructor. */
+	private DiarioPartidasTest() {	}
+
+	/**
+	 * Simula una caída tras varias jugadas con la última anotación a medio
+	 * escribir, recupera la mesa, la reanuda y comprueba que termina igual
+	 * que la partida sin interrumpir.
+	 *
+	 * @param jugadores número de jugadores, en dos bandos
+	 * @param jugadas   jugada tras la que se cae el proceso
+	 * @throws IOException si falla el diario
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de que una partida recuperada termina igual")
+	@CsvSource({ "2, 1", "2, 6", "2, 7", "2, 20", "2, 36", "4, 12", "4, 13", "4, 30" })
+	void testRecuperarTrasCaida(int jugadores, int jugadas) throws IOException {
+		Partida original = crearPartida(jugadores, 2, SEMILLA);
+		new Controlador(original, estrategias(jugadores)).ejecutarPartida();
+
+		Path archivo = directorio.resolve("diario.escd");
+		Caida caida = new Caida(jugadas);
+		try (DiarioPartidas diario = DiarioPartidas.abrir(archivo)) {
+			Controlador controlador = new Controlador(crearPartida(jugadores, 2, SEMILLA), estrategias(jugadores));
+			controlador.agregarObservador(new DiarioMesa(diario, MESA));
+			controlador.agregarObservador(caida);
+			assertThrows(Caida.Simulada.class, controlador::ejecutarPartida, "Caída simulada");
+		}
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+			canal.truncate(canal.size() - 5);
+		}
+
+		Partida recuperada = crearPartida(jugadores, 2, SEMILLA);
+		try (DiarioPartidas diario = DiarioPartidas.abrir(archivo)) {
+			assertEquals(1, diario.consultarRecuperadas().size(), "Una mesa sin terminar");
+			MesaRecuperada mesa = diario.consultarRecuperadas().get(0);
+			assertEquals(MESA, mesa.consultarMesa(), "Identificador de la mesa");
+			assertEquals(jugadas - 1, mesa.consultarNumeroTurnos(), "Se descarta la jugada a medio anotar");
+			mesa.reconstruir(recuperada);
+			assertEquals(caida.claves.get(jugadas - 1), recuperada.consultarClave(), "Estado tras las jugadas anotadas");
+
+			Controlador controlador = new Controlador(recuperada, estrategias(jugadores));
+			controlador.agregarObservador(new DiarioMesa(diario, MESA));
+			controlador.reanudarPartida();
+		}
+		assertEquals(original.consultarClave(), recuperada.consultarClave(), "Mismo estado final");
+		assertArrayEquals(desgloses(original), desgloses(recuperada), "Misma puntuación");
+
+		try (DiarioPartidas diario = DiarioPartidas.abrir(archivo)) {
+			assertTrue(diario.consultarRecuperadas().isEmpty(), "La mesa reanudada ya terminó");
+		}
+	}
+
+	/**
+	 * Comprueba que el diario y el grabador observan a la vez la misma partida.
+	 *
+	 * @throws IOException si falla algún archivo
+	 */
+	@Test
+	@DisplayName("Comprobación de que se anota y se graba la misma partida")
+	void testDiarioYGrabador() throws IOException {
+		Path diarioArchivo = directorio.resolve("diario.escd");
+		Path registros = directorio.resolve("partidas.esc");
+		Partida partida = crearPartida(2, 2, SEMILLA);
+		try (DiarioPartidas diario = DiarioPartidas.abrir(diarioArchivo);
+				EscritorRegistros escritor = EscritorRegistros.abrir(registros)) {
+			Controlador controlador = new Controlador(partida, estrategias(2));
+			controlador.agregarObservador(new DiarioMesa(diario, MESA));
+			controlador.agregarObservador(new GrabadorPartida(escritor));
+			controlador.ejecutarPartida();
+			assertEquals(1 + 36 + 1, diario.consultarAnotaciones(), "Reparto, jugadas y final anotados");
+		}
+		try (LectorRegistros lector = LectorRegistros.abrir(registros)) {
+			assertTrue(lector.siguiente(), "Partida grabada");
+			assertEquals(36, lector.consultarNumeroTurnos(), "Todas las jugadas grabadas");
+			assertFalse(lector.siguiente(), "Una sola partida");
+		}
+		try (DiarioPartidas diario = DiarioPartidas.abrir(diarioArchivo)) {
+			assertTrue(diario.consultarRecuperadas().isEmpty(), "La partida terminó");
+		}
+	}
+
+	/**
+	 * Comprueba que con muchas mesas jugando a la vez, cada una en su hilo
+	 * virtual, cada sincronización con el disco confirma un grupo de varias
+	 * anotaciones, y que todas las partidas terminan igual que sin diario.
+	 *
+	 * @throws Exception si falla el diario o alguna mesa
+	 */
+	@Test
+	@DisplayName("Comprobación de que las mesas concurrentes se confirman por grupos")
+	void testGruposMesasConcurrentes() throws Exception {
+		Path archivo = directorio.resolve("diario.escd");
+		List<Future<Partida>> mesas = new ArrayList<>();
+		try (DiarioPartidas diario = DiarioPartidas.abrir(archivo)) {
+			try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+				for (int i = 0; i < MESAS; i++) {
+					long mesa = i;
+					mesas.add(hilos.submit(() -> {
+						Partida partida = crearPartida(2, 2, SEMILLA + mesa);
+						Controlador controlador = new Controlador(partida, estrategias(2));
+						controlador.agregarObservador(new DiarioMesa(diario, mesa));
+						controlador.ejecutarPartida();
+						return partida;
+					}));
+				}
+			}
+			for (int i = 0; i < MESAS; i++) {
+				Partida original = crearPartida(2, 2, SEMILLA + i);
+				new Controlador(original, estrategias(2)).ejecutarPartida();
+				assertEquals(original.consultarClave(), mesas.get(i).get().consultarClave(),
+						"Mismo estado final en la mesa " + i);
+			}
+			assertEquals(MESAS * (1 + 36 + 1), diario.consultarAnotaciones(), "Reparto, jugadas y final de cada mesa");
+			assertTrue(diario.consultarForzados() < diario.consultarAnotaciones(),
+					diario.consultarForzados() + " sincronizaciones para " + diario.consultarAnotaciones()
+							+ " anotaciones");
+		}
+		try (DiarioPartidas diario = DiarioPartidas.abrir(archivo)) {
+			assertTrue(diario.consultarRecuperadas().isEmpty(), "Todas las partidas terminaron");
+		}
+	}
+
+	/**
+	 * Puntúa una partida terminada.
+	 *
+	 * @param partida partida
+	 * @return desglose de cada equipo
+	 */
+	private static int[] desgloses(Partida partida) {
+		int[] desgloses = new int[partida.obtenerNumeroEquipos()];
+		Puntuacion.puntuar(partida, desgloses);
+		return desgloses;
+	}
+
+	/**
+	 * Observador que apunta la clave antes de cada jugada y simula una caída
+	 * después de aplicar una de ellas.
+	 */
+	private static final class Caida implements ObservadorPartida {
+
+		/** Jugadas aplicadas antes de caer. */
+		private final int jugadas;
+
+		/** Clave de la partida antes de cada jugada. */
+		private final List<Long> claves = new ArrayList<>();
+
+		/**
+		 * Crea el observador.
+		 *
+		 * @param jugadas jugadas aplicadas antes de caer
+		 */
+		private Caida(int jugadas) {
+			this.jugadas = jugadas;
+		}
+
+		@Override
+		public void jugadaElegida(Partida partida, int asiento, Jugada jugada) {
+			claves.add(partida.consultarClave());
+		}
+
+		@Override
+		public void jugadaAplicada(Partida partida, int asiento, Jugada jugada) {
+			if (claves.size() == jugadas) {
+				throw new Simulada();
+			}
+		}
+
+		/** Caída simulada. */
+		private static final class Simulada extends RuntimeException {
+
+			/** Número de serie. */
+			private static final long serialVersionUID = 1L;
+		}
+	}
+}
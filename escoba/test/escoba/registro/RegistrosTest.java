@@ -0,0 +1,325 @@
+package escoba.registro;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import escoba.control.Estrategia;
+import escoba.control.ObservadorPartida;
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaVoraz;
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugada;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Palo;
+import escoba.modelo.Partida;
+import escoba.simulacion.Simulador;
+
+/**
+ * Tests de ida y vuelta del formato binario de partidas: lo que graba
+ * {@link GrabadorPartida} se recupera igual con {@link LectorRegistros}.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.registro.FormatoRegistro
+ */
+@DisplayName("Tests sobre la grabación y lectura de registros de partidas")
+public class RegistrosTest {
+
+	/** Semilla de las simulaciones. */
+	private static final long SEMILLA = 7L;
+
+	/** Directorio temporal de cada test. */
+	@TempDir
+	Path directorio;
+
+	/** Constructor. */
+	private RegistrosTest() {	}
+
+	/**
+	 * Comprueba que el orden de la baraja y todas las jugadas de partidas
+	 * simuladas se leen igual que se jugaron.
+	 *
+	 * @param jugadores número de jugadores, en dos bandos
+	 * @throws IOException si falla el archivo
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación de ida y vuelta de partidas simuladas")
+	@ValueSource(ints = { 2, 4 })
+	void testIdaYVuelta(int jugadores) throws IOException {
+		Path archivo = directorio.resolve("partidas.esc");
+		List<Jugado> esperadas = new ArrayList<>();
+		grabar(archivo, jugadores, 200, SEMILLA, esperadas);
+		comprobar(archivo, esperadas);
+	}
+
+	/**
+	 * Comprueba una jugada escrita con el byte de escape porque su captura no
+	 * está entre las primeras que caben en el código de un byte.
+	 *
+	 * @throws IOException si falla el archivo
+	 */
+	@Test
+	@DisplayName("Comprobación de ida y vuelta de una jugada escapada")
+	void testJugadaEscapada() throws IOException {
+		// las 16 cartas de valor 1 a 4 llenan las manos de dos repartos y la
+		// mesa, y el primer jugador recibe después el cinco de oros
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		long pendientes = CartaSet.TODAS;
+		int posicion = 0;
+		for (int valor = 1; valor <= 4; valor++) {
+			for (Palo palo : Palo.values()) {
+				orden[posicion++] = (byte) Carta.de(palo, valor).clave();
+				pendientes = CartaSet.quitar(pendientes, Carta.de(palo, valor));
+			}
+		}
+		Carta cinco = Carta.de(Palo.OROS, 5);
+		orden[posicion++] = (byte) cinco.clave();
+		pendientes = CartaSet.quitar(pendientes, cinco);
+		for (; !CartaSet.estaVacio(pendientes); pendientes = CartaSet.quitarPrimera(pendientes)) {
+			orden[posicion++] = (byte) CartaSet.primera(pendientes).clave();
+		}
+
+		Path archivo = directorio.resolve("escapada.esc");
+		Partida partida = new Partida(new Jugador("Uno"), new Jugador("Dos"), new Mesa(), new Baraja());
+		Captador captador;
+		try (EscritorRegistros escritor = EscritorRegistros.abrir(archivo)) {
+			captador = new Captador(new GrabadorPartida(escritor));
+			partida.obtenerBaraja().ordenar(orden);
+			captador.partidaIniciada(partida);
+			partida.repartir(3);
+			for (int i = 0; i < 4; i++) {
+				partida.obtenerMesa().ponerCarta(partida.obtenerBaraja().extraerCarta());
+			}
+			for (int i = 0; i < 12; i++) {
+				Carta carta = CartaSet.primera(partida.obtenerJugadorActual().consultarConjuntoMano());
+				jugar(partida, captador, new Jugada(carta, CartaSet.VACIO));
+			}
+			assertEquals(16, CartaSet.contar(partida.obtenerMesa().consultarConjunto()), "Mesa con 16 cartas");
+
+			long[] capturas = new long[1024];
+			int total = partida.obtenerMesa().generarCapturas(cinco, capturas);
+			assertTrue(total > FormatoRegistro.MAXIMO_CODIGO && total <= capturas.length, "Capturas: " + total);
+			jugar(partida, captador, new Jugada(cinco, capturas[total - 1]));
+			for (int i = 0; i < 3; i++) {
+				Carta carta = CartaSet.primera(partida.obtenerJugadorActual().consultarConjuntoMano());
+				jugar(partida, captador, new Jugada(carta, CartaSet.VACIO));
+			}
+			captador.partidaTerminada(partida);
+		}
+		assertEquals(FormatoRegistro.TURNOS + 15 + FormatoRegistro.BYTES_ESCAPE, Files.size(archivo)
+				- FormatoRegistro.BYTES_CABECERA, "Quince jugadas de un byte y una escapada");
+		comprobar(archivo, List.of(captador.jugadas.get(0)));
+	}
+
+	/**
+	 * Comprueba que al volver a abrir un archivo que termina en un registro a
+	 * medias se descarta ese registro y los nuevos se pueden leer.
+	 *
+	 * @throws IOException si falla el archivo
+	 */
+	@Test
+	@DisplayName("Comprobación de que se trunca un registro incompleto antes de añadir")
+	void testTruncaRegistroIncompleto() throws IOException {
+		Path archivo = directorio.resolve("cortado.esc");
+		List<Jugado> esperadas = new ArrayList<>();
+		grabar(archivo, 2, 10, SEMILLA, esperadas);
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+			canal.truncate(canal.size() - 5);
+		}
+		esperadas.remove(esperadas.size() - 1);
+
+		grabar(archivo, 2, 5, SEMILLA + 1, esperadas);
+		assertEquals(14, esperadas.size(), "Nueve partidas completas y cinco nuevas");
+		comprobar(archivo, esperadas);
+	}
+
+	/**
+	 * Comprueba que no se añade a un archivo con un registro de longitud
+	 * imposible.
+	 *
+	 * @throws IOException si falla el archivo
+	 */
+	@Test
+	@DisplayName("Comprobación de que no se añade a un archivo dañado")
+	void testArchivoDanado() throws IOException {
+		Path archivo = directorio.resolve("danado.esc");
+		grabar(archivo, 2, 1, SEMILLA, new ArrayList<>());
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			canal.write(ByteBuffer.wrap(new byte[] { 0, 1, 0 }));
+		}
+		long tamano = Files.size(archivo);
+		assertThrows(IOException.class, () -> EscritorRegistros.abrir(archivo).close(), "Longitud 1 imposible");
+		assertEquals(tamano, Files.size(archivo), "El archivo no se modifica");
+	}
+
+	/**
+	 * Simula partidas de estrategias voraz y aleatoria y las graba.
+	 *
+	 * @param archivo   archivo de registros
+	 * @param jugadores número de jugadores, en dos bandos
+	 * @param partidas  número de partidas
+	 * @param semilla   semilla de la simulación
+	 * @param esperadas lista a la que se añade lo jugado en cada partida
+	 * @throws IOException si falla el archivo
+	 */
+	private static void grabar(Path archivo, int jugadores, int partidas, long semilla, List<Jugado> esperadas)
+			throws IOException {
+		Estrategia[] estrategias = new Estrategia[jugadores];
+		SplittableRandom aleatorio = new SplittableRandom(semilla);
+		for (int i = 0; i < jugadores; i++) {
+			estrategias[i] = i % 2 == 0 ? new EstrategiaVoraz() : new EstrategiaAleatoria(aleatorio.split());
+		}
+		try (EscritorRegistros escritor = EscritorRegistros.abrir(archivo)) {
+			Captador captador = new Captador(new GrabadorPartida(escritor));
+			Simulador simulador = new Simulador(new SplittableRandom(semilla), 2, estrategias);
+			simulador.asignarObservador(captador);
+			simulador.simular(partidas);
+			esperadas.addAll(captador.jugadas);
+		}
+	}
+
+	/**
+	 * Lee un archivo y compara cada registro con lo jugado.
+	 *
+	 * @param archivo   archivo de registros
+	 * @param esperadas lo jugado en cada partida, en orden
+	 * @throws IOException si falla el archivo
+	 */
+	private static void comprobar(Path archivo, List<Jugado> esperadas) throws IOException {
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		byte[] cartas = new byte[Baraja.NUMERO_CARTAS];
+		long[] capturas = new long[Baraja.NUMERO_CARTAS];
+		try (LectorRegistros lector = LectorRegistros.abrir(archivo)) {
+			for (int i = 0; i < esperadas.size(); i++) {
+				Jugado esperada = esperadas.get(i);
+				assertTrue(lector.siguiente(), "Registro " + i);
+				assertEquals(esperada.jugadores(), lector.consultarNumeroJugadores(), "Jugadores del registro " + i);
+				assertEquals(esperada.equipos(), lector.consultarNumeroEquipos(), "Equipos del registro " + i);
+				lector.consultarOrden(orden);
+				assertArrayEquals(esperada.orden(), orden, "Baraja del registro " + i);
+				int turnos = lector.decodificar(cartas, capturas);
+				assertEquals(esperada.cartas().length, turnos, "Turnos del registro " + i);
+				assertEquals(turnos, lector.consultarNumeroTurnos(), "Turnos contados del registro " + i);
+				assertArrayEquals(esperada.cartas(), Arrays.copyOf(cartas, turnos), "Cartas del registro " + i);
+				assertArrayEquals(esperada.capturas(), Arrays.copyOf(capturas, turnos), "Capturas del registro " + i);
+			}
+			assertFalse(lector.siguiente(), "No hay más registros");
+			assertEquals(Files.size(archivo), lector.consultarPosicion(), "Se lee el archivo entero");
+		}
+	}
+
+	/**
+	 * Aplica una jugada como lo haría el controlador, avisando al observador
+	 * y repartiendo cuando todos se quedan sin cartas.
+	 *
+	 * @param partida    partida
+	 * @param observador observador
+	 * @param jugada     jugada
+	 */
+	private static void jugar(Partida partida, ObservadorPartida observador, Jugada jugada) {
+		int asiento = partida.obtenerIndiceTurno();
+		partida.aplicar(jugada);
+		observador.jugadaAplicada(partida, asiento, jugada);
+		for (Jugador jugador : partida.obtenerJugadores()) {
+			if (jugador.consultarNumeroCartasEnMano() > 0) {
+				return;
+			}
+		}
+		partida.repartir(3);
+	}
+
+	/**
+	 * Lo jugado en una partida.
+	 *
+	 * @param jugadores número de jugadores
+	 * @param equipos   número de equipos
+	 * @param orden     orden de la baraja al empezar
+	 * @param cartas    clave de la carta de cada turno
+	 * @param capturas  captura de cada turno
+	 */
+	private record Jugado(int jugadores, int equipos, byte[] orden, byte[] cartas, long[] capturas) {
+	}
+
+	/**
+	 * Observador que reenvía todo a un grabador y además apunta lo jugado.
+	 */
+	private static final class Captador implements ObservadorPartida {
+
+		/** Grabador al que se reenvía. */
+		private final GrabadorPartida grabador;
+
+		/** Lo jugado en cada partida terminada. */
+		private final List<Jugado> jugadas = new ArrayList<>();
+
+		/** Orden de la baraja de la partida en curso. */
+		private byte[] orden;
+
+		/** Cartas de la partida en curso. */
+		private final List<Byte> cartas = new ArrayList<>();
+
+		/** Capturas de la partida en curso. */
+		private final List<Long> capturas = new ArrayList<>();
+
+		/**
+		 * Crea el observador.
+		 *
+		 * @param grabador grabador al que se reenvía
+		 */
+		private Captador(GrabadorPartida grabador) {
+			this.grabador = grabador;
+		}
+
+		@Override
+		public void partidaIniciada(Partida partida) {
+			grabador.partidaIniciada(partida);
+			orden = new byte[Baraja.NUMERO_CARTAS];
+			partida.obtenerBaraja().consultarOrden(orden);
+			cartas.clear();
+			capturas.clear();
+		}
+
+		@Override
+		public void jugadaAplicada(Partida partida, int asiento, Jugada jugada) {
+			grabador.jugadaAplicada(partida, asiento, jugada);
+			cartas.add((byte) jugada.consultarCarta().clave());
+			capturas.add(jugada.consultarCaptura());
+		}
+
+		@Override
+		public void partidaTerminada(Partida partida) {
+			grabador.partidaTerminada(partida);
+			byte[] claves = new byte[cartas.size()];
+			long[] retiradas = new long[capturas.size()];
+			for (int i = 0; i < claves.length; i++) {
+				claves[i] = cartas.get(i);
+				retiradas[i] = capturas.get(i);
+			}
+			jugadas.add(new Jugado(partida.obtenerJugadores().length, partida.obtenerNumeroEquipos(), orden,
+					claves, retiradas));
+		}
+	}
+}
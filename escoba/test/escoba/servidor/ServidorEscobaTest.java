@@ -0,0 +1,209 @@
+package escoba.servidor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests del servidor con clientes conectados por sockets en la interfaz de
+ * bucle local.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.servidor.ServidorEscoba
+ * @see escoba.servidor.CanalSocket
+ */
+@DisplayName("Tests sobre el servidor de partidas por sockets")
+public class ServidorEscobaTest {
+
+	/** Segundos que se espera como mucho a una partida. */
+	private static final long ESPERA = 30;
+
+	/** Semilla del servidor y de los clientes. */
+	private static final long SEMILLA = 3L;
+
+	/** Hilos de los clientes y del bucle de aceptación. */
+	private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+
+	/** Constructor. */
+	private ServidorEscobaTest() {	}
+
+	/**
+	 * Detiene los hilos que queden.
+	 */
+	@AfterEach
+	void terminar() {
+		hilos.shutdownNow();
+	}
+
+	/**
+	 * Comprueba que dos clientes por socket juegan una partida completa y
+	 * reciben el mismo resultado.
+	 *
+	 * @throws Exception si la partida falla o no termina a tiempo
+	 */
+	@Test
+	@DisplayName("Comprobación de una partida completa por sockets")
+	void testPartidaCompleta() throws Exception {
+		try (ServerSocket escucha = escuchar()) {
+			ServidorEscoba servidor = new ServidorEscoba(2, 2, SEMILLA);
+			Future<?> aceptacion = hilos.submit(() -> {
+				servidor.atender(escucha);
+				return null;
+			});
+			ClienteEscoba uno = new ClienteEscoba(conectar(escucha), new SplittableRandom(SEMILLA), 0);
+			ClienteEscoba dos = new ClienteEscoba(conectar(escucha), new SplittableRandom(SEMILLA + 1), 0);
+			Future<int[]> puntosUno = hilos.submit(uno::jugar);
+			Future<int[]> puntosDos = hilos.submit(dos::jugar);
+
+			int[] puntos = puntosUno.get(ESPERA, TimeUnit.SECONDS);
+			assertArrayEquals(puntos, puntosDos.get(ESPERA, TimeUnit.SECONDS), "Mismo resultado para ambos");
+			assertEquals(2, puntos.length, "Puntos de dos equipos");
+			assertEquals(uno.consultarMesa(), dos.consultarMesa(), "Misma mesa");
+			assertEquals(1, uno.consultarAsiento() + dos.consultarAsiento(), "Asientos 0 y 1");
+			assertEquals(0, uno.consultarErrores() + dos.consultarErrores(), "Ninguna jugada rechazada");
+			esperarMesas(servidor);
+			assertEquals(1, servidor.consultarMesasCreadas(), "Una mesa");
+
+			servidor.close();
+			aceptacion.get(ESPERA, TimeUnit.SECONDS);
+			assertTrue(escucha.isClosed(), "El servidor cierra el socket de escucha");
+		}
+	}
+
+	/**
+	 * Comprueba que un cliente que solo envía respuestas no válidas se
+	 * desconecta tras agotar los rechazos y la mesa termina sin él.
+	 *
+	 * @throws Exception si la partida falla o no termina a tiempo
+	 */
+	@Test
+	@DisplayName("Comprobación de que se desconecta a quien envía respuestas no válidas")
+	void testRespuestasNoValidas() throws Exception {
+		try (ServerSocket escucha = escuchar(); ServidorEscoba servidor = new ServidorEscoba(2, 1, SEMILLA)) {
+			hilos.submit(() -> {
+				servidor.atender(escucha);
+				return null;
+			});
+			try (Canal canal = conectar(escucha)) {
+				int rechazos = 0;
+				for (String linea = canal.recibir(); linea != null; linea = canal.recibir()) {
+					if (linea.startsWith(ProtocoloMesa.TURNO)) {
+						canal.enviar(ProtocoloMesa.linea(ProtocoloMesa.JUGAR, 99, "zz"));
+					} else if (linea.startsWith(ProtocoloMesa.ERROR)) {
+						rechazos++;
+					}
+				}
+				assertEquals(EstrategiaRemota.MAXIMO_RECHAZOS, rechazos, "Rechazos antes de desconectar");
+			}
+			esperarMesas(servidor);
+		}
+	}
+
+	/**
+	 * Comprueba que si un cliente se desconecta a mitad de partida la
+	 * estrategia sustituta juega por él y el otro cliente termina.
+	 *
+	 * @throws Exception si la partida falla o no termina a tiempo
+	 */
+	@Test
+	@DisplayName("Comprobación de que la mesa termina si un cliente se desconecta")
+	void testDesconexion() throws Exception {
+		try (ServerSocket escucha = escuchar(); ServidorEscoba servidor = new ServidorEscoba(2, 2, SEMILLA)) {
+			hilos.submit(() -> {
+				servidor.atender(escucha);
+				return null;
+			});
+			Canal huido = conectar(escucha);
+			ClienteEscoba cliente = new ClienteEscoba(conectar(escucha), new SplittableRandom(SEMILLA), 0);
+			Future<int[]> puntos = hilos.submit(cliente::jugar);
+			assertTrue(huido.recibir().startsWith(ProtocoloMesa.MESA), "El cliente llega a sentarse");
+			huido.close();
+
+			assertEquals(2, puntos.get(ESPERA, TimeUnit.SECONDS).length, "El otro cliente recibe el final");
+			esperarMesas(servidor);
+		}
+	}
+
+	/**
+	 * Comprueba la espera máxima y la longitud máxima de las líneas del
+	 * canal sobre socket.
+	 *
+	 * @throws IOException si falla la conexión
+	 */
+	@Test
+	@DisplayName("Comprobación de los límites del canal sobre socket")
+	void testLimitesCanal() throws IOException {
+		try (ServerSocket escucha = escuchar();
+				Socket emisor = new Socket(escucha.getInetAddress(), escucha.getLocalPort());
+				Canal canal = Canal.deSocket(escucha.accept(), 200)) {
+			assertThrows(SocketTimeoutException.class, canal::recibir, "Nadie escribe");
+
+			OutputStream salida = emisor.getOutputStream();
+			String justa = "x".repeat(CanalSocket.MAXIMO_LINEA);
+			salida.write((justa + "\nJUGAR 1 0\r\n").getBytes(StandardCharsets.UTF_8));
+			salida.flush();
+			assertEquals(justa, canal.recibir(), "Línea de la longitud máxima");
+			assertEquals("JUGAR 1 0", canal.recibir(), "Se quita el retorno de carro");
+
+			salida.write(("x".repeat(CanalSocket.MAXIMO_LINEA + 1) + "\n").getBytes(StandardCharsets.UTF_8));
+			salida.flush();
+			assertThrows(IOException.class, canal::recibir, "Línea demasiado larga");
+		}
+	}
+
+	/**
+	 * Abre un socket de escucha en un puerto libre de la interfaz de bucle
+	 * local.
+	 *
+	 * @return socket de escucha
+	 * @throws IOException si no se puede abrir
+	 */
+	private static ServerSocket escuchar() throws IOException {
+		return new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 * Conecta un cliente al socket de escucha.
+	 *
+	 * @param escucha socket de escucha
+	 * @return canal con el servidor
+	 * @throws IOException si no se puede conectar
+	 */
+	private static Canal conectar(ServerSocket escucha) throws IOException {
+		return Canal.deSocket(new Socket(escucha.getInetAddress(), escucha.getLocalPort()));
+	}
+
+	/**
+	 * Espera a que el servidor no tenga mesas en juego.
+	 *
+	 * @param servidor servidor
+	 * @throws InterruptedException si se interrumpe la espera
+	 */
+	private static void esperarMesas(ServidorEscoba servidor) throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(ESPERA);
+		while (servidor.consultarMesasActivas() > 0 && System.nanoTime() < limite) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, servidor.consultarMesasActivas(), "Las mesas terminan");
+	}
+}
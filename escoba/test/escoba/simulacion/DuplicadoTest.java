@@ -0,0 +1,164 @@
+package escoba.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.control.Estrategia;
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaVoraz;
+import escoba.modelo.Carta;
+import escoba.modelo.Jugador;
+import escoba.modelo.Partida;
+import escoba.modelo.Permutacion;
+
+/**
+ * Tests sobre la comparación de estrategias por repartos duplicados.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.simulacion.Duplicado
+ * @see escoba.simulacion.Semillas
+ */
+@DisplayName("Tests sobre los repartos duplicados")
+public class DuplicadoTest {
+
+	/** Repartos de cada comparación. */
+	private static final int REPARTOS = 50;
+
+	/** Constructor. */
+	private DuplicadoTest() {	}
+
+	/**
+	 * Comprueba que las dos partidas de cada reparto se juegan con el mismo
+	 * orden de la baraja, con las estrategias en asientos cambiados, y que
+	 * cada reparto tiene un orden distinto.
+	 */
+	@Test
+	@DisplayName("Comprobación de que el cambio de asientos conserva el reparto")
+	void testCambioDeAsientos() {
+		Anotadora a = new Anotadora(new EstrategiaVoraz());
+		Anotadora b = new Anotadora(new EstrategiaAleatoria(new SplittableRandom(5L)));
+		ResultadoDuplicado resultado = new Duplicado(7L, a, b).jugar(REPARTOS);
+		assertEquals(REPARTOS, resultado.consultarRepartos(), "Repartos jugados");
+		assertEquals(2 * REPARTOS, a.partidas.size(), "Partidas vistas por A");
+		assertEquals(2 * REPARTOS, b.partidas.size(), "Partidas vistas por B");
+
+		HashSet<String> ordenes = new HashSet<>();
+		for (int reparto = 0; reparto < REPARTOS; reparto++) {
+			Vista directaA = a.partidas.get(2 * reparto);
+			Vista cambiadaA = a.partidas.get(2 * reparto + 1);
+			Vista directaB = b.partidas.get(2 * reparto);
+			Vista cambiadaB = b.partidas.get(2 * reparto + 1);
+			assertEquals(0, directaA.asiento(), "A empieza en el primer asiento");
+			assertEquals(1, cambiadaA.asiento(), "A pasa al segundo asiento");
+			assertEquals(1, directaB.asiento(), "B empieza en el segundo asiento");
+			assertEquals(0, cambiadaB.asiento(), "B pasa al primer asiento");
+			assertEquals(directaA.orden(), cambiadaA.orden(), "Mismo reparto con los asientos cambiados");
+			assertEquals(directaA.orden(), directaB.orden(), "A y B ven el mismo reparto");
+			assertEquals(cambiadaA.orden(), cambiadaB.orden(), "A y B ven el mismo reparto");
+			ordenes.add(directaA.orden());
+		}
+		assertEquals(REPARTOS, ordenes.size(), "Cada reparto tiene su propio orden");
+	}
+
+	/**
+	 * Comprueba que la misma semilla da los mismos repartos y resultados, y
+	 * que otra semilla da otros.
+	 */
+	@Test
+	@DisplayName("Comprobación de que los repartos dependen solo de la semilla")
+	void testReproducible() {
+		Anotadora primera = new Anotadora(new EstrategiaVoraz());
+		Anotadora segunda = new Anotadora(new EstrategiaVoraz());
+		Anotadora otra = new Anotadora(new EstrategiaVoraz());
+		ResultadoDuplicado uno = new Duplicado(7L, primera, new EstrategiaVoraz()).jugar(REPARTOS);
+		ResultadoDuplicado dos = new Duplicado(7L, segunda, new EstrategiaVoraz()).jugar(REPARTOS);
+		new Duplicado(8L, otra, new EstrategiaVoraz()).jugar(REPARTOS);
+		assertEquals(primera.partidas, segunda.partidas, "Mismos repartos");
+		assertEquals(uno.media(), dos.media(), "Misma ventaja media");
+		assertNotEquals(primera.partidas.get(0), otra.partidas.get(0), "Otra semilla, otro reparto");
+		assertEquals(0, uno.media(), "Dos estrategias voraces empatan con repartos duplicados");
+	}
+
+	/**
+	 * Comprueba que el mezclador compartido es el de SplitMix64, el mismo que
+	 * usa {@link SplittableRandom}.
+	 */
+	@Test
+	@DisplayName("Comprobación del mezclador de semillas")
+	void testMezclador() {
+		SplittableRandom referencia = new SplittableRandom(123L);
+		long estado = 123L;
+		for (int i = 0; i < 100; i++) {
+			estado += Semillas.GOLDEN_GAMMA;
+			assertEquals(referencia.nextLong(), Semillas.mezclar(estado), "Salida " + i);
+		}
+		assertNotEquals(Semillas.derivar(1L, 0), Semillas.derivar(1L, 1), "Índices distintos");
+		assertNotEquals(Semillas.derivar(1L, 0), Semillas.derivar(2L, 0), "Semillas distintas");
+	}
+
+	/**
+	 * Lo que ve una estrategia de una partida: su asiento y el rango del
+	 * orden completo de la baraja.
+	 *
+	 * @param asiento asiento de la estrategia
+	 * @param orden   rango del orden de la baraja
+	 */
+	private record Vista(int asiento, String orden) {
+	}
+
+	/**
+	 * Estrategia que delega en otra y anota cada partida en que juega.
+	 */
+	private static final class Anotadora implements Estrategia {
+
+		/** Estrategia que elige las jugadas. */
+		private final Estrategia delegada;
+
+		/** Partidas vistas, en orden. */
+		private final List<Vista> partidas = new ArrayList<>();
+
+		/** Partida en la que se jugó la última carta. */
+		private int ultimaCarta = Integer.MAX_VALUE;
+
+		/** Rango del orden de la baraja, reutilizado. */
+		private final byte[] rango = new byte[Permutacion.BYTES_RANGO];
+
+		/**
+		 * Crea la estrategia.
+		 *
+		 * @param delegada estrategia que elige las jugadas
+		 */
+		private Anotadora(Estrategia delegada) {
+			this.delegada = delegada;
+		}
+
+		@Override
+		public Carta elegirCarta(Partida partida, Jugador jugador) {
+			// la baraja solo crece al empezar una partida nueva
+			int restantes = partida.obtenerBaraja().consultarNumeroCartas();
+			if (restantes > ultimaCarta || partidas.isEmpty()) {
+				partida.obtenerBaraja().consultarRango(rango, 0);
+				partidas.add(new Vista(Arrays.asList(partida.obtenerJugadores()).indexOf(jugador),
+						Arrays.toString(rango)));
+			}
+			ultimaCarta = restantes;
+			return delegada.elegirCarta(partida, jugador);
+		}
+
+		@Override
+		public long elegirCaptura(Partida partida, Jugador jugador, Carta carta) {
+			return delegada.elegirCaptura(partida, jugador, carta);
+		}
+	}
+}
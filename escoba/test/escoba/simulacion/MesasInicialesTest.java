@@ -0,0 +1,184 @@
+package escoba.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Palo;
+import escoba.modelo.Partida;
+import escoba.modelo.Permutacion;
+
+/**
+ * Tests sobre la enumeración de las mesas iniciales con manos fijadas.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.simulacion.MesasIniciales
+ */
+@DisplayName("Tests sobre las mesas iniciales")
+public class MesasInicialesTest {
+
+	/** Mano completa fijada: siete de oros, cinco de copas y rey de bastos. */
+	private static final long MANO = CartaSet.agregar(CartaSet.agregar(CartaSet.agregar(CartaSet.VACIO,
+			Carta.de(Palo.OROS, 7)), Carta.de(Palo.COPAS, 5)), Carta.de(Palo.BASTOS, 10));
+
+	/** Mano con una sola carta fijada: as de espadas. */
+	private static final long UNA = CartaSet.agregar(CartaSet.VACIO, Carta.de(Palo.ESPADAS, 1));
+
+	/** Constructor. */
+	private MesasInicialesTest() {	}
+
+	/**
+	 * Comprueba que sin manos fijadas hay C(40, 4) mesas, de las que 3120
+	 * suman 15 y 2492 suman 30, y que nadie puede barrer con una mano vacía.
+	 */
+	@Test
+	@DisplayName("Comprobación de la distribución sin manos fijadas")
+	void testDistribucionSinManos() {
+		MesasIniciales.Distribucion distribucion = new MesasIniciales(CartaSet.VACIO, CartaSet.VACIO).distribuir();
+		assertEquals(91_390L, distribucion.mesas(), "Mesas posibles");
+		assertEquals(3_120L, distribucion.sumanQuince(), "Mesas que suman 15");
+		assertEquals(2_492L, distribucion.sumanTreinta(), "Mesas que suman 30");
+		assertEquals(0L, distribucion.barribles(), "Sin mano no se barre");
+	}
+
+	/**
+	 * Compara, para varias manos fijadas, el recorrido, la numeración y la
+	 * distribución con la enumeración por fuerza bruta de las cartas libres.
+	 */
+	@Test
+	@DisplayName("Comprobación del recorrido y la distribución frente a la fuerza bruta")
+	void testFuerzaBruta() {
+		long[][] casos = { { CartaSet.VACIO, CartaSet.VACIO }, { MANO, CartaSet.VACIO }, { MANO, UNA },
+				{ UNA, MANO, CartaSet.VACIO }, { CartaSet.VACIO, UNA, MANO, CartaSet.VACIO } };
+		for (long[] manos : casos) {
+			comprobarFuerzaBruta(manos);
+		}
+	}
+
+	/**
+	 * Comprueba que el orden canónico de cada mesa, cargado en una baraja
+	 * desde su rango, reparte las manos fijadas y la mesa en su sitio como lo
+	 * hace el controlador.
+	 */
+	@Test
+	@DisplayName("Comprobación del reparto del orden canónico")
+	void testOrdenCanonico() {
+		long[] manos = { UNA, CartaSet.VACIO, MANO };
+		MesasIniciales mesas = new MesasIniciales(manos);
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		byte[] rango = new byte[Permutacion.BYTES_RANGO + 2];
+		byte[] esperado = new byte[Permutacion.BYTES_RANGO];
+		for (long indice = 0; indice < mesas.contar(); indice += 97) {
+			long mesa = mesas.enIndice(indice);
+			mesas.componerOrden(mesa, orden);
+			mesas.codificar(mesa, rango, 2);
+			Permutacion.codificar(orden, esperado, 0);
+			for (int i = 0; i < esperado.length; i++) {
+				assertEquals(esperado[i], rango[2 + i], "Rango del orden canónico");
+			}
+
+			Jugador[] jugadores = { new Jugador("Uno"), new Jugador("Dos"), new Jugador("Tres") };
+			Partida partida = new Partida(jugadores, new Mesa(), new Baraja(esperado));
+			partida.repartir(MesasIniciales.CARTAS_MANO);
+			for (int i = 0; i < MesasIniciales.CARTAS_MESA; i++) {
+				partida.obtenerMesa().ponerCarta(partida.obtenerBaraja().extraerCarta());
+			}
+			assertEquals(mesa, partida.obtenerMesa().consultarConjunto(), "Mesa repartida");
+			for (int asiento = 0; asiento < manos.length; asiento++) {
+				long mano = jugadores[asiento].consultarConjuntoMano();
+				assertEquals(MesasIniciales.CARTAS_MANO, CartaSet.contar(mano), "Mano completa");
+				assertEquals(manos[asiento], mano & manos[asiento], "Cartas fijadas del asiento " + asiento);
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que se rechazan manos y mesas no válidas.
+	 */
+	@Test
+	@DisplayName("Comprobación de los argumentos no válidos")
+	void testNoValidos() {
+		assertThrows(IllegalArgumentException.class, () -> new MesasIniciales(MANO), "Un jugador");
+		assertThrows(IllegalArgumentException.class, () -> new MesasIniciales(MANO, MANO), "Manos solapadas");
+		assertThrows(IllegalArgumentException.class,
+				() -> new MesasIniciales(MANO | UNA, CartaSet.VACIO), "Cuatro cartas en la mano");
+		MesasIniciales mesas = new MesasIniciales(MANO, CartaSet.VACIO);
+		byte[] orden = new byte[Baraja.NUMERO_CARTAS];
+		assertThrows(IllegalArgumentException.class, () -> mesas.componerOrden(MANO | UNA, orden), "Mesa con fijadas");
+		assertThrows(IllegalArgumentException.class, () -> mesas.componerOrden(UNA, orden), "Mesa de una carta");
+		assertThrows(IllegalArgumentException.class, () -> mesas.enIndice(mesas.contar()), "Índice excesivo");
+	}
+
+	/**
+	 * Enumera con cuatro bucles anidados las mesas de cartas libres y las
+	 * compara con el recorrido, la numeración y la distribución.
+	 *
+	 * @param manos cartas fijadas de cada asiento
+	 */
+	private static void comprobarFuerzaBruta(long[] manos) {
+		long libres = CartaSet.TODAS;
+		for (long mano : manos) {
+			libres &= ~mano;
+		}
+		Carta[] cartas = new Carta[CartaSet.contar(libres)];
+		int n = 0;
+		for (long resto = libres; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+			cartas[n++] = CartaSet.primera(resto);
+		}
+		int puntosMano = 0;
+		for (long resto = manos[0]; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+			puntosMano |= 1 << CartaSet.primera(resto).puntuacion();
+		}
+
+		Set<Long> esperadas = new HashSet<>();
+		long[] porSuma = new long[41];
+		long barribles = 0;
+		for (int a = 0; a < n; a++) {
+			for (int b = a + 1; b < n; b++) {
+				for (int c = b + 1; c < n; c++) {
+					for (int d = c + 1; d < n; d++) {
+						esperadas.add(CartaSet.bit(cartas[a]) | CartaSet.bit(cartas[b]) | CartaSet.bit(cartas[c])
+								| CartaSet.bit(cartas[d]));
+						int suma = cartas[a].puntuacion() + cartas[b].puntuacion() + cartas[c].puntuacion()
+								+ cartas[d].puntuacion();
+						porSuma[suma]++;
+						if (suma < Mesa.SUMA_PUNTOS_A_ALCANZAR
+								&& (puntosMano & (1 << (Mesa.SUMA_PUNTOS_A_ALCANZAR - suma))) != 0) {
+							barribles++;
+						}
+					}
+				}
+			}
+		}
+
+		MesasIniciales mesas = new MesasIniciales(manos);
+		assertEquals(esperadas.size(), mesas.contar(), "Número de mesas");
+		long indice = 0;
+		for (long mesa = mesas.primera(); mesa != CartaSet.VACIO; mesa = mesas.siguiente(mesa)) {
+			assertTrue(esperadas.remove(mesa), "Mesa de cartas libres visitada una vez");
+			assertEquals(indice, mesas.indice(mesa), "Índice de la mesa");
+			assertEquals(mesa, mesas.enIndice(indice), "Mesa del índice");
+			indice++;
+		}
+		assertTrue(esperadas.isEmpty(), "Se visitan todas las mesas");
+
+		MesasIniciales.Distribucion distribucion = mesas.distribuir();
+		assertEquals(indice, distribucion.mesas(), "Mesas de la distribución");
+		assertArrayEquals(porSuma, distribucion.porSuma(), "Mesas por suma");
+		assertEquals(barribles, distribucion.barribles(), "Mesas que barre el primer jugador");
+	}
+}
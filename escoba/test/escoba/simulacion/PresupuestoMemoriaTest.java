@@ -0,0 +1,63 @@
+package escoba.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaVoraz;
+import escoba.rendimiento.PresupuestoMemoria;
+
+/**
+ * Control grueso de la memoria reservada por una partida completa dirigida
+ * por el Controlador en modo desatendido.
+ * <p>Mide con {@link PresupuestoMemoria#medir(Simulador, int, int)} pocas
+ * partidas, sin esperar a la compilación con C2, y solo detecta reservas
+ * desmedidas, como una lista nueva por turno o por captura. El presupuesto
+ * estricto de bytes por partida tras el calentamiento lo comprueba
+ * {@link PresupuestoMemoria#main(String[])}, que termina con código 1 si se
+ * supera y se lanza desde la integración continua.</p>
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.rendimiento.PresupuestoMemoria
+ */
+@DisplayName("Tests sobre la memoria reservada por partida")
+public class PresupuestoMemoriaTest {
+
+	/** Partidas medidas. */
+	private static final int PARTIDAS = 500;
+
+	/**
+	 * Bytes por partida admitidos. Sin calentamiento una partida reserva en
+	 * torno a 1,2 KiB compilada con C1 y unos 2 KiB interpretada; una reserva
+	 * de decenas de bytes en cada uno de los 36 turnos ya lo supera.
+	 */
+	private static final long BYTES_POR_PARTIDA = 4096;
+
+	/** Constructor. */
+	private PresupuestoMemoriaTest() {	}
+
+	/**
+	 * Comprueba que una partida completa, con su barajado, jugadas, bazas y
+	 * puntuación, no reserva más memoria de la admitida.
+	 */
+	@Test
+	@DisplayName("Comprobación de la cota de bytes por partida")
+	void testPartidaDentroDeLaCota() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hilos
+				&& hilos.isThreadAllocatedMemorySupported() && hilos.isThreadAllocatedMemoryEnabled(),
+				"Contador de memoria por hilo no disponible");
+
+		Simulador simulador = new Simulador(1L, new EstrategiaVoraz(),
+				new EstrategiaAleatoria(new SplittableRandom(1L)));
+		PresupuestoMemoria.Informe informe = PresupuestoMemoria.medir(simulador, 1, PARTIDAS);
+		assertFalse(informe.superaPresupuesto(BYTES_POR_PARTIDA), informe.aTexto());
+	}
+}
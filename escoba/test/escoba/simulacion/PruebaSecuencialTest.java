@@ -0,0 +1,123 @@
+package escoba.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests sobre la prueba secuencial de razón de verosimilitudes, con valores
+ * calculados a mano.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.simulacion.PruebaSecuencial
+ */
+@DisplayName("Tests sobre la prueba secuencial")
+public class PruebaSecuencialTest {
+
+	/** Tolerancia de las comparaciones en coma flotante. */
+	private static final double DELTA = 1e-12;
+
+	/** Constructor. */
+	private PruebaSecuencialTest() {	}
+
+	/**
+	 * Comprueba el logaritmo de la razón de verosimilitudes y la decisión a
+	 * ambos lados de los límites {@code ln(0,05 / 0,95) = -2,944} y
+	 * {@code ln(0,95 / 0,05) = 2,944}.
+	 * <p>Los repartos tienen muestras 2, 1, 2 y 1: suma 6 y varianza 1 / 3,
+	 * así que con H0 = 0 el logaritmo es {@code 3 * h1 * (6 - 2 * h1)}.</p>
+	 *
+	 * @param h1       ventaja según H1
+	 * @param llr      logaritmo esperado
+	 * @param decision decisión esperada
+	 */
+	@ParameterizedTest
+	@DisplayName("Comprobación del logaritmo y de los límites de decisión")
+	@CsvSource({ "0.1, 1.74, CONTINUAR", "0.2, 3.36, ACEPTAR_H1", "2.9, 1.74, CONTINUAR",
+			"3.1, -1.86, CONTINUAR", "3.2, -3.84, ACEPTAR_H0", "3.5, -10.5, ACEPTAR_H0" })
+	void testLimites(double h1, double llr, PruebaSecuencial.Decision decision) {
+		ResultadoDuplicado resultado = alternos(2, 1, 4);
+		assertEquals(1.0 / 3, resultado.varianza(), DELTA, "Varianza de las muestras");
+		PruebaSecuencial prueba = new PruebaSecuencial(0, h1, 0.05, 0.05, 2);
+		assertEquals(llr, prueba.razonVerosimilitud(resultado), 1e-9, "Logaritmo de la razón");
+		assertEquals(decision, prueba.evaluar(resultado), "Decisión");
+	}
+
+	/**
+	 * Comprueba que los límites dependen de alfa y beta por separado: con
+	 * alfa 0,05 y beta 0,2 son {@code ln(0,2 / 0,95) = -1,558} y
+	 * {@code ln(0,8 / 0,05) = ln 16 = 2,773}, de modo que un logaritmo de
+	 * -1,86 ya acepta H0 y uno de 2,88 acepta H1.
+	 */
+	@Test
+	@DisplayName("Comprobación de los límites con alfa y beta distintos")
+	void testLimitesAsimetricos() {
+		ResultadoDuplicado resultado = alternos(2, 1, 4);
+		PruebaSecuencial baja = new PruebaSecuencial(0, 3.1, 0.05, 0.2, 2);
+		assertEquals(PruebaSecuencial.Decision.ACEPTAR_H0, baja.evaluar(resultado), "Logaritmo -1,86");
+		// 3 * 0,16 * (6 - 0,32) = 2,7264, aún por debajo de ln 16
+		PruebaSecuencial justa = new PruebaSecuencial(0, 0.16, 0.05, 0.2, 2);
+		assertEquals(2.7264, justa.razonVerosimilitud(resultado), 1e-9, "Logaritmo");
+		assertEquals(PruebaSecuencial.Decision.CONTINUAR, justa.evaluar(resultado), "Por debajo de ln 16");
+		// 3 * 0,17 * (6 - 0,34) = 2,8866
+		PruebaSecuencial alta = new PruebaSecuencial(0, 0.17, 0.05, 0.2, 2);
+		assertEquals(PruebaSecuencial.Decision.ACEPTAR_H1, alta.evaluar(resultado), "Por encima de ln 16");
+	}
+
+	/**
+	 * Comprueba que no se decide antes del mínimo de repartos, y el
+	 * logaritmo infinito o nulo cuando todas las muestras son iguales.
+	 */
+	@Test
+	@DisplayName("Comprobación del mínimo de repartos y de la varianza nula")
+	void testMinimoYVarianzaNula() {
+		ResultadoDuplicado resultado = alternos(2, 1, 4);
+		PruebaSecuencial porDefecto = new PruebaSecuencial(0, 0.2, 0.05, 0.05);
+		assertEquals(PruebaSecuencial.Decision.CONTINUAR, porDefecto.evaluar(resultado), "Menos del mínimo");
+		ResultadoDuplicado largo = alternos(2, 1, PruebaSecuencial.MINIMO_POR_DEFECTO);
+		assertEquals(PruebaSecuencial.Decision.ACEPTAR_H1, porDefecto.evaluar(largo), "Alcanzado el mínimo");
+
+		PruebaSecuencial prueba = new PruebaSecuencial(-1, 1, 0.05, 0.05, 2);
+		assertEquals(Double.POSITIVE_INFINITY, prueba.razonVerosimilitud(alternos(1, 1, 3)), "Muestras iguales a 1");
+		assertEquals(Double.NEGATIVE_INFINITY, prueba.razonVerosimilitud(alternos(-1, -1, 3)), "Muestras iguales a -1");
+		assertEquals(0, prueba.razonVerosimilitud(alternos(0, 0, 3)), "Muestras en el punto medio");
+		assertEquals(PruebaSecuencial.Decision.CONTINUAR, prueba.evaluar(alternos(0, 0, 3)), "Sin evidencia");
+	}
+
+	/**
+	 * Comprueba que se rechazan los parámetros no válidos.
+	 */
+	@Test
+	@DisplayName("Comprobación de los parámetros no válidos")
+	void testParametrosNoValidos() {
+		assertThrows(IllegalArgumentException.class, () -> new PruebaSecuencial(1, 1, 0.05, 0.05), "H1 igual a H0");
+		assertThrows(IllegalArgumentException.class, () -> new PruebaSecuencial(1, 0, 0.05, 0.05), "H1 menor");
+		assertThrows(IllegalArgumentException.class, () -> new PruebaSecuencial(0, 1, 0, 0.05), "Alfa nulo");
+		assertThrows(IllegalArgumentException.class, () -> new PruebaSecuencial(0, 1, 0.05, 1), "Beta uno");
+		assertThrows(IllegalArgumentException.class, () -> new PruebaSecuencial(0, 1, Double.NaN, 0.05), "Alfa NaN");
+	}
+
+	/**
+	 * Crea un resultado cuyos repartos alternan dos muestras; cada muestra se
+	 * obtiene con las dos partidas del reparto iguales a ella.
+	 *
+	 * @param primera  muestra de los repartos pares
+	 * @param segunda  muestra de los repartos impares
+	 * @param repartos número de repartos
+	 * @return resultado
+	 */
+	private static ResultadoDuplicado alternos(int primera, int segunda, long repartos) {
+		ResultadoDuplicado resultado = new ResultadoDuplicado();
+		for (long i = 0; i < repartos; i++) {
+			int muestra = i % 2 == 0 ? primera : segunda;
+			resultado.acumular(muestra, muestra);
+		}
+		return resultado;
+	}
+}
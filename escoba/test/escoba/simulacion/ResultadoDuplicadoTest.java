@@ -0,0 +1,91 @@
+package escoba.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sobre la estadística de los repartos duplicados, con valores
+ * calculados a mano.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.simulacion.ResultadoDuplicado
+ */
+@DisplayName("Tests sobre el resultado de los repartos duplicados")
+public class ResultadoDuplicadoTest {
+
+	/** Tolerancia de las comparaciones en coma flotante. */
+	private static final double DELTA = 1e-12;
+
+	/** Constructor. */
+	private ResultadoDuplicadoTest() {	}
+
+	/**
+	 * Comprueba la media, la varianza por parejas, el intervalo de confianza
+	 * y el factor de reducción de cuatro repartos.
+	 * <p>Las parejas suman 4, -2, 8 y -4, así que las muestras son 2, -1, 4 y
+	 * -2, de media 0,75 y varianza 22,75 / 3 = 91 / 12. El error típico es
+	 * la raíz de 91 / 48. Las ocho partidas suman 64 en cuadrados, con
+	 * varianza (64 - 0,75 * 6) / 7 = 8,5, y el factor de reducción es
+	 * 8,5 / (2 * 91 / 12) = 51 / 91.</p>
+	 */
+	@Test
+	@DisplayName("Comprobación de la estadística de cuatro repartos")
+	void testEstadistica() {
+		ResultadoDuplicado resultado = new ResultadoDuplicado();
+		resultado.acumular(3, 1);
+		resultado.acumular(-2, 0);
+		resultado.acumular(5, 3);
+		resultado.acumular(0, -4);
+
+		assertEquals(4, resultado.consultarRepartos(), "Repartos");
+		assertEquals(2, resultado.consultarGanados(), "Ganados");
+		assertEquals(2, resultado.consultarPerdidos(), "Perdidos");
+		assertEquals(0.75, resultado.media(), DELTA, "Media");
+		assertEquals(91.0 / 12, resultado.varianza(), DELTA, "Varianza por parejas");
+		assertEquals(Math.sqrt(91.0 / 48), resultado.errorTipico(), DELTA, "Error típico");
+		assertEquals(-1.9486599787485788, resultado.limiteInferior(ResultadoDuplicado.Z_95), DELTA, "IC inferior");
+		assertEquals(3.4486599787485788, resultado.limiteSuperior(ResultadoDuplicado.Z_95), DELTA, "IC superior");
+		assertEquals(51.0 / 91, resultado.factorReduccion(), DELTA, "Factor de reducción");
+	}
+
+	/**
+	 * Comprueba que los empates no cuentan como ganados ni perdidos y que
+	 * las parejas que cancelan la suerte dan un factor de reducción alto.
+	 * <p>Con parejas (6, -4) y (-6, 8) las muestras son 1 y 1, sin varianza,
+	 * y no se puede calcular el factor. Con (6, -4) y (-6, 10) son 1 y 2, de
+	 * varianza 0,5, mientras que las partidas sueltas 6, -4, -6 y 10 tienen
+	 * media 1,5 y varianza (188 - 1,5 * 6) / 3 = 179 / 3, que da un factor de
+	 * 179 / 3.</p>
+	 */
+	@Test
+	@DisplayName("Comprobación de empates, varianza nula y reducción por parejas")
+	void testParejas() {
+		ResultadoDuplicado resultado = new ResultadoDuplicado();
+		assertEquals(0, resultado.media(), "Media sin repartos");
+		assertEquals(0, resultado.errorTipico(), "Error sin repartos");
+		resultado.acumular(6, -4);
+		assertEquals(0, resultado.varianza(), "Varianza con un reparto");
+		resultado.acumular(-6, 8);
+		resultado.acumular(3, -3);
+		assertEquals(2, resultado.consultarGanados(), "Ganados");
+		assertEquals(0, resultado.consultarPerdidos(), "Perdidos");
+		assertEquals(2.0 / 3, resultado.media(), DELTA, "Media con un empate");
+
+		ResultadoDuplicado constante = new ResultadoDuplicado();
+		constante.acumular(6, -4);
+		constante.acumular(-6, 8);
+		assertEquals(0, constante.varianza(), "Muestras iguales");
+		assertEquals(0, constante.factorReduccion(), "Factor sin varianza");
+
+		ResultadoDuplicado distinto = new ResultadoDuplicado();
+		distinto.acumular(6, -4);
+		distinto.acumular(-6, 10);
+		assertEquals(1.5, distinto.media(), DELTA, "Media");
+		assertEquals(0.5, distinto.varianza(), DELTA, "Varianza por parejas");
+		assertEquals(179.0 / 3, distinto.factorReduccion(), DELTA, "Factor de reducción");
+	}
+}
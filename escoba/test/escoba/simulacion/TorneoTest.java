@@ -0,0 +1,72 @@
+package escoba.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.control.Estrategia;
+import escoba.ia.EstrategiaAleatoria;
+import escoba.ia.EstrategiaVoraz;
+
+/**
+ * Tests sobre el reparto de partidas de un torneo entre hilos.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.simulacion.Torneo
+ */
+@DisplayName("Tests sobre el torneo en paralelo")
+public class TorneoTest {
+
+	/** Semilla de los torneos. */
+	private static final long SEMILLA = 42L;
+
+	/** Partidas de cada torneo, con un último bloque incompleto. */
+	private static final long PARTIDAS = 5L * Torneo.PARTIDAS_POR_BLOQUE + 17;
+
+	/** Constructor. */
+	private TorneoTest() {	}
+
+	/**
+	 * Comprueba que la misma semilla da el mismo resultado con uno y con
+	 * cuatro hilos.
+	 */
+	@Test
+	@DisplayName("Comprobación de que el resultado no depende del número de hilos")
+	void testResultadoIndependienteDeHilos() {
+		ResultadoSimulacion uno = jugar(1);
+		ResultadoSimulacion cuatro = jugar(4);
+		assertEquals(PARTIDAS, uno.consultarPartidas(), "Se juegan todas las partidas");
+		assertEquals(uno.consultarPartidas(), cuatro.consultarPartidas(), "Mismo número de partidas");
+		for (int i = 0; i < uno.consultarNumeroJugadores(); i++) {
+			assertEquals(uno.consultarPuntos(i), cuatro.consultarPuntos(i), "Puntos del jugador " + i);
+			assertEquals(uno.consultarCartas(i), cuatro.consultarCartas(i), "Cartas del jugador " + i);
+			assertEquals(uno.consultarEscobas(i), cuatro.consultarEscobas(i), "Escobas del jugador " + i);
+			assertEquals(uno.consultarOros(i), cuatro.consultarOros(i), "Oros del jugador " + i);
+			assertEquals(uno.consultarSietes(i), cuatro.consultarSietes(i), "Sietes del jugador " + i);
+			assertEquals(uno.consultarSietesOros(i), cuatro.consultarSietesOros(i), "Sietes de oros del jugador " + i);
+			assertEquals(uno.consultarBazas(i), cuatro.consultarBazas(i), "Bazas del jugador " + i);
+		}
+	}
+
+	/**
+	 * Juega el torneo en un pool propio.
+	 *
+	 * @param hilos paralelismo del pool
+	 * @return resultado
+	 */
+	private static ResultadoSimulacion jugar(int hilos) {
+		Torneo torneo = new Torneo(SEMILLA, 2,
+				aleatorio -> new Estrategia[] { new EstrategiaVoraz(), new EstrategiaAleatoria(aleatorio) });
+		ForkJoinPool pool = new ForkJoinPool(hilos);
+		try {
+			return torneo.jugar(PARTIDAS, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
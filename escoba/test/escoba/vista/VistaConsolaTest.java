@@ -0,0 +1,315 @@
+package escoba.vista;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.modelo.Baraja;
+import escoba.modelo.Carta;
+import escoba.modelo.CartaSet;
+import escoba.modelo.Jugador;
+import escoba.modelo.Mesa;
+import escoba.modelo.Palo;
+import escoba.modelo.Partida;
+import escoba.vista.util.CartaTextoColor;
+
+/**
+ * Tests sobre la escritura de cada pantalla de la vista en consola con una
+ * única operación, comparando el texto con el que escribía la vista original
+ * línea a línea.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.vista.VistaConsola
+ */
+@DisplayName("Tests sobre la vista en consola")
+public class VistaConsolaTest {
+
+	/** Línea separadora de los títulos. */
+	private static final String SEPARADOR = "=".repeat(30);
+
+	/** Salida registrada. */
+	private SalidaRegistrada salida;
+
+	/** Constructor. */
+	private VistaConsolaTest() {	}
+
+	/**
+	 * Comprueba que el estado de la partida, con la mesa vacía y con cartas,
+	 * se escribe con una sola operación y con el texto original.
+	 */
+	@DisplayName("Comprobación de la pantalla de estado")
+	@Test
+	void testMostrarEstado() {
+		Baraja baraja = new Baraja(2025);
+		Jugador jugador = new Jugador("Ana");
+		for (int i = 0; i < 3; i++) {
+			jugador.recibirCarta(baraja.extraerCarta());
+		}
+		jugador.agregarBaza(CartaSet.bit(Carta.de(Palo.COPAS, 5)) | CartaSet.bit(Carta.de(Palo.BASTOS, 10)), true);
+		Mesa mesa = new Mesa();
+
+		VistaConsola vista = crearVista("");
+		vista.mostrarEstado(mesa, jugador, baraja, 0);
+		comprobarPantalla(vista, estadoOriginal(mesa, jugador, baraja, 0));
+
+		for (int i = 0; i < 4; i++) {
+			mesa.ponerCarta(baraja.extraerCarta());
+		}
+		vista = crearVista("");
+		vista.mostrarEstado(mesa, jugador, baraja, 3);
+		comprobarPantalla(vista, estadoOriginal(mesa, jugador, baraja, 3));
+	}
+
+	/**
+	 * Comprueba que la carta jugada y las cartas en la mesa se escriben con
+	 * una sola operación, antes de pedir las cartas a recoger.
+	 */
+	@DisplayName("Comprobación de la pantalla de cartas en la mesa")
+	@Test
+	void testMostrarCartasEnLaMesa() {
+		Mesa mesa = new Mesa();
+		mesa.ponerCarta(Carta.de(Palo.OROS, 3));
+		mesa.ponerCarta(Carta.de(Palo.ESPADAS, 8));
+		mesa.ponerCarta(Carta.de(Palo.COPAS, 7));
+		Carta jugada = Carta.de(Palo.BASTOS, 5);
+
+		VistaConsola vista = crearVista(System.lineSeparator() + System.lineSeparator());
+		assertEquals(0, vista.pedirCartasMesa(mesa, jugada).length, "No se recoge ninguna carta");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream original = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+		original.println("\nHas jugado la siguiente carta:");
+		imprimirCartasOriginal(original, CartaSet.bit(jugada));
+		original.print("¿Qué cartas quieres recoger de la mesa?");
+		original.println(" (Deben sumar " + (15 - jugada.puntuacion()) + " puntos para hacer 15 total)");
+		original.println("Cartas disponibles en la mesa:");
+		mostrarCartasOriginal(original, mesa.consultarConjunto());
+
+		assertEquals(bytes.toString(StandardCharsets.UTF_8), salida.escrituras.get(0),
+				"La pantalla debe escribirse completa con la primera escritura");
+		assertEquals(0, vista.consultarPendientes(), "El búfer debe quedar vacío");
+	}
+
+	/**
+	 * Comprueba que el resultado final se escribe con una sola operación y
+	 * con el texto original, más la línea del total añadida con la
+	 * puntuación por equipos.
+	 */
+	@DisplayName("Comprobación de la pantalla de resultado final")
+	@Test
+	void testMostrarResultadoFinal() {
+		long oros = CartaSet.delPalo(Palo.OROS);
+		long sietes = CartaSet.SIETES & ~oros;
+		long resto = CartaSet.TODAS & ~oros & ~sietes;
+		long restoAna = primeras(resto, 21);
+		Jugador ana = new Jugador("Ana");
+		ana.agregarBaza(oros, true);
+		ana.agregarBaza(restoAna, false);
+		Jugador luis = new Jugador("Luis");
+		luis.agregarBaza(sietes | (resto & ~restoAna), false);
+		Jugador eva = new Jugador("Eva");
+		Partida partida = new Partida(new Jugador[] { ana, luis, eva }, new Mesa(), new Baraja(1));
+
+		VistaConsola vista = crearVista("");
+		vista.mostrarResultadoFinal(partida);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream original = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+		original.println("\n" + SEPARADOR);
+		original.println("Resultado final de la partida");
+		original.println(SEPARADOR);
+		resultadoOriginal(original, ana, " 1 Puntos - Escobas.", " 2 Puntos - Todos los oros. ",
+				" 1 Punto - Siete de oros (\"guindis\").", " 1 Punto - Tener mayoría de cartas.",
+				" 2 Puntos - Tener el contrario menos de 10 cartas.", " Total: 7 puntos.");
+		resultadoOriginal(original, luis, " 1 Punto - Tener mayoría de sietes.", " Total: 1 puntos.");
+		resultadoOriginal(original, eva, " Total: 0 puntos.",
+				"☠️ ¡¡Pierdes la partida por no completar ninguna baza!!!");
+		comprobarPantalla(vista, bytes.toString(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Crea una vista que lee de la entrada dada y escribe en una salida
+	 * registrada.
+	 *
+	 * @param entrada texto de entrada
+	 * @return vista
+	 */
+	private VistaConsola crearVista(String entrada) {
+		salida = new SalidaRegistrada();
+		return new VistaConsola(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), salida);
+	}
+
+	/**
+	 * Comprueba que la pantalla se ha escrito con una única escritura, con el
+	 * texto esperado, y que el búfer ha quedado vacío.
+	 *
+	 * @param vista    vista
+	 * @param esperado texto esperado
+	 */
+	private void comprobarPantalla(VistaConsola vista, String esperado) {
+		assertArrayEquals(new String[] { esperado }, salida.escrituras.toArray(new String[0]),
+				"La pantalla debe escribirse completa con una única escritura");
+		assertEquals(esperado, salida.aTexto(), "Texto escrito distinto del original");
+		assertEquals(0, vista.consultarPendientes(), "El búfer debe quedar vacío");
+	}
+
+	/**
+	 * Escribe el estado de la partida como lo hacía la vista original.
+	 *
+	 * @param mesa    mesa
+	 * @param jugador jugador
+	 * @param baraja  baraja
+	 * @param ronda   ronda
+	 * @return texto escrito
+	 */
+	private static String estadoOriginal(Mesa mesa, Jugador jugador, Baraja baraja, int ronda) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream original = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+		original.println(SEPARADOR);
+		original.println("Estado actual de la partida");
+		original.println(SEPARADOR);
+		original.println("Ronda: " + (ronda + 1) + " Cartas actualmente en la baraja: "
+				+ baraja.consultarNumeroCartas());
+		original.println("Mesa:");
+		if (mesa.estaVacia()) {
+			original.println("(vacía)");
+		} else {
+			mostrarCartasOriginal(original, mesa.consultarConjunto());
+		}
+		original.print("\nTurno de " + jugador.consultarNombre());
+		original.print("- Escobas conseguidas: " + jugador.consultarEscobas());
+		original.print(" - Bazas conseguidas: " + jugador.consultarNumeroBazas());
+		original.println(" - Cartas conseguidas: " + jugador.contarCartas());
+		long mano = jugador.consultarConjuntoMano();
+		if (!CartaSet.estaVacio(mano)) {
+			original.println("\nCartas de " + jugador.consultarNombre());
+			mostrarCartasOriginal(original, mano);
+		}
+		original.println();
+		return bytes.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Escribe el resultado de un jugador como lo hacía la vista original.
+	 *
+	 * @param original salida
+	 * @param jugador  jugador
+	 * @param lineas   líneas de puntos esperadas
+	 */
+	private static void resultadoOriginal(PrintStream original, Jugador jugador, String... lineas) {
+		original.println(jugador.consultarNombre() + ":");
+		original.println(" - Bazas conseguidas: " + jugador.consultarNumeroBazas());
+		original.println(" - Cartas recogidas: " + jugador.contarCartas());
+		for (String linea : lineas) {
+			original.println(linea);
+		}
+		original.println();
+	}
+
+	/**
+	 * Escribe las cartas con sus índices como lo hacía la vista original.
+	 *
+	 * @param original salida
+	 * @param cartas   cartas
+	 */
+	private static void mostrarCartasOriginal(PrintStream original, long cartas) {
+		for (int i = 0; i < CartaSet.contar(cartas); i++) {
+			original.printf("    [%d]     ", i);
+		}
+		original.println();
+		imprimirCartasOriginal(original, cartas);
+	}
+
+	/**
+	 * Escribe varias cartas en la misma fila como lo hacía la vista original.
+	 *
+	 * @param original salida
+	 * @param cartas   cartas
+	 */
+	private static void imprimirCartasOriginal(PrintStream original, long cartas) {
+		List<String[]> dibujos = new ArrayList<>();
+		for (long resto = cartas; !CartaSet.estaVacio(resto); resto = CartaSet.quitarPrimera(resto)) {
+			dibujos.add(CartaTextoColor.dibujarCarta(CartaSet.primera(resto)));
+		}
+		for (int i = 0; i < CartaTextoColor.FILAS; i++) {
+			for (String[] dibujo : dibujos) {
+				original.print(dibujo[i] + " ");
+			}
+			original.println();
+		}
+	}
+
+	/**
+	 * Primeras cartas de un conjunto, en orden de clave.
+	 *
+	 * @param conjunto conjunto
+	 * @param numero   número de cartas
+	 * @return conjunto con las primeras cartas
+	 */
+	private static long primeras(long conjunto, int numero) {
+		long resultado = CartaSet.VACIO;
+		for (int i = 0; i < numero; i++) {
+			resultado |= Long.lowestOneBit(conjunto & ~resultado);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Salida en memoria que registra por separado cada escritura de texto.
+	 */
+	private static final class SalidaRegistrada extends PrintStream {
+
+		/** Bytes escritos. */
+		private final ByteArrayOutputStream bytes;
+
+		/** Textos de cada escritura. */
+		private final List<String> escrituras = new ArrayList<>();
+
+		/** Constructor. */
+		private SalidaRegistrada() {
+			this(new ByteArrayOutputStream());
+		}
+
+		/**
+		 * Constructor.
+		 *
+		 * @param bytes destino de los bytes escritos
+		 */
+		private SalidaRegistrada(ByteArrayOutputStream bytes) {
+			super(bytes, true, StandardCharsets.UTF_8);
+			this.bytes = bytes;
+		}
+
+		@Override
+		public void print(String texto) {
+			escrituras.add(texto);
+			super.print(texto);
+		}
+
+		@Override
+		public void print(Object objeto) {
+			escrituras.add(String.valueOf(objeto));
+			super.print(objeto);
+		}
+
+		/**
+		 * Texto escrito hasta el momento.
+		 *
+		 * @return texto
+		 */
+		private String aTexto() {
+			return bytes.toString(StandardCharsets.UTF_8);
+		}
+	}
+}
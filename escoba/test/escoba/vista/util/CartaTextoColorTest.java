@@ -0,0 +1,123 @@
+package escoba.vista.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.diogonunes.jcolor.Ansi;
+import com.diogonunes.jcolor.Attribute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import escoba.modelo.Carta;
+import escoba.modelo.Palo;
+
+/**
+ * Tests sobre la caché de dibujos de cartas, comparándola con el dibujo
+ * original sin caché.
+ *
+ * @author Ricardo Sevilla Soba
+ * @version 1.0
+ * @since 2.0
+ * @see escoba.vista.util.CartaTextoColor
+ */
+@DisplayName("Tests sobre los dibujos de las cartas")
+public class CartaTextoColorTest {
+
+	/** Ancho interno del contenido de una carta. */
+	private static final int ANCHO = 9;
+
+	/** Constructor. */
+	private CartaTextoColorTest() {	}
+
+	/**
+	 * Comprueba que los dibujos de las 40 cartas, con y sin colores,
+	 * coinciden con el dibujo original sin caché.
+	 */
+	@DisplayName("Comprobación de que la caché reproduce el dibujo original")
+	@Test
+	void testDibujoOriginal() {
+		for (Palo palo : Palo.values()) {
+			for (int puntuacion = 1; puntuacion <= 10; puntuacion++) {
+				Carta carta = Carta.de(palo, puntuacion);
+				assertArrayEquals(dibujar(carta, false), CartaTextoColor.dibujarCarta(carta, false),
+						"Dibujo sin colores distinto para " + carta);
+				assertArrayEquals(dibujar(carta, true), CartaTextoColor.dibujarCarta(carta, true),
+						"Dibujo con colores distinto para " + carta);
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que modificar el array devuelto no altera la caché.
+	 */
+	@DisplayName("Comprobación de que se devuelve una copia del dibujo")
+	@Test
+	void testCopia() {
+		Carta carta = Carta.de(Palo.OROS, 7);
+		for (boolean conColores : new boolean[] { false, true }) {
+			String[] dibujo = CartaTextoColor.dibujarCarta(carta, conColores);
+			String[] esperado = dibujo.clone();
+			for (int i = 0; i < dibujo.length; i++) {
+				dibujo[i] = "alterado";
+			}
+			assertArrayEquals(esperado, CartaTextoColor.dibujarCarta(carta, conColores),
+					"La caché no debe verse afectada por cambios en el array devuelto");
+		}
+	}
+
+	/**
+	 * Comprueba que cada línea suelta coincide con la misma fila del dibujo
+	 * completo.
+	 */
+	@DisplayName("Comprobación de las líneas sueltas")
+	@Test
+	void testLineas() {
+		for (Palo palo : Palo.values()) {
+			for (int puntuacion = 1; puntuacion <= 10; puntuacion++) {
+				Carta carta = Carta.de(palo, puntuacion);
+				String[] dibujo = CartaTextoColor.dibujarCarta(carta);
+				assertEquals(CartaTextoColor.FILAS, dibujo.length, "Número de filas incorrecto");
+				for (int fila = 0; fila < CartaTextoColor.FILAS; fila++) {
+					assertEquals(dibujo[fila], CartaTextoColor.dibujarLinea(carta, fila),
+							"Fila " + fila + " distinta para " + carta);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Dibuja una carta con el algoritmo original, sin caché.
+	 *
+	 * @param carta carta
+	 * @param conColores si se colorea la fila central
+	 * @return líneas del dibujo
+	 */
+	private static String[] dibujar(Carta carta, boolean conColores) {
+		String valor = switch (carta.puntuacion()) {
+		case 8 -> "Sota";
+		case 9 -> "Caballo";
+		case 10 -> "Rey";
+		default -> String.valueOf(carta.puntuacion());
+		};
+		String nombre = carta.palo().toString().toLowerCase();
+		nombre = nombre.substring(0, 1).toUpperCase() + nombre.substring(1);
+		Attribute fondo = switch (carta.palo()) {
+		case OROS -> Attribute.BACK_COLOR(204, 153, 0);
+		case COPAS -> Attribute.BACK_COLOR(255, 0, 0);
+		case ESPADAS -> Attribute.BACK_COLOR(0, 0, 255);
+		case BASTOS -> Attribute.BACK_COLOR(0, 128, 0);
+		};
+
+		int desp = valor.length() > 1 ? valor.length() : 2;
+		String filaArriba = String.format("│%-2s%-" + (ANCHO - desp) + "s│", valor, "");
+		String filaAbajo = String.format("│%" + (ANCHO - desp) + "s%2s│", "", valor);
+		int izq = (ANCHO - nombre.length()) / 2;
+		int der = ANCHO - nombre.length() - izq;
+		String centrado = " ".repeat(izq) + nombre + " ".repeat(der);
+		String central = conColores
+				? Ansi.colorize(centrado, Attribute.TEXT_COLOR(255, 255, 255), Attribute.BOLD(), fondo)
+				: centrado;
+		return new String[] { "┌─────────┐", filaArriba, "│" + central + "│", filaAbajo, "└─────────┘" };
+	}
+}